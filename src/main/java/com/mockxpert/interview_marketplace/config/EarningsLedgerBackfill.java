@@ -0,0 +1,41 @@
+package com.mockxpert.interview_marketplace.config;
+
+import com.mockxpert.interview_marketplace.repositories.EarningsLedgerRepository;
+import com.mockxpert.interview_marketplace.services.EarningsService;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills the earnings ledger from the existing payments the first time the application starts
+ * with it. Later payments are recorded as they are paid or refunded.
+ *
+ * @author Umar Mohammad
+ */
+@Component
+public class EarningsLedgerBackfill implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(EarningsLedgerBackfill.class);
+
+    @Autowired
+    private EarningsLedgerRepository earningsLedgerRepository;
+
+    @Autowired
+    private EarningsService earningsService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            if (earningsLedgerRepository.count() == 0) {
+                earningsService.rebuild();
+            }
+        } catch (DataAccessException e) {
+            logger.error("Failed to backfill the earnings ledger.", e);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.mockxpert.interview_marketplace.config;
+
+import com.mockxpert.interview_marketplace.services.OutboundHttpMetrics;
+import com.stripe.Stripe;
+
+import jakarta.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * Configuration of the HTTP clients used for calls to Firebase, Google and Stripe.
+ *
+ * Every outgoing call has a connect and a read timeout, so a provider that stops answering
+ * releases the calling thread instead of holding it indefinitely. The REST integrations share
+ * one JDK HttpClient, which keeps connections alive per host and negotiates HTTP/2 where the
+ * server supports it, so repeated calls skip the TCP and TLS handshakes.
+ *
+ * @author Umar Mohammad
+ */
+@Configuration
+public class HttpClientConfig {
+
+    @Value("${app.http.connect-timeout-ms:2000}")
+    private int connectTimeoutMillis;
+
+    @Value("${app.http.read-timeout-ms:5000}")
+    private int readTimeoutMillis;
+
+    /**
+     * How long an idle pooled connection is kept open.
+     */
+    @Value("${app.http.keep-alive-seconds:300}")
+    private int keepAliveSeconds;
+
+    @Value("${app.stripe.read-timeout-ms:10000}")
+    private int stripeReadTimeoutMillis;
+
+    /**
+     * Applies the timeouts to the Stripe client, which is configured statically.
+     */
+    @PostConstruct
+    public void configureStripe() {
+        Stripe.setConnectTimeout(connectTimeoutMillis);
+        Stripe.setReadTimeout(stripeReadTimeoutMillis);
+    }
+
+    /**
+     * The pooled client behind every outbound REST call.
+     */
+    @Bean(destroyMethod = "")
+    public HttpClient httpClient() {
+        // The JDK client reads its pool settings once, when the first client is created.
+        if (System.getProperty("jdk.httpclient.keepalive.timeout") == null) {
+            System.setProperty("jdk.httpclient.keepalive.timeout", String.valueOf(keepAliveSeconds));
+        }
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMillis))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    /**
+     * Shared RestTemplate for the Firebase and Google REST endpoints.
+     */
+    @Bean
+    public RestTemplate restTemplate(HttpClient httpClient, OutboundHttpMetrics outboundHttpMetrics) {
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMillis));
+        RestTemplate restTemplate = new RestTemplate(requestFactory);
+        restTemplate.getInterceptors().add(outboundHttpMetrics);
+        return restTemplate;
+    }
+}
@@ -0,0 +1,135 @@
+package com.mockxpert.interview_marketplace.config;
+
+import com.mockxpert.interview_marketplace.services.MetricsService;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.scheduling.support.ScheduledTaskObservationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuration that feeds framework level events into the application metrics.
+ *
+ * Every @Scheduled run is observed through the scheduler's Observation support and recorded in
+ * the tasks.scheduled.execution timer, tagged with the job and whether it failed. The Hikari pool
+ * reports active, idle and pending connections as gauges and the time threads wait for a
+ * connection, so pool saturation is visible before requests start timing out.
+ *
+ * @author Umar Mohammad
+ */
+@Configuration
+public class MetricsConfig implements SchedulingConfigurer {
+
+    private static final String STARTED_AT = "metrics.startedAt";
+
+    @Autowired
+    private MetricsService metricsService;
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        ObservationRegistry registry = ObservationRegistry.create();
+        registry.observationConfig().observationHandler(new ScheduledTaskHandler(metricsService));
+        taskRegistrar.setObservationRegistry(registry);
+    }
+
+    /**
+     * Installs the metrics tracker on the Hikari pool before it is started.
+     */
+    @Bean
+    public static BeanPostProcessor hikariMetricsPostProcessor(ObjectProvider<MetricsService> metricsService) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource) {
+                    dataSource.setMetricsTrackerFactory(new HikariMetrics(metricsService.getObject()));
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Records the duration of scheduled task runs.
+     */
+    private static class ScheduledTaskHandler implements ObservationHandler<ScheduledTaskObservationContext> {
+
+        private final MetricsService metricsService;
+
+        ScheduledTaskHandler(MetricsService metricsService) {
+            this.metricsService = metricsService;
+        }
+
+        @Override
+        public boolean supportsContext(Observation.Context context) {
+            return context instanceof ScheduledTaskObservationContext;
+        }
+
+        @Override
+        public void onStart(ScheduledTaskObservationContext context) {
+            context.put(STARTED_AT, System.nanoTime());
+        }
+
+        @Override
+        public void onStop(ScheduledTaskObservationContext context) {
+            Long started = context.get(STARTED_AT);
+            if (started == null) {
+                return;
+            }
+            metricsService.recordSince("tasks.scheduled.execution", started,
+                    "code.namespace", context.getTargetClass().getSimpleName(),
+                    "code.function", context.getMethod().getName(),
+                    "outcome", context.getError() == null ? "SUCCESS" : "ERROR");
+        }
+    }
+
+    /**
+     * Publishes the state of a Hikari pool.
+     */
+    private static class HikariMetrics implements MetricsTrackerFactory {
+
+        private final MetricsService metricsService;
+
+        HikariMetrics(MetricsService metricsService) {
+            this.metricsService = metricsService;
+        }
+
+        @Override
+        public IMetricsTracker create(String poolName, PoolStats poolStats) {
+            metricsService.gauge("hikaricp.connections.active", poolStats::getActiveConnections, "pool", poolName);
+            metricsService.gauge("hikaricp.connections.idle", poolStats::getIdleConnections, "pool", poolName);
+            metricsService.gauge("hikaricp.connections.pending", poolStats::getPendingThreads, "pool", poolName);
+            metricsService.gauge("hikaricp.connections.max", poolStats::getMaxConnections, "pool", poolName);
+            return new IMetricsTracker() {
+                @Override
+                public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                    metricsService.recordTime("hikaricp.connections.acquire", elapsedAcquiredNanos, "pool", poolName);
+                }
+
+                @Override
+                public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                    metricsService.recordTime("hikaricp.connections.usage",
+                            TimeUnit.MILLISECONDS.toNanos(elapsedBorrowedMillis), "pool", poolName);
+                }
+
+                @Override
+                public void recordConnectionTimeout() {
+                    metricsService.increment("hikaricp.connections.timeout", "pool", poolName);
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.mockxpert.interview_marketplace.config;
+
+import com.mockxpert.interview_marketplace.services.NotificationPartitionService;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Converts the notifications table into a table range partitioned by month on sent_at.
+ *
+ * The conversion runs once, in a single transaction, before the other notification DDL: the old
+ * table is renamed, a partitioned table with the same columns takes its name, the monthly
+ * partitions are created for the existing history, the rows are copied over and the indexes,
+ * foreign keys and id sequence are recreated once the old table is dropped. The primary key
+ * becomes (notification_id, sent_at) because Postgres requires the partition key in every unique
+ * constraint. Afterwards only the partition maintenance runs on startup.
+ *
+ * @author Umar Mohammad
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class NotificationPartitionMigration implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationPartitionMigration.class);
+
+    private static final String OLD_TABLE = "notifications_unpartitioned";
+
+    private static final String SEQUENCE = "notifications_notification_id_seq";
+
+    private static final String SELECT_INDEXES = """
+            SELECT pg_get_indexdef(i.indexrelid)
+            FROM pg_index i
+            WHERE i.indrelid = 'notifications'::regclass AND NOT i.indisunique
+            """;
+
+    private static final String SELECT_FOREIGN_KEYS = """
+            SELECT 'ALTER TABLE notifications ADD CONSTRAINT ' || quote_ident(conname) || ' ' || pg_get_constraintdef(oid)
+            FROM pg_constraint
+            WHERE conrelid = 'notifications'::regclass AND contype = 'f'
+            """;
+
+    private static final String SELECT_STORED_COLUMNS = """
+            SELECT string_agg(quote_ident(column_name), ', ' ORDER BY ordinal_position)
+            FROM information_schema.columns
+            WHERE table_schema = current_schema() AND table_name = 'notifications' AND is_generated = 'NEVER'
+            """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private NotificationPartitionService notificationPartitionService;
+
+    /**
+     * Lets Hibernate's schema update recognize the partitioned table instead of trying to create it again.
+     */
+    @Bean
+    public static HibernatePropertiesCustomizer partitionedTableTypes() {
+        return properties -> properties.put("hibernate.hbm2ddl.extra_physical_table_types", "PARTITIONED TABLE");
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!notificationPartitionService.isEnabled()) {
+            return;
+        }
+        try {
+            if (!notificationPartitionService.isPartitioned()) {
+                long started = System.currentTimeMillis();
+                Long rows = new TransactionTemplate(transactionManager).execute(status -> convert());
+                logger.info("Partitioned notifications by month, copied {} rows in {} ms.",
+                        rows, System.currentTimeMillis() - started);
+            }
+            notificationPartitionService.maintain();
+        } catch (DataAccessException e) {
+            logger.error("Failed to partition the notifications table, it is left unpartitioned.", e);
+        }
+    }
+
+    private long convert() {
+        List<String> indexes = jdbcTemplate.queryForList(SELECT_INDEXES, String.class);
+        List<String> foreignKeys = jdbcTemplate.queryForList(SELECT_FOREIGN_KEYS, String.class);
+        String columns = jdbcTemplate.queryForObject(SELECT_STORED_COLUMNS, String.class);
+
+        jdbcTemplate.execute("LOCK TABLE notifications IN EXCLUSIVE MODE");
+        jdbcTemplate.update("UPDATE notifications SET sent_at = now() WHERE sent_at IS NULL");
+        Timestamp oldest = jdbcTemplate.queryForObject("SELECT min(sent_at) FROM notifications", Timestamp.class);
+
+        jdbcTemplate.execute("ALTER TABLE notifications RENAME TO " + OLD_TABLE);
+        jdbcTemplate.execute("CREATE TABLE notifications (LIKE " + OLD_TABLE + " INCLUDING DEFAULTS "
+                + "INCLUDING GENERATED INCLUDING CONSTRAINTS) PARTITION BY RANGE (sent_at)");
+        jdbcTemplate.execute("ALTER TABLE notifications ALTER COLUMN sent_at SET NOT NULL");
+
+        YearMonth firstMonth = oldest == null ? YearMonth.now() : YearMonth.from(oldest.toLocalDateTime());
+        notificationPartitionService.ensurePartitions(firstMonth);
+        long copied = jdbcTemplate.update("INSERT INTO notifications (" + columns + ") SELECT " + columns + " FROM " + OLD_TABLE);
+        jdbcTemplate.execute("DROP TABLE " + OLD_TABLE);
+
+        // Indexes are built after the bulk copy, the old names are free again once the old table is gone.
+        jdbcTemplate.execute("ALTER TABLE notifications ADD PRIMARY KEY (notification_id, sent_at)");
+        jdbcTemplate.execute("CREATE SEQUENCE " + SEQUENCE + " OWNED BY notifications.notification_id");
+        jdbcTemplate.queryForObject("SELECT setval('" + SEQUENCE + "', "
+                + "coalesce((SELECT max(notification_id) FROM notifications), 0) + 1, false)", Long.class);
+        jdbcTemplate.execute("ALTER TABLE notifications ALTER COLUMN notification_id SET DEFAULT nextval('" + SEQUENCE + "')");
+        indexes.forEach(jdbcTemplate::execute);
+        foreignKeys.forEach(jdbcTemplate::execute);
+        jdbcTemplate.execute("ANALYZE notifications");
+        return copied;
+    }
+}
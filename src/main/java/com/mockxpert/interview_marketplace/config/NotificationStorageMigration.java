@@ -0,0 +1,169 @@
+package com.mockxpert.interview_marketplace.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mockxpert.interview_marketplace.entities.Notification.NotificationStatus;
+import com.mockxpert.interview_marketplace.utils.EmailTemplateCatalog;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Compacts notifications that were stored as fully rendered HTML emails.
+ *
+ * Before that, the column and status constraints of the table are brought in line with the entity.
+ *
+ * Each such row is rewritten to the legacy template with only the body fragment as parameter,
+ * which is a fraction of the original document. Rows are processed in id order and in batches,
+ * so the migration can be interrupted and is resumed on the next start. Rows that do not match
+ * the old email layout are left untouched.
+ *
+ * @author Umar Mohammad
+ */
+@Component
+public class NotificationStorageMigration implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationStorageMigration.class);
+
+    /**
+     * The content cell of the layout that the services used to render into every notification.
+     */
+    private static final Pattern CONTENT_CELL = Pattern.compile(
+            "<td style=\"padding: 40px 30px; color: #333333;\">(.*?)</td>", Pattern.DOTALL);
+
+    private static final Pattern PARAGRAPH_OPEN = Pattern.compile("<p[^>]*>");
+
+    private static final Pattern PARAGRAPH_CLOSE = Pattern.compile("</p>\\s*");
+
+    private static final String SELECT_BATCH = """
+            SELECT notification_id, message
+            FROM notifications
+            WHERE template_key IS NULL
+              AND message LIKE '<!DOCTYPE%'
+              AND notification_id > ?
+            ORDER BY notification_id
+            LIMIT ?
+            """;
+
+    private static final String COMPACT_ROW = """
+            UPDATE notifications
+            SET template_key = ?, template_params = CAST(? AS jsonb), message = NULL
+            WHERE notification_id = ?
+            """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.notifications.compact.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.notifications.compact.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * VACUUM FULL returns the freed space to the operating system but locks the table while it runs.
+     */
+    @Value("${app.notifications.compact.vacuum-full:false}")
+    private boolean vacuumFull;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            jdbcTemplate.execute("ALTER TABLE notifications ALTER COLUMN message DROP NOT NULL");
+        } catch (DataAccessException e) {
+            logger.error("Failed to make notifications.message nullable.", e);
+            return;
+        }
+        try {
+            // Hibernate creates the enum check constraint once and does not widen it when a status is added.
+            jdbcTemplate.execute("ALTER TABLE notifications DROP CONSTRAINT IF EXISTS notifications_status_check");
+            jdbcTemplate.execute("ALTER TABLE notifications ADD CONSTRAINT notifications_status_check CHECK (status IN ("
+                    + Arrays.stream(NotificationStatus.values()).map(status -> "'" + status.name() + "'")
+                            .collect(Collectors.joining(", ")) + "))");
+        } catch (DataAccessException e) {
+            logger.error("Failed to update the notification status constraint.", e);
+        }
+        if (!enabled) {
+            return;
+        }
+
+        long compacted = 0;
+        long skipped = 0;
+        long lastId = 0;
+        try {
+            while (true) {
+                List<Map<String, Object>> rows = jdbcTemplate.queryForList(SELECT_BATCH, lastId, batchSize);
+                if (rows.isEmpty()) {
+                    break;
+                }
+                List<Object[]> updates = new ArrayList<>(rows.size());
+                for (Map<String, Object> row : rows) {
+                    long id = ((Number) row.get("notification_id")).longValue();
+                    lastId = id;
+                    String body = extractBody((String) row.get("message"));
+                    if (body == null) {
+                        skipped++;
+                        continue;
+                    }
+                    updates.add(new Object[] { EmailTemplateCatalog.LEGACY,
+                            objectMapper.writeValueAsString(Map.of("body", body)), id });
+                }
+                if (!updates.isEmpty()) {
+                    jdbcTemplate.batchUpdate(COMPACT_ROW, updates);
+                    compacted += updates.size();
+                }
+            }
+        } catch (DataAccessException | JsonProcessingException e) {
+            logger.error("Notification compaction stopped after {} rows.", compacted, e);
+        }
+
+        if (compacted > 0) {
+            logger.info("Compacted {} notifications to template storage, {} rows left as is.", compacted, skipped);
+            try {
+                jdbcTemplate.execute(vacuumFull ? "VACUUM (FULL, ANALYZE) notifications" : "VACUUM (ANALYZE) notifications");
+            } catch (DataAccessException e) {
+                logger.warn("Failed to vacuum notifications after compaction: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Extracts the body fragment from a stored email document.
+     *
+     * @param html the stored document.
+     * @return the body, or null when the document does not use the old layout.
+     */
+    static String extractBody(String html) {
+        if (html == null) {
+            return null;
+        }
+        Matcher matcher = CONTENT_CELL.matcher(html);
+        if (!matcher.find()) {
+            return null;
+        }
+        String body = PARAGRAPH_OPEN.matcher(matcher.group(1)).replaceAll("");
+        body = PARAGRAPH_CLOSE.matcher(body).replaceAll("<br/><br/>").trim();
+        while (body.endsWith("<br/>")) {
+            body = body.substring(0, body.length() - "<br/>".length()).trim();
+        }
+        return body;
+    }
+}
@@ -0,0 +1,37 @@
+package com.mockxpert.interview_marketplace.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.function.Supplier;
+
+/**
+ * Authorizes the Prometheus scraper by the bearer token configured as app.metrics.scrape-token.
+ *
+ * Without a configured token every scrape is denied, the metrics are never public.
+ *
+ * @author Umar Mohammad
+ */
+@Component
+public class ScrapeTokenAuthorizationManager implements AuthorizationManager<RequestAuthorizationContext> {
+
+    @Value("${app.metrics.scrape-token:}")
+    private String scrapeToken;
+
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        if (scrapeToken == null || scrapeToken.isBlank()) {
+            return new AuthorizationDecision(false);
+        }
+        String authorization = context.getRequest().getHeader(HttpHeaders.AUTHORIZATION);
+        return new AuthorizationDecision(authorization != null && MessageDigest.isEqual(
+                ("Bearer " + scrapeToken).getBytes(StandardCharsets.UTF_8), authorization.getBytes(StandardCharsets.UTF_8)));
+    }
+}
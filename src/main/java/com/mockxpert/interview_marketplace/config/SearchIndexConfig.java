@@ -0,0 +1,71 @@
+package com.mockxpert.interview_marketplace.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Creates the full text search columns and GIN indexes used by the support desk search.
+ *
+ * The tsvector columns are generated by Postgres from the searchable text columns, so they stay
+ * in sync on every insert and update without any application code. Every statement is idempotent
+ * and runs after Hibernate has created or updated the tables.
+ *
+ * @author Umar Mohammad
+ */
+@Component
+public class SearchIndexConfig implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchIndexConfig.class);
+
+    private static final List<String> STATEMENTS = List.of(
+            "ALTER TABLE feedback ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS ("
+                    + "setweight(to_tsvector('english', coalesce(comments, '')), 'A') || "
+                    + "setweight(to_tsvector('english', coalesce(positives, '') || ' ' || coalesce(negatives, '') || ' ' "
+                    + "|| coalesce(improvements, '')), 'B')) STORED",
+            "CREATE INDEX IF NOT EXISTS idx_feedback_search_vector ON feedback USING GIN (search_vector)",
+
+            "ALTER TABLE bookings ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS ("
+                    + "setweight(to_tsvector('english', coalesce(cancellation_reason, '')), 'A') || "
+                    + "setweight(to_tsvector('english', coalesce(notes, '')), 'B')) STORED",
+            "CREATE INDEX IF NOT EXISTS idx_bookings_search_vector ON bookings USING GIN (search_vector)",
+
+            // Recreate the notifications column when it predates template storage and does not index the parameters.
+            "DO $$ BEGIN "
+                    + "IF EXISTS (SELECT 1 FROM pg_attribute a JOIN pg_attrdef d ON d.adrelid = a.attrelid AND d.adnum = a.attnum "
+                    + "WHERE a.attrelid = 'notifications'::regclass AND a.attname = 'search_vector' "
+                    + "AND pg_get_expr(d.adbin, d.adrelid) NOT LIKE '%template_params%') THEN "
+                    + "ALTER TABLE notifications DROP COLUMN search_vector; "
+                    + "END IF; END $$",
+            "ALTER TABLE notifications ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS ("
+                    + "setweight(to_tsvector('english', coalesce(subject, '')), 'A') || "
+                    + "setweight(to_tsvector('english', coalesce(message, '')), 'B') || "
+                    + "setweight(jsonb_to_tsvector('english', coalesce(template_params, '{}'::jsonb), '[\"string\"]'), 'B')) STORED",
+            "CREATE INDEX IF NOT EXISTS idx_notifications_search_vector ON notifications USING GIN (search_vector)"
+    );
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Applies the search DDL once the application context is ready.
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        for (String statement : STATEMENTS) {
+            try {
+                jdbcTemplate.execute(statement);
+            } catch (DataAccessException e) {
+                logger.error("Failed to apply search index statement: {}", statement, e);
+            }
+        }
+        logger.info("Support desk search indexes are in place.");
+    }
+}
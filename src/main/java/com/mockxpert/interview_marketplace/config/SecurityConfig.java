@@ -1,7 +1,9 @@
 package com.mockxpert.interview_marketplace.config;
 
-import com.google.firebase.auth.FirebaseAuth;
+import com.mockxpert.interview_marketplace.entities.User;
 import com.mockxpert.interview_marketplace.filters.FirebaseAuthenticationFilter;
+import com.mockxpert.interview_marketplace.services.FirebaseTokenCache;
+import com.mockxpert.interview_marketplace.services.PrincipalCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -21,7 +23,13 @@ import java.util.Arrays;
 public class SecurityConfig {
 
     @Autowired
-    private FirebaseAuth firebaseAuth;
+    private FirebaseTokenCache firebaseTokenCache;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private ScrapeTokenAuthorizationManager scrapeTokenAuthorizationManager;
 
     /**
      * This method is responsible for authenticating the incoming calls.
@@ -50,12 +58,17 @@ public class SecurityConfig {
                         "/api/users/verification/resendOtp",
                         "/api/payments/success",  
                         "/api/payments/cancel",
-                        "/webhook/stripe"
+                        "/webhook/stripe",
+                        "/images/**"
                 ).permitAll()
+                // The scraper has no Firebase account, it presents the shared scrape token instead.
+                .requestMatchers("/actuator/prometheus").access(scrapeTokenAuthorizationManager)
+                // Every admin endpoint is checked here, the controllers do not repeat the role check.
+                .requestMatchers("/api/admin/**").hasRole(User.Role.ADMIN.name())
                 .anyRequest().authenticated()
             )
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
-            .addFilterBefore(new FirebaseAuthenticationFilter(firebaseAuth), UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(new FirebaseAuthenticationFilter(firebaseTokenCache, principalCache), UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
@@ -0,0 +1,32 @@
+package com.mockxpert.interview_marketplace.controllers;
+
+import com.mockxpert.interview_marketplace.dto.EmailDispatchStatsDto;
+import com.mockxpert.interview_marketplace.services.EmailDispatcher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+
+/**
+ * Rest controller exposing the email dispatcher health to administrators.
+ * 
+ * @author Umar Mohammad
+ */
+@RestController
+@RequestMapping("/api/admin/email")
+public class AdminEmailController {
+
+    @Autowired
+    private EmailDispatcher emailDispatcher;
+
+    /**
+     * Queue depth, open SMTP connections and send latency of the email dispatcher.
+     *
+     * @return the current dispatcher statistics.
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<?> getStats() {
+        EmailDispatchStatsDto stats = emailDispatcher.getStats();
+        return ResponseEntity.ok(stats);
+    }
+}
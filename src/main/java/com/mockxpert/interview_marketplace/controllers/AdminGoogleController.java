@@ -0,0 +1,55 @@
+package com.mockxpert.interview_marketplace.controllers;
+
+import com.mockxpert.interview_marketplace.dto.GoogleTokenStatsDto;
+import com.mockxpert.interview_marketplace.exceptions.InternalServerErrorException;
+import com.mockxpert.interview_marketplace.services.GoogleOAuthService;
+import com.mockxpert.interview_marketplace.services.InterviewService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+
+/**
+ * Rest controller exposing the Google integration health to administrators.
+ * 
+ * @author Umar Mohammad
+ */
+@RestController
+@RequestMapping("/api/admin/google")
+public class AdminGoogleController {
+
+    @Autowired
+    private GoogleOAuthService googleOAuthService;
+
+    @Autowired
+    private InterviewService interviewService;
+
+    /**
+     * Cache hits, refresh counts and refresh latency of the Google OAuth token cache.
+     *
+     * @return the current token cache statistics.
+     */
+    @GetMapping("/token-stats")
+    public ResponseEntity<?> getTokenStats() {
+        GoogleTokenStatsDto stats = googleOAuthService.getStats();
+        return ResponseEntity.ok(stats);
+    }
+
+    /**
+     * Creates the missing Google Meet links of upcoming interviews in Calendar batch requests.
+     *
+     * @return the number of interviews that received a link.
+     */
+    @PostMapping("/meet-links/backfill")
+    public ResponseEntity<?> backfillMeetingLinks() {
+        try {
+            int linked = interviewService.backfillMeetingLinks();
+            return ResponseEntity.ok(Map.of("linked", linked));
+        } catch (InternalServerErrorException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
+        }
+    }
+}
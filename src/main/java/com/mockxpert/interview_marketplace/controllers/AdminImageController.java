@@ -0,0 +1,32 @@
+package com.mockxpert.interview_marketplace.controllers;
+
+import com.mockxpert.interview_marketplace.dto.ImageServingStatsDto;
+import com.mockxpert.interview_marketplace.services.ImageServingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+
+/**
+ * Rest controller exposing the image endpoint statistics to administrators.
+ * 
+ * @author Umar Mohammad
+ */
+@RestController
+@RequestMapping("/api/admin/images")
+public class AdminImageController {
+
+    @Autowired
+    private ImageServingService imageServingService;
+
+    /**
+     * Hot cache usage and the number of 304 and sendfile responses of the image endpoint.
+     *
+     * @return the current image serving statistics.
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<?> getImageStats() {
+        ImageServingStatsDto stats = imageServingService.getStats();
+        return ResponseEntity.ok(stats);
+    }
+}
@@ -0,0 +1,50 @@
+package com.mockxpert.interview_marketplace.controllers;
+
+import com.mockxpert.interview_marketplace.dto.DependencyHealthDto;
+import com.mockxpert.interview_marketplace.dto.HostHttpStatsDto;
+import com.mockxpert.interview_marketplace.services.OutboundHttpMetrics;
+import com.mockxpert.interview_marketplace.services.ResilienceService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+
+/**
+ * Rest controller exposing the health of the remote dependencies to administrators.
+ * 
+ * @author Umar Mohammad
+ */
+@RestController
+@RequestMapping("/api/admin/resilience")
+public class AdminResilienceController {
+
+    @Autowired
+    private ResilienceService resilienceService;
+
+    @Autowired
+    private OutboundHttpMetrics outboundHttpMetrics;
+
+    /**
+     * Circuit breaker state, in-flight calls and failure counters per dependency.
+     *
+     * @return the current dependency health.
+     */
+    @GetMapping("/dependencies")
+    public ResponseEntity<?> getDependencies() {
+        List<DependencyHealthDto> dependencies = resilienceService.getHealth();
+        return ResponseEntity.ok(dependencies);
+    }
+
+    /**
+     * Request counts, failures, in-flight calls and latency of the shared HTTP client per remote host.
+     *
+     * @return the current per host statistics.
+     */
+    @GetMapping("/http-hosts")
+    public ResponseEntity<?> getHttpHosts() {
+        List<HostHttpStatsDto> hosts = outboundHttpMetrics.getStats();
+        return ResponseEntity.ok(hosts);
+    }
+}
@@ -0,0 +1,47 @@
+package com.mockxpert.interview_marketplace.controllers;
+
+import com.mockxpert.interview_marketplace.dto.SearchResponseDto;
+import com.mockxpert.interview_marketplace.exceptions.BadRequestException;
+import com.mockxpert.interview_marketplace.services.SearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Set;
+
+
+/**
+ * Rest controller responsible for the support desk search used by administrators.
+ * 
+ * @author Umar Mohammad
+ */
+@RestController
+@RequestMapping("/api/admin/search")
+public class AdminSearchController {
+
+    @Autowired
+    private SearchService searchService;
+
+    /**
+     * Ranked, paginated search across feedback, bookings and notifications.
+     *
+     * @param q     the search string.
+     * @param types optional entity types to restrict the search (FEEDBACK, BOOKING, NOTIFICATION).
+     * @param page  zero based page number.
+     * @param size  page size.
+     * @return a page of ranked hits with snippets.
+     */
+    @GetMapping
+    public ResponseEntity<?> search(@RequestParam("q") String q,
+                                    @RequestParam(value = "types", required = false) Set<SearchService.EntityType> types,
+                                    @RequestParam(value = "page", defaultValue = "0") int page,
+                                    @RequestParam(value = "size", defaultValue = "20") int size) {
+        try {
+            SearchResponseDto response = searchService.search(q, types, page, size);
+            return ResponseEntity.ok(response);
+        } catch (BadRequestException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+}
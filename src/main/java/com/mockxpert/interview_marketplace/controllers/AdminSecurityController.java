@@ -0,0 +1,75 @@
+package com.mockxpert.interview_marketplace.controllers;
+
+import com.mockxpert.interview_marketplace.dto.RateLimitStatsDto;
+import com.mockxpert.interview_marketplace.dto.TokenCacheStatsDto;
+import com.mockxpert.interview_marketplace.services.FirebaseTokenCache;
+import com.mockxpert.interview_marketplace.services.PrincipalCache;
+import com.mockxpert.interview_marketplace.services.RateLimitService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+
+/**
+ * Rest controller exposing the authentication caches to administrators.
+ * 
+ * @author Umar Mohammad
+ */
+@RestController
+@RequestMapping("/api/admin/security")
+public class AdminSecurityController {
+
+    @Autowired
+    private FirebaseTokenCache firebaseTokenCache;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private RateLimitService rateLimitService;
+
+    /**
+     * Size, hit rate and evictions of the verified ID token cache.
+     *
+     * @return the current token cache statistics.
+     */
+    @GetMapping("/token-cache")
+    public ResponseEntity<?> getTokenCacheStats() {
+        TokenCacheStatsDto stats = firebaseTokenCache.getStats();
+        return ResponseEntity.ok(stats);
+    }
+
+    /**
+     * Size, hit rate and evictions of the resolved principal cache.
+     *
+     * @return the current principal cache statistics.
+     */
+    @GetMapping("/principal-cache")
+    public ResponseEntity<?> getPrincipalCacheStats() {
+        TokenCacheStatsDto stats = principalCache.getStats();
+        return ResponseEntity.ok(stats);
+    }
+
+    /**
+     * Tracked keys and allowed and rejected requests per policy of the endpoint rate limiter.
+     *
+     * @return the current rate limiter statistics.
+     */
+    @GetMapping("/rate-limits")
+    public ResponseEntity<?> getRateLimitStats() {
+        RateLimitStatsDto stats = rateLimitService.getStats();
+        return ResponseEntity.ok(stats);
+    }
+
+    /**
+     * Rejects every token issued to a user so far, e.g. after their account was compromised.
+     *
+     * @param firebaseUid the Firebase UID of the user.
+     * @return confirmation message.
+     */
+    @PostMapping("/revoke/{firebaseUid}")
+    public ResponseEntity<?> revokeUserTokens(@PathVariable String firebaseUid) {
+        firebaseTokenCache.revokeUser(firebaseUid);
+        return ResponseEntity.ok("Tokens revoked.");
+    }
+}
@@ -1,8 +1,10 @@
 package com.mockxpert.interview_marketplace.controllers;
 
 import com.mockxpert.interview_marketplace.dto.FeedbackDto;
+import com.mockxpert.interview_marketplace.dto.FeedbackThemeDto;
 import com.mockxpert.interview_marketplace.exceptions.*;
 import com.mockxpert.interview_marketplace.services.FeedbackService;
+import com.mockxpert.interview_marketplace.services.FeedbackThemeService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -24,6 +26,9 @@ public class FeedbackController {
     @Autowired
     private FeedbackService feedbackService;
 
+    @Autowired
+    private FeedbackThemeService feedbackThemeService;
+
     public FeedbackController() {
         System.out.println("FeedbackController Initialized");
     }
@@ -160,4 +165,30 @@ public class FeedbackController {
         }
     }
 
-}
\ No newline at end of file
+    /**
+     * Get the most frequent themes in the feedback received by a user.
+     *
+     * @param userId the receiver's user ID.
+     * @param limit maximum number of themes.
+     * @return list of themes, most frequent first.
+     */
+    @GetMapping("/themes/user/{userId}")
+    public ResponseEntity<List<FeedbackThemeDto>> getThemesForUser(@PathVariable Long userId,
+                                                                   @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(feedbackThemeService.getThemesForReceiver(userId, limit));
+    }
+
+    /**
+     * Get the most frequent themes in the feedback of users with a skill.
+     *
+     * @param skillId the skill ID.
+     * @param limit maximum number of themes.
+     * @return list of themes, most frequent first.
+     */
+    @GetMapping("/themes/skill/{skillId}")
+    public ResponseEntity<List<FeedbackThemeDto>> getThemesForSkill(@PathVariable Long skillId,
+                                                                    @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(feedbackThemeService.getThemesForSkill(skillId, limit));
+    }
+
+}
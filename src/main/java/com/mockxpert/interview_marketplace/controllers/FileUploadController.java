@@ -6,88 +6,54 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.beans.factory.annotation.Autowired;
 
-import com.libralink.repository.UserRepository;
-import com.mockxpert.interview_marketplace.dto.InterviewerDto;
-import com.mockxpert.interview_marketplace.entities.Interviewer;
-import com.mockxpert.interview_marketplace.mappers.InterviewerMapper;
-import com.mockxpert.interview_marketplace.repositories.InterviewerRepository;
-import com.mockxpert.interview_marketplace.services.InterviewerService;
+import com.mockxpert.interview_marketplace.dto.ProfileImageDto;
+import com.mockxpert.interview_marketplace.dto.UserPrincipal;
+import com.mockxpert.interview_marketplace.exceptions.BadRequestException;
+import com.mockxpert.interview_marketplace.exceptions.InternalServerErrorException;
+import com.mockxpert.interview_marketplace.exceptions.ResourceNotFoundException;
+import com.mockxpert.interview_marketplace.services.ProfileImageService;
 import com.mockxpert.interview_marketplace.services.UserService;
 
-import java.awt.image.BufferedImage;
-import java.io.IOException;
-import java.nio.file.*;
-import java.util.Collections;
-
-import javax.imageio.ImageIO;
-
 @CrossOrigin(origins = "*", allowedHeaders = "*")
 @RestController
 @RequestMapping("/api")
 public class FileUploadController {
 
-    private static final String IMAGE_DIR =
-        "C:/Users/moham/Downloads/Frontend/interview-marketplace/public/images/";
-    
-    @Autowired
-    private InterviewerService interviewerService;
-    
     @Autowired
-    private InterviewerRepository interviewerRepository;
+    private ProfileImageService profileImageService;
     
     @Autowired
     private UserService userService;
     
-    
-    private InterviewerMapper interviewerMapper;
-    
     /**
      * 
-     * Uploads the image inside the /public/images folder.
+     * Uploads the profile image of an interviewer. The response contains the image URL and the URLs
+     * its thumbnails are generated at.
      * 
      * @param file
-     * @param fullName
-     * @param interviewerId
+     * @param fullName no longer used, images are named by their content hash.
+     * @param userId
      * @return
      */
 
     @PostMapping("/upload-profile-pic")
     public ResponseEntity<?> uploadProfilePic(
         @RequestParam("file") MultipartFile file,
-        @RequestParam("fullName") String fullName,
+        @RequestParam(value = "fullName", required = false) String fullName,
         @RequestParam("interviewerId") Long userId
     ) {
+        UserPrincipal principal = userService.getCurrentPrincipal();
+        if (!principal.getUserId().equals(userId) && !principal.isAdmin()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("You can only change your own profile image.");
+        }
         try {
-            String originalFilename = file.getOriginalFilename();
-            if (originalFilename == null || originalFilename.isEmpty()) {
-                return ResponseEntity.badRequest().body("No file name found!");
-            }
-            String safeName = fullName.trim().toLowerCase().replaceAll("\\s+", "-");
-            String fileName = safeName + userId + ".png";
-            Path destination = Paths.get(IMAGE_DIR, fileName);
-            Files.createDirectories(destination.getParent());
-            BufferedImage image = ImageIO.read(file.getInputStream());
-            ImageIO.write(image, "png", destination.toFile());
-            String imageUrl = "/images/" + fileName;
-            
-            InterviewerDto interviewerDto = interviewerService.findInterviewerByUserId(userId)
-                .orElseThrow(() -> new RuntimeException("Interviewer not found"));
-            interviewerDto.setProfileImage(imageUrl);
-            
-            System.out.println(interviewerDto);
-            
-            Interviewer entity = interviewerMapper.toEntity(interviewerDto);
-            entity.setUser(userService.getUserByUserId(userId));
-            
-            System.out.println(entity);
-            
-            interviewerRepository.save(entity);
-            
-   
-            
-            return ResponseEntity.ok(Collections.singletonMap("url", imageUrl));
-        } catch (Exception e) {
-        	System.out.println(e);
+            ProfileImageDto image = profileImageService.storeProfileImage(userId, file);
+            return ResponseEntity.ok(image);
+        } catch (BadRequestException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (InternalServerErrorException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body("Failed to upload image: " + e.getMessage());
         }
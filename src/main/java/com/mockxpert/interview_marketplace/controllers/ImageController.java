@@ -0,0 +1,40 @@
+package com.mockxpert.interview_marketplace.controllers;
+
+import com.mockxpert.interview_marketplace.services.ImageServingService;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+
+/**
+ * Rest controller serving the stored profile images and their thumbnails.
+ * 
+ * @author Umar Mohammad
+ */
+@CrossOrigin(origins = "*", allowedHeaders = "*")
+@RestController
+@RequestMapping("/images")
+public class ImageController {
+
+    @Autowired
+    private ImageServingService imageServingService;
+
+    /**
+     * Serves an image with a strong ETag, conditional requests and byte ranges.
+     *
+     * @param fileName the file name of the image, e.g. a content hash with extension.
+     * @param request  the HTTP request.
+     * @param response the HTTP response the image is written to.
+     * @throws IOException if the response cannot be written.
+     */
+    @GetMapping("/{fileName:.+}")
+    public void getImage(@PathVariable String fileName, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        imageServingService.serve(fileName, request, response);
+    }
+}
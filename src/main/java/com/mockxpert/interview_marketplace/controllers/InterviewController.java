@@ -310,7 +310,7 @@ public class InterviewController {
         @RequestParam(required = false) String endTime
     ) {
         try {
-            Long dbUserId = userService.getCurrentUser().getUserId(); 
+            Long dbUserId = userService.getCurrentUserId(); 
             // or intervieweeRepository.findByUid(firebaseUid)...
 
             // 2) parse optional date/time
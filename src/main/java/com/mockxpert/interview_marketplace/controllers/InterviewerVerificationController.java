@@ -8,6 +8,8 @@ import com.mockxpert.interview_marketplace.exceptions.InvalidOtpException;
 import com.mockxpert.interview_marketplace.exceptions.ResourceNotFoundException;
 import com.mockxpert.interview_marketplace.repositories.UserRepository;
 import com.mockxpert.interview_marketplace.services.InterviewerVerificationService;
+import com.mockxpert.interview_marketplace.services.RateLimitService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -28,6 +30,9 @@ public class InterviewerVerificationController {
     @Autowired
     private InterviewerVerificationService verificationService;
 
+    @Autowired
+    private RateLimitService rateLimitService;
+
     /**
      * Endpoint to send a verification OTP to the authenticated user.
      * This method returns HTTP 200 OK with a success message if the OTP is sent.
@@ -35,7 +40,8 @@ public class InterviewerVerificationController {
      * @return ResponseEntity with status and message.
      */
     @PostMapping("/sendOtp/{userId}")
-    public ResponseEntity<String> sendVerificationOtp(@PathVariable Long userId) {
+    public ResponseEntity<String> sendVerificationOtp(@PathVariable Long userId, HttpServletRequest request) {
+        rateLimitService.checkLimit(RateLimitService.OTP_SEND, request, userId);
         
         verificationService.sendVerificationOtp(userId);
         
@@ -54,7 +60,9 @@ public class InterviewerVerificationController {
      * @return ResponseEntity with status and message.
      */
     @PostMapping("/verifyOtp/{userId}")
-    public ResponseEntity<String> verifyOtp(@PathVariable Long userId, @RequestBody VerifyOtpRequest request) {
+    public ResponseEntity<String> verifyOtp(@PathVariable Long userId, @RequestBody VerifyOtpRequest request,
+                                            HttpServletRequest httpRequest) {
+        rateLimitService.checkLimit(RateLimitService.OTP_VERIFY, httpRequest, userId);
         
         try {
             verificationService.verifyOtp(userId, request.getOtp());
@@ -72,7 +80,8 @@ public class InterviewerVerificationController {
      * @return ResponseEntity with status and message.
      */
     @PostMapping("/resendOtp/{userId}")
-    public ResponseEntity<String> resendOtp(@PathVariable Long userId) {
+    public ResponseEntity<String> resendOtp(@PathVariable Long userId, HttpServletRequest request) {
+        rateLimitService.checkLimit(RateLimitService.OTP_SEND, request, userId);
         
         verificationService.resendOtp(userId);
         return ResponseEntity.ok("OTP resent successfully");
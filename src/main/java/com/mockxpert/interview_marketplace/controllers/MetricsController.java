@@ -0,0 +1,36 @@
+package com.mockxpert.interview_marketplace.controllers;
+
+import com.mockxpert.interview_marketplace.services.MetricsService;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Rest controller exposing the application metrics to Prometheus.
+ *
+ * The scraper authenticates with the bearer token configured as app.metrics.scrape-token, which
+ * SecurityConfig checks before the request gets here.
+ *
+ * @author Umar Mohammad
+ */
+@RestController
+@RequestMapping("/actuator")
+public class MetricsController {
+
+    private static final MediaType PROMETHEUS_TEXT = MediaType.parseMediaType("text/plain; version=0.0.4; charset=utf-8");
+
+    @Autowired
+    private MetricsService metricsService;
+
+    /**
+     * All metrics in the Prometheus text format.
+     *
+     * @return the scrape response.
+     */
+    @GetMapping("/prometheus")
+    public ResponseEntity<?> scrape() {
+        return ResponseEntity.ok().contentType(PROMETHEUS_TEXT).body(metricsService.scrape());
+    }
+}
@@ -1,11 +1,17 @@
 package com.mockxpert.interview_marketplace.controllers;
 
 import com.mockxpert.interview_marketplace.dto.NotificationDto;
+import com.mockxpert.interview_marketplace.dto.NotificationPageDto;
+import com.mockxpert.interview_marketplace.exceptions.BadRequestException;
 import com.mockxpert.interview_marketplace.services.NotificationService;
+import com.mockxpert.interview_marketplace.services.NotificationStreamService;
+import com.mockxpert.interview_marketplace.services.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import jakarta.validation.Valid;
 import java.util.List;
@@ -23,6 +29,12 @@ public class NotificationController {
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private NotificationStreamService notificationStreamService;
+
+    @Autowired
+    private UserService userService;
+
     public NotificationController() {
         System.out.println("NotificationController Initialized");
     }
@@ -44,6 +56,27 @@ public class NotificationController {
         }
     }
 
+    /**
+     * Create several notifications in one request, e.g. an announcement to many users. Only administrators
+     * may fan out notifications and their emails to other users.
+     * @param notificationDtos the notifications to create.
+     * @return the created NotificationDtos.
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<?> createNotifications(@RequestBody List<@Valid NotificationDto> notificationDtos) {
+        if (!userService.getCurrentPrincipal().isAdmin()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Only administrators can create notifications in bulk.");
+        }
+        try {
+            List<NotificationDto> savedNotifications = notificationService.createNotifications(notificationDtos);
+            return ResponseEntity.status(HttpStatus.CREATED).body(savedNotifications);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Failed to create notifications");
+        }
+    }
+
     /**
      * Retrieve a notification by ID.
      * @param notificationId the ID of the notification to retrieve.
@@ -111,6 +144,79 @@ public class NotificationController {
         }
     }
 
+    /**
+     * Retrieve one page of the current user's inbox, newest first.
+     * @param cursor the nextCursor of the previous page, omitted for the first page.
+     * @param size the number of notifications per page.
+     * @param unreadOnly whether to return unread notifications only.
+     * @return the page with the cursor of the next page and the unread count.
+     */
+    @GetMapping("/inbox")
+    public ResponseEntity<?> getInbox(@RequestParam(required = false) String cursor,
+                                      @RequestParam(defaultValue = "20") int size,
+                                      @RequestParam(defaultValue = "false") boolean unreadOnly) {
+        try {
+            Long userId = userService.getCurrentUserId();
+            NotificationPageDto page = notificationService.getInbox(userId, cursor, size, unreadOnly);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Failed to retrieve inbox");
+        }
+    }
+
+    /**
+     * Retrieve the number of unread notifications of the current user.
+     * @return the unread count.
+     */
+    @GetMapping("/unread-count")
+    public ResponseEntity<?> getUnreadCount() {
+        try {
+            Long userId = userService.getCurrentUserId();
+            return ResponseEntity.ok(notificationService.getUnreadCount(userId));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Failed to retrieve unread count");
+        }
+    }
+
+    /**
+     * Mark several notifications of the current user as read in one request.
+     * @param notificationIds the notifications to mark, an empty or missing body marks all of them.
+     * @return the number of notifications that were marked.
+     */
+    @PutMapping("/markAsRead")
+    public ResponseEntity<?> markNotificationsAsRead(@RequestBody(required = false) List<Long> notificationIds) {
+        try {
+            Long userId = userService.getCurrentUserId();
+            int updated = notificationService.markAsRead(userId, notificationIds);
+            return ResponseEntity.ok(updated);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Failed to mark notifications as read");
+        }
+    }
+
+    /**
+     * Stream new notifications of the current user as server-sent events.
+     * Reconnecting clients send the Last-Event-ID header (or lastEventId parameter) to receive what they missed.
+     *
+     * @param lastEventIdHeader the ID of the last notification received, sent by EventSource on reconnect.
+     * @param lastEventIdParam  the same ID as a query parameter, for clients that cannot set headers.
+     * @return the event stream.
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamNotifications(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+                                          @RequestParam(value = "lastEventId", required = false) String lastEventIdParam) {
+        Long userId = userService.getCurrentUserId();
+        String lastEventId = lastEventIdHeader != null ? lastEventIdHeader : lastEventIdParam;
+        try {
+            return notificationStreamService.subscribe(userId,
+                    lastEventId == null || lastEventId.isBlank() ? null : Long.valueOf(lastEventId.trim()));
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Invalid Last-Event-ID: " + lastEventId);
+        }
+    }
+
     /**
      * Mark a notification as read.
      * @param notificationId the ID of the notification to mark as read.
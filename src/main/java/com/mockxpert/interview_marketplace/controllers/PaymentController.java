@@ -1,12 +1,15 @@
 package com.mockxpert.interview_marketplace.controllers;
 
+import com.mockxpert.interview_marketplace.dto.MonthlyEarningsDto;
 import com.mockxpert.interview_marketplace.dto.PaymentDto;
 import com.mockxpert.interview_marketplace.exceptions.ResourceNotFoundException;
+import com.mockxpert.interview_marketplace.exceptions.ServiceUnavailableException;
 import com.mockxpert.interview_marketplace.services.PaymentService;
 import com.mockxpert.interview_marketplace.services.StripePaymentService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -51,6 +54,10 @@ public class PaymentController {
             String checkoutUrl = stripePaymentService.createCheckoutSession(bookingId, amount);
             logger.info("Stripe Checkout initiated for Booking ID: {} | Amount: {}", bookingId, amount);
             return ResponseEntity.ok(checkoutUrl);
+        } catch (ServiceUnavailableException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, e.getRetryAfterSeconds())))
+                    .body(e.getMessage());
         } catch (Exception e) {
             logger.error("Failed to create Stripe checkout session for Booking ID: {}", bookingId, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
@@ -154,7 +161,7 @@ public class PaymentController {
     /**
      * Get total earnings for an interviewer.
      *
-     * @param interviewerId the ID of the interviewer.
+     * @param userId the user ID of the interviewer.
      * @return total earnings amount.
      */
     @GetMapping("/interviewer/{userId}/earnings")
@@ -162,6 +169,22 @@ public class PaymentController {
         BigDecimal totalEarnings = paymentService.getTotalEarningsForInterviewer(userId);
         return ResponseEntity.ok(totalEarnings);
     }
+
+    /**
+     * Get the monthly earnings for an interviewer.
+     *
+     * @param userId the user ID of the interviewer.
+     * @param months the number of months to return, 12 by default.
+     * @return the monthly earnings, latest month first.
+     */
+    @GetMapping("/interviewer/{userId}/earnings/monthly")
+    public ResponseEntity<?> getMonthlyEarnings(@PathVariable Long userId, @RequestParam(defaultValue = "12") int months) {
+        if (months < 1 || months > 120) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Months must be between 1 and 120");
+        }
+        List<MonthlyEarningsDto> monthlyEarnings = paymentService.getMonthlyEarningsForInterviewer(userId, months);
+        return ResponseEntity.ok(monthlyEarnings);
+    }
     
     /**
      * Fetch all payment transactions for a specific user.
@@ -0,0 +1,144 @@
+package com.mockxpert.interview_marketplace.controllers;
+
+import com.mockxpert.interview_marketplace.dto.ResumeUploadDto;
+import com.mockxpert.interview_marketplace.dto.ResumeUploadRequest;
+import com.mockxpert.interview_marketplace.dto.UserPrincipal;
+import com.mockxpert.interview_marketplace.exceptions.*;
+import com.mockxpert.interview_marketplace.services.ResumeUploadService;
+import com.mockxpert.interview_marketplace.services.UserService;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+/**
+ * 
+ * REST controller for resumable, chunked resume uploads of the current interviewee.
+ * 
+ * <pre>
+ * Endpoints:
+ *  POST   /api/interviewees/resume-uploads                          - Starts an upload and returns its chunk layout.
+ *  PUT    /api/interviewees/resume-uploads/{uploadId}/chunks/{index} - Sends one chunk, with X-Chunk-Checksum set to its SHA-256.
+ *  GET    /api/interviewees/resume-uploads/{uploadId}               - Returns the chunks still missing, used to resume.
+ *  POST   /api/interviewees/resume-uploads/{uploadId}/complete      - Stores the file and sets it as the resume.
+ *  DELETE /api/interviewees/resume-uploads/{uploadId}               - Cancels the upload.
+ * </pre>
+ * 
+ * @author Umar Mohammad
+ */
+@RestController
+@RequestMapping("/api/interviewees/resume-uploads")
+public class ResumeUploadController {
+
+    @Autowired
+    private ResumeUploadService resumeUploadService;
+
+    @Autowired
+    private UserService userService;
+
+    /**
+     * Starts a resume upload.
+     * 
+     * @param request the file name, content type, size and optional SHA-256 of the resume.
+     * @return the created upload.
+     */
+    @PostMapping
+    public ResponseEntity<?> startUpload(@RequestBody @Valid ResumeUploadRequest request) {
+        try {
+            UserPrincipal principal = userService.getCurrentPrincipal();
+            ResumeUploadDto upload = resumeUploadService.startUpload(principal, request);
+            return ResponseEntity.status(HttpStatus.CREATED).body(upload);
+        } catch (ForbiddenException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+        } catch (BadRequestException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    /**
+     * Receives one chunk as the raw request body.
+     * 
+     * @param uploadId the ID of the upload.
+     * @param index    the zero based chunk index.
+     * @param checksum the hex SHA-256 of the chunk.
+     * @param request  the HTTP request carrying the chunk.
+     * @return the upload state after the chunk.
+     */
+    @PutMapping("/{uploadId}/chunks/{index}")
+    public ResponseEntity<?> uploadChunk(@PathVariable String uploadId, @PathVariable int index,
+                                         @RequestHeader(value = "X-Chunk-Checksum", required = false) String checksum,
+                                         HttpServletRequest request) throws IOException {
+        try {
+            UserPrincipal principal = userService.getCurrentPrincipal();
+            ResumeUploadDto upload = resumeUploadService.writeChunk(principal, uploadId, index, checksum,
+                    request.getInputStream(), request.getContentLengthLong());
+            return ResponseEntity.ok(upload);
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (ConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (BadRequestException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the state of an upload so an interrupted client can send the missing chunks.
+     * 
+     * @param uploadId the ID of the upload.
+     * @return the upload state.
+     */
+    @GetMapping("/{uploadId}")
+    public ResponseEntity<?> getUpload(@PathVariable String uploadId) {
+        try {
+            ResumeUploadDto upload = resumeUploadService.getUpload(userService.getCurrentPrincipal(), uploadId);
+            return ResponseEntity.ok(upload);
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+
+    /**
+     * Completes an upload once every chunk was received.
+     * 
+     * @param uploadId the ID of the upload.
+     * @return the completed upload with the storage key of the resume.
+     */
+    @PostMapping("/{uploadId}/complete")
+    public ResponseEntity<?> completeUpload(@PathVariable String uploadId) {
+        try {
+            ResumeUploadDto upload = resumeUploadService.completeUpload(userService.getCurrentPrincipal(), uploadId);
+            return ResponseEntity.ok(upload);
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (ConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (BadRequestException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    /**
+     * Cancels an upload.
+     * 
+     * @param uploadId the ID of the upload.
+     * @return confirmation message.
+     */
+    @DeleteMapping("/{uploadId}")
+    public ResponseEntity<?> abortUpload(@PathVariable String uploadId) {
+        try {
+            resumeUploadService.abortUpload(userService.getCurrentPrincipal(), uploadId);
+            return ResponseEntity.ok("Upload cancelled.");
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (ConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
+    }
+}
@@ -1,11 +1,8 @@
 package com.mockxpert.interview_marketplace.controllers;
 
-import com.mockxpert.interview_marketplace.services.PaymentService;
-import com.mockxpert.interview_marketplace.dto.PaymentDto;
+import com.mockxpert.interview_marketplace.services.StripeWebhookService;
 import com.stripe.exception.SignatureVerificationException;
-import com.stripe.exception.StripeException;
 import com.stripe.model.Event;
-import com.stripe.model.checkout.Session;
 import com.stripe.net.Webhook;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -14,11 +11,11 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.Map;
-
 /**
  * REST controller for handling Stripe webhook events.
  * Webhooks ensure that payments are securely verified before processing interview bookings.
+ * Events are verified and stored here and processed in the background, so Stripe gets its
+ * acknowledgement without waiting for the booking, email and calendar work.
  * 
  * @author Umar Mohammad
  */
@@ -29,7 +26,7 @@ public class StripeWebhookController {
     private static final Logger logger = LoggerFactory.getLogger(StripeWebhookController.class);
 
     @Autowired
-    private final PaymentService paymentService;
+    private final StripeWebhookService stripeWebhookService;
 
     @Value("${stripe.webhook.secret}")
     private String stripeWebhookSecret;
@@ -37,10 +34,10 @@ public class StripeWebhookController {
     /**
      * Constructor-based dependency injection.
      *
-     * @param paymentService Service for processing payment events.
+     * @param stripeWebhookService Service for ingesting and processing webhook events.
      */
-    public StripeWebhookController(PaymentService paymentService) {
-        this.paymentService = paymentService;
+    public StripeWebhookController(StripeWebhookService stripeWebhookService) {
+        this.stripeWebhookService = stripeWebhookService;
     }
 
     /**
@@ -48,7 +45,7 @@ public class StripeWebhookController {
      *
      * @param payload   The raw event payload from Stripe.
      * @param sigHeader The Stripe signature header for verification.
-     * @return Response indicating the status of event processing.
+     * @return Response indicating whether the event was accepted.
      */
     @PostMapping("/stripe")
     public ResponseEntity<String> handleStripeWebhook(@RequestBody String payload,
@@ -57,46 +54,20 @@ public class StripeWebhookController {
             // Verify webhook signature
             Event event = Webhook.constructEvent(payload, sigHeader, stripeWebhookSecret);
 
-            logger.info("Received Stripe webhook event: {}", event.getType());
-
-            if ("checkout.session.completed".equals(event.getType())) {
-                // Extract session details
-                Session session = (Session) event.getDataObjectDeserializer().getObject().orElse(null);
-                if (session != null) {
-                    String sessionId = session.getId();
-                    logger.info("Processing successful payment for Session ID: {}", sessionId);
-
-                    // Extract the OAuth Access Token stored in Stripe metadata
-                    Map<String, String> metadata = session.getMetadata();
-                    if (metadata == null || !metadata.containsKey("oauth_token")) {
-                        logger.error("OAuth token missing in Stripe metadata for Session ID: {}", sessionId);
-                        return ResponseEntity.badRequest().body("OAuth token missing in metadata.");
-                    }
+            logger.info("Received Stripe webhook event {}: {}", event.getId(), event.getType());
 
-                    String oauthToken = metadata.get("oauth_token");
-
-                    // Process the payment and create interview
-                    PaymentDto payment = paymentService.processSuccessfulPayment(sessionId);
-
-                    logger.info("Interview scheduled for Booking ID: {}", payment.getBookingId());
-                } else {
-                    logger.warn("Stripe session is null for event type: {}", event.getType());
-                }
-            } else if ("payment_intent.payment_failed".equals(event.getType())) {
-                logger.error("Payment failed for a session.");
+            if (!stripeWebhookService.ingest(event, payload)) {
+                return ResponseEntity.ok("Webhook already received.");
             }
-
-            return ResponseEntity.ok("Webhook processed successfully.");
+            return ResponseEntity.ok("Webhook received.");
 
         } catch (SignatureVerificationException e) {
             logger.error("Invalid Stripe Webhook Signature!", e);
             return ResponseEntity.badRequest().body("Invalid webhook signature.");
-        } catch (StripeException e) {
-            logger.error("Stripe API error while processing webhook.", e);
-            return ResponseEntity.internalServerError().body("Stripe processing error.");
         } catch (Exception e) {
-            logger.error("Unexpected error processing webhook.", e);
-            return ResponseEntity.internalServerError().body("Error processing webhook.");
+            // Not acknowledged, so Stripe delivers the event again.
+            logger.error("Unexpected error storing webhook.", e);
+            return ResponseEntity.internalServerError().body("Error storing webhook.");
         }
     }
 }
@@ -8,11 +8,13 @@ import com.mockxpert.interview_marketplace.exceptions.ConflictException;
 import com.mockxpert.interview_marketplace.exceptions.ResourceNotFoundException;
 import com.mockxpert.interview_marketplace.exceptions.UnauthorizedException;
 import com.mockxpert.interview_marketplace.exceptions.ValidationException;
+import com.mockxpert.interview_marketplace.services.RateLimitService;
 import com.mockxpert.interview_marketplace.services.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import com.mockxpert.interview_marketplace.entities.User;
 
@@ -28,6 +30,9 @@ public class UserController {
 
     @Autowired
     private UserService userService;
+
+    @Autowired
+    private RateLimitService rateLimitService;
     
     /**
      * Registers a new user.
@@ -39,7 +44,8 @@ public class UserController {
      * @throws FirebaseAuthException If Firebase authentication fails.
      */
     @PostMapping("/register")
-    public ResponseEntity<?> registerUser(@RequestBody @Valid UserDto userDto) throws FirebaseAuthException {
+    public ResponseEntity<?> registerUser(@RequestBody @Valid UserDto userDto, HttpServletRequest request) throws FirebaseAuthException {
+        rateLimitService.checkLimit(RateLimitService.REGISTER, request, userDto.getEmail());
         try {
             UserDto savedUser = userService.registerUser(userDto);
             return ResponseEntity.status(HttpStatus.CREATED).body(savedUser);
@@ -60,7 +66,8 @@ public class UserController {
      * @return LoginResponse with tokens and user information.
      */
     @PostMapping("/login")
-    public ResponseEntity<?> loginUser(@RequestBody @Valid LoginRequest loginRequest) {
+    public ResponseEntity<?> loginUser(@RequestBody @Valid LoginRequest loginRequest, HttpServletRequest request) {
+        rateLimitService.checkLimit(RateLimitService.LOGIN, request, loginRequest.getEmail());
         try {
             LoginResponse loginResponse = userService.loginUser(loginRequest);
             return ResponseEntity.ok(loginResponse);
@@ -111,7 +118,8 @@ public class UserController {
      * @return The generated reset token.
      */
     @PostMapping("/forgot-password")
-    public ResponseEntity<?> forgotPassword(@RequestParam String email) {
+    public ResponseEntity<?> forgotPassword(@RequestParam String email, HttpServletRequest request) {
+        rateLimitService.checkLimit(RateLimitService.PASSWORD_RESET, request, email);
         try {
             String resetToken = userService.generateResetToken(email);
             return ResponseEntity.ok("Reset token generated: " + resetToken);
@@ -132,7 +140,9 @@ public class UserController {
     @PostMapping("/reset-password")
     public ResponseEntity<?> resetPassword(@RequestParam String token,
                                            @RequestParam String newPassword,
-                                           @RequestParam String confirmPassword) {
+                                           @RequestParam String confirmPassword,
+                                           HttpServletRequest request) {
+        rateLimitService.checkLimit(RateLimitService.PASSWORD_RESET, request, userService.getResetTokenUserId(token));
         try {
             userService.resetPassword(token, newPassword, confirmPassword);
             return ResponseEntity.ok("Password has been reset successfully.");
@@ -155,7 +165,9 @@ public class UserController {
     @PutMapping("/{userId}/changePassword")
     public ResponseEntity<String> changeUserPassword(@PathVariable Long userId,
                                                      @RequestParam String newPassword,
-                                                     @RequestParam String confirmPassword) {
+                                                     @RequestParam String confirmPassword,
+                                           HttpServletRequest request) {
+        rateLimitService.checkLimit(RateLimitService.PASSWORD_RESET, request, userId);
         try {
             userService.changeUserPassword(userId, newPassword, confirmPassword);
             return ResponseEntity.ok("Password changed successfully");
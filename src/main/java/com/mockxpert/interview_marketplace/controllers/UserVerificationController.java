@@ -3,6 +3,8 @@ package com.mockxpert.interview_marketplace.controllers;
 import com.mockxpert.interview_marketplace.dto.VerifyOtpRequest;
 import com.mockxpert.interview_marketplace.exceptions.InvalidOtpException;
 import com.mockxpert.interview_marketplace.services.UserVerificationService;
+import com.mockxpert.interview_marketplace.services.RateLimitService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -34,6 +36,9 @@ public class UserVerificationController {
     @Autowired
     private UserVerificationService userVerificationService;
 
+    @Autowired
+    private RateLimitService rateLimitService;
+
     /**
      * Sends a verification OTP to the primary email of the user identified by the given ID.
      *
@@ -41,7 +46,8 @@ public class UserVerificationController {
      * @return a ResponseEntity containing a success message.
      */
     @PostMapping("/sendOtp/{userId}")
-    public ResponseEntity<String> sendVerificationOtp(@PathVariable Long userId) {
+    public ResponseEntity<String> sendVerificationOtp(@PathVariable Long userId, HttpServletRequest request) {
+        rateLimitService.checkLimit(RateLimitService.OTP_SEND, request, userId);
         userVerificationService.sendVerificationOtp(userId);
         return ResponseEntity.ok("OTP sent successfully to your email.");
     }
@@ -59,7 +65,9 @@ public class UserVerificationController {
      *         or an error message if the OTP is invalid or expired.
      */
     @PostMapping("/verifyOtp/{userId}")
-    public ResponseEntity<String> verifyOtp(@PathVariable Long userId, @RequestBody VerifyOtpRequest request) {
+    public ResponseEntity<String> verifyOtp(@PathVariable Long userId, @RequestBody VerifyOtpRequest request,
+                                            HttpServletRequest httpRequest) {
+        rateLimitService.checkLimit(RateLimitService.OTP_VERIFY, httpRequest, userId);
         try {
             userVerificationService.verifyOtp(userId, request.getOtp());
             return ResponseEntity.ok("OTP verified successfully.");
@@ -75,7 +83,8 @@ public class UserVerificationController {
      * @return a ResponseEntity containing a success message.
      */
     @PostMapping("/resendOtp/{userId}")
-    public ResponseEntity<String> resendOtp(@PathVariable Long userId) {
+    public ResponseEntity<String> resendOtp(@PathVariable Long userId, HttpServletRequest request) {
+        rateLimitService.checkLimit(RateLimitService.OTP_SEND, request, userId);
         userVerificationService.resendOtp(userId);
         return ResponseEntity.ok("OTP resent successfully to your email.");
     }
@@ -0,0 +1,111 @@
+package com.mockxpert.interview_marketplace.dto;
+
+
+/**
+ * Data Transfer Object for the circuit breaker and bulkhead state of a remote dependency.
+ * 
+ * @author Umar Mohammad
+ */
+
+public class DependencyHealthDto {
+
+    private String name;
+
+    private String state;
+
+    private double failureRate;
+
+    private long openCount;
+
+    private int inFlight;
+
+    private int maxConcurrent;
+
+    private long calls;
+
+    private long failures;
+
+    private long rejected;
+
+    private long shortCircuited;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public void setState(String state) {
+        this.state = state;
+    }
+
+    public double getFailureRate() {
+        return failureRate;
+    }
+
+    public void setFailureRate(double failureRate) {
+        this.failureRate = failureRate;
+    }
+
+    public long getOpenCount() {
+        return openCount;
+    }
+
+    public void setOpenCount(long openCount) {
+        this.openCount = openCount;
+    }
+
+    public int getInFlight() {
+        return inFlight;
+    }
+
+    public void setInFlight(int inFlight) {
+        this.inFlight = inFlight;
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public void setMaxConcurrent(int maxConcurrent) {
+        this.maxConcurrent = maxConcurrent;
+    }
+
+    public long getCalls() {
+        return calls;
+    }
+
+    public void setCalls(long calls) {
+        this.calls = calls;
+    }
+
+    public long getFailures() {
+        return failures;
+    }
+
+    public void setFailures(long failures) {
+        this.failures = failures;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(long rejected) {
+        this.rejected = rejected;
+    }
+
+    public long getShortCircuited() {
+        return shortCircuited;
+    }
+
+    public void setShortCircuited(long shortCircuited) {
+        this.shortCircuited = shortCircuited;
+    }
+}
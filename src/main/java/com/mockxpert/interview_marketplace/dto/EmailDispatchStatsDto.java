@@ -0,0 +1,101 @@
+package com.mockxpert.interview_marketplace.dto;
+
+
+/**
+ * Data Transfer Object for the email dispatcher statistics.
+ * 
+ * @author Umar Mohammad
+ */
+
+public class EmailDispatchStatsDto {
+
+    private int queueDepth;
+
+    private int queueCapacity;
+
+    private int openConnections;
+
+    private long sent;
+
+    private long failed;
+
+    private long retried;
+
+    private double averageSendMillis;
+
+    private double averageQueueMillis;
+
+    private double maxSendMillis;
+
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    public void setQueueDepth(int queueDepth) {
+        this.queueDepth = queueDepth;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public int getOpenConnections() {
+        return openConnections;
+    }
+
+    public void setOpenConnections(int openConnections) {
+        this.openConnections = openConnections;
+    }
+
+    public long getSent() {
+        return sent;
+    }
+
+    public void setSent(long sent) {
+        this.sent = sent;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public void setFailed(long failed) {
+        this.failed = failed;
+    }
+
+    public long getRetried() {
+        return retried;
+    }
+
+    public void setRetried(long retried) {
+        this.retried = retried;
+    }
+
+    public double getAverageSendMillis() {
+        return averageSendMillis;
+    }
+
+    public void setAverageSendMillis(double averageSendMillis) {
+        this.averageSendMillis = averageSendMillis;
+    }
+
+    public double getAverageQueueMillis() {
+        return averageQueueMillis;
+    }
+
+    public void setAverageQueueMillis(double averageQueueMillis) {
+        this.averageQueueMillis = averageQueueMillis;
+    }
+
+    public double getMaxSendMillis() {
+        return maxSendMillis;
+    }
+
+    public void setMaxSendMillis(double maxSendMillis) {
+        this.maxSendMillis = maxSendMillis;
+    }
+}
@@ -0,0 +1,39 @@
+package com.mockxpert.interview_marketplace.dto;
+
+
+/**
+ * Data Transfer Object for a recurring feedback theme.
+ * 
+ * @author Umar Mohammad
+ */
+
+public class FeedbackThemeDto {
+
+    private String term;
+
+    private long occurrences;
+
+    public FeedbackThemeDto() {
+    }
+
+    public FeedbackThemeDto(String term, long occurrences) {
+        this.term = term;
+        this.occurrences = occurrences;
+    }
+
+    public String getTerm() {
+        return term;
+    }
+
+    public void setTerm(String term) {
+        this.term = term;
+    }
+
+    public long getOccurrences() {
+        return occurrences;
+    }
+
+    public void setOccurrences(long occurrences) {
+        this.occurrences = occurrences;
+    }
+}
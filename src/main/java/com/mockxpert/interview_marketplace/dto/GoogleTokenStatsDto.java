@@ -0,0 +1,81 @@
+package com.mockxpert.interview_marketplace.dto;
+
+
+/**
+ * Data Transfer Object for the Google OAuth token cache statistics.
+ * 
+ * @author Umar Mohammad
+ */
+
+public class GoogleTokenStatsDto {
+
+    private int cachedTokens;
+
+    private long cacheHits;
+
+    private long refreshes;
+
+    private long refreshFailures;
+
+    private long sharedRefreshes;
+
+    private double averageRefreshMillis;
+
+    private double maxRefreshMillis;
+
+    public int getCachedTokens() {
+        return cachedTokens;
+    }
+
+    public void setCachedTokens(int cachedTokens) {
+        this.cachedTokens = cachedTokens;
+    }
+
+    public long getCacheHits() {
+        return cacheHits;
+    }
+
+    public void setCacheHits(long cacheHits) {
+        this.cacheHits = cacheHits;
+    }
+
+    public long getRefreshes() {
+        return refreshes;
+    }
+
+    public void setRefreshes(long refreshes) {
+        this.refreshes = refreshes;
+    }
+
+    public long getRefreshFailures() {
+        return refreshFailures;
+    }
+
+    public void setRefreshFailures(long refreshFailures) {
+        this.refreshFailures = refreshFailures;
+    }
+
+    public long getSharedRefreshes() {
+        return sharedRefreshes;
+    }
+
+    public void setSharedRefreshes(long sharedRefreshes) {
+        this.sharedRefreshes = sharedRefreshes;
+    }
+
+    public double getAverageRefreshMillis() {
+        return averageRefreshMillis;
+    }
+
+    public void setAverageRefreshMillis(double averageRefreshMillis) {
+        this.averageRefreshMillis = averageRefreshMillis;
+    }
+
+    public double getMaxRefreshMillis() {
+        return maxRefreshMillis;
+    }
+
+    public void setMaxRefreshMillis(double maxRefreshMillis) {
+        this.maxRefreshMillis = maxRefreshMillis;
+    }
+}
@@ -0,0 +1,71 @@
+package com.mockxpert.interview_marketplace.dto;
+
+
+/**
+ * Data Transfer Object for the outbound HTTP statistics of one remote host.
+ * 
+ * @author Umar Mohammad
+ */
+
+public class HostHttpStatsDto {
+
+    private String host;
+
+    private long requests;
+
+    private long failures;
+
+    private int inFlight;
+
+    private double averageMillis;
+
+    private double maxMillis;
+
+    public String getHost() {
+        return host;
+    }
+
+    public void setHost(String host) {
+        this.host = host;
+    }
+
+    public long getRequests() {
+        return requests;
+    }
+
+    public void setRequests(long requests) {
+        this.requests = requests;
+    }
+
+    public long getFailures() {
+        return failures;
+    }
+
+    public void setFailures(long failures) {
+        this.failures = failures;
+    }
+
+    public int getInFlight() {
+        return inFlight;
+    }
+
+    public void setInFlight(int inFlight) {
+        this.inFlight = inFlight;
+    }
+
+    public double getAverageMillis() {
+        return averageMillis;
+    }
+
+    public void setAverageMillis(double averageMillis) {
+        this.averageMillis = averageMillis;
+    }
+
+    public double getMaxMillis() {
+        return maxMillis;
+    }
+
+    public void setMaxMillis(double maxMillis) {
+        this.maxMillis = maxMillis;
+    }
+}
@@ -0,0 +1,71 @@
+package com.mockxpert.interview_marketplace.dto;
+
+
+/**
+ * Data Transfer Object for the statistics of the image endpoint.
+ * 
+ * @author Umar Mohammad
+ */
+
+public class ImageServingStatsDto {
+
+    private int hotCacheEntries;
+
+    private long hotCacheBytes;
+
+    private long hotCacheMaxBytes;
+
+    private long hotCacheHits;
+
+    private long notModified;
+
+    private long sendfileResponses;
+
+    public int getHotCacheEntries() {
+        return hotCacheEntries;
+    }
+
+    public void setHotCacheEntries(int hotCacheEntries) {
+        this.hotCacheEntries = hotCacheEntries;
+    }
+
+    public long getHotCacheBytes() {
+        return hotCacheBytes;
+    }
+
+    public void setHotCacheBytes(long hotCacheBytes) {
+        this.hotCacheBytes = hotCacheBytes;
+    }
+
+    public long getHotCacheMaxBytes() {
+        return hotCacheMaxBytes;
+    }
+
+    public void setHotCacheMaxBytes(long hotCacheMaxBytes) {
+        this.hotCacheMaxBytes = hotCacheMaxBytes;
+    }
+
+    public long getHotCacheHits() {
+        return hotCacheHits;
+    }
+
+    public void setHotCacheHits(long hotCacheHits) {
+        this.hotCacheHits = hotCacheHits;
+    }
+
+    public long getNotModified() {
+        return notModified;
+    }
+
+    public void setNotModified(long notModified) {
+        this.notModified = notModified;
+    }
+
+    public long getSendfileResponses() {
+        return sendfileResponses;
+    }
+
+    public void setSendfileResponses(long sendfileResponses) {
+        this.sendfileResponses = sendfileResponses;
+    }
+}
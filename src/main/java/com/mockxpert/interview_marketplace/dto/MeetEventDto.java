@@ -0,0 +1,116 @@
+package com.mockxpert.interview_marketplace.dto;
+
+import java.time.LocalDateTime;
+
+
+/**
+ * Data Transfer Object for a Google Meet event created in a batch, with the resulting link or error.
+ * 
+ * @author Umar Mohammad
+ */
+
+public class MeetEventDto {
+
+    private String eventId;
+
+    private String title;
+
+    private String description;
+
+    private String interviewerEmail;
+
+    private String intervieweeEmail;
+
+    private LocalDateTime startTime;
+
+    private LocalDateTime endTime;
+
+    private String meetLink;
+
+    private String error;
+
+    public MeetEventDto() {
+    }
+
+    public MeetEventDto(String title, String description, String interviewerEmail, String intervieweeEmail,
+                        LocalDateTime startTime, LocalDateTime endTime) {
+        this.title = title;
+        this.description = description;
+        this.interviewerEmail = interviewerEmail;
+        this.intervieweeEmail = intervieweeEmail;
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(String eventId) {
+        this.eventId = eventId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public String getInterviewerEmail() {
+        return interviewerEmail;
+    }
+
+    public void setInterviewerEmail(String interviewerEmail) {
+        this.interviewerEmail = interviewerEmail;
+    }
+
+    public String getIntervieweeEmail() {
+        return intervieweeEmail;
+    }
+
+    public void setIntervieweeEmail(String intervieweeEmail) {
+        this.intervieweeEmail = intervieweeEmail;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(LocalDateTime startTime) {
+        this.startTime = startTime;
+    }
+
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(LocalDateTime endTime) {
+        this.endTime = endTime;
+    }
+
+    public String getMeetLink() {
+        return meetLink;
+    }
+
+    public void setMeetLink(String meetLink) {
+        this.meetLink = meetLink;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,64 @@
+package com.mockxpert.interview_marketplace.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+
+/**
+ * Data Transfer Object for the earnings of an interviewer in one month.
+ * 
+ * @author Umar Mohammad
+ */
+
+public class MonthlyEarningsDto {
+
+    private LocalDate month;
+
+    private BigDecimal totalPaid;
+
+    private BigDecimal totalRefunded;
+
+    private BigDecimal netEarnings;
+
+    private long paidCount;
+
+    public LocalDate getMonth() {
+        return month;
+    }
+
+    public void setMonth(LocalDate month) {
+        this.month = month;
+    }
+
+    public BigDecimal getTotalPaid() {
+        return totalPaid;
+    }
+
+    public void setTotalPaid(BigDecimal totalPaid) {
+        this.totalPaid = totalPaid;
+    }
+
+    public BigDecimal getTotalRefunded() {
+        return totalRefunded;
+    }
+
+    public void setTotalRefunded(BigDecimal totalRefunded) {
+        this.totalRefunded = totalRefunded;
+    }
+
+    public BigDecimal getNetEarnings() {
+        return netEarnings;
+    }
+
+    public void setNetEarnings(BigDecimal netEarnings) {
+        this.netEarnings = netEarnings;
+    }
+
+    public long getPaidCount() {
+        return paidCount;
+    }
+
+    public void setPaidCount(long paidCount) {
+        this.paidCount = paidCount;
+    }
+}
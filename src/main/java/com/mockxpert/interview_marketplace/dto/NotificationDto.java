@@ -1,6 +1,7 @@
 package com.mockxpert.interview_marketplace.dto;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 import jakarta.validation.constraints.*;
 
 
@@ -28,9 +29,18 @@ public class NotificationDto {
     @NotBlank(message = "Subject is required")
     private String subject;
 
-    @NotBlank(message = "Message content is required")
+    /**
+     * Rendered body. Required unless the notification is created from a template.
+     */
     private String message;
 
+    /**
+     * Template to render the message from. Only read on create, responses carry the rendered message.
+     */
+    private String templateKey;
+
+    private Map<String, String> templateParams;
+
     @NotBlank(message = "Notification type is required")
     private String type;
 
@@ -177,4 +187,20 @@ public class NotificationDto {
     public void setTimeBeforeInterview(Long timeBeforeInterview) {
         this.timeBeforeInterview = timeBeforeInterview;
     }
+
+    public String getTemplateKey() {
+        return templateKey;
+    }
+
+    public void setTemplateKey(String templateKey) {
+        this.templateKey = templateKey;
+    }
+
+    public Map<String, String> getTemplateParams() {
+        return templateParams;
+    }
+
+    public void setTemplateParams(Map<String, String> templateParams) {
+        this.templateParams = templateParams;
+    }
 }
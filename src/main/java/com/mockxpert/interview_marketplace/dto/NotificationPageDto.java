@@ -0,0 +1,56 @@
+package com.mockxpert.interview_marketplace.dto;
+
+import java.util.List;
+
+
+/**
+ * Data Transfer Object for one page of the notification inbox.
+ * 
+ * @author Umar Mohammad
+ */
+
+public class NotificationPageDto {
+
+    private List<NotificationDto> items;
+
+    /**
+     * Opaque cursor to pass back for the next page, null on the last page.
+     */
+    private String nextCursor;
+
+    private boolean hasMore;
+
+    private long unreadCount;
+
+    public List<NotificationDto> getItems() {
+        return items;
+    }
+
+    public void setItems(List<NotificationDto> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+    public long getUnreadCount() {
+        return unreadCount;
+    }
+
+    public void setUnreadCount(long unreadCount) {
+        this.unreadCount = unreadCount;
+    }
+}
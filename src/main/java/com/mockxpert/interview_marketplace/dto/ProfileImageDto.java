@@ -0,0 +1,73 @@
+package com.mockxpert.interview_marketplace.dto;
+
+import java.util.Map;
+
+
+/**
+ * Data Transfer Object for a stored profile image and its thumbnails.
+ * 
+ * @author Umar Mohammad
+ */
+
+public class ProfileImageDto {
+
+    private String url;
+
+    private String contentHash;
+
+    private int width;
+
+    private int height;
+
+    private boolean deduplicated;
+
+    private Map<Integer, String> thumbnails;
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public void setWidth(int width) {
+        this.width = width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public void setHeight(int height) {
+        this.height = height;
+    }
+
+    public boolean isDeduplicated() {
+        return deduplicated;
+    }
+
+    public void setDeduplicated(boolean deduplicated) {
+        this.deduplicated = deduplicated;
+    }
+
+    public Map<Integer, String> getThumbnails() {
+        return thumbnails;
+    }
+
+    public void setThumbnails(Map<Integer, String> thumbnails) {
+        this.thumbnails = thumbnails;
+    }
+}
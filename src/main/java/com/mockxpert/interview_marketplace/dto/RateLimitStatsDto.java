@@ -0,0 +1,73 @@
+package com.mockxpert.interview_marketplace.dto;
+
+import java.util.Map;
+
+
+/**
+ * Data Transfer Object for the statistics of the endpoint rate limiter.
+ * 
+ * @author Umar Mohammad
+ */
+
+public class RateLimitStatsDto {
+
+    private int trackedKeys;
+
+    private int maxKeys;
+
+    private long evictions;
+
+    private long overflowed;
+
+    private Map<String, Long> allowed;
+
+    private Map<String, Long> rejected;
+
+    public int getTrackedKeys() {
+        return trackedKeys;
+    }
+
+    public void setTrackedKeys(int trackedKeys) {
+        this.trackedKeys = trackedKeys;
+    }
+
+    public int getMaxKeys() {
+        return maxKeys;
+    }
+
+    public void setMaxKeys(int maxKeys) {
+        this.maxKeys = maxKeys;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public void setEvictions(long evictions) {
+        this.evictions = evictions;
+    }
+
+    public long getOverflowed() {
+        return overflowed;
+    }
+
+    public void setOverflowed(long overflowed) {
+        this.overflowed = overflowed;
+    }
+
+    public Map<String, Long> getAllowed() {
+        return allowed;
+    }
+
+    public void setAllowed(Map<String, Long> allowed) {
+        this.allowed = allowed;
+    }
+
+    public Map<String, Long> getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(Map<String, Long> rejected) {
+        this.rejected = rejected;
+    }
+}
@@ -0,0 +1,113 @@
+package com.mockxpert.interview_marketplace.dto;
+
+import java.util.List;
+
+
+/**
+ * Data Transfer Object for the state of a resumable resume upload.
+ * 
+ * @author Umar Mohammad
+ */
+
+public class ResumeUploadDto {
+
+    private String uploadId;
+
+    private String fileName;
+
+    private String contentType;
+
+    private long totalSize;
+
+    private int chunkSize;
+
+    private int totalChunks;
+
+    private int receivedChunks;
+
+    private List<Integer> missingChunks;
+
+    private String status;
+
+    private String storageKey;
+
+    public String getUploadId() {
+        return uploadId;
+    }
+
+    public void setUploadId(String uploadId) {
+        this.uploadId = uploadId;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public long getTotalSize() {
+        return totalSize;
+    }
+
+    public void setTotalSize(long totalSize) {
+        this.totalSize = totalSize;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public int getTotalChunks() {
+        return totalChunks;
+    }
+
+    public void setTotalChunks(int totalChunks) {
+        this.totalChunks = totalChunks;
+    }
+
+    public int getReceivedChunks() {
+        return receivedChunks;
+    }
+
+    public void setReceivedChunks(int receivedChunks) {
+        this.receivedChunks = receivedChunks;
+    }
+
+    public List<Integer> getMissingChunks() {
+        return missingChunks;
+    }
+
+    public void setMissingChunks(List<Integer> missingChunks) {
+        this.missingChunks = missingChunks;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getStorageKey() {
+        return storageKey;
+    }
+
+    public void setStorageKey(String storageKey) {
+        this.storageKey = storageKey;
+    }
+}
@@ -0,0 +1,60 @@
+package com.mockxpert.interview_marketplace.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+
+
+/**
+ * Data Transfer Object for starting a resumable resume upload.
+ * 
+ * @author Umar Mohammad
+ */
+
+public class ResumeUploadRequest {
+
+    @NotBlank
+    private String fileName;
+
+    @NotBlank
+    private String contentType;
+
+    @Positive
+    private long totalSize;
+
+    /**
+     * Optional SHA-256 of the whole file in hex, checked when the upload is completed.
+     */
+    private String sha256;
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public long getTotalSize() {
+        return totalSize;
+    }
+
+    public void setTotalSize(long totalSize) {
+        this.totalSize = totalSize;
+    }
+
+    public String getSha256() {
+        return sha256;
+    }
+
+    public void setSha256(String sha256) {
+        this.sha256 = sha256;
+    }
+}
@@ -0,0 +1,63 @@
+package com.mockxpert.interview_marketplace.dto;
+
+import java.util.List;
+
+
+/**
+ * Data Transfer Object for a page of support desk search results.
+ * 
+ * @author Umar Mohammad
+ */
+
+public class SearchResponseDto {
+
+    private String query;
+
+    private int page;
+
+    private int size;
+
+    private boolean hasMore;
+
+    private List<SearchResultDto> results;
+
+    public String getQuery() {
+        return query;
+    }
+
+    public void setQuery(String query) {
+        this.query = query;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public void setPage(int page) {
+        this.page = page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+    public List<SearchResultDto> getResults() {
+        return results;
+    }
+
+    public void setResults(List<SearchResultDto> results) {
+        this.results = results;
+    }
+}
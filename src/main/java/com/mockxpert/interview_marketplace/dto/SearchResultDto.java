@@ -0,0 +1,74 @@
+package com.mockxpert.interview_marketplace.dto;
+
+import java.time.LocalDateTime;
+
+
+/**
+ * Data Transfer Object for a single support desk search hit.
+ * 
+ * @author Umar Mohammad
+ */
+
+public class SearchResultDto {
+
+    private String entityType;
+
+    private Long entityId;
+
+    private double rank;
+
+    private String snippet;
+
+    private LocalDateTime createdAt;
+
+    public SearchResultDto() {
+    }
+
+    public SearchResultDto(String entityType, Long entityId, double rank, String snippet, LocalDateTime createdAt) {
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.rank = rank;
+        this.snippet = snippet;
+        this.createdAt = createdAt;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(String entityType) {
+        this.entityType = entityType;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(Long entityId) {
+        this.entityId = entityId;
+    }
+
+    public double getRank() {
+        return rank;
+    }
+
+    public void setRank(double rank) {
+        this.rank = rank;
+    }
+
+    public String getSnippet() {
+        return snippet;
+    }
+
+    public void setSnippet(String snippet) {
+        this.snippet = snippet;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
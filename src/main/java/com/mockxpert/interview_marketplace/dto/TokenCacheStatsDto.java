@@ -0,0 +1,81 @@
+package com.mockxpert.interview_marketplace.dto;
+
+
+/**
+ * Data Transfer Object for the statistics of an authentication cache.
+ * 
+ * @author Umar Mohammad
+ */
+
+public class TokenCacheStatsDto {
+
+    private int size;
+
+    private int maxSize;
+
+    private long hits;
+
+    private long misses;
+
+    private double hitRate;
+
+    private long evictions;
+
+    private long revokedRejections;
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public void setHits(long hits) {
+        this.hits = hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public void setMisses(long misses) {
+        this.misses = misses;
+    }
+
+    public double getHitRate() {
+        return hitRate;
+    }
+
+    public void setHitRate(double hitRate) {
+        this.hitRate = hitRate;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public void setEvictions(long evictions) {
+        this.evictions = evictions;
+    }
+
+    public long getRevokedRejections() {
+        return revokedRejections;
+    }
+
+    public void setRevokedRejections(long revokedRejections) {
+        this.revokedRejections = revokedRejections;
+    }
+}
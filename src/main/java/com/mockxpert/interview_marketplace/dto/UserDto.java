@@ -66,6 +66,8 @@ public class UserDto {
     
     private boolean isWorkEmailVerified;
 
+    private Boolean dailyDigest;
+
     public String getFirebaseUid() {
 		return firebaseUid;
 	}
@@ -217,5 +219,13 @@ public class UserDto {
 	public void setWorkEmailVerified(boolean isWorkEmailVerified) {
 		this.isWorkEmailVerified = isWorkEmailVerified;
 	}
+
+	public Boolean getDailyDigest() {
+		return dailyDigest;
+	}
+
+	public void setDailyDigest(Boolean dailyDigest) {
+		this.dailyDigest = dailyDigest;
+	}
 	
 }
@@ -0,0 +1,86 @@
+package com.mockxpert.interview_marketplace.dto;
+
+import com.mockxpert.interview_marketplace.entities.User;
+
+import java.security.Principal;
+
+
+/**
+ * The authenticated user as resolved once per request by the authentication filter.
+ * Immutable, so one instance can be shared by the principal cache and concurrent requests.
+ * 
+ * @author Umar Mohammad
+ */
+
+public class UserPrincipal implements Principal {
+
+    private final String firebaseUid;
+
+    private final Long userId;
+
+    private final String email;
+
+    private final String role;
+
+    private final String status;
+
+    private final Long interviewerId;
+
+    private final Long intervieweeId;
+
+    public UserPrincipal(String firebaseUid, Long userId, String email, User.Role role, User.Status status,
+                         Long interviewerId, Long intervieweeId) {
+        this.firebaseUid = firebaseUid;
+        this.userId = userId;
+        this.email = email;
+        this.role = role != null ? role.name() : null;
+        this.status = status != null ? status.name() : null;
+        this.interviewerId = interviewerId;
+        this.intervieweeId = intervieweeId;
+    }
+
+    /**
+     * @return the Firebase UID, which is what the security context used as principal before.
+     */
+    @Override
+    public String getName() {
+        return firebaseUid;
+    }
+
+    public String getFirebaseUid() {
+        return firebaseUid;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public Long getInterviewerId() {
+        return interviewerId;
+    }
+
+    public Long getIntervieweeId() {
+        return intervieweeId;
+    }
+
+    public boolean isAdmin() {
+        return User.Role.ADMIN.name().equals(role);
+    }
+
+    @Override
+    public String toString() {
+        return firebaseUid;
+    }
+}
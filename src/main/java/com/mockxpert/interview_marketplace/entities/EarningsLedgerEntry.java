@@ -0,0 +1,107 @@
+package com.mockxpert.interview_marketplace.entities;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+
+/**
+ *  
+ * Entity class thats responsible for table creation for the interviewer earnings ledger and its fields.
+ * Every payment that becomes PAID adds a PAID entry and every refund of a paid payment adds a REFUNDED
+ * entry, at most one of each per payment.
+ * 
+ * @author Umar Mohammad
+ * 
+ */
+@Entity
+@Table(name = "earnings_ledger",
+       uniqueConstraints = @UniqueConstraint(name = "uk_earnings_ledger_payment_type", columnNames = {"payment_id", "entry_type"}),
+       indexes = @Index(name = "idx_earnings_ledger_interviewer_occurred", columnList = "interviewer_id, occurred_at DESC"))
+public class EarningsLedgerEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "entry_id", nullable = false)
+    private Long entryId;
+
+    @Column(name = "payment_id", nullable = false)
+    private Long paymentId;
+
+    @Column(name = "interviewer_id", nullable = false)
+    private Long interviewerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entry_type", nullable = false, length = 20)
+    private EntryType entryType;
+
+    @Column(name = "amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    @Column(name = "currency", nullable = false, length = 3)
+    private String currency;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    public enum EntryType {
+        PAID,
+        REFUNDED
+    }
+
+	public Long getEntryId() {
+		return entryId;
+	}
+
+	public void setEntryId(Long entryId) {
+		this.entryId = entryId;
+	}
+
+	public Long getPaymentId() {
+		return paymentId;
+	}
+
+	public void setPaymentId(Long paymentId) {
+		this.paymentId = paymentId;
+	}
+
+	public Long getInterviewerId() {
+		return interviewerId;
+	}
+
+	public void setInterviewerId(Long interviewerId) {
+		this.interviewerId = interviewerId;
+	}
+
+	public EntryType getEntryType() {
+		return entryType;
+	}
+
+	public void setEntryType(EntryType entryType) {
+		this.entryType = entryType;
+	}
+
+	public BigDecimal getAmount() {
+		return amount;
+	}
+
+	public void setAmount(BigDecimal amount) {
+		this.amount = amount;
+	}
+
+	public String getCurrency() {
+		return currency;
+	}
+
+	public void setCurrency(String currency) {
+		this.currency = currency;
+	}
+
+	public LocalDateTime getOccurredAt() {
+		return occurredAt;
+	}
+
+	public void setOccurredAt(LocalDateTime occurredAt) {
+		this.occurredAt = occurredAt;
+	}
+}
@@ -0,0 +1,95 @@
+package com.mockxpert.interview_marketplace.entities;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+
+/**
+ *  
+ * Entity class thats responsible for table creation for recurring feedback themes and its fields.
+ * A theme is a unigram or bigram counted over positives, negatives and improvements, either per
+ * feedback receiver or per skill of the receiver.
+ * 
+ * @author Umar Mohammad
+ * 
+ */
+@Entity
+@Table(name = "feedback_themes",
+       uniqueConstraints = @UniqueConstraint(name = "uk_feedback_themes_scope_term", columnNames = {"scope", "scope_id", "term"}),
+       indexes = @Index(name = "idx_feedback_themes_scope_count", columnList = "scope, scope_id, occurrences DESC"))
+public class FeedbackTheme {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "feedback_theme_id", nullable = false)
+    private Long feedbackThemeId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "scope", nullable = false, length = 20)
+    private Scope scope;
+
+    @Column(name = "scope_id", nullable = false)
+    private Long scopeId;
+
+    @Column(name = "term", nullable = false, length = 100)
+    private String term;
+
+    @Column(name = "occurrences", nullable = false)
+    private long occurrences;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public enum Scope {
+        RECEIVER,
+        SKILL
+    }
+
+	public Long getFeedbackThemeId() {
+		return feedbackThemeId;
+	}
+
+	public void setFeedbackThemeId(Long feedbackThemeId) {
+		this.feedbackThemeId = feedbackThemeId;
+	}
+
+	public Scope getScope() {
+		return scope;
+	}
+
+	public void setScope(Scope scope) {
+		this.scope = scope;
+	}
+
+	public Long getScopeId() {
+		return scopeId;
+	}
+
+	public void setScopeId(Long scopeId) {
+		this.scopeId = scopeId;
+	}
+
+	public String getTerm() {
+		return term;
+	}
+
+	public void setTerm(String term) {
+		this.term = term;
+	}
+
+	public long getOccurrences() {
+		return occurrences;
+	}
+
+	public void setOccurrences(long occurrences) {
+		this.occurrences = occurrences;
+	}
+
+	public LocalDateTime getUpdatedAt() {
+		return updatedAt;
+	}
+
+	public void setUpdatedAt(LocalDateTime updatedAt) {
+		this.updatedAt = updatedAt;
+	}
+}
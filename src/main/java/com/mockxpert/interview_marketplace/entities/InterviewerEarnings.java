@@ -0,0 +1,108 @@
+package com.mockxpert.interview_marketplace.entities;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+
+/**
+ *  
+ * Entity class thats responsible for table creation for the running earnings totals of interviewers and its fields.
+ * The totals are maintained from the earnings ledger, keyed by interviewer and looked up by the interviewer's user.
+ * 
+ * @author Umar Mohammad
+ * 
+ */
+@Entity
+@Table(name = "interviewer_earnings")
+public class InterviewerEarnings {
+
+    @Id
+    @Column(name = "interviewer_id", nullable = false)
+    private Long interviewerId;
+
+    @Column(name = "user_id", nullable = false, unique = true)
+    private Long userId;
+
+    @Column(name = "total_paid", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalPaid;
+
+    @Column(name = "total_refunded", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalRefunded;
+
+    @Column(name = "net_earnings", nullable = false, precision = 19, scale = 2)
+    private BigDecimal netEarnings;
+
+    @Column(name = "paid_count", nullable = false)
+    private long paidCount;
+
+    @Column(name = "refunded_count", nullable = false)
+    private long refundedCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+	public Long getInterviewerId() {
+		return interviewerId;
+	}
+
+	public void setInterviewerId(Long interviewerId) {
+		this.interviewerId = interviewerId;
+	}
+
+	public Long getUserId() {
+		return userId;
+	}
+
+	public void setUserId(Long userId) {
+		this.userId = userId;
+	}
+
+	public BigDecimal getTotalPaid() {
+		return totalPaid;
+	}
+
+	public void setTotalPaid(BigDecimal totalPaid) {
+		this.totalPaid = totalPaid;
+	}
+
+	public BigDecimal getTotalRefunded() {
+		return totalRefunded;
+	}
+
+	public void setTotalRefunded(BigDecimal totalRefunded) {
+		this.totalRefunded = totalRefunded;
+	}
+
+	public BigDecimal getNetEarnings() {
+		return netEarnings;
+	}
+
+	public void setNetEarnings(BigDecimal netEarnings) {
+		this.netEarnings = netEarnings;
+	}
+
+	public long getPaidCount() {
+		return paidCount;
+	}
+
+	public void setPaidCount(long paidCount) {
+		this.paidCount = paidCount;
+	}
+
+	public long getRefundedCount() {
+		return refundedCount;
+	}
+
+	public void setRefundedCount(long refundedCount) {
+		this.refundedCount = refundedCount;
+	}
+
+	public LocalDateTime getUpdatedAt() {
+		return updatedAt;
+	}
+
+	public void setUpdatedAt(LocalDateTime updatedAt) {
+		this.updatedAt = updatedAt;
+	}
+}
@@ -0,0 +1,111 @@
+package com.mockxpert.interview_marketplace.entities;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+
+/**
+ *  
+ * Entity class thats responsible for table creation for the monthly earnings rollups of interviewers and its fields.
+ * Entries are attributed to the month in which they were recorded, month holds the first day of that month.
+ * 
+ * @author Umar Mohammad
+ * 
+ */
+@Entity
+@Table(name = "interviewer_monthly_earnings",
+       uniqueConstraints = @UniqueConstraint(name = "uk_interviewer_monthly_earnings_month", columnNames = {"interviewer_id", "month"}))
+public class InterviewerMonthlyEarnings {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "monthly_earnings_id", nullable = false)
+    private Long monthlyEarningsId;
+
+    @Column(name = "interviewer_id", nullable = false)
+    private Long interviewerId;
+
+    @Column(name = "month", nullable = false)
+    private LocalDate month;
+
+    @Column(name = "total_paid", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalPaid;
+
+    @Column(name = "total_refunded", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalRefunded;
+
+    @Column(name = "net_earnings", nullable = false, precision = 19, scale = 2)
+    private BigDecimal netEarnings;
+
+    @Column(name = "paid_count", nullable = false)
+    private long paidCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+	public Long getMonthlyEarningsId() {
+		return monthlyEarningsId;
+	}
+
+	public void setMonthlyEarningsId(Long monthlyEarningsId) {
+		this.monthlyEarningsId = monthlyEarningsId;
+	}
+
+	public Long getInterviewerId() {
+		return interviewerId;
+	}
+
+	public void setInterviewerId(Long interviewerId) {
+		this.interviewerId = interviewerId;
+	}
+
+	public LocalDate getMonth() {
+		return month;
+	}
+
+	public void setMonth(LocalDate month) {
+		this.month = month;
+	}
+
+	public BigDecimal getTotalPaid() {
+		return totalPaid;
+	}
+
+	public void setTotalPaid(BigDecimal totalPaid) {
+		this.totalPaid = totalPaid;
+	}
+
+	public BigDecimal getTotalRefunded() {
+		return totalRefunded;
+	}
+
+	public void setTotalRefunded(BigDecimal totalRefunded) {
+		this.totalRefunded = totalRefunded;
+	}
+
+	public BigDecimal getNetEarnings() {
+		return netEarnings;
+	}
+
+	public void setNetEarnings(BigDecimal netEarnings) {
+		this.netEarnings = netEarnings;
+	}
+
+	public long getPaidCount() {
+		return paidCount;
+	}
+
+	public void setPaidCount(long paidCount) {
+		this.paidCount = paidCount;
+	}
+
+	public LocalDateTime getUpdatedAt() {
+		return updatedAt;
+	}
+
+	public void setUpdatedAt(LocalDateTime updatedAt) {
+		this.updatedAt = updatedAt;
+	}
+}
@@ -0,0 +1,62 @@
+package com.mockxpert.interview_marketplace.entities;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+
+/**
+ *  
+ * Entity class thats responsible for table creation for batch job checkpoints and its fields.
+ * Stores the last primary key a batch job has fully processed so that the next run continues
+ * incrementally from there.
+ * 
+ * @author Umar Mohammad
+ * 
+ */
+@Entity
+@Table(name = "job_checkpoints")
+public class JobCheckpoint {
+
+    @Id
+    @Column(name = "job_name", nullable = false, length = 100)
+    private String jobName;
+
+    @Column(name = "last_processed_id", nullable = false)
+    private Long lastProcessedId;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public JobCheckpoint() {
+    }
+
+    public JobCheckpoint(String jobName, Long lastProcessedId) {
+        this.jobName = jobName;
+        this.lastProcessedId = lastProcessedId;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+	public String getJobName() {
+		return jobName;
+	}
+
+	public void setJobName(String jobName) {
+		this.jobName = jobName;
+	}
+
+	public Long getLastProcessedId() {
+		return lastProcessedId;
+	}
+
+	public void setLastProcessedId(Long lastProcessedId) {
+		this.lastProcessedId = lastProcessedId;
+	}
+
+	public LocalDateTime getUpdatedAt() {
+		return updatedAt;
+	}
+
+	public void setUpdatedAt(LocalDateTime updatedAt) {
+		this.updatedAt = updatedAt;
+	}
+}
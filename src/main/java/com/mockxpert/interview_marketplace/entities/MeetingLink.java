@@ -0,0 +1,151 @@
+package com.mockxpert.interview_marketplace.entities;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+
+/**
+ *  
+ * Entity class thats responsible for table creation for pre-provisioned meeting links and its fields.
+ * Each row is a Google Calendar event with a Meet link that is handed to an interview on booking.
+ * 
+ * @author Umar Mohammad
+ */
+@Entity
+@Table(name = "meeting_links",
+       indexes = {
+           @Index(name = "idx_meeting_links_status", columnList = "status, meeting_link_id")
+       })
+public class MeetingLink {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "meeting_link_id")
+    private Long meetingLinkId;
+
+    @Column(name = "event_id", nullable = false, unique = true, length = 1024)
+    private String eventId;
+
+    @Column(name = "meet_link", nullable = false)
+    private String meetLink;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private Status status;
+
+    @Column(name = "interview_id")
+    private Long interviewId;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 2000)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "claimed_at")
+    private LocalDateTime claimedAt;
+
+    @Column(name = "assigned_at")
+    private LocalDateTime assignedAt;
+
+    /**
+     * AVAILABLE links wait in the pool, CLAIMED links belong to an interview whose attendees are not
+     * patched into the event yet, ASSIGNED links are done.
+     */
+    public enum Status {
+        AVAILABLE,
+        CLAIMED,
+        ASSIGNED,
+        FAILED
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+
+	public Long getMeetingLinkId() {
+		return meetingLinkId;
+	}
+
+	public void setMeetingLinkId(Long meetingLinkId) {
+		this.meetingLinkId = meetingLinkId;
+	}
+
+	public String getEventId() {
+		return eventId;
+	}
+
+	public void setEventId(String eventId) {
+		this.eventId = eventId;
+	}
+
+	public String getMeetLink() {
+		return meetLink;
+	}
+
+	public void setMeetLink(String meetLink) {
+		this.meetLink = meetLink;
+	}
+
+	public Status getStatus() {
+		return status;
+	}
+
+	public void setStatus(Status status) {
+		this.status = status;
+	}
+
+	public Long getInterviewId() {
+		return interviewId;
+	}
+
+	public void setInterviewId(Long interviewId) {
+		this.interviewId = interviewId;
+	}
+
+	public int getAttempts() {
+		return attempts;
+	}
+
+	public void setAttempts(int attempts) {
+		this.attempts = attempts;
+	}
+
+	public String getLastError() {
+		return lastError;
+	}
+
+	public void setLastError(String lastError) {
+		this.lastError = lastError;
+	}
+
+	public LocalDateTime getCreatedAt() {
+		return createdAt;
+	}
+
+	public void setCreatedAt(LocalDateTime createdAt) {
+		this.createdAt = createdAt;
+	}
+
+	public LocalDateTime getClaimedAt() {
+		return claimedAt;
+	}
+
+	public void setClaimedAt(LocalDateTime claimedAt) {
+		this.claimedAt = claimedAt;
+	}
+
+	public LocalDateTime getAssignedAt() {
+		return assignedAt;
+	}
+
+	public void setAssignedAt(LocalDateTime assignedAt) {
+		this.assignedAt = assignedAt;
+	}
+}
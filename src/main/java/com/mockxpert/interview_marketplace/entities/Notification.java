@@ -1,7 +1,11 @@
 package com.mockxpert.interview_marketplace.entities;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
 import java.time.LocalDateTime;
+import java.util.Map;
 
 /**
  *  
@@ -11,7 +15,11 @@ import java.time.LocalDateTime;
  * 
  */
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+        @Index(name = "idx_notifications_user_read_sent", columnList = "user_id, is_read, sent_at DESC, notification_id DESC"),
+        @Index(name = "idx_notifications_user_sent", columnList = "user_id, sent_at DESC, notification_id DESC"),
+        @Index(name = "idx_notifications_status_user", columnList = "status, user_id, sent_at")
+})
 public class Notification {
 
     @Id
@@ -30,14 +38,27 @@ public class Notification {
     @Column(name = "subject", nullable = false)
     private String subject;
 
-    @Column(name = "message", nullable = false, length = 2000)
+    /**
+     * Free text content, only used for notifications that are not rendered from a template.
+     */
+    @Column(name = "message", length = 2000)
     private String message;
 
+    @Column(name = "template_key", length = 64)
+    private String templateKey;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "template_params", columnDefinition = "jsonb")
+    private Map<String, String> templateParams;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "status", nullable = false)
     private NotificationStatus status;
 
-    @Column(name = "sent_at")
+    /**
+     * Partition key of the notifications table, always set on insert.
+     */
+    @Column(name = "sent_at", nullable = false)
     private LocalDateTime sentAt;
 
     @Column(name = "read_at")
@@ -71,7 +92,9 @@ public class Notification {
     @PrePersist
     protected void onCreate() {
         this.sentAt = LocalDateTime.now();
-        this.status = NotificationStatus.PENDING;
+        if (this.status == null) {
+            this.status = NotificationStatus.PENDING;
+        }
     }
 
     public enum NotificationType {
@@ -80,6 +103,7 @@ public class Notification {
 
     public enum NotificationStatus {
         PENDING,
+        QUEUED,
         SENT,
         FAILED
     }
@@ -206,4 +230,20 @@ public class Notification {
     public void setTimeBeforeInterview(Long timeBeforeInterview) {
         this.timeBeforeInterview = timeBeforeInterview;
     }
+
+    public String getTemplateKey() {
+        return templateKey;
+    }
+
+    public void setTemplateKey(String templateKey) {
+        this.templateKey = templateKey;
+    }
+
+    public Map<String, String> getTemplateParams() {
+        return templateParams;
+    }
+
+    public void setTemplateParams(Map<String, String> templateParams) {
+        this.templateParams = templateParams;
+    }
 }
\ No newline at end of file
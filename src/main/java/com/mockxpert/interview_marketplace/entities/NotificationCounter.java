@@ -0,0 +1,52 @@
+package com.mockxpert.interview_marketplace.entities;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+
+/**
+ *  
+ * Entity class thats responsible for table creation for the per user notification counters and its fields.
+ * Holds the number of unread notifications so the unread badge does not need to count rows.
+ * 
+ * @author Umar Mohammad
+ * 
+ */
+@Entity
+@Table(name = "notification_counters")
+public class NotificationCounter {
+
+    @Id
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "unread_count", nullable = false)
+    private long unreadCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+	public Long getUserId() {
+		return userId;
+	}
+
+	public void setUserId(Long userId) {
+		this.userId = userId;
+	}
+
+	public long getUnreadCount() {
+		return unreadCount;
+	}
+
+	public void setUnreadCount(long unreadCount) {
+		this.unreadCount = unreadCount;
+	}
+
+	public LocalDateTime getUpdatedAt() {
+		return updatedAt;
+	}
+
+	public void setUpdatedAt(LocalDateTime updatedAt) {
+		this.updatedAt = updatedAt;
+	}
+}
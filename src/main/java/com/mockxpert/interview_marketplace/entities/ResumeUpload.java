@@ -0,0 +1,241 @@
+package com.mockxpert.interview_marketplace.entities;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+
+/**
+ *  
+ * Entity class thats responsible for table creation for resumable resume uploads and its fields.
+ * The chunks of an upload are written into a partial file, received chunks are tracked as a bitset.
+ * 
+ * @author Umar Mohammad
+ */
+@Entity
+@Table(name = "resume_uploads",
+       indexes = {
+           @Index(name = "idx_resume_uploads_status_updated", columnList = "status, updated_at")
+       })
+public class ResumeUpload {
+
+    @Id
+    @Column(name = "upload_id", length = 36)
+    private String uploadId;
+
+    @Column(name = "interviewee_id", nullable = false)
+    private Long intervieweeId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "file_name", nullable = false)
+    private String fileName;
+
+    @Column(name = "content_type", nullable = false, length = 100)
+    private String contentType;
+
+    @Column(name = "total_size", nullable = false)
+    private long totalSize;
+
+    @Column(name = "chunk_size", nullable = false)
+    private int chunkSize;
+
+    @Column(name = "total_chunks", nullable = false)
+    private int totalChunks;
+
+    @Column(name = "received_count", nullable = false)
+    private int receivedCount;
+
+    @Column(name = "received_chunks", nullable = false)
+    private byte[] receivedChunks;
+
+    @Column(name = "expected_sha256", length = 64)
+    private String expectedSha256;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private Status status;
+
+    @Column(name = "storage_key")
+    private String storageKey;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    /**
+     * UPLOADING uploads accept chunks, COMPLETED uploads were stored and set on the interviewee.
+     */
+    public enum Status {
+        UPLOADING,
+        COMPLETED
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+        updatedAt = createdAt;
+    }
+
+    /**
+     * @param index the chunk index.
+     * @return whether the chunk was received.
+     */
+    public boolean hasChunk(int index) {
+        return (receivedChunks[index >> 3] & (1 << (index & 7))) != 0;
+    }
+
+    /**
+     * Marks a chunk as received.
+     *
+     * @param index the chunk index.
+     * @return false if the chunk was received before.
+     */
+    public boolean markChunk(int index) {
+        if (hasChunk(index)) {
+            return false;
+        }
+        receivedChunks[index >> 3] |= (byte) (1 << (index & 7));
+        receivedCount++;
+        return true;
+    }
+
+    /**
+     * Clears the received flag of a chunk.
+     *
+     * @param index the chunk index.
+     * @return false if the chunk was not marked.
+     */
+    public boolean clearChunk(int index) {
+        if (!hasChunk(index)) {
+            return false;
+        }
+        receivedChunks[index >> 3] &= (byte) ~(1 << (index & 7));
+        receivedCount--;
+        return true;
+    }
+
+	public String getUploadId() {
+		return uploadId;
+	}
+
+	public void setUploadId(String uploadId) {
+		this.uploadId = uploadId;
+	}
+
+	public Long getIntervieweeId() {
+		return intervieweeId;
+	}
+
+	public void setIntervieweeId(Long intervieweeId) {
+		this.intervieweeId = intervieweeId;
+	}
+
+	public Long getUserId() {
+		return userId;
+	}
+
+	public void setUserId(Long userId) {
+		this.userId = userId;
+	}
+
+	public String getFileName() {
+		return fileName;
+	}
+
+	public void setFileName(String fileName) {
+		this.fileName = fileName;
+	}
+
+	public String getContentType() {
+		return contentType;
+	}
+
+	public void setContentType(String contentType) {
+		this.contentType = contentType;
+	}
+
+	public long getTotalSize() {
+		return totalSize;
+	}
+
+	public void setTotalSize(long totalSize) {
+		this.totalSize = totalSize;
+	}
+
+	public int getChunkSize() {
+		return chunkSize;
+	}
+
+	public void setChunkSize(int chunkSize) {
+		this.chunkSize = chunkSize;
+	}
+
+	public int getTotalChunks() {
+		return totalChunks;
+	}
+
+	public void setTotalChunks(int totalChunks) {
+		this.totalChunks = totalChunks;
+	}
+
+	public int getReceivedCount() {
+		return receivedCount;
+	}
+
+	public void setReceivedCount(int receivedCount) {
+		this.receivedCount = receivedCount;
+	}
+
+	public byte[] getReceivedChunks() {
+		return receivedChunks;
+	}
+
+	public void setReceivedChunks(byte[] receivedChunks) {
+		this.receivedChunks = receivedChunks;
+	}
+
+	public String getExpectedSha256() {
+		return expectedSha256;
+	}
+
+	public void setExpectedSha256(String expectedSha256) {
+		this.expectedSha256 = expectedSha256;
+	}
+
+	public Status getStatus() {
+		return status;
+	}
+
+	public void setStatus(Status status) {
+		this.status = status;
+	}
+
+	public String getStorageKey() {
+		return storageKey;
+	}
+
+	public void setStorageKey(String storageKey) {
+		this.storageKey = storageKey;
+	}
+
+	public LocalDateTime getCreatedAt() {
+		return createdAt;
+	}
+
+	public void setCreatedAt(LocalDateTime createdAt) {
+		this.createdAt = createdAt;
+	}
+
+	public LocalDateTime getUpdatedAt() {
+		return updatedAt;
+	}
+
+	public void setUpdatedAt(LocalDateTime updatedAt) {
+		this.updatedAt = updatedAt;
+	}
+}
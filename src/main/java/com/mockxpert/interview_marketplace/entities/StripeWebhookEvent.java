@@ -0,0 +1,168 @@
+package com.mockxpert.interview_marketplace.entities;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+
+/**
+ *  
+ * Entity class thats responsible for table creation for received Stripe webhook events and its fields.
+ * The Stripe event ID is the primary key, so a redelivered event is recognized and not processed twice.
+ * 
+ * @author Umar Mohammad
+ * 
+ */
+@Entity
+@Table(name = "stripe_webhook_events",
+       indexes = {
+           @Index(name = "idx_stripe_webhook_events_status_next", columnList = "status, next_attempt_at"),
+           @Index(name = "idx_stripe_webhook_events_object_created", columnList = "object_id, stripe_created_at")
+       })
+public class StripeWebhookEvent {
+
+    @Id
+    @Column(name = "event_id", nullable = false, length = 255)
+    private String eventId;
+
+    @Column(name = "event_type", nullable = false, length = 100)
+    private String eventType;
+
+    /**
+     * ID of the Stripe object the event is about, e.g. the checkout session. Events of one object are processed in order.
+     */
+    @Column(name = "object_id", nullable = false, length = 255)
+    private String objectId;
+
+    @Column(name = "payload", nullable = false, columnDefinition = "text")
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private Status status;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 2000)
+    private String lastError;
+
+    @Column(name = "stripe_created_at", nullable = false)
+    private LocalDateTime stripeCreatedAt;
+
+    @Column(name = "received_at", nullable = false)
+    private LocalDateTime receivedAt;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "locked_at")
+    private LocalDateTime lockedAt;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
+    public enum Status {
+        RECEIVED,
+        PROCESSING,
+        RETRY,
+        PROCESSED,
+        IGNORED,
+        FAILED
+    }
+
+	public String getEventId() {
+		return eventId;
+	}
+
+	public void setEventId(String eventId) {
+		this.eventId = eventId;
+	}
+
+	public String getEventType() {
+		return eventType;
+	}
+
+	public void setEventType(String eventType) {
+		this.eventType = eventType;
+	}
+
+	public String getObjectId() {
+		return objectId;
+	}
+
+	public void setObjectId(String objectId) {
+		this.objectId = objectId;
+	}
+
+	public String getPayload() {
+		return payload;
+	}
+
+	public void setPayload(String payload) {
+		this.payload = payload;
+	}
+
+	public Status getStatus() {
+		return status;
+	}
+
+	public void setStatus(Status status) {
+		this.status = status;
+	}
+
+	public int getAttempts() {
+		return attempts;
+	}
+
+	public void setAttempts(int attempts) {
+		this.attempts = attempts;
+	}
+
+	public String getLastError() {
+		return lastError;
+	}
+
+	public void setLastError(String lastError) {
+		this.lastError = lastError;
+	}
+
+	public LocalDateTime getStripeCreatedAt() {
+		return stripeCreatedAt;
+	}
+
+	public void setStripeCreatedAt(LocalDateTime stripeCreatedAt) {
+		this.stripeCreatedAt = stripeCreatedAt;
+	}
+
+	public LocalDateTime getReceivedAt() {
+		return receivedAt;
+	}
+
+	public void setReceivedAt(LocalDateTime receivedAt) {
+		this.receivedAt = receivedAt;
+	}
+
+	public LocalDateTime getNextAttemptAt() {
+		return nextAttemptAt;
+	}
+
+	public void setNextAttemptAt(LocalDateTime nextAttemptAt) {
+		this.nextAttemptAt = nextAttemptAt;
+	}
+
+	public LocalDateTime getLockedAt() {
+		return lockedAt;
+	}
+
+	public void setLockedAt(LocalDateTime lockedAt) {
+		this.lockedAt = lockedAt;
+	}
+
+	public LocalDateTime getProcessedAt() {
+		return processedAt;
+	}
+
+	public void setProcessedAt(LocalDateTime processedAt) {
+		this.processedAt = processedAt;
+	}
+}
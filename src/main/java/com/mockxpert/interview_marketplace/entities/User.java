@@ -37,6 +37,12 @@ public class User {
     @Column(name = "reset_token", nullable = true)
     private String resetToken;
 
+    /**
+     * Bumped on every reset request and password change, reset tokens of older generations are rejected.
+     */
+    @Column(name = "password_generation", nullable = false, columnDefinition = "bigint default 0")
+    private long passwordGeneration;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "role", nullable = false)
     private Role role;
@@ -72,6 +78,12 @@ public class User {
     @Column(name = "is_workEmail_verified")
     private boolean isWorkEmailVerified;
 
+    /**
+     * Whether batchable notification emails are collected into one digest per day.
+     */
+    @Column(name = "daily_digest", nullable = false, columnDefinition = "boolean default false")
+    private boolean dailyDigest;
+
     public String getFirebaseUid() {
 		return firebaseUid;
 	}
@@ -309,6 +321,22 @@ public class User {
 		this.isWorkEmailVerified = isWorkEmailVerified;
 	}
 
+	public boolean isDailyDigest() {
+		return dailyDigest;
+	}
+
+	public void setDailyDigest(boolean dailyDigest) {
+		this.dailyDigest = dailyDigest;
+	}
+
+	public long getPasswordGeneration() {
+		return passwordGeneration;
+	}
+
+	public void setPasswordGeneration(long passwordGeneration) {
+		this.passwordGeneration = passwordGeneration;
+	}
+
 	
     
 }
\ No newline at end of file
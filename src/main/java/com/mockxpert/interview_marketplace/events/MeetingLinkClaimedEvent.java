@@ -0,0 +1,20 @@
+package com.mockxpert.interview_marketplace.events;
+
+/**
+ * Published when a pooled meeting link was handed to an interview. The listener patches the
+ * attendees into the calendar event after the surrounding transaction has committed.
+ *
+ * @author Umar Mohammad
+ */
+public class MeetingLinkClaimedEvent {
+
+    private final Long meetingLinkId;
+
+    public MeetingLinkClaimedEvent(Long meetingLinkId) {
+        this.meetingLinkId = meetingLinkId;
+    }
+
+    public Long getMeetingLinkId() {
+        return meetingLinkId;
+    }
+}
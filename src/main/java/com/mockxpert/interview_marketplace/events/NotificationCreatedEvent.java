@@ -0,0 +1,26 @@
+package com.mockxpert.interview_marketplace.events;
+
+import com.mockxpert.interview_marketplace.dto.NotificationDto;
+
+/**
+ * Published when a notification has been saved. Listeners that push the notification to clients
+ * receive it after the surrounding transaction has committed.
+ *
+ * @author Umar Mohammad
+ */
+public class NotificationCreatedEvent {
+
+    private final NotificationDto notification;
+
+    public NotificationCreatedEvent(NotificationDto notification) {
+        this.notification = notification;
+    }
+
+    public NotificationDto getNotification() {
+        return notification;
+    }
+
+    public Long getUserId() {
+        return notification.getUserId();
+    }
+}
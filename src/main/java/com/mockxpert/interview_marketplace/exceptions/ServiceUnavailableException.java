@@ -0,0 +1,27 @@
+package com.mockxpert.interview_marketplace.exceptions;
+
+/**
+ * Exception class for managing requests that fail fast because a remote dependency is unavailable.
+ * 
+ * @author Umar Mohammad
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceUnavailableException(String message) {
+        this(message, 0);
+    }
+
+    public ServiceUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * @return seconds after which the request may succeed again, or 0 when unknown.
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
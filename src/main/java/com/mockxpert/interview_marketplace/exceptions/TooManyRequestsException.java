@@ -0,0 +1,23 @@
+package com.mockxpert.interview_marketplace.exceptions;
+
+/**
+ * Exception class for managing requests that are rejected by a rate limit.
+ * 
+ * @author Umar Mohammad
+ */
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * @return seconds after which the request will be accepted again.
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -1,10 +1,13 @@
 package com.mockxpert.interview_marketplace.filters;
 
-import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.auth.FirebaseToken;
 import com.google.firebase.auth.FirebaseAuthException;
+import com.mockxpert.interview_marketplace.dto.UserPrincipal;
+import com.mockxpert.interview_marketplace.exceptions.UnauthorizedException;
+import com.mockxpert.interview_marketplace.services.FirebaseTokenCache;
+import com.mockxpert.interview_marketplace.services.PrincipalCache;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -25,7 +28,8 @@ import java.util.List;
 
 public class FirebaseAuthenticationFilter extends OncePerRequestFilter {
 
-    private final FirebaseAuth firebaseAuth;
+    private final FirebaseTokenCache firebaseTokenCache;
+    private final PrincipalCache principalCache;
     // Define endpoints that should not require authentication.
     private final List<AntPathRequestMatcher> skipAuthMatchers;
 
@@ -34,10 +38,12 @@ public class FirebaseAuthenticationFilter extends OncePerRequestFilter {
      * 
      * Prevents these apis from requiring authorization.
      * 
-     * @param firebaseAuth
+     * @param firebaseTokenCache verifies ID tokens and caches the result.
+     * @param principalCache     resolves the UID of a verified token into the user's principal.
      */
-    public FirebaseAuthenticationFilter(FirebaseAuth firebaseAuth) {
-        this.firebaseAuth = firebaseAuth;
+    public FirebaseAuthenticationFilter(FirebaseTokenCache firebaseTokenCache, PrincipalCache principalCache) {
+        this.firebaseTokenCache = firebaseTokenCache;
+        this.principalCache = principalCache;
         this.skipAuthMatchers = new ArrayList<>();
         // Adjust the paths and HTTP methods as needed
         skipAuthMatchers.add(new AntPathRequestMatcher("/api/users/login", "POST"));
@@ -51,6 +57,8 @@ public class FirebaseAuthenticationFilter extends OncePerRequestFilter {
         skipAuthMatchers.add(new AntPathRequestMatcher("/api/payments/success", "GET"));
         skipAuthMatchers.add(new AntPathRequestMatcher("/api/payments/cancel", "GET"));
         skipAuthMatchers.add(new AntPathRequestMatcher("/webhook/stripe", "POST"));
+        skipAuthMatchers.add(new AntPathRequestMatcher("/images/**"));
+        skipAuthMatchers.add(new AntPathRequestMatcher("/actuator/prometheus", "GET"));
    
 
     }
@@ -86,19 +94,20 @@ public class FirebaseAuthenticationFilter extends OncePerRequestFilter {
         }
 
         String token = header.substring(7);
-        System.out.println("Received token: " + token);
 
         try {
-            FirebaseToken decodedToken = firebaseAuth.verifyIdToken(token);
-            System.out.println("Decoded token UID: " + decodedToken.getUid());
+            FirebaseTokenCache.VerifiedToken decodedToken = firebaseTokenCache.verify(token);
 
-            UsernamePasswordAuthenticationToken authentication =
-                    new UsernamePasswordAuthenticationToken(decodedToken.getUid(), null, new ArrayList<>());
+            // Users that are not registered yet keep the bare UID as principal.
+            UserPrincipal principal = principalCache.resolve(decodedToken.getUid());
+            UsernamePasswordAuthenticationToken authentication = principal == null
+                    ? new UsernamePasswordAuthenticationToken(decodedToken.getUid(), null, new ArrayList<>())
+                    : new UsernamePasswordAuthenticationToken(principal, null,
+                            List.of(new SimpleGrantedAuthority("ROLE_" + principal.getRole())));
 
             SecurityContextHolder.getContext().setAuthentication(authentication);
-            System.out.println("SecurityContextHolder updated with UID: " + decodedToken.getUid());
 
-        } catch (FirebaseAuthException e) {
+        } catch (FirebaseAuthException | UnauthorizedException e) {
             System.err.println("Token verification failed: " + e.getMessage());
             response.sendError(HttpStatus.UNAUTHORIZED.value(), "Invalid or expired token: " + e.getMessage());
             return;
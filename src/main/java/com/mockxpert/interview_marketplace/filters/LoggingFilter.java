@@ -21,7 +21,9 @@ public class LoggingFilter extends OncePerRequestFilter {
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
-        System.out.println("Incoming request: " + request.getMethod() + " " + request.getRequestURI());
+        if (logger.isDebugEnabled()) {
+            logger.debug("Incoming request: " + request.getMethod() + " " + request.getRequestURI());
+        }
         filterChain.doFilter(request, response);
     }
 }
@@ -0,0 +1,78 @@
+package com.mockxpert.interview_marketplace.filters;
+
+import com.mockxpert.interview_marketplace.services.MetricsService;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Filter that records the latency of every HTTP request in the http.server.requests timer.
+ *
+ * Requests are tagged with the matched URI pattern instead of the raw path, so /api/bookings/1
+ * and /api/bookings/2 end up in the same series. The filter runs before Spring Security, so
+ * rejected requests are counted as well.
+ *
+ * @author Umar Mohammad
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private MetricsService metricsService;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long started = System.nanoTime();
+        int status = HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+        try {
+            filterChain.doFilter(request, response);
+            status = response.getStatus();
+        } finally {
+            metricsService.recordSince("http.server.requests", started,
+                    "method", request.getMethod(),
+                    "uri", uri(request, status),
+                    "status", String.valueOf(status),
+                    "outcome", outcome(status));
+        }
+    }
+
+    private static String uri(HttpServletRequest request, int status) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern != null) {
+            return pattern.toString();
+        }
+        if (status == HttpServletResponse.SC_NOT_FOUND) {
+            return "NOT_FOUND";
+        }
+        if (status >= 300 && status < 400) {
+            return "REDIRECTION";
+        }
+        return "UNKNOWN";
+    }
+
+    private static String outcome(int status) {
+        if (status < 200) {
+            return "INFORMATIONAL";
+        }
+        if (status < 300) {
+            return "SUCCESS";
+        }
+        if (status < 400) {
+            return "REDIRECTION";
+        }
+        return status < 500 ? "CLIENT_ERROR" : "SERVER_ERROR";
+    }
+}
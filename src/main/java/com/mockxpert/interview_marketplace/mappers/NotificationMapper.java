@@ -64,7 +64,9 @@ public class NotificationMapper {
         notification.setPayment(payment);
         notification.setFeedback(feedback);
         notification.setSubject(notificationDto.getSubject());
-        notification.setMessage(notificationDto.getMessage());
+        notification.setMessage(notificationDto.getTemplateKey() != null ? null : notificationDto.getMessage());
+        notification.setTemplateKey(notificationDto.getTemplateKey());
+        notification.setTemplateParams(notificationDto.getTemplateParams());
         notification.setType(Notification.NotificationType.valueOf(notificationDto.getType()));
         notification.setStatus(Notification.NotificationStatus.valueOf(notificationDto.getStatus()));
         notification.setSentAt(notificationDto.getSentAt());
@@ -45,6 +45,7 @@ public class UserMapper {
         userDto.setWorkEmail(user.getWorkEmail());
         userDto.setWorkEmailVerified(user.isWorkEmailVerified());
         userDto.setEmailVerified(user.isEmailVerified());
+        userDto.setDailyDigest(user.isDailyDigest());
 
         if (user.getCreatedAt() != null) {
             userDto.setCreatedAt(FORMATTER.format(user.getCreatedAt()));
@@ -84,6 +85,7 @@ public class UserMapper {
         user.setWorkEmail(userDto.getWorkEmail());
         user.setWorkEmailVerified(userDto.isWorkEmailVerified());
         user.setEmailVerified(userDto.isEmailVerified());
+        user.setDailyDigest(Boolean.TRUE.equals(userDto.getDailyDigest()));
 
         if (userDto.getCreatedAt() != null) {
             user.setCreatedAt(LocalDateTime.parse(userDto.getCreatedAt(), FORMATTER));
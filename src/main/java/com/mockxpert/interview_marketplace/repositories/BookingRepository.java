@@ -2,6 +2,8 @@ package com.mockxpert.interview_marketplace.repositories;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.mockxpert.interview_marketplace.entities.Availability;
@@ -10,6 +12,7 @@ import com.mockxpert.interview_marketplace.entities.Booking;
 import jakarta.persistence.LockModeType;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -128,4 +131,41 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
      * @return a list of bookings with the specified total price.
      */
     List<Booking> findByTotalPrice(Double totalPrice);
+
+    /**
+     * Full text search over booking notes and cancellation reasons using the
+     * GIN indexed search vector. Only ranks the rows, see {@link #findSnippets}.
+     *
+     * @param query the user supplied search string (web search syntax).
+     * @param limit maximum number of hits to return.
+     * @return ranked hits, best first.
+     */
+    @Query(value = """
+            SELECT b.booking_id AS id,
+                   CAST(ts_rank_cd(b.search_vector, websearch_to_tsquery('english', :query)) AS double precision) AS rank,
+                   CAST(b.booking_date AS timestamp) AS createdAt
+            FROM bookings b
+            WHERE b.search_vector @@ websearch_to_tsquery('english', :query)
+            ORDER BY rank DESC, b.booking_id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<SearchHitProjection> searchFullText(@Param("query") String query, @Param("limit") int limit);
+
+    /**
+     * Highlights the query in the given bookings, for the hits of the page that is returned.
+     *
+     * @param query the user supplied search string (web search syntax).
+     * @param ids   the booking IDs.
+     * @return one snippet per booking found.
+     */
+    @Query(value = """
+            SELECT b.booking_id AS id,
+                   ts_headline('english',
+                               concat_ws(' ', b.cancellation_reason, b.notes),
+                               websearch_to_tsquery('english', :query),
+                               'MaxFragments=2, MaxWords=20, MinWords=5') AS snippet
+            FROM bookings b
+            WHERE b.booking_id IN (:ids)
+            """, nativeQuery = true)
+    List<SearchSnippetProjection> findSnippets(@Param("query") String query, @Param("ids") Collection<Long> ids);
 }
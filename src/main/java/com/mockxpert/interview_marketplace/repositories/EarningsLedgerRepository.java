@@ -0,0 +1,53 @@
+package com.mockxpert.interview_marketplace.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.mockxpert.interview_marketplace.entities.EarningsLedgerEntry;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 
+ * Repository class thats reposible generating query methods related to the earnings ledger.
+ * 
+ * @author Umar Mohammad
+ */
+@Repository
+public interface EarningsLedgerRepository extends JpaRepository<EarningsLedgerEntry, Long> {
+
+    /**
+     * Check whether a payment has a ledger entry of the given type.
+     *
+     * @param paymentId the ID of the payment.
+     * @param entryType PAID or REFUNDED.
+     * @return true if the entry exists.
+     */
+    boolean existsByPaymentIdAndEntryType(Long paymentId, EarningsLedgerEntry.EntryType entryType);
+
+    /**
+     * Appends an entry unless the payment already has an entry of the same type, so replayed
+     * payment events are not counted twice.
+     *
+     * @param paymentId     the ID of the payment.
+     * @param interviewerId the ID of the interviewer who receives the payment.
+     * @param entryType     PAID or REFUNDED.
+     * @param amount        the amount of the entry.
+     * @param currency      the currency of the payment.
+     * @param occurredAt    when the payment was paid or refunded.
+     * @return 1 if the entry was recorded, 0 if it already existed.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO earnings_ledger (payment_id, interviewer_id, entry_type, amount, currency, occurred_at)
+            VALUES (:paymentId, :interviewerId, :entryType, :amount, :currency, :occurredAt)
+            ON CONFLICT (payment_id, entry_type) DO NOTHING
+            """, nativeQuery = true)
+    int recordEntry(@Param("paymentId") Long paymentId, @Param("interviewerId") Long interviewerId,
+                    @Param("entryType") String entryType, @Param("amount") BigDecimal amount,
+                    @Param("currency") String currency, @Param("occurredAt") LocalDateTime occurredAt);
+}
@@ -1,9 +1,11 @@
 package com.mockxpert.interview_marketplace.repositories;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import com.mockxpert.interview_marketplace.entities.Feedback;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.Query;
@@ -150,4 +152,61 @@ public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
     	    """)
     	    Optional<Feedback> findByInterviewAndGiver(@Param("interviewId") Long interviewId,
     	                                               @Param("giverId") Long giverId);
+
+    /**
+     * Full text search over comments, positives, negatives and improvements using the
+     * GIN indexed search vector. Only ranks the rows, see {@link #findSnippets}.
+     *
+     * @param query the user supplied search string (web search syntax).
+     * @param limit maximum number of hits to return.
+     * @return ranked hits, best first.
+     */
+    @Query(value = """
+            SELECT f.feedback_id AS id,
+                   CAST(ts_rank_cd(f.search_vector, websearch_to_tsquery('english', :query)) AS double precision) AS rank,
+                   f.created_at AS createdAt
+            FROM feedback f
+            WHERE f.search_vector @@ websearch_to_tsquery('english', :query)
+            ORDER BY rank DESC, f.feedback_id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<SearchHitProjection> searchFullText(@Param("query") String query, @Param("limit") int limit);
+
+    /**
+     * Highlights the query in the given feedback, for the hits of the page that is returned.
+     *
+     * @param query the user supplied search string (web search syntax).
+     * @param ids   the feedback IDs.
+     * @return one snippet per feedback found.
+     */
+    @Query(value = """
+            SELECT f.feedback_id AS id,
+                   ts_headline('english',
+                               concat_ws(' ', f.comments, f.positives, f.negatives, f.improvements),
+                               websearch_to_tsquery('english', :query),
+                               'MaxFragments=2, MaxWords=20, MinWords=5') AS snippet
+            FROM feedback f
+            WHERE f.feedback_id IN (:ids)
+            """, nativeQuery = true)
+    List<SearchSnippetProjection> findSnippets(@Param("query") String query, @Param("ids") Collection<Long> ids);
+
+    /**
+     * Reads the next chunk of feedback text after the given ID (keyset pagination).
+     *
+     * @param afterId  the last feedback ID already processed.
+     * @param pageable the chunk size.
+     * @return the next chunk ordered by feedback ID.
+     */
+    @Query("""
+            SELECT f.feedbackId AS feedbackId,
+                   f.receiver.userId AS receiverId,
+                   f.positives AS positives,
+                   f.negatives AS negatives,
+                   f.improvements AS improvements,
+                   f.createdAt AS createdAt
+            FROM Feedback f
+            WHERE f.feedbackId > :afterId
+            ORDER BY f.feedbackId ASC
+            """)
+    List<FeedbackTextProjection> findTextChunkAfter(@Param("afterId") Long afterId, Pageable pageable);
 }
@@ -0,0 +1,25 @@
+package com.mockxpert.interview_marketplace.repositories;
+
+import java.time.LocalDateTime;
+
+/**
+ *
+ * Projection with only the free text columns of a feedback, used by the theme extraction job
+ * so that chunks are read without loading the interview and user graph.
+ *
+ * @author Umar Mohammad
+ */
+public interface FeedbackTextProjection {
+
+    Long getFeedbackId();
+
+    Long getReceiverId();
+
+    String getPositives();
+
+    String getNegatives();
+
+    String getImprovements();
+
+    LocalDateTime getCreatedAt();
+}
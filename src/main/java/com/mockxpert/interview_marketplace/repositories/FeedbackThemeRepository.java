@@ -0,0 +1,40 @@
+package com.mockxpert.interview_marketplace.repositories;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.mockxpert.interview_marketplace.entities.FeedbackTheme;
+
+import java.util.List;
+
+/**
+ * 
+ * Repository class thats reposible generating query methods related to feedback themes.
+ * 
+ * @author Umar Mohammad
+ */
+@Repository
+public interface FeedbackThemeRepository extends JpaRepository<FeedbackTheme, Long> {
+
+    /**
+     * Fetches the most frequent themes of a receiver or skill.
+     * 
+     * @param scope   RECEIVER or SKILL.
+     * @param scopeId the user ID or skill ID.
+     * @param pageable limits the number of themes returned.
+     * @return themes ordered by occurrences, most frequent first.
+     */
+    @Query("""
+            SELECT t
+            FROM FeedbackTheme t
+            WHERE t.scope = :scope
+              AND t.scopeId = :scopeId
+            ORDER BY t.occurrences DESC, t.term ASC
+            """)
+    List<FeedbackTheme> findTopThemes(@Param("scope") FeedbackTheme.Scope scope,
+                                      @Param("scopeId") Long scopeId,
+                                      Pageable pageable);
+}
@@ -267,4 +267,20 @@ public interface InterviewRepository extends JpaRepository<Interview, Long> {
     	""")
     List<Interview> findPastInterviews(@Param("dbUserId") Long dbUserId);
 
+    /**
+     * Fetches the upcoming booked interviews that have no meeting link yet.
+     *
+     * @param today the current date.
+     * @return the interviews, soonest first.
+     */
+    @Query("""
+            SELECT i
+            FROM Interview i
+            WHERE i.status = com.mockxpert.interview_marketplace.entities.Interview.InterviewStatus.BOOKED
+              AND (i.interviewLink IS NULL OR i.interviewLink = '')
+              AND i.date >= :today
+            ORDER BY i.date, i.startTime
+            """)
+    List<Interview> findUpcomingWithoutLink(@Param("today") LocalDate today);
+
 }
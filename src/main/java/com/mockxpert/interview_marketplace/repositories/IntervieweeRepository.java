@@ -1,6 +1,7 @@
 package com.mockxpert.interview_marketplace.repositories;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -99,5 +100,16 @@ public interface IntervieweeRepository extends JpaRepository<Interviewee, Long>
      */
     boolean existsByUser_UserId(Long userId);
 
+    /**
+     * Sets the resume of an interviewee without rewriting the rest of the row.
+     * 
+     * @param intervieweeId the ID of the interviewee.
+     * @param resume        the storage key of the resume.
+     * @return the number of rows updated.
+     */
+    @Modifying
+    @Query("UPDATE Interviewee i SET i.resume = :resume WHERE i.intervieweeId = :intervieweeId")
+    int updateResume(@Param("intervieweeId") Long intervieweeId, @Param("resume") String resume);
+
 
 }
@@ -1,10 +1,13 @@
 package com.mockxpert.interview_marketplace.repositories;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.mockxpert.interview_marketplace.entities.IntervieweeSkill;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -101,4 +104,13 @@ public interface IntervieweeSkillRepository extends JpaRepository<IntervieweeSki
      * @return an optional IntervieweeSkill record for the specified interviewee and skill.
      */
     Optional<IntervieweeSkill> findByInterviewee_IntervieweeIdAndSkill_SkillId(Long intervieweeId, Long skillId);
+
+    /**
+     * Fetches the skill IDs of the interviewee profiles that belong to the given users.
+     * 
+     * @param userIds the user IDs.
+     * @return user and skill ID pairs.
+     */
+    @Query("SELECT s.interviewee.user.userId AS userId, s.skill.skillId AS skillId FROM IntervieweeSkill s WHERE s.interviewee.user.userId IN :userIds")
+    List<UserSkillProjection> findSkillIdsByUserIds(@Param("userIds") Collection<Long> userIds);
 }
@@ -0,0 +1,58 @@
+package com.mockxpert.interview_marketplace.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.mockxpert.interview_marketplace.entities.InterviewerEarnings;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+/**
+ * 
+ * Repository class thats reposible generating query methods related to the running earnings totals of interviewers.
+ * 
+ * @author Umar Mohammad
+ */
+@Repository
+public interface InterviewerEarningsRepository extends JpaRepository<InterviewerEarnings, Long> {
+
+    /**
+     * Find the earnings totals of an interviewer by the interviewer's user ID.
+     *
+     * @param userId the user ID of the interviewer.
+     * @return the totals, empty if the interviewer has no earnings yet.
+     */
+    Optional<InterviewerEarnings> findByUserId(Long userId);
+
+    /**
+     * Adds a ledger entry to the running totals of an interviewer, creating the row on the first entry.
+     *
+     * @param interviewerId the ID of the interviewer.
+     * @param userId        the user ID of the interviewer.
+     * @param paid          the paid amount to add.
+     * @param refunded      the refunded amount to add.
+     * @param paidCount     the number of paid payments to add.
+     * @param refundedCount the number of refunded payments to add.
+     * @return the number of rows written.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO interviewer_earnings (interviewer_id, user_id, total_paid, total_refunded, net_earnings,
+                                              paid_count, refunded_count, updated_at)
+            VALUES (:interviewerId, :userId, :paid, :refunded, :paid - :refunded, :paidCount, :refundedCount, now())
+            ON CONFLICT (interviewer_id) DO UPDATE SET
+                total_paid = interviewer_earnings.total_paid + EXCLUDED.total_paid,
+                total_refunded = interviewer_earnings.total_refunded + EXCLUDED.total_refunded,
+                net_earnings = interviewer_earnings.net_earnings + EXCLUDED.net_earnings,
+                paid_count = interviewer_earnings.paid_count + EXCLUDED.paid_count,
+                refunded_count = interviewer_earnings.refunded_count + EXCLUDED.refunded_count,
+                updated_at = EXCLUDED.updated_at
+            """, nativeQuery = true)
+    int applyEntry(@Param("interviewerId") Long interviewerId, @Param("userId") Long userId,
+                   @Param("paid") BigDecimal paid, @Param("refunded") BigDecimal refunded,
+                   @Param("paidCount") long paidCount, @Param("refundedCount") long refundedCount);
+}
@@ -0,0 +1,59 @@
+package com.mockxpert.interview_marketplace.repositories;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.mockxpert.interview_marketplace.entities.InterviewerMonthlyEarnings;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 
+ * Repository class thats reposible generating query methods related to the monthly earnings rollups of interviewers.
+ * 
+ * @author Umar Mohammad
+ */
+@Repository
+public interface InterviewerMonthlyEarningsRepository extends JpaRepository<InterviewerMonthlyEarnings, Long> {
+
+    /**
+     * Find the monthly rollups of an interviewer, latest month first.
+     *
+     * @param interviewerId the ID of the interviewer.
+     * @param pageable      limits the number of months returned.
+     * @return the monthly rollups.
+     */
+    List<InterviewerMonthlyEarnings> findByInterviewerIdOrderByMonthDesc(Long interviewerId, Pageable pageable);
+
+    /**
+     * Adds a ledger entry to the rollup of its month, creating the row on the first entry of the month.
+     *
+     * @param interviewerId the ID of the interviewer.
+     * @param month         the first day of the month.
+     * @param paid          the paid amount to add.
+     * @param refunded      the refunded amount to add.
+     * @param paidCount     the number of paid payments to add.
+     * @return the number of rows written.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO interviewer_monthly_earnings (interviewer_id, month, total_paid, total_refunded, net_earnings,
+                                                      paid_count, updated_at)
+            VALUES (:interviewerId, :month, :paid, :refunded, :paid - :refunded, :paidCount, now())
+            ON CONFLICT (interviewer_id, month) DO UPDATE SET
+                total_paid = interviewer_monthly_earnings.total_paid + EXCLUDED.total_paid,
+                total_refunded = interviewer_monthly_earnings.total_refunded + EXCLUDED.total_refunded,
+                net_earnings = interviewer_monthly_earnings.net_earnings + EXCLUDED.net_earnings,
+                paid_count = interviewer_monthly_earnings.paid_count + EXCLUDED.paid_count,
+                updated_at = EXCLUDED.updated_at
+            """, nativeQuery = true)
+    int applyEntry(@Param("interviewerId") Long interviewerId, @Param("month") LocalDate month,
+                   @Param("paid") BigDecimal paid, @Param("refunded") BigDecimal refunded,
+                   @Param("paidCount") long paidCount);
+}
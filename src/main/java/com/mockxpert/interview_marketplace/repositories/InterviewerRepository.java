@@ -1,6 +1,9 @@
 package com.mockxpert.interview_marketplace.repositories;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.mockxpert.interview_marketplace.entities.Interviewer;
@@ -105,4 +108,15 @@ public interface InterviewerRepository extends JpaRepository<Interviewer, Long>
      */
     boolean existsByUser_UserId(Long userId);
 
+    /**
+     * Sets the profile image of an interviewer without rewriting the rest of the row.
+     * 
+     * @param userId       the ID of the interviewer's user.
+     * @param profileImage the URL of the new profile image.
+     * @return the number of rows updated.
+     */
+    @Modifying
+    @Query("UPDATE Interviewer i SET i.profileImage = :profileImage WHERE i.user.userId = :userId")
+    int updateProfileImageByUserId(@Param("userId") Long userId, @Param("profileImage") String profileImage);
+
 }
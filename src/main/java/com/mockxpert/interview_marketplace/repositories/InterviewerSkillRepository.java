@@ -1,10 +1,13 @@
 package com.mockxpert.interview_marketplace.repositories;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.mockxpert.interview_marketplace.entities.InterviewerSkill;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -81,4 +84,13 @@ public interface InterviewerSkillRepository extends JpaRepository<InterviewerSki
      * @return a list of InterviewerSkill records with proficiency level containing the given keyword.
      */
     List<InterviewerSkill> findByProficiencyLevelContaining(String keyword);
+
+    /**
+     * Fetches the skill IDs of the interviewer profiles that belong to the given users.
+     * 
+     * @param userIds the user IDs.
+     * @return user and skill ID pairs.
+     */
+    @Query("SELECT s.interviewer.user.userId AS userId, s.skill.skillId AS skillId FROM InterviewerSkill s WHERE s.interviewer.user.userId IN :userIds")
+    List<UserSkillProjection> findSkillIdsByUserIds(@Param("userIds") Collection<Long> userIds);
 }
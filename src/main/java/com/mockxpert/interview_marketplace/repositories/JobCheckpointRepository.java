@@ -0,0 +1,16 @@
+package com.mockxpert.interview_marketplace.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.mockxpert.interview_marketplace.entities.JobCheckpoint;
+
+/**
+ * 
+ * Repository class thats reposible generating query methods related to batch job checkpoints.
+ * 
+ * @author Umar Mohammad
+ */
+@Repository
+public interface JobCheckpointRepository extends JpaRepository<JobCheckpoint, String> {
+}
@@ -0,0 +1,51 @@
+package com.mockxpert.interview_marketplace.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.mockxpert.interview_marketplace.entities.MeetingLink;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 
+ * Repository class thats reposible generating query methods related to pre-provisioned meeting links.
+ * 
+ * @author Umar Mohammad
+ */
+@Repository
+public interface MeetingLinkRepository extends JpaRepository<MeetingLink, Long> {
+
+    /**
+     * Locks the oldest available link. Links locked by concurrent bookings are skipped, so
+     * confirmations never wait on each other. Must run inside a transaction.
+     *
+     * @return the locked link, if the pool is not empty.
+     */
+    @Query(value = """
+            SELECT * FROM meeting_links
+            WHERE status = 'AVAILABLE'
+            ORDER BY meeting_link_id
+            LIMIT 1
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    Optional<MeetingLink> lockNextAvailable();
+
+    /**
+     * Count the links with a given status.
+     *
+     * @param status the status.
+     * @return the number of links.
+     */
+    long countByStatus(MeetingLink.Status status);
+
+    /**
+     * Find the links with a given status, oldest first.
+     *
+     * @param status the status.
+     * @return the links.
+     */
+    List<MeetingLink> findByStatusOrderByMeetingLinkIdAsc(MeetingLink.Status status);
+}
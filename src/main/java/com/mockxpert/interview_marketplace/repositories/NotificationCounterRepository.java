@@ -0,0 +1,56 @@
+package com.mockxpert.interview_marketplace.repositories;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.mockxpert.interview_marketplace.entities.NotificationCounter;
+
+/**
+ * 
+ * Repository class thats reposible generating query methods related to the unread notification counters.
+ * 
+ * @author Umar Mohammad
+ */
+@Repository
+public interface NotificationCounterRepository extends JpaRepository<NotificationCounter, Long> {
+
+    /**
+     * Adjusts the unread count of a user. Users without a counter row are left alone, their
+     * counter is initialized from the notifications table on first read.
+     *
+     * @param userId the ID of the user.
+     * @param delta  the change in unread notifications.
+     * @return the number of counters updated.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE notification_counters
+            SET unread_count = GREATEST(unread_count + :delta, 0), updated_at = now()
+            WHERE user_id = :userId
+            """, nativeQuery = true)
+    int adjustUnreadCount(@Param("userId") Long userId, @Param("delta") long delta);
+
+    /**
+     * Sets the unread count of a user to the number of unread notifications in the table that are
+     * still inside the retention horizon, the same rows the inbox shows and mark-all-as-read clears.
+     *
+     * @param userId  the ID of the user.
+     * @param horizon the oldest sent_at that is still retained.
+     * @return the number of counters written.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO notification_counters (user_id, unread_count, updated_at)
+            SELECT :userId, count(*), now()
+            FROM notifications
+            WHERE user_id = :userId AND is_read = false AND sent_at >= :horizon
+            ON CONFLICT (user_id)
+            DO UPDATE SET unread_count = EXCLUDED.unread_count, updated_at = EXCLUDED.updated_at
+            """, nativeQuery = true)
+    int recountUnread(@Param("userId") Long userId, @Param("horizon") LocalDateTime horizon);
+}
@@ -1,11 +1,16 @@
 package com.mockxpert.interview_marketplace.repositories;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import com.mockxpert.interview_marketplace.entities.Notification;
 import com.mockxpert.interview_marketplace.entities.Notification.NotificationStatus;
 import com.mockxpert.interview_marketplace.entities.Notification.NotificationType;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -17,6 +22,109 @@ import java.util.List;
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
 
+    /**
+     * First page of a user's inbox, newest first.
+     *
+     * @param userId   the ID of the user.
+     * @param since    retention horizon, prunes the expired partitions.
+     * @param pageable page size.
+     * @return the newest notifications.
+     */
+    @Query("""
+            SELECT n FROM Notification n
+            WHERE n.user.userId = :userId AND n.sentAt >= :since
+            ORDER BY n.sentAt DESC, n.notificationId DESC
+            """)
+    List<Notification> findInboxPage(@Param("userId") Long userId, @Param("since") LocalDateTime since, Pageable pageable);
+
+    /**
+     * Next page of a user's inbox, continuing below the cursor position.
+     *
+     * @param userId         the ID of the user.
+     * @param sentAt         send time of the last notification on the previous page.
+     * @param notificationId ID of the last notification on the previous page.
+     * @param since          retention horizon, prunes the expired partitions.
+     * @param pageable       page size.
+     * @return the following notifications.
+     */
+    @Query("""
+            SELECT n FROM Notification n
+            WHERE n.user.userId = :userId AND n.sentAt >= :since
+              AND (n.sentAt < :sentAt OR (n.sentAt = :sentAt AND n.notificationId < :notificationId))
+            ORDER BY n.sentAt DESC, n.notificationId DESC
+            """)
+    List<Notification> findInboxPageBefore(@Param("userId") Long userId, @Param("sentAt") LocalDateTime sentAt,
+                                           @Param("notificationId") Long notificationId,
+                                           @Param("since") LocalDateTime since, Pageable pageable);
+
+    /**
+     * First page of a user's unread notifications, newest first.
+     *
+     * @param userId   the ID of the user.
+     * @param since    retention horizon, prunes the expired partitions.
+     * @param pageable page size.
+     * @return the newest unread notifications.
+     */
+    @Query("""
+            SELECT n FROM Notification n
+            WHERE n.user.userId = :userId AND n.isRead = false AND n.sentAt >= :since
+            ORDER BY n.sentAt DESC, n.notificationId DESC
+            """)
+    List<Notification> findUnreadInboxPage(@Param("userId") Long userId, @Param("since") LocalDateTime since, Pageable pageable);
+
+    /**
+     * Next page of a user's unread notifications, continuing below the cursor position.
+     *
+     * @param userId         the ID of the user.
+     * @param sentAt         send time of the last notification on the previous page.
+     * @param notificationId ID of the last notification on the previous page.
+     * @param since          retention horizon, prunes the expired partitions.
+     * @param pageable       page size.
+     * @return the following unread notifications.
+     */
+    @Query("""
+            SELECT n FROM Notification n
+            WHERE n.user.userId = :userId AND n.isRead = false AND n.sentAt >= :since
+              AND (n.sentAt < :sentAt OR (n.sentAt = :sentAt AND n.notificationId < :notificationId))
+            ORDER BY n.sentAt DESC, n.notificationId DESC
+            """)
+    List<Notification> findUnreadInboxPageBefore(@Param("userId") Long userId, @Param("sentAt") LocalDateTime sentAt,
+                                                 @Param("notificationId") Long notificationId,
+                                                 @Param("since") LocalDateTime since, Pageable pageable);
+
+    /**
+     * Marks all unread notifications of a user as read in one statement.
+     *
+     * @param userId the ID of the user.
+     * @param readAt the read timestamp to set.
+     * @param since  retention horizon, prunes the expired partitions.
+     * @return the number of notifications marked.
+     */
+    @Modifying
+    @Query("""
+            UPDATE Notification n SET n.isRead = true, n.readAt = :readAt
+            WHERE n.user.userId = :userId AND n.isRead = false AND n.sentAt >= :since
+            """)
+    int markAllAsRead(@Param("userId") Long userId, @Param("readAt") LocalDateTime readAt, @Param("since") LocalDateTime since);
+
+    /**
+     * Marks the given unread notifications of a user as read in one statement. IDs of other users are ignored.
+     *
+     * @param userId          the ID of the user.
+     * @param notificationIds the notifications to mark.
+     * @param readAt          the read timestamp to set.
+     * @param since           retention horizon, prunes the expired partitions.
+     * @return the number of notifications marked.
+     */
+    @Modifying
+    @Query("""
+            UPDATE Notification n SET n.isRead = true, n.readAt = :readAt
+            WHERE n.user.userId = :userId AND n.isRead = false AND n.notificationId IN :notificationIds
+              AND n.sentAt >= :since
+            """)
+    int markAsRead(@Param("userId") Long userId, @Param("notificationIds") Collection<Long> notificationIds,
+                   @Param("readAt") LocalDateTime readAt, @Param("since") LocalDateTime since);
+
     /**
      * Find all notifications for a specific user.
      * 
@@ -25,6 +133,76 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
      */
     List<Notification> findByUser_UserId(Long userId);
 
+    /**
+     * Find the notifications of a user sent since the given time.
+     *
+     * @param userId the ID of the user.
+     * @param sentAt lower bound of the send time, prunes the older partitions.
+     * @return a list of notifications for the specified user.
+     */
+    List<Notification> findByUser_UserIdAndSentAtGreaterThanEqual(Long userId, LocalDateTime sentAt);
+
+    /**
+     * Find the notifications of a user created after a given notification, oldest first.
+     *
+     * @param userId         the ID of the user.
+     * @param notificationId the last notification the client has seen.
+     * @param sentAt         lower bound of the send time, prunes the older partitions.
+     * @param pageable       limits the number of notifications returned.
+     * @return the newer notifications.
+     */
+    List<Notification> findByUser_UserIdAndNotificationIdGreaterThanAndSentAtGreaterThanEqualOrderByNotificationIdAsc(
+            Long userId, Long notificationId, LocalDateTime sentAt, Pageable pageable);
+
+    /**
+     * Find the users whose oldest queued notification has waited at least until the cutoff.
+     *
+     * @param cutoff the end of the coalescing window.
+     * @return the IDs of the users with a digest due.
+     */
+    @Query("""
+            SELECT n.user.userId FROM Notification n
+            WHERE n.status = com.mockxpert.interview_marketplace.entities.Notification.NotificationStatus.QUEUED
+              AND n.user.dailyDigest = false
+            GROUP BY n.user.userId
+            HAVING MIN(n.sentAt) <= :cutoff
+            """)
+    List<Long> findUsersWithDueDigest(@Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * Find the users with queued notifications that receive a daily digest.
+     *
+     * @return the IDs of the users.
+     */
+    @Query("""
+            SELECT DISTINCT n.user.userId FROM Notification n
+            WHERE n.status = com.mockxpert.interview_marketplace.entities.Notification.NotificationStatus.QUEUED
+              AND n.user.dailyDigest = true
+            """)
+    List<Long> findUsersWithDailyDigest();
+
+    /**
+     * Find the notifications of a user with the given status, oldest first.
+     *
+     * @param userId the ID of the user.
+     * @param status the status of the notifications.
+     * @return the notifications.
+     */
+    List<Notification> findByUser_UserIdAndStatusOrderBySentAtAsc(Long userId, NotificationStatus status);
+
+    /**
+     * Sets the status of several notifications in one statement.
+     *
+     * @param notificationIds the notifications to update.
+     * @param status          the new status.
+     * @param since           send time of the oldest of the notifications, prunes the older partitions.
+     * @return the number of notifications updated.
+     */
+    @Modifying
+    @Query("UPDATE Notification n SET n.status = :status WHERE n.notificationId IN :notificationIds AND n.sentAt >= :since")
+    int updateStatus(@Param("notificationIds") Collection<Long> notificationIds, @Param("status") NotificationStatus status,
+                     @Param("since") LocalDateTime since);
+
     /**
      * Find all notifications by status.
      * 
@@ -76,4 +254,42 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
      * @return a list of notifications for the specified user, type, and status.
      */
     List<Notification> findByUser_UserIdAndTypeAndStatus(Long userId, NotificationType type, NotificationStatus status);
+
+    /**
+     * Full text search over notification subjects and messages using the
+     * GIN indexed search vector. Only ranks the rows, see {@link #findSnippets}.
+     *
+     * @param query the user supplied search string (web search syntax).
+     * @param limit maximum number of hits to return.
+     * @return ranked hits, best first.
+     */
+    @Query(value = """
+            SELECT n.notification_id AS id,
+                   CAST(ts_rank_cd(n.search_vector, websearch_to_tsquery('english', :query)) AS double precision) AS rank,
+                   n.sent_at AS createdAt
+            FROM notifications n
+            WHERE n.search_vector @@ websearch_to_tsquery('english', :query)
+            ORDER BY rank DESC, n.notification_id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<SearchHitProjection> searchFullText(@Param("query") String query, @Param("limit") int limit);
+
+    /**
+     * Highlights the query in the given notifications, for the hits of the page that is returned.
+     *
+     * @param query the user supplied search string (web search syntax).
+     * @param ids   the notification IDs.
+     * @return one snippet per notification found.
+     */
+    @Query(value = """
+            SELECT n.notification_id AS id,
+                   ts_headline('english',
+                               concat_ws(' ', n.subject, n.message,
+                                         (SELECT string_agg(p.value, ' ') FROM jsonb_each_text(n.template_params) p)),
+                               websearch_to_tsquery('english', :query),
+                               'MaxFragments=2, MaxWords=20, MinWords=5') AS snippet
+            FROM notifications n
+            WHERE n.notification_id IN (:ids)
+            """, nativeQuery = true)
+    List<SearchSnippetProjection> findSnippets(@Param("query") String query, @Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,44 @@
+package com.mockxpert.interview_marketplace.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.mockxpert.interview_marketplace.entities.ResumeUpload;
+
+import jakarta.persistence.LockModeType;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 
+ * Repository class thats reposible generating query methods related to resume uploads.
+ * 
+ * @author Umar Mohammad
+ */
+@Repository
+public interface ResumeUploadRepository extends JpaRepository<ResumeUpload, String> {
+
+    /**
+     * Loads an upload and locks its row, so concurrent chunks do not overwrite each other's bits.
+     * 
+     * @param uploadId the ID of the upload.
+     * @return the locked upload.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM ResumeUpload u WHERE u.uploadId = :uploadId")
+    Optional<ResumeUpload> lockById(@Param("uploadId") String uploadId);
+
+    /**
+     * Find uploads in a status that were not touched since the given time.
+     * 
+     * @param status the upload status.
+     * @param before the cutoff time.
+     * @return the stale uploads.
+     */
+    List<ResumeUpload> findByStatusAndUpdatedAtBefore(ResumeUpload.Status status, LocalDateTime before);
+}
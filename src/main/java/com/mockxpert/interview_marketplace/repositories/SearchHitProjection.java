@@ -0,0 +1,27 @@
+package com.mockxpert.interview_marketplace.repositories;
+
+import java.time.LocalDateTime;
+
+/**
+ *
+ * Projection returned by the native full text search queries.
+ *
+ * @author Umar Mohammad
+ */
+public interface SearchHitProjection {
+
+    /**
+     * @return the primary key of the matching row.
+     */
+    Long getId();
+
+    /**
+     * @return the ts_rank_cd score of the row for the query.
+     */
+    Double getRank();
+
+    /**
+     * @return the creation or sent time of the row, when the table has one.
+     */
+    LocalDateTime getCreatedAt();
+}
@@ -0,0 +1,20 @@
+package com.mockxpert.interview_marketplace.repositories;
+
+/**
+ *
+ * Projection returned by the native snippet queries of the full text search.
+ *
+ * @author Umar Mohammad
+ */
+public interface SearchSnippetProjection {
+
+    /**
+     * @return the primary key of the row.
+     */
+    Long getId();
+
+    /**
+     * @return the highlighted fragment produced by ts_headline.
+     */
+    String getSnippet();
+}
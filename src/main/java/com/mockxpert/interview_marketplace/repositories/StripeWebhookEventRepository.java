@@ -0,0 +1,133 @@
+package com.mockxpert.interview_marketplace.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.mockxpert.interview_marketplace.entities.StripeWebhookEvent;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 
+ * Repository class thats reposible generating query methods related to received Stripe webhook events.
+ * 
+ * @author Umar Mohammad
+ */
+@Repository
+public interface StripeWebhookEventRepository extends JpaRepository<StripeWebhookEvent, String> {
+
+    /**
+     * Stores a verified event unless an event with the same ID was received before.
+     *
+     * @param eventId         the Stripe event ID.
+     * @param eventType       the Stripe event type.
+     * @param objectId        the ID of the object the event is about.
+     * @param payload         the raw event payload.
+     * @param stripeCreatedAt when Stripe created the event.
+     * @param receivedAt      when the event was received.
+     * @return 1 if the event is new, 0 if it is a redelivery.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT INTO stripe_webhook_events (event_id, event_type, object_id, payload, status, attempts,
+                                               stripe_created_at, received_at, next_attempt_at)
+            VALUES (:eventId, :eventType, :objectId, :payload, 'RECEIVED', 0, :stripeCreatedAt, :receivedAt, :receivedAt)
+            ON CONFLICT (event_id) DO NOTHING
+            """, nativeQuery = true)
+    int insertIfAbsent(@Param("eventId") String eventId, @Param("eventType") String eventType,
+                       @Param("objectId") String objectId, @Param("payload") String payload,
+                       @Param("stripeCreatedAt") LocalDateTime stripeCreatedAt, @Param("receivedAt") LocalDateTime receivedAt);
+
+    /**
+     * Claims an event for processing. The claim succeeds for events that are waiting or whose
+     * previous claim expired, and only when no older event of the same object is still unfinished,
+     * which keeps the events of one checkout session in order.
+     *
+     * @param eventId     the Stripe event ID.
+     * @param now         the claim time.
+     * @param staleBefore claims older than this are considered abandoned.
+     * @return 1 if the event was claimed.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            UPDATE stripe_webhook_events e
+            SET status = 'PROCESSING', locked_at = :now, attempts = e.attempts + 1
+            WHERE e.event_id = :eventId
+              AND ((e.status IN ('RECEIVED', 'RETRY') AND e.next_attempt_at <= :now)
+                   OR (e.status = 'PROCESSING' AND e.locked_at < :staleBefore))
+              AND NOT EXISTS (
+                  SELECT 1 FROM stripe_webhook_events earlier
+                  WHERE earlier.object_id = e.object_id
+                    AND earlier.event_id <> e.event_id
+                    AND (earlier.stripe_created_at, earlier.received_at) < (e.stripe_created_at, e.received_at)
+                    AND earlier.status IN ('RECEIVED', 'RETRY', 'PROCESSING'))
+            """, nativeQuery = true)
+    int claim(@Param("eventId") String eventId, @Param("now") LocalDateTime now, @Param("staleBefore") LocalDateTime staleBefore);
+
+    /**
+     * Find events that are due for a (re)try or whose claim expired, oldest first.
+     *
+     * @param now         the current time.
+     * @param staleBefore claims older than this are considered abandoned.
+     * @param limit       maximum number of events.
+     * @return the due events.
+     */
+    @Query(value = """
+            SELECT * FROM stripe_webhook_events
+            WHERE (status IN ('RECEIVED', 'RETRY') AND next_attempt_at <= :now)
+               OR (status = 'PROCESSING' AND locked_at < :staleBefore)
+            ORDER BY stripe_created_at, received_at
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<StripeWebhookEvent> findDue(@Param("now") LocalDateTime now, @Param("staleBefore") LocalDateTime staleBefore,
+                                     @Param("limit") int limit);
+
+    /**
+     * Records the final outcome of an event, as long as the caller still holds its claim.
+     *
+     * @param eventId     the Stripe event ID.
+     * @param claimedAt   the claim time of the caller.
+     * @param status      PROCESSED, IGNORED or FAILED.
+     * @param error       the last error, or null.
+     * @param processedAt the completion time.
+     * @return 1 if the event was updated, 0 if another worker took the claim over.
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE StripeWebhookEvent e
+            SET e.status = :status, e.lastError = :error, e.processedAt = :processedAt, e.lockedAt = null
+            WHERE e.eventId = :eventId AND e.lockedAt = :claimedAt
+            """)
+    int complete(@Param("eventId") String eventId, @Param("claimedAt") LocalDateTime claimedAt,
+                 @Param("status") StripeWebhookEvent.Status status,
+                 @Param("error") String error, @Param("processedAt") LocalDateTime processedAt);
+
+    /**
+     * Schedules another attempt of a failed event, as long as the caller still holds its claim.
+     *
+     * @param eventId       the Stripe event ID.
+     * @param claimedAt     the claim time of the caller.
+     * @param error         the error of the failed attempt.
+     * @param nextAttemptAt when to try again.
+     * @return 1 if the event was updated, 0 if another worker took the claim over.
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE StripeWebhookEvent e
+            SET e.status = com.mockxpert.interview_marketplace.entities.StripeWebhookEvent.Status.RETRY,
+                e.lastError = :error, e.nextAttemptAt = :nextAttemptAt, e.lockedAt = null
+            WHERE e.eventId = :eventId AND e.lockedAt = :claimedAt
+            """)
+    int scheduleRetry(@Param("eventId") String eventId, @Param("claimedAt") LocalDateTime claimedAt,
+                      @Param("error") String error,
+                      @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
+}
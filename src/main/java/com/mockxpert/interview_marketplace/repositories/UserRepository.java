@@ -1,10 +1,16 @@
 package com.mockxpert.interview_marketplace.repositories;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.mockxpert.interview_marketplace.dto.UserPrincipal;
 import com.mockxpert.interview_marketplace.entities.User;
 
+import jakarta.persistence.LockModeType;
+
 import java.util.List;
 import java.util.Optional;
 
@@ -82,14 +88,32 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return an Optional of user with the specified firebase uid
      */
     Optional<User> findByFirebaseUid(String firebaseUid);
-    
+
     /**
-     * Find user by reset token.
-     * 
-     * @param reset token is generated during forgot password of the user
-     * @return an Optional of user with the specified reset token
+     * Fetch a user and lock the row until the end of the transaction.
+     *
+     * @param userId the ID of the user
+     * @return an Optional of the locked user
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.userId = :userId")
+    Optional<User> lockById(@Param("userId") Long userId);
+
+    /**
+     * Resolve the principal of a firebase uid, including the interviewer and interviewee IDs, in one query.
+     *
+     * @param firebaseUid the firebase uid of the user
+     * @return an Optional of the principal of the user with the specified firebase uid
      */
-    Optional<User> findByResetToken(String resetToken);
+    @Query("""
+            SELECT new com.mockxpert.interview_marketplace.dto.UserPrincipal(
+                u.firebaseUid, u.userId, u.email, u.role, u.status,
+                (SELECT r.interviewerId FROM Interviewer r WHERE r.user = u),
+                (SELECT e.intervieweeId FROM Interviewee e WHERE e.user = u))
+            FROM User u
+            WHERE u.firebaseUid = :firebaseUid
+            """)
+    Optional<UserPrincipal> findPrincipalByFirebaseUid(@Param("firebaseUid") String firebaseUid);
     
     /**
      *Fetching user record by its id
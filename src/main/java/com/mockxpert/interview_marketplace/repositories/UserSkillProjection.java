@@ -0,0 +1,14 @@
+package com.mockxpert.interview_marketplace.repositories;
+
+/**
+ *
+ * Projection pairing a user ID with one of the skill IDs on their interviewer or interviewee profile.
+ *
+ * @author Umar Mohammad
+ */
+public interface UserSkillProjection {
+
+    Long getUserId();
+
+    Long getSkillId();
+}
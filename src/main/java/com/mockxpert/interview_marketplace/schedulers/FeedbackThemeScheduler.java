@@ -0,0 +1,25 @@
+package com.mockxpert.interview_marketplace.schedulers;
+
+import com.mockxpert.interview_marketplace.services.FeedbackThemeService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduler that keeps the recurring feedback themes up to date.
+ * The first run processes all existing feedback, later runs only the feedback added since.
+ */
+@Component
+public class FeedbackThemeScheduler {
+
+    @Autowired
+    private FeedbackThemeService feedbackThemeService;
+
+    /**
+     * Runs every 15 minutes by default.
+     */
+    @Scheduled(cron = "${app.feedback-themes.cron:0 */15 * * * *}")
+    public void refreshThemes() {
+        feedbackThemeService.extractThemes();
+    }
+}
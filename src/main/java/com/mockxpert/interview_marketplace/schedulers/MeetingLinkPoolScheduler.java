@@ -0,0 +1,25 @@
+package com.mockxpert.interview_marketplace.schedulers;
+
+import com.mockxpert.interview_marketplace.services.MeetingLinkPoolService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduler that keeps the meeting link pool filled and retries pending attendee patches.
+ */
+@Component
+public class MeetingLinkPoolScheduler {
+
+    @Autowired
+    private MeetingLinkPoolService meetingLinkPoolService;
+
+    /**
+     * Tops the pool up and retries unpatched claims every minute by default.
+     */
+    @Scheduled(fixedDelayString = "${app.meetings.pool.check-interval-ms:60000}")
+    public void maintainPool() {
+        meetingLinkPoolService.patchPendingClaims();
+        meetingLinkPoolService.replenish();
+    }
+}
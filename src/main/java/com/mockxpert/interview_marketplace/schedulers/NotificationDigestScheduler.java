@@ -0,0 +1,32 @@
+package com.mockxpert.interview_marketplace.schedulers;
+
+import com.mockxpert.interview_marketplace.services.NotificationDigestService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduler that mails the coalesced notification digests.
+ */
+@Component
+public class NotificationDigestScheduler {
+
+    @Autowired
+    private NotificationDigestService notificationDigestService;
+
+    /**
+     * Checks for users whose coalescing window has passed every minute by default.
+     */
+    @Scheduled(fixedDelayString = "${app.notifications.digest.check-interval-ms:60000}")
+    public void sendDueDigests() {
+        notificationDigestService.sendDueDigests();
+    }
+
+    /**
+     * Sends the opted in daily digests at 08:00 by default.
+     */
+    @Scheduled(cron = "${app.notifications.digest.daily-cron:0 0 8 * * *}")
+    public void sendDailyDigests() {
+        notificationDigestService.sendDailyDigests();
+    }
+}
@@ -0,0 +1,24 @@
+package com.mockxpert.interview_marketplace.schedulers;
+
+import com.mockxpert.interview_marketplace.services.NotificationPartitionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduler that keeps the monthly notification partitions ahead of time and drops the ones past retention.
+ */
+@Component
+public class NotificationPartitionScheduler {
+
+    @Autowired
+    private NotificationPartitionService notificationPartitionService;
+
+    /**
+     * Runs every day at 03:30 by default.
+     */
+    @Scheduled(cron = "${app.notifications.partitioning.cron:0 30 3 * * *}")
+    public void maintainPartitions() {
+        notificationPartitionService.maintain();
+    }
+}
@@ -0,0 +1,24 @@
+package com.mockxpert.interview_marketplace.schedulers;
+
+import com.mockxpert.interview_marketplace.services.ResumeUploadService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduler that removes abandoned resume uploads and their partial files.
+ */
+@Component
+public class ResumeUploadScheduler {
+
+    @Autowired
+    private ResumeUploadService resumeUploadService;
+
+    /**
+     * Purges expired uploads every hour by default.
+     */
+    @Scheduled(fixedDelayString = "${app.uploads.resume.purge-interval-ms:3600000}")
+    public void purgeExpiredUploads() {
+        resumeUploadService.purgeExpiredUploads();
+    }
+}
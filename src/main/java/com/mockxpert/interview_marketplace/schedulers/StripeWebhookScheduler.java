@@ -0,0 +1,24 @@
+package com.mockxpert.interview_marketplace.schedulers;
+
+import com.mockxpert.interview_marketplace.services.StripeWebhookService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduler that dispatches Stripe webhook events that are due for a retry.
+ */
+@Component
+public class StripeWebhookScheduler {
+
+    @Autowired
+    private StripeWebhookService stripeWebhookService;
+
+    /**
+     * Sweeps for due, undispatched and abandoned events every 10 seconds by default.
+     */
+    @Scheduled(fixedDelayString = "${app.stripe.webhook.sweep-interval-ms:10000}")
+    public void dispatchDue() {
+        stripeWebhookService.dispatchDue();
+    }
+}
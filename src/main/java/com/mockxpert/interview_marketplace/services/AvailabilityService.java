@@ -1,7 +1,6 @@
 package com.mockxpert.interview_marketplace.services;
 
 import com.mockxpert.interview_marketplace.dto.AvailabilityDto;
-import com.mockxpert.interview_marketplace.dto.NotificationDto;
 import com.mockxpert.interview_marketplace.entities.Availability;
 import com.mockxpert.interview_marketplace.entities.Availability.AvailabilityStatus;
 import com.mockxpert.interview_marketplace.entities.Interviewer;
@@ -24,6 +23,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.*;
 /**
@@ -79,14 +79,12 @@ public class AvailabilityService {
         try {
             Availability savedAvailability = availabilityRepository.saveAndFlush(availability);
 
-            // Build subject and HTML message with dynamic details
             String subject = String.format("Availability Created: %s | %s - %s",
                     savedAvailability.getDate(), savedAvailability.getStartTime(), savedAvailability.getEndTime());
-            String plainMessage = String.format("Your availability for %s from %s to %s has been successfully created.",
-                    savedAvailability.getDate(), savedAvailability.getStartTime(), savedAvailability.getEndTime());
 
-            // Notify the interviewer with the beautiful HTML email UI
-            sendAvailabilityNotification(interviewer.getUser().getUserId(), subject, plainMessage);
+            sendAvailabilityNotification(interviewer.getUser().getUserId(), subject, "availability.created",
+                    EmailTemplateService.params("date", savedAvailability.getDate(),
+                            "startTime", savedAvailability.getStartTime(), "endTime", savedAvailability.getEndTime()));
 
             return AvailabilityMapper.toDto(savedAvailability);
         } catch (Exception e) {
@@ -165,9 +163,9 @@ public class AvailabilityService {
         availabilityRepository.save(availability);
 
         String subject = String.format("Slot Booked: %s", availability.getDate());
-        String plainMessage = String.format("Your availability on %s has been booked.", availability.getDate());
 
-        sendAvailabilityNotification(availability.getInterviewer().getUser().getUserId(), subject, plainMessage);
+        sendAvailabilityNotification(availability.getInterviewer().getUser().getUserId(), subject, "availability.booked",
+                EmailTemplateService.params("date", availability.getDate()));
     }
 
     /**
@@ -184,79 +182,21 @@ public class AvailabilityService {
         availabilityRepository.save(availability);
 
         String subject = String.format("Availability Canceled: %s", availability.getDate());
-        String plainMessage = String.format("Your availability on %s has been canceled.", availability.getDate());
-
-        sendAvailabilityNotification(availability.getInterviewer().getUser().getUserId(), subject, plainMessage);
-    }
 
-    /**
-     * Helper method to send availability notifications using a beautiful HTML email template.
-     *
-     * @param userId  The user ID of the interviewer.
-     * @param subject The subject of the notification.
-     * @param plainMessage The plain text message to include in the email.
-     */
-    private void sendAvailabilityNotification(Long userId, String subject, String plainMessage) {
-        // Build the HTML email using the helper method below
-        String htmlMessage = buildHtmlEmail(subject, plainMessage);
-
-        NotificationDto notificationDto = new NotificationDto();
-        notificationDto.setUserId(userId);
-        notificationDto.setSubject(subject);
-        notificationDto.setMessage(htmlMessage);
-        notificationDto.setType("EMAIL");
-        notificationDto.setStatus("SENT");
-
-        notificationService.createNotification(notificationDto);
+        sendAvailabilityNotification(availability.getInterviewer().getUser().getUserId(), subject, "availability.canceled",
+                EmailTemplateService.params("date", availability.getDate()));
     }
 
     /**
-     * Helper method to build a beautiful HTML email template using the MockXpert theme.
+     * Helper method to send availability notifications using the shared email templates.
      *
-     * @param headerTitle The header title (often the subject with dynamic details).
-     * @param content     The main content/body of the email.
-     * @return A complete HTML string.
+     * @param userId      The user ID of the interviewer.
+     * @param subject     The subject of the notification.
+     * @param templateKey The email template to render.
+     * @param params      The template parameters.
      */
-    private String buildHtmlEmail(String headerTitle, String content) {
-        return String.format(
-            // Note: use %% to escape % signs in inline CSS
-            "<!DOCTYPE html>" +
-            "<html>" +
-              "<head>" +
-                "<meta charset=\"UTF-8\">" +
-                "<title>%s</title>" +
-              "</head>" +
-              "<body style=\"margin: 0; padding: 0; background-color: #f4f4f4; font-family: Arial, sans-serif;\">" +
-                "<table border=\"0\" cellpadding=\"0\" cellspacing=\"0\" width=\"100%%\">" +
-                  "<tr>" +
-                    "<td align=\"center\" style=\"padding: 20px 10px;\">" +
-                      "<table border=\"0\" cellpadding=\"0\" cellspacing=\"0\" width=\"600\" " +
-                        "style=\"background-color: #ffffff; border-radius: 8px; overflow: hidden; " +
-                        "box-shadow: 0 2px 8px rgba(0,0,0,0.1);\">" +
-                        "<tr>" +
-                          "<td align=\"center\" bgcolor=\"#6366f1\" " +
-                            "style=\"padding: 30px 0; color: #ffffff; font-size: 28px; font-weight: bold;\">" +
-                            "MockXpert" +
-                          "</td>" +
-                        "</tr>" +
-                        "<tr>" +
-                          "<td style=\"padding: 40px 30px; color: #333333;\">" +
-                            "<p style=\"margin: 0; font-size: 16px; line-height: 1.5;\">Dear Interviewer,</p>" +
-                            "<p style=\"margin: 20px 0 0 0; font-size: 16px; line-height: 1.5;\">%s</p>" +
-                          "</td>" +
-                        "</tr>" +
-                        "<tr>" +
-                          "<td align=\"center\" bgcolor=\"#f4f4f4\" " +
-                            "style=\"padding: 20px; font-size: 12px; color: #777777;\">" +
-                            "© 2025 MockXpert. All rights reserved." +
-                          "</td>" +
-                        "</tr>" +
-                      "</table>" +
-                    "</td>" +
-                  "</tr>" +
-                "</table>" +
-              "</body>" +
-            "</html>", headerTitle, content);
+    private void sendAvailabilityNotification(Long userId, String subject, String templateKey, Map<String, String> params) {
+        notificationService.createEmailNotification(userId, subject, templateKey, params);
     }
 
     /**
@@ -324,7 +264,7 @@ public class AvailabilityService {
      * @return
      */
     public List<AvailabilityDto> filterAvailabilities(LocalDate startDate, LocalDate endDate, String timezone, AvailabilityStatus status) {
-        Long currentUserId = userService.getCurrentUser().getUserId();
+        Long currentUserId = userService.getCurrentUserId();
         StringBuilder sb = new StringBuilder("SELECT a FROM Availability a WHERE a.interviewer.user.userId = :userId");
         if (startDate != null) {
             sb.append(" AND a.date >= :startDate");
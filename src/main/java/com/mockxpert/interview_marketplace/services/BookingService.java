@@ -1,7 +1,6 @@
 package com.mockxpert.interview_marketplace.services;
 
 import com.mockxpert.interview_marketplace.dto.BookingDto;
-import com.mockxpert.interview_marketplace.dto.NotificationDto;
 import com.mockxpert.interview_marketplace.entities.Availability;
 import com.mockxpert.interview_marketplace.entities.Booking;
 import com.mockxpert.interview_marketplace.entities.Interviewee;
@@ -20,8 +19,12 @@ import jakarta.persistence.LockModeType;
 import jakarta.persistence.OptimisticLockException;
 
 import java.util.List;
+import java.util.Map;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -33,6 +36,8 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 public class BookingService {
 
+    private static final Logger logger = LoggerFactory.getLogger(BookingService.class);
+
     @Autowired
     private BookingRepository bookingRepository;
 
@@ -54,6 +59,9 @@ public class BookingService {
     @Autowired
     private PaymentService paymentService;
 
+    @Autowired
+    private MetricsService metricsService;
+
     /**
      * Register a new booking with Optimistic Locking.
      * 
@@ -62,13 +70,31 @@ public class BookingService {
      */
     @Transactional
     public BookingDto registerBooking(BookingDto bookingDto) {
+        long started = System.nanoTime();
+        String outcome = "error";
+        try {
+            BookingDto booking = createBooking(bookingDto);
+            outcome = "success";
+            return booking;
+        } catch (ConflictException e) {
+            outcome = "conflict";
+            throw e;
+        } finally {
+            metricsService.recordSince("booking.register", started, "outcome", outcome);
+        }
+    }
+
+    /**
+     * Locks the availability and saves the booking, see {@link #registerBooking}.
+     */
+    private BookingDto createBooking(BookingDto bookingDto) {
         Interviewee interviewee = intervieweeRepository.findById(bookingDto.getIntervieweeId())
                 .orElseThrow(() -> new ResourceNotFoundException("Interviewee not found with ID: " + bookingDto.getIntervieweeId()));
 
         Availability availability = availabilityRepository.findById(bookingDto.getAvailabilityId())
                 .orElseThrow(() -> new ResourceNotFoundException("Availability not found with ID: " + bookingDto.getAvailabilityId()));
 
-        System.out.println("Availability Version Before Lock: " + availability.getVersion());
+        logger.debug("Availability {} version before lock: {}", availability.getAvailabilityId(), availability.getVersion());
         entityManager.lock(availability, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
 
         boolean isSlotBooked = bookingRepository.existsByAvailability(availability);
@@ -79,24 +105,26 @@ public class BookingService {
         Booking booking = BookingMapper.toEntity(bookingDto, interviewee, availability);
         try {
             Booking savedBooking = bookingRepository.saveAndFlush(booking);
-            System.out.println("Availability Version After Lock: " + availability.getVersion());
+            logger.debug("Availability {} version after lock: {}", availability.getAvailabilityId(), availability.getVersion());
 
             String bookingDate = savedBooking.getBookingDate().toString(); 
             String intervieweeName = interviewee.getUser().getFullName();
             String interviewerName = availability.getInterviewer().getUser().getFullName();
 
-            String subjectInterviewee = String.format("Booking Confirmed: %s with %s", bookingDate, interviewerName);
-            String messageInterviewee = String.format("Dear %s, your interview booking with %s on %s has been confirmed.",
-                                                      intervieweeName, interviewerName, bookingDate);
-            sendBookingNotification(interviewee.getUser().getUserId(), subjectInterviewee, messageInterviewee);
+            Map<String, String> params = EmailTemplateService.params("bookingDate", bookingDate,
+                    "intervieweeName", intervieweeName, "interviewerName", interviewerName);
 
+            String subjectInterviewee = String.format("Booking Confirmed: %s with %s", bookingDate, interviewerName);
             String subjectInterviewer = String.format("New Booking Received: %s with %s", bookingDate, intervieweeName);
-            String messageInterviewer = String.format("Dear %s, you have received a new booking for an interview with %s on %s.",
-                                                      interviewerName, intervieweeName, bookingDate);
-            sendBookingNotification(availability.getInterviewer().getUser().getUserId(), subjectInterviewer, messageInterviewer);
+            notificationService.createNotifications(List.of(
+                    notificationService.emailNotification(interviewee.getUser().getUserId(), subjectInterviewee,
+                            "booking.confirmed.interviewee", params),
+                    notificationService.emailNotification(availability.getInterviewer().getUser().getUserId(), subjectInterviewer,
+                            "booking.received.interviewer", params)));
 
             return BookingMapper.toDto(savedBooking);
-        } catch (OptimisticLockException e) {
+        } catch (OptimisticLockException | ObjectOptimisticLockingFailureException e) {
+            metricsService.increment("booking.optimistic_lock.conflicts", "operation", "register");
             throw new ConflictException("The time slot was booked by another user. Please choose a different slot.");
         } catch (Exception e) {
             throw new InternalServerErrorException("Failed to save Booking due to server error.");
@@ -136,11 +164,12 @@ public class BookingService {
 
             String bookingDate = updatedBooking.getBookingDate().toString();
             String subject = String.format("Booking Updated: %s", bookingDate);
-            String message = String.format("Your booking scheduled on %s has been updated. Please review the changes.", bookingDate);
-            sendBookingNotification(updatedBooking.getInterviewee().getUser().getUserId(), subject, message);
+            sendBookingNotification(updatedBooking.getInterviewee().getUser().getUserId(), subject, "booking.updated",
+                    EmailTemplateService.params("bookingDate", bookingDate));
 
             return BookingMapper.toDto(updatedBooking);
-        } catch (OptimisticLockException e) {
+        } catch (OptimisticLockException | ObjectOptimisticLockingFailureException e) {
+            metricsService.increment("booking.optimistic_lock.conflicts", "operation", "update");
             throw new ConflictException("The booking was modified by another user. Please try again.");
         } catch (Exception e) {
             throw new InternalServerErrorException("Failed to update Booking due to server error.");
@@ -179,15 +208,16 @@ public class BookingService {
             Booking updatedBooking = bookingRepository.saveAndFlush(booking);
             String bookingDate = updatedBooking.getBookingDate().toString();
 
-            String subjectInterviewee = String.format("Booking Canceled: %s", bookingDate);
-            String messageInterviewee = String.format("Dear %s, your booking on %s has been canceled. Reason: %s",
-                                                      updatedBooking.getInterviewee().getUser().getFullName(), bookingDate, reason);
-            sendBookingNotification(updatedBooking.getInterviewee().getUser().getUserId(), subjectInterviewee, messageInterviewee);
-
-            String subjectInterviewer = String.format("Booking Canceled: %s", bookingDate);
-            String messageInterviewer = String.format("Dear %s, the booking scheduled on %s has been canceled.",
-                                                      updatedBooking.getAvailability().getInterviewer().getUser().getFullName(), bookingDate);
-            sendBookingNotification(updatedBooking.getAvailability().getInterviewer().getUser().getUserId(), subjectInterviewer, messageInterviewer);
+            String subject = String.format("Booking Canceled: %s", bookingDate);
+            notificationService.createNotifications(List.of(
+                    notificationService.emailNotification(updatedBooking.getInterviewee().getUser().getUserId(), subject,
+                            "booking.canceled.interviewee",
+                            EmailTemplateService.params("name", updatedBooking.getInterviewee().getUser().getFullName(),
+                                    "bookingDate", bookingDate, "reason", reason)),
+                    notificationService.emailNotification(updatedBooking.getAvailability().getInterviewer().getUser().getUserId(), subject,
+                            "booking.canceled.interviewer",
+                            EmailTemplateService.params("name", updatedBooking.getAvailability().getInterviewer().getUser().getFullName(),
+                                    "bookingDate", bookingDate))));
 
             List<Payment> payments = paymentRepository.findByBooking_BookingId(bookingId);
             payments.stream()
@@ -195,7 +225,8 @@ public class BookingService {
                     .forEach(payment -> paymentService.processRefund(payment.getPaymentId()));
 
             return BookingMapper.toDto(updatedBooking);
-        } catch (OptimisticLockException e) {
+        } catch (OptimisticLockException | ObjectOptimisticLockingFailureException e) {
+            metricsService.increment("booking.optimistic_lock.conflicts", "operation", "cancel");
             throw new ConflictException("The booking was modified by another user. Please try again.");
         } catch (Exception e) {
             throw new InternalServerErrorException("Failed to cancel Booking due to server error.");
@@ -203,70 +234,15 @@ public class BookingService {
     }
 
     /**
-     * Helper method to send booking-related notifications using a beautiful HTML email template.
+     * Helper method to send booking-related notifications using the shared email templates.
      *
      * @param userId        The user ID.
      * @param subject       Notification subject.
-     * @param plainMessage  Notification body (plain text).
-     */
-    private void sendBookingNotification(Long userId, String subject, String plainMessage) {
-        String htmlMessage = buildHtmlEmail(subject, plainMessage);
-
-        NotificationDto notificationDto = new NotificationDto();
-        notificationDto.setUserId(userId);
-        notificationDto.setSubject(subject);
-        notificationDto.setMessage(htmlMessage);
-        notificationDto.setType("EMAIL");
-        notificationDto.setStatus("SENT");
-
-        notificationService.createNotification(notificationDto);
-    }
-
-    /**
-     * Helper method to build a beautiful HTML email template using the MockXpert theme.
-     *
-     * @param headerTitle The header title (includes dynamic details such as dates or names).
-     * @param content     The main content/body of the email.
-     * @return A complete HTML string.
+     * @param templateKey   The email template to render.
+     * @param params        The template parameters.
      */
-    private String buildHtmlEmail(String headerTitle, String content) {
-        return String.format(
-            "<!DOCTYPE html>" +
-            "<html>" +
-              "<head>" +
-                "<meta charset=\"UTF-8\">" +
-                "<title>%s</title>" +
-              "</head>" +
-              "<body style=\"margin: 0; padding: 0; background-color: #f4f4f4; font-family: Arial, sans-serif;\">" +
-                "<table border=\"0\" cellpadding=\"0\" cellspacing=\"0\" width=\"100%%\">" +
-                  "<tr>" +
-                    "<td align=\"center\" style=\"padding: 20px 10px;\">" +
-                      "<table border=\"0\" cellpadding=\"0\" cellspacing=\"0\" width=\"600\" " +
-                        "style=\"background-color: #ffffff; border-radius: 8px; overflow: hidden; " +
-                        "box-shadow: 0 2px 8px rgba(0,0,0,0.1);\">" +
-                        "<tr>" +
-                          "<td align=\"center\" bgcolor=\"#6366f1\" " +
-                            "style=\"padding: 30px 0; color: #ffffff; font-size: 28px; font-weight: bold;\">" +
-                            "MockXpert" +
-                          "</td>" +
-                        "</tr>" +
-                        "<tr>" +
-                          "<td style=\"padding: 40px 30px; color: #333333;\">" +
-                            "<p style=\"margin: 20px 0 0 0; font-size: 16px; line-height: 1.5;\">%s</p>" +
-                          "</td>" +
-                        "</tr>" +
-                        "<tr>" +
-                          "<td align=\"center\" bgcolor=\"#f4f4f4\" " +
-                            "style=\"padding: 20px; font-size: 12px; color: #777777;\">" +
-                            "© 2025 MockXpert. All rights reserved." +
-                          "</td>" +
-                        "</tr>" +
-                      "</table>" +
-                    "</td>" +
-                  "</tr>" +
-                "</table>" +
-              "</body>" +
-            "</html>", headerTitle, content);
+    private void sendBookingNotification(Long userId, String subject, String templateKey, Map<String, String> params) {
+        notificationService.createEmailNotification(userId, subject, templateKey, params);
     }
 
 }
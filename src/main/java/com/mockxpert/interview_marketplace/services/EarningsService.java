@@ -0,0 +1,207 @@
+package com.mockxpert.interview_marketplace.services;
+
+import com.mockxpert.interview_marketplace.dto.MonthlyEarningsDto;
+import com.mockxpert.interview_marketplace.entities.EarningsLedgerEntry.EntryType;
+import com.mockxpert.interview_marketplace.entities.Interviewer;
+import com.mockxpert.interview_marketplace.entities.InterviewerEarnings;
+import com.mockxpert.interview_marketplace.entities.InterviewerMonthlyEarnings;
+import com.mockxpert.interview_marketplace.entities.Payment;
+import com.mockxpert.interview_marketplace.repositories.EarningsLedgerRepository;
+import com.mockxpert.interview_marketplace.repositories.InterviewerEarningsRepository;
+import com.mockxpert.interview_marketplace.repositories.InterviewerMonthlyEarningsRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Service class for the interviewer earnings ledger.
+ *
+ * Payments are recorded in the ledger when they become PAID and when a paid payment is refunded.
+ * Recording an entry updates the running totals of the interviewer and the rollup of the month in
+ * the same transaction, so reading the earnings is a lookup of one row instead of a scan over all
+ * payments. The unique (payment, entry type) constraint makes recording idempotent.
+ *
+ * @author Umar Mohammad
+ */
+@Service
+public class EarningsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EarningsService.class);
+
+    private static final String REBUILD_LEDGER = """
+            INSERT INTO earnings_ledger (payment_id, interviewer_id, entry_type, amount, currency, occurred_at)
+            SELECT p.payment_id, a.interviewer_id, 'PAID', p.amount, p.currency, p.payment_date
+            FROM payments p
+            JOIN bookings b ON b.booking_id = p.booking_id
+            JOIN availabilities a ON a.availability_id = b.availability_id
+            WHERE p.payment_status IN ('PAID', 'REFUNDED')
+            UNION ALL
+            SELECT p.payment_id, a.interviewer_id, 'REFUNDED', coalesce(p.refund_amount, p.amount), p.currency, p.payment_date
+            FROM payments p
+            JOIN bookings b ON b.booking_id = p.booking_id
+            JOIN availabilities a ON a.availability_id = b.availability_id
+            WHERE p.payment_status = 'REFUNDED'
+            ON CONFLICT (payment_id, entry_type) DO NOTHING
+            """;
+
+    private static final String REBUILD_TOTALS = """
+            INSERT INTO interviewer_earnings (interviewer_id, user_id, total_paid, total_refunded, net_earnings,
+                                              paid_count, refunded_count, updated_at)
+            SELECT l.interviewer_id, i.user_id,
+                   coalesce(sum(l.amount) FILTER (WHERE l.entry_type = 'PAID'), 0),
+                   coalesce(sum(l.amount) FILTER (WHERE l.entry_type = 'REFUNDED'), 0),
+                   coalesce(sum(CASE WHEN l.entry_type = 'PAID' THEN l.amount ELSE -l.amount END), 0),
+                   count(*) FILTER (WHERE l.entry_type = 'PAID'),
+                   count(*) FILTER (WHERE l.entry_type = 'REFUNDED'),
+                   now()
+            FROM earnings_ledger l
+            JOIN interviewers i ON i.interviewer_id = l.interviewer_id
+            GROUP BY l.interviewer_id, i.user_id
+            ON CONFLICT (interviewer_id) DO UPDATE SET
+                total_paid = EXCLUDED.total_paid,
+                total_refunded = EXCLUDED.total_refunded,
+                net_earnings = EXCLUDED.net_earnings,
+                paid_count = EXCLUDED.paid_count,
+                refunded_count = EXCLUDED.refunded_count,
+                updated_at = EXCLUDED.updated_at
+            """;
+
+    private static final String REBUILD_MONTHLY = """
+            INSERT INTO interviewer_monthly_earnings (interviewer_id, month, total_paid, total_refunded, net_earnings,
+                                                      paid_count, updated_at)
+            SELECT l.interviewer_id, CAST(date_trunc('month', l.occurred_at) AS date),
+                   coalesce(sum(l.amount) FILTER (WHERE l.entry_type = 'PAID'), 0),
+                   coalesce(sum(l.amount) FILTER (WHERE l.entry_type = 'REFUNDED'), 0),
+                   coalesce(sum(CASE WHEN l.entry_type = 'PAID' THEN l.amount ELSE -l.amount END), 0),
+                   count(*) FILTER (WHERE l.entry_type = 'PAID'),
+                   now()
+            FROM earnings_ledger l
+            GROUP BY l.interviewer_id, date_trunc('month', l.occurred_at)
+            ON CONFLICT (interviewer_id, month) DO UPDATE SET
+                total_paid = EXCLUDED.total_paid,
+                total_refunded = EXCLUDED.total_refunded,
+                net_earnings = EXCLUDED.net_earnings,
+                paid_count = EXCLUDED.paid_count,
+                updated_at = EXCLUDED.updated_at
+            """;
+
+    @Autowired
+    private EarningsLedgerRepository earningsLedgerRepository;
+
+    @Autowired
+    private InterviewerEarningsRepository interviewerEarningsRepository;
+
+    @Autowired
+    private InterviewerMonthlyEarningsRepository interviewerMonthlyEarningsRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Records a payment that became PAID.
+     *
+     * @param payment the paid payment.
+     */
+    @Transactional
+    public void recordPaid(Payment payment) {
+        LocalDateTime occurredAt = payment.getPaymentDate() != null ? payment.getPaymentDate() : LocalDateTime.now();
+        record(payment, EntryType.PAID, payment.getAmount(), occurredAt);
+    }
+
+    /**
+     * Records the refund of a payment. Payments that were never recorded as paid did not add to the
+     * earnings and are ignored.
+     *
+     * @param payment the refunded payment.
+     */
+    @Transactional
+    public void recordRefund(Payment payment) {
+        if (!earningsLedgerRepository.existsByPaymentIdAndEntryType(payment.getPaymentId(), EntryType.PAID)) {
+            return;
+        }
+        BigDecimal refunded = payment.getRefundAmount() != null ? payment.getRefundAmount() : payment.getAmount();
+        record(payment, EntryType.REFUNDED, refunded, LocalDateTime.now());
+    }
+
+    /**
+     * Get the net earnings of an interviewer.
+     *
+     * @param userId the user ID of the interviewer.
+     * @return paid minus refunded amounts, zero if the interviewer has no earnings yet.
+     */
+    @Transactional(readOnly = true)
+    public BigDecimal getTotalEarnings(Long userId) {
+        return interviewerEarningsRepository.findByUserId(userId)
+                .map(InterviewerEarnings::getNetEarnings)
+                .orElse(BigDecimal.ZERO);
+    }
+
+    /**
+     * Get the monthly earnings of an interviewer.
+     *
+     * @param userId the user ID of the interviewer.
+     * @param months the number of months to return.
+     * @return the monthly rollups, latest month first.
+     */
+    @Transactional(readOnly = true)
+    public List<MonthlyEarningsDto> getMonthlyEarnings(Long userId, int months) {
+        return interviewerEarningsRepository.findByUserId(userId)
+                .map(earnings -> interviewerMonthlyEarningsRepository
+                        .findByInterviewerIdOrderByMonthDesc(earnings.getInterviewerId(), PageRequest.of(0, months)).stream()
+                        .map(EarningsService::toDto)
+                        .collect(Collectors.toList()))
+                .orElse(List.of());
+    }
+
+    /**
+     * Records the paid and refunded payments that are missing from the ledger and recomputes the
+     * totals and monthly rollups from the ledger.
+     *
+     * @return the number of ledger entries added.
+     */
+    @Transactional
+    public int rebuild() {
+        int added = jdbcTemplate.update(REBUILD_LEDGER);
+        jdbcTemplate.update(REBUILD_TOTALS);
+        jdbcTemplate.update(REBUILD_MONTHLY);
+        logger.info("Rebuilt interviewer earnings, {} ledger entries added.", added);
+        return added;
+    }
+
+    private void record(Payment payment, EntryType entryType, BigDecimal amount, LocalDateTime occurredAt) {
+        Interviewer interviewer = payment.getBooking().getAvailability().getInterviewer();
+        int recorded = earningsLedgerRepository.recordEntry(payment.getPaymentId(), interviewer.getInterviewerId(),
+                entryType.name(), amount, payment.getCurrency(), occurredAt);
+        if (recorded == 0) {
+            logger.debug("Payment {} is already recorded as {} in the earnings ledger.", payment.getPaymentId(), entryType);
+            return;
+        }
+
+        boolean paid = entryType == EntryType.PAID;
+        interviewerEarningsRepository.applyEntry(interviewer.getInterviewerId(), interviewer.getUser().getUserId(),
+                paid ? amount : BigDecimal.ZERO, paid ? BigDecimal.ZERO : amount, paid ? 1 : 0, paid ? 0 : 1);
+        interviewerMonthlyEarningsRepository.applyEntry(interviewer.getInterviewerId(),
+                occurredAt.toLocalDate().withDayOfMonth(1),
+                paid ? amount : BigDecimal.ZERO, paid ? BigDecimal.ZERO : amount, paid ? 1 : 0);
+    }
+
+    private static MonthlyEarningsDto toDto(InterviewerMonthlyEarnings monthly) {
+        MonthlyEarningsDto monthlyEarningsDto = new MonthlyEarningsDto();
+        monthlyEarningsDto.setMonth(monthly.getMonth());
+        monthlyEarningsDto.setTotalPaid(monthly.getTotalPaid());
+        monthlyEarningsDto.setTotalRefunded(monthly.getTotalRefunded());
+        monthlyEarningsDto.setNetEarnings(monthly.getNetEarnings());
+        monthlyEarningsDto.setPaidCount(monthly.getPaidCount());
+        return monthlyEarningsDto;
+    }
+}
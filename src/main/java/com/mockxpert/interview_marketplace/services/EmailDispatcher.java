@@ -0,0 +1,363 @@
+package com.mockxpert.interview_marketplace.services;
+
+import com.mockxpert.interview_marketplace.dto.EmailDispatchStatsDto;
+import com.mockxpert.interview_marketplace.exceptions.InternalServerErrorException;
+import com.mockxpert.interview_marketplace.utils.TokenBucket;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.AddressException;
+import jakarta.mail.internet.MimeMessage;
+
+import org.eclipse.angus.mail.smtp.SMTPAddressFailedException;
+import org.eclipse.angus.mail.smtp.SMTPSendFailedException;
+import org.eclipse.angus.mail.smtp.SMTPSenderFailedException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Service class that delivers queued emails over a small pool of long lived SMTP connections.
+ *
+ * Every worker thread owns one authenticated transport and sends the queued messages in batches
+ * over it, reconnecting when the connection drops, after a configurable number of messages or
+ * when it was idle. All workers share one token bucket so the provider rate limit is respected
+ * across the pool. Failed messages are retried on a fresh connection after an exponentially
+ * growing delay, so a provider outage is not hammered, before they are reported. Permanent
+ * failures, i.e. invalid addresses and 5xx replies, are reported right away without a retry.
+ *
+ * @author Umar Mohammad
+ */
+@Service
+public class EmailDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailDispatcher.class);
+
+    private static final long POLL_INTERVAL_MILLIS = 500;
+
+    @Autowired
+    private JavaMailSenderImpl mailSender;
+
+    @Autowired
+    private MetricsService metricsService;
+
+    @Value("${app.mail.pool-size:2}")
+    private int poolSize;
+
+    @Value("${app.mail.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${app.mail.batch-size:20}")
+    private int batchSize;
+
+    @Value("${app.mail.rate-per-second:10}")
+    private double ratePerSecond;
+
+    @Value("${app.mail.rate-burst:10}")
+    private int rateBurst;
+
+    @Value("${app.mail.max-attempts:3}")
+    private int maxAttempts;
+
+    /**
+     * Delay before the first retry, doubled for every further attempt.
+     */
+    @Value("${app.mail.retry-delay-ms:2000}")
+    private long retryDelayMillis;
+
+    @Value("${app.mail.max-messages-per-connection:100}")
+    private int maxMessagesPerConnection;
+
+    @Value("${app.mail.idle-timeout-ms:30000}")
+    private long idleTimeoutMillis;
+
+    @Value("${app.mail.shutdown-timeout-ms:10000}")
+    private long shutdownTimeoutMillis;
+
+    private BlockingQueue<OutgoingEmail> queue;
+
+    private TokenBucket rateLimiter;
+
+    private final List<Thread> workers = new ArrayList<>();
+
+    private ScheduledExecutorService retryScheduler;
+
+    private final Set<OutgoingEmail> pendingRetries = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean running;
+
+    private final AtomicInteger openConnections = new AtomicInteger();
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder sendNanos = new LongAdder();
+    private final LongAdder queueNanos = new LongAdder();
+    private final LongAccumulator maxSendNanos = new LongAccumulator(Math::max, 0);
+
+    @PostConstruct
+    public void start() {
+        queue = new LinkedBlockingQueue<>(queueCapacity);
+        rateLimiter = new TokenBucket(ratePerSecond, rateBurst);
+        metricsService.gauge("mail.queue.depth", queue::size);
+        metricsService.gauge("mail.connections.open", openConnections::get);
+        retryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "mail-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        running = true;
+        for (int i = 0; i < Math.max(1, poolSize); i++) {
+            Thread worker = new Thread(this::runWorker, "mail-dispatch-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    /**
+     * Stops accepting messages, gives the workers some time to drain the queue and closes the connections.
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        retryScheduler.shutdownNow();
+        for (OutgoingEmail email : pendingRetries) {
+            email.result.completeExceptionally(new InternalServerErrorException("Email dispatcher stopped before delivery."));
+        }
+        pendingRetries.clear();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(shutdownTimeoutMillis);
+        for (Thread worker : workers) {
+            try {
+                worker.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        workers.forEach(Thread::interrupt);
+        if (!queue.isEmpty()) {
+            logger.warn("Email dispatcher stopped with {} undelivered messages.", queue.size());
+        }
+    }
+
+    /**
+     * Queues a message for delivery.
+     *
+     * @param message the message, created from the shared mail session.
+     * @return a future completed once the message was accepted by the SMTP server.
+     * @throws InternalServerErrorException if the queue is full or the dispatcher is stopped.
+     */
+    public CompletableFuture<Void> enqueue(MimeMessage message) {
+        if (!running) {
+            throw new InternalServerErrorException("Email dispatcher is not running.");
+        }
+        OutgoingEmail email = new OutgoingEmail(message);
+        if (!queue.offer(email)) {
+            throw new InternalServerErrorException("Email queue is full, please try again later.");
+        }
+        return email.result;
+    }
+
+    /**
+     * @return number of messages waiting for delivery.
+     */
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * Returns a snapshot of the dispatcher counters.
+     *
+     * @return queue depth, connection and latency statistics.
+     */
+    public EmailDispatchStatsDto getStats() {
+        long sentCount = sent.sum();
+        EmailDispatchStatsDto stats = new EmailDispatchStatsDto();
+        stats.setQueueDepth(queue.size());
+        stats.setQueueCapacity(queueCapacity);
+        stats.setOpenConnections(openConnections.get());
+        stats.setSent(sentCount);
+        stats.setFailed(failed.sum());
+        stats.setRetried(retried.sum());
+        stats.setAverageSendMillis(sentCount == 0 ? 0 : sendNanos.sum() / 1e6 / sentCount);
+        stats.setAverageQueueMillis(sentCount == 0 ? 0 : queueNanos.sum() / 1e6 / sentCount);
+        stats.setMaxSendMillis(maxSendNanos.get() / 1e6);
+        return stats;
+    }
+
+    private void runWorker() {
+        Transport transport = null;
+        int sentOnConnection = 0;
+        long lastSentAt = System.nanoTime();
+        List<OutgoingEmail> batch = new ArrayList<>(batchSize);
+        try {
+            while (running || !queue.isEmpty()) {
+                OutgoingEmail first = queue.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    if (transport != null
+                            && System.nanoTime() - lastSentAt > TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis)) {
+                        transport = close(transport);
+                    }
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+
+                for (OutgoingEmail email : batch) {
+                    rateLimiter.acquire();
+                    try {
+                        if (transport == null || !transport.isConnected() || sentOnConnection >= maxMessagesPerConnection) {
+                            transport = close(transport);
+                            transport = connect();
+                            sentOnConnection = 0;
+                        }
+                        send(transport, email);
+                        sentOnConnection++;
+                        lastSentAt = System.nanoTime();
+                    } catch (MessagingException | RuntimeException e) {
+                        transport = close(transport);
+                        handleFailure(email, e);
+                    }
+                }
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            close(transport);
+            batch.forEach(email -> email.result.completeExceptionally(
+                    new InternalServerErrorException("Email dispatcher stopped before delivery.")));
+        }
+    }
+
+    private void send(Transport transport, OutgoingEmail email) throws MessagingException {
+        long started = System.nanoTime();
+        email.message.saveChanges();
+        transport.sendMessage(email.message, email.message.getAllRecipients());
+        long elapsed = System.nanoTime() - started;
+
+        sent.increment();
+        sendNanos.add(elapsed);
+        maxSendNanos.accumulate(elapsed);
+        queueNanos.add(started - email.enqueuedAt);
+        metricsService.recordTime("mail.send", elapsed, "outcome", "success");
+        metricsService.recordTime("mail.queue.wait", started - email.enqueuedAt);
+        email.result.complete(null);
+    }
+
+    private void handleFailure(OutgoingEmail email, Exception e) {
+        email.attempts++;
+        if (isPermanent(e)) {
+            metricsService.increment("mail.send.failures", "result", "rejected");
+            fail(email, e);
+            return;
+        }
+        if (email.attempts < maxAttempts && running) {
+            long delay = retryDelayMillis << Math.min(email.attempts - 1, 10);
+            pendingRetries.add(email);
+            try {
+                retryScheduler.schedule(() -> requeue(email, e), delay, TimeUnit.MILLISECONDS);
+                retried.increment();
+                metricsService.increment("mail.send.failures", "result", "retried");
+                logger.warn("Email delivery attempt {} failed, retrying in {} ms: {}", email.attempts, delay, e.getMessage());
+                return;
+            } catch (RejectedExecutionException rejected) {
+                pendingRetries.remove(email);
+            }
+        }
+        fail(email, e);
+    }
+
+    private void requeue(OutgoingEmail email, Exception cause) {
+        if (pendingRetries.remove(email) && !(running && queue.offer(email))) {
+            fail(email, cause);
+        }
+    }
+
+    private void fail(OutgoingEmail email, Exception e) {
+        failed.increment();
+        metricsService.increment("mail.send.failures", "result", "failed");
+        logger.error("Email delivery failed after {} attempts.", email.attempts, e);
+        email.result.completeExceptionally(e);
+    }
+
+    /**
+     * @return whether a failure will not go away on a retry: an invalid address or a 5xx reply of the server.
+     */
+    static boolean isPermanent(Throwable failure) {
+        Throwable current = failure;
+        for (int depth = 0; current != null && depth < 10; depth++) {
+            if (current instanceof AddressException) {
+                return true;
+            }
+            if (current instanceof SMTPAddressFailedException addressFailed && addressFailed.getReturnCode() >= 500) {
+                return true;
+            }
+            if (current instanceof SMTPSendFailedException sendFailed && sendFailed.getReturnCode() >= 500) {
+                return true;
+            }
+            if (current instanceof SMTPSenderFailedException senderFailed && senderFailed.getReturnCode() >= 500) {
+                return true;
+            }
+            Throwable next = current instanceof MessagingException messaging && messaging.getNextException() != null
+                    ? messaging.getNextException() : current.getCause();
+            current = next == current ? null : next;
+        }
+        return false;
+    }
+
+    private Transport connect() throws MessagingException {
+        Transport transport = mailSender.getSession().getTransport(mailSender.getProtocol());
+        transport.connect(mailSender.getHost(), mailSender.getPort(), mailSender.getUsername(), mailSender.getPassword());
+        openConnections.incrementAndGet();
+        return transport;
+    }
+
+    private Transport close(Transport transport) {
+        if (transport != null) {
+            try {
+                transport.close();
+            } catch (MessagingException e) {
+                logger.debug("Failed to close SMTP connection cleanly: {}", e.getMessage());
+            }
+            openConnections.decrementAndGet();
+        }
+        return null;
+    }
+
+    /**
+     * A queued message with its delivery bookkeeping.
+     */
+    private static class OutgoingEmail {
+
+        private final MimeMessage message;
+        private final long enqueuedAt = System.nanoTime();
+        private final CompletableFuture<Void> result = new CompletableFuture<>();
+        private int attempts;
+
+        OutgoingEmail(MimeMessage message) {
+            this.message = message;
+        }
+    }
+}
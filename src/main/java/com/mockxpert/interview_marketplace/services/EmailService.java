@@ -1,23 +1,50 @@
 package com.mockxpert.interview_marketplace.services;
 
+import com.mockxpert.interview_marketplace.exceptions.InternalServerErrorException;
+
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
 /**
  * Service class for sending email notifications.
+ *
+ * Emails are queued on the pooled dispatcher and delivered in the background. Every send returns
+ * the delivery future, failed deliveries are logged and counted in mail.delivery.failures. Mails
+ * the user is waiting for, such as OTPs, wait for the delivery and fail the request when the
+ * mail server rejected them.
  * 
  * @author Umar Mohammad
  */
 @Service
 public class EmailService {
 
+    private static final Logger logger = LoggerFactory.getLogger(EmailService.class);
+
     private final JavaMailSender mailSender;
 
+    private final EmailDispatcher emailDispatcher;
+
+    private final EmailTemplateService emailTemplateService;
+
+    private final MetricsService metricsService;
+
+    /**
+     * How long a request waits for an email it depends on before it returns with the mail still queued.
+     */
+    @Value("${app.mail.await-timeout-ms:10000}")
+    private long awaitTimeoutMillis;
+
     /**
      * Base URL for verification links, configured in application.properties.
      * 
@@ -31,8 +58,12 @@ public class EmailService {
     @Value("${meeting.google.account.email}")
     private String defaultFromEmail;
 
-    public EmailService(JavaMailSender mailSender) {
+    public EmailService(JavaMailSender mailSender, EmailDispatcher emailDispatcher, EmailTemplateService emailTemplateService,
+                        MetricsService metricsService) {
         this.mailSender = mailSender;
+        this.emailDispatcher = emailDispatcher;
+        this.emailTemplateService = emailTemplateService;
+        this.metricsService = metricsService;
     }
     
     /**
@@ -42,66 +73,24 @@ public class EmailService {
      * @param otp            the OTP to be sent.
      */
     public void sendOtpEmail(String recipientEmail, String otp) {
-        try {
-            String subject = "MockXpert Interviewer Verification Code";
-
-            String message = String.format("""
-                <!DOCTYPE html>
-                <html>
-                  <head>
-                    <meta charset="UTF-8">
-                    <title>MockXpert OTP Verification</title>
-                  </head>
-                  <body style="margin: 0; padding: 0; background-color: #f4f4f4; font-family: Arial, sans-serif;">
-                    <table border="0" cellpadding="0" cellspacing="0" width="100%%">
-                      <tr>
-                        <td align="center" style="padding: 20px 10px;">
-                          <table border="0" cellpadding="0" cellspacing="0" width="600"
-                            style="background-color: #ffffff; border-radius: 8px; overflow: hidden; box-shadow: 0 2px 8px rgba(0,0,0,0.1);">
-                            <tr>
-                              <td align="center" bgcolor="#6366f1"
-                                style="padding: 30px 0; color: #ffffff; font-size: 28px; font-weight: bold;">
-                                MockXpert
-                              </td>
-                            </tr>
-                            <tr>
-                              <td style="padding: 40px 30px; color: #333333;">
-                                <p style="margin: 0; font-size: 16px; line-height: 1.5;">
-                                  Dear Interviewer,
-                                </p>
-                                <p style="margin: 20px 0 0 0; font-size: 16px; line-height: 1.5;">
-                                  Please use the following One-Time Password (OTP) to verify your email address:
-                                </p>
-                                <p style="margin: 20px 0 0 0; font-size: 24px; font-weight: bold; color: #6366f1;">
-                                  %s
-                                </p>
-                                <p style="margin: 20px 0 0 0; font-size: 16px; line-height: 1.5;">
-                                  This OTP is valid for <strong>15 minutes</strong>.
-                                </p>
-                                <p style="margin: 30px 0 0 0; font-size: 16px; line-height: 1.5;">
-                                  Best regards,<br />
-                                  The MockXpert Team
-                                </p>
-                              </td>
-                            </tr>
-                            <tr>
-                              <td align="center" bgcolor="#f4f4f4"
-                                style="padding: 20px; font-size: 12px; color: #777777;">
-                                © 2025 MockXpert. All rights reserved.
-                              </td>
-                            </tr>
-                          </table>
-                        </td>
-                      </tr>
-                    </table>
-                  </body>
-                </html>
-                """, otp);
-
-            sendHtmlEmail(recipientEmail, subject, message);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to send email to " + recipientEmail, e);
-        }
+        sendOtpEmail(recipientEmail, otp, null);
+    }
+
+    /**
+     * Sends an OTP verification email in the recipient's preferred language and waits until the
+     * mail server accepted it.
+     *
+     * @param recipientEmail    the recipient's email address.
+     * @param otp               the OTP to be sent.
+     * @param preferredLanguage the recipient's preferred language, may be null.
+     * @throws InternalServerErrorException if the email could not be delivered.
+     */
+    public void sendOtpEmail(String recipientEmail, String otp, String preferredLanguage) {
+        String subject = "MockXpert Interviewer Verification Code";
+        String message = emailTemplateService.renderEmail(subject, "verification.otp",
+                EmailTemplateService.params("otp", otp), preferredLanguage);
+
+        awaitDelivery(sendHtmlEmail(recipientEmail, subject, message, "otp"), recipientEmail);
     }
 
 
@@ -109,63 +98,23 @@ public class EmailService {
      * Sends a verification email to an interviewer's work email.
      *
      * @param workEmail the interviewer's work email.
-     * @param token     the verification token.
      */
     public void sendVerificationEmail(String workEmail) {
+        sendVerificationEmail(workEmail, null);
+    }
+
+    /**
+     * Sends a verification email in the recipient's preferred language.
+     *
+     * @param workEmail         the interviewer's work email.
+     * @param preferredLanguage the recipient's preferred language, may be null.
+     */
+    public void sendVerificationEmail(String workEmail, String preferredLanguage) {
         String subject = "Congratulations, your profile got verified!";
-        String message = """
-            <!DOCTYPE html>
-            <html>
-              <head>
-                <meta charset="UTF-8">
-                <title>Congratulations, Your Profile Got Verified!</title>
-              </head>
-              <body style="margin: 0; padding: 0; background-color: #f4f4f4; font-family: Arial, sans-serif;">
-                <!-- Wrapper Table -->
-                <table border="0" cellpadding="0" cellspacing="0" width="100%">
-                  <tr>
-                    <td align="center" style="padding: 20px 10px;">
-                      <!-- Main Container -->
-                      <table border="0" cellpadding="0" cellspacing="0" width="600" style="background-color: #ffffff; border-radius: 8px; overflow: hidden; box-shadow: 0 2px 8px rgba(0,0,0,0.1);">
-                        <!-- Header -->
-                        <tr>
-                          <td align="center" bgcolor="#6366f1" style="padding: 30px 0; color: #ffffff; font-size: 28px; font-weight: bold;">
-                            MockXpert
-                          </td>
-                        </tr>
-                        <!-- Body -->
-                        <tr>
-                          <td style="padding: 40px 30px; color: #333333;">
-                            <p style="margin: 0; font-size: 16px; line-height: 1.5;">Dear Interviewer,</p>
-                            <p style="margin: 20px 0 0 0; font-size: 16px; line-height: 1.5;">
-                              Thank you for registering with <strong>MockXpert</strong>. We are thrilled to announce that your profile as an Interviewer has been verified.
-                            </p>
-                            <p style="margin: 20px 0 0 0; font-size: 16px; line-height: 1.5;">
-                              We wish you all the best and look forward to serving you.
-                            </p>
-                            <p style="margin: 30px 0 0 0; font-size: 16px; line-height: 1.5;">
-                              Best regards,<br>
-                              The MockXpert Team
-                            </p>
-                          </td>
-                        </tr>
-                        <!-- Footer -->
-                        <tr>
-                          <td align="center" bgcolor="#f4f4f4" style="padding: 20px; font-size: 12px; color: #777777;">
-                            © 2025 MockXpert. All rights reserved.
-                          </td>
-                        </tr>
-                      </table>
-                      <!-- End Main Container -->
-                    </td>
-                  </tr>
-                </table>
-                <!-- End Wrapper Table -->
-              </body>
-            </html>
-            """;
-
-        sendHtmlEmail(workEmail, subject, message);
+        String message = emailTemplateService.renderEmail(subject, "verification.verified",
+                EmailTemplateService.params(), preferredLanguage);
+
+        sendHtmlEmail(workEmail, subject, message, "verification");
     }
 
     /**
@@ -173,10 +122,11 @@ public class EmailService {
      *
      * @param to      The recipient's email.
      * @param subject The subject of the email.
-     * @param message The content of the email (supports HTML).
+     * @param message The complete HTML document of the email.
+     * @return a future completed once the email was delivered.
      */
-    public void sendNotificationEmail(String to, String subject, String message) {
-        sendHtmlEmail(to, subject, message);
+    public CompletableFuture<Void> sendNotificationEmail(String to, String subject, String message) {
+        return sendHtmlEmail(to, subject, message, "notification");
     }
 
     /**
@@ -185,55 +135,80 @@ public class EmailService {
      * @param to      The recipient's email.
      * @param subject The subject of the email.
      * @param message The content of the email (plain text).
+     * @return a future completed once the email was delivered.
      */
-    public void sendPlainTextEmail(String to, String subject, String message) {
+    public CompletableFuture<Void> sendPlainTextEmail(String to, String subject, String message) {
         try {
-            SimpleMailMessage email = new SimpleMailMessage();
-            email.setTo(to);
-            email.setFrom(defaultFromEmail);
-            email.setSubject(subject);
-            email.setText(message);
-            
-            mailSender.send(email);
-        } catch (Exception e) {
+            MimeMessage mimeMessage = mailSender.createMimeMessage();
+            MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, false, "UTF-8");
+
+            helper.setFrom(defaultFromEmail);
+            helper.setTo(to);
+            helper.setSubject(subject);
+            helper.setText(message, false);
+
+            return track(emailDispatcher.enqueue(mimeMessage), to, "plain");
+        } catch (MessagingException e) {
             throw new RuntimeException("Failed to send email to " + to, e);
         }
     }
 
     /**
-     * Sends an HTML email.
+     * Waits until a queued email was delivered. When the mail server is only slow the email stays
+     * queued and the method returns after the timeout.
+     *
+     * @param delivery the future returned when the email was sent.
+     * @param to       the recipient, for the error message.
+     * @throws InternalServerErrorException if the email could not be delivered.
+     */
+    public void awaitDelivery(CompletableFuture<Void> delivery, String to) {
+        try {
+            delivery.get(awaitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            logger.warn("Email to {} is still queued after {} ms.", to, awaitTimeoutMillis);
+        } catch (ExecutionException e) {
+            throw new InternalServerErrorException("Failed to send email to " + to + ", please try again.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InternalServerErrorException("Interrupted while sending email to " + to + ".");
+        }
+    }
+
+    /**
+     * Queues an HTML email on the pooled dispatcher.
      *
      * @param to      The recipient's email.
      * @param subject The subject of the email.
      * @param message The HTML content of the email.
+     * @param kind    The kind of email, used as metric tag.
+     * @return a future completed once the email was delivered.
      */
-    private void sendHtmlEmail(String to, String subject, String message) {
+    private CompletableFuture<Void> sendHtmlEmail(String to, String subject, String message, String kind) {
         try {
             MimeMessage mimeMessage = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true);
+            MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true, "UTF-8");
 
             helper.setFrom(defaultFromEmail);
             helper.setTo(to);
             helper.setSubject(subject);
-            helper.setText(formatEmailHtml(subject, message), true);
+            helper.setText(message, true);
 
-            mailSender.send(mimeMessage);
+            return track(emailDispatcher.enqueue(mimeMessage), to, kind);
         } catch (MessagingException e) {
             throw new RuntimeException("Failed to send email to " + to, e);
         }
     }
 
     /**
-     * Formats the email content with an HTML template.
-     *
-     * @param subject Email subject.
-     * @param message Email body.
-     * @return Formatted HTML email.
+     * Logs and counts deliveries that failed after all attempts.
      */
-    private String formatEmailHtml(String subject, String message) {
-        return "<html><body style='font-family: Arial, sans-serif;'>"  +
-                "<p>" + message + "</p>" +
-                "<br><p style='font-size: 12px; color: gray;'>MockXpert Team</p>" +
-                "</body></html>";
+    private CompletableFuture<Void> track(CompletableFuture<Void> delivery, String to, String kind) {
+        delivery.whenComplete((ignored, error) -> {
+            if (error != null) {
+                metricsService.increment("mail.delivery.failures", "kind", kind);
+                logger.error("Failed to deliver {} email to {}: {}", kind, to, error.getMessage());
+            }
+        });
+        return delivery;
     }
 }
@@ -0,0 +1,199 @@
+package com.mockxpert.interview_marketplace.services;
+
+import com.mockxpert.interview_marketplace.exceptions.InternalServerErrorException;
+import com.mockxpert.interview_marketplace.utils.EmailTemplate;
+import com.mockxpert.interview_marketplace.utils.EmailTemplateCatalog;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Service class for rendering emails from the precompiled templates.
+ *
+ * All templates in the catalog are compiled once at startup. Rendering picks the variant for the
+ * user's preferred language, falls back to English, and writes into a per thread buffer that is
+ * reused across sends. The layout is rendered in the language the body was found in, so a body
+ * without a translation is never wrapped in a translated frame.
+ * 
+ * @author Umar Mohammad
+ */
+@Service
+public class EmailTemplateService {
+
+    private static final int INITIAL_BUFFER_SIZE = 4 * 1024;
+
+    /**
+     * Buffers that grew past this size are dropped instead of being kept for the thread.
+     */
+    private static final int MAX_RETAINED_BUFFER_SIZE = 64 * 1024;
+
+    private static final ThreadLocal<StringBuilder> BODY_BUFFER =
+            ThreadLocal.withInitial(() -> new StringBuilder(INITIAL_BUFFER_SIZE));
+
+    private static final ThreadLocal<StringBuilder> PAGE_BUFFER =
+            ThreadLocal.withInitial(() -> new StringBuilder(INITIAL_BUFFER_SIZE));
+
+    /**
+     * Language names ("english", "español") to ISO codes, for users that stored the name rather than the code.
+     */
+    private static final Map<String, String> LANGUAGE_NAMES = new HashMap<>();
+
+    static {
+        for (Locale locale : Locale.getAvailableLocales()) {
+            if (!locale.getLanguage().isEmpty()) {
+                LANGUAGE_NAMES.putIfAbsent(locale.getDisplayLanguage(Locale.ENGLISH).toLowerCase(Locale.ROOT), locale.getLanguage());
+                LANGUAGE_NAMES.putIfAbsent(locale.getDisplayLanguage(locale).toLowerCase(Locale.ROOT), locale.getLanguage());
+            }
+        }
+    }
+
+    private final Map<String, Map<String, EmailTemplate>> templates = new HashMap<>();
+
+    public EmailTemplateService() {
+        EmailTemplateCatalog.sources().forEach((key, variants) -> {
+            Map<String, EmailTemplate> compiled = new HashMap<>();
+            variants.forEach((language, source) -> compiled.put(language, EmailTemplate.compile(source)));
+            templates.put(key, compiled);
+        });
+    }
+
+    /**
+     * Builds a parameter map for a template. Values are stored as text, null values are kept.
+     *
+     * @param keysAndValues alternating parameter names and values.
+     * @return the parameters in declaration order.
+     */
+    public static Map<String, String> params(Object... keysAndValues) {
+        if (keysAndValues.length % 2 != 0) {
+            throw new IllegalArgumentException("Template parameters must be name/value pairs.");
+        }
+        Map<String, String> params = new LinkedHashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            Object value = keysAndValues[i + 1];
+            params.put(keysAndValues[i].toString(), value == null ? null : value.toString());
+        }
+        return params;
+    }
+
+    /**
+     * Renders the body of a template without the layout.
+     *
+     * @param key               the template key.
+     * @param params            the template parameters.
+     * @param preferredLanguage the user's preferred language, may be null.
+     * @return the rendered HTML fragment.
+     */
+    public String renderBody(String key, Map<String, ?> params, String preferredLanguage) {
+        StringBuilder body = BODY_BUFFER.get();
+        try {
+            body.setLength(0);
+            find(key, resolveLanguage(preferredLanguage)).render(params, body);
+            return body.toString();
+        } finally {
+            release(BODY_BUFFER, body);
+        }
+    }
+
+    /**
+     * Renders a complete email, the template body wrapped in the layout.
+     *
+     * @param title             the email title, usually the subject.
+     * @param key               the template key.
+     * @param params            the template parameters.
+     * @param preferredLanguage the user's preferred language, may be null.
+     * @return the complete HTML document.
+     */
+    public String renderEmail(String title, String key, Map<String, ?> params, String preferredLanguage) {
+        String language = variantLanguage(key, resolveLanguage(preferredLanguage));
+        StringBuilder body = BODY_BUFFER.get();
+        try {
+            body.setLength(0);
+            find(key, language).render(params, body);
+            return renderLayout(title, body, language);
+        } finally {
+            release(BODY_BUFFER, body);
+        }
+    }
+
+    /**
+     * Wraps an already rendered HTML body in the layout. These bodies are English, so is the layout.
+     *
+     * @param title             the email title, usually the subject.
+     * @param bodyHtml          trusted HTML content.
+     * @param preferredLanguage the user's preferred language, may be null.
+     * @return the complete HTML document.
+     */
+    public String renderEmail(String title, String bodyHtml, String preferredLanguage) {
+        return renderLayout(title, bodyHtml, EmailTemplateCatalog.DEFAULT_LANGUAGE);
+    }
+
+    /**
+     * @param key the template key.
+     * @return whether a template with this key exists.
+     */
+    public boolean hasTemplate(String key) {
+        return templates.containsKey(key);
+    }
+
+    /**
+     * Normalizes a stored preferred language ("en", "en-US", "English") to an ISO language code.
+     *
+     * @param preferredLanguage the stored value, may be null.
+     * @return the language code, English when unknown.
+     */
+    public String resolveLanguage(String preferredLanguage) {
+        if (preferredLanguage == null || preferredLanguage.isBlank()) {
+            return EmailTemplateCatalog.DEFAULT_LANGUAGE;
+        }
+        String value = preferredLanguage.trim().toLowerCase(Locale.ROOT);
+        int separator = value.indexOf('-') >= 0 ? value.indexOf('-') : value.indexOf('_');
+        if (separator > 0) {
+            value = value.substring(0, separator);
+        }
+        if (value.length() <= 3) {
+            return value;
+        }
+        return LANGUAGE_NAMES.getOrDefault(value, EmailTemplateCatalog.DEFAULT_LANGUAGE);
+    }
+
+    private String renderLayout(String title, CharSequence body, String language) {
+        Map<String, Object> layoutParams = new HashMap<>(4);
+        layoutParams.put("title", title);
+        layoutParams.put("body", body);
+
+        StringBuilder page = PAGE_BUFFER.get();
+        try {
+            page.setLength(0);
+            find(EmailTemplateCatalog.LAYOUT, language).render(layoutParams, page);
+            return page.toString();
+        } finally {
+            release(PAGE_BUFFER, page);
+        }
+    }
+
+    /**
+     * @return the language itself when the template has a variant for it, English otherwise.
+     */
+    private String variantLanguage(String key, String language) {
+        Map<String, EmailTemplate> variants = templates.get(key);
+        return variants != null && variants.containsKey(language) ? language : EmailTemplateCatalog.DEFAULT_LANGUAGE;
+    }
+
+    private EmailTemplate find(String key, String language) {
+        Map<String, EmailTemplate> variants = templates.get(key);
+        if (variants == null) {
+            throw new InternalServerErrorException("Unknown email template: " + key);
+        }
+        EmailTemplate template = variants.get(language);
+        return template != null ? template : variants.get(EmailTemplateCatalog.DEFAULT_LANGUAGE);
+    }
+
+    private static void release(ThreadLocal<StringBuilder> holder, StringBuilder buffer) {
+        if (buffer.capacity() > MAX_RETAINED_BUFFER_SIZE) {
+            holder.set(new StringBuilder(INITIAL_BUFFER_SIZE));
+        }
+    }
+}
@@ -40,6 +40,9 @@ public class FeedbackService {
     @Autowired
     private EmailService emailService;
 
+    @Autowired
+    private EmailTemplateService emailTemplateService;
+
     /**
      * Register a new feedback.
      * 
@@ -173,81 +176,21 @@ public class FeedbackService {
     private void sendFeedbackNotification(User receiver, User giver, FeedbackDto feedbackDto) {
         String subject = "You've Received Interview Feedback!";
 
-        String plainMessage = String.format(
-            "Dear %s,<br/><br/>" +
-            "You have received feedback from <strong>%s</strong> regarding your interview.<br/><br/>" +
-            "<strong>Rating:</strong> %s/10<br/>" +
-            "<strong>Comments:</strong> %s<br/>" +
-            "<strong>Positives:</strong> %s<br/>" +
-            "<strong>Negatives:</strong> %s<br/>" +
-            "<strong>Improvements:</strong> %s<br/><br/>" +
-            "Best regards,<br/>" +
-            "<strong>MockXpert Team</strong>",
-            receiver.getFullName(),
-            giver.getFullName(),
-            feedbackDto.getRating(),
-            feedbackDto.getComments(),
-            feedbackDto.getPositives(),
-            feedbackDto.getNegatives(),
-            feedbackDto.getImprovements()
-        );
-        
-        // Wrap the plain message in a full HTML email template.
-        String htmlMessage = buildHtmlEmail(subject, plainMessage);
+        String htmlMessage = emailTemplateService.renderEmail(subject, "feedback.received",
+                EmailTemplateService.params(
+                        "receiverName", receiver.getFullName(),
+                        "giverName", giver.getFullName(),
+                        "rating", feedbackDto.getRating(),
+                        "comments", feedbackDto.getComments(),
+                        "positives", feedbackDto.getPositives(),
+                        "negatives", feedbackDto.getNegatives(),
+                        "improvements", feedbackDto.getImprovements()),
+                receiver.getPreferredLanguage());
         
         // Use your email service to send the final HTML notification.
         emailService.sendNotificationEmail(receiver.getEmail(), subject, htmlMessage);
     }
 
-    /**
-     * Helper method that wraps a plain HTML content string inside a full email template
-     * following the MockXpert color palette and UI guidelines.
-     *
-     * @param headerTitle The title (subject) to display in the email header.
-     * @param content     The HTML content to display in the body of the email.
-     * @return A complete HTML string representing the email.
-     */
-    private String buildHtmlEmail(String headerTitle, String content) {
-        return String.format(
-            "<!DOCTYPE html>" +
-            "<html>" +
-              "<head>" +
-                "<meta charset=\"UTF-8\">" +
-                "<title>%s</title>" +
-              "</head>" +
-              "<body style=\"margin: 0; padding: 0; background-color: #f4f4f4; font-family: Arial, sans-serif;\">" +
-                "<table border=\"0\" cellpadding=\"0\" cellspacing=\"0\" width=\"100%%\">" +
-                  "<tr>" +
-                    "<td align=\"center\" style=\"padding: 20px 10px;\">" +
-                      "<table border=\"0\" cellpadding=\"0\" cellspacing=\"0\" width=\"600\" " +
-                        "style=\"background-color: #ffffff; border-radius: 8px; overflow: hidden; " +
-                        "box-shadow: 0 2px 8px rgba(0,0,0,0.1);\">" +
-                        "<tr>" +
-                          "<td align=\"center\" bgcolor=\"#6366f1\" " +
-                            "style=\"padding: 30px 0; color: #ffffff; font-size: 28px; font-weight: bold;\">" +
-                            "MockXpert" +
-                          "</td>" +
-                        "</tr>" +
-                        "<tr>" +
-                          "<td style=\"padding: 40px 30px; color: #333333;\">" +
-                            "<p style=\"margin: 20px 0 0 0; font-size: 16px; line-height: 1.5;\">%s</p>" +
-                          "</td>" +
-                        "</tr>" +
-                        "<tr>" +
-                          "<td align=\"center\" bgcolor=\"#f4f4f4\" " +
-                            "style=\"padding: 20px; font-size: 12px; color: #777777;\">" +
-                            "© 2025 MockXpert. All rights reserved." +
-                          "</td>" +
-                        "</tr>" +
-                      "</table>" +
-                    "</td>" +
-                  "</tr>" +
-                "</table>" +
-              "</body>" +
-            "</html>", headerTitle, content);
-    }
-
-    
     /**
      * Get the average rating for an interviewer based on received feedback.
      *
@@ -0,0 +1,400 @@
+package com.mockxpert.interview_marketplace.services;
+
+import com.mockxpert.interview_marketplace.dto.FeedbackThemeDto;
+import com.mockxpert.interview_marketplace.entities.FeedbackTheme;
+import com.mockxpert.interview_marketplace.entities.JobCheckpoint;
+import com.mockxpert.interview_marketplace.repositories.FeedbackRepository;
+import com.mockxpert.interview_marketplace.repositories.FeedbackTextProjection;
+import com.mockxpert.interview_marketplace.repositories.FeedbackThemeRepository;
+import com.mockxpert.interview_marketplace.repositories.IntervieweeSkillRepository;
+import com.mockxpert.interview_marketplace.repositories.InterviewerSkillRepository;
+import com.mockxpert.interview_marketplace.repositories.JobCheckpointRepository;
+import com.mockxpert.interview_marketplace.repositories.UserSkillProjection;
+import com.mockxpert.interview_marketplace.utils.TermCounter;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Service class for extracting recurring themes from feedback.
+ *
+ * Feedback is streamed in keyset paginated chunks. Each chunk is tokenized in parallel on a
+ * dedicated fork/join pool into unigrams and bigrams, counted per receiver with primitive term
+ * counters, rolled up to the receiver's skills, and upserted as deltas together with the job
+ * checkpoint. Later runs only read feedback created after the checkpoint.
+ *
+ * IDs are assigned on insert but become visible on commit, so a feedback with a lower ID can
+ * still appear after a higher one was read. The checkpoint therefore only advances over feedback
+ * created at least app.feedback-themes.commit-lag-seconds ago; anything newer is left for the
+ * next run. The lag must exceed the longest transaction that creates feedback.
+ *
+ * Counts are additive, so edits made through updateFeedback after a feedback was processed are
+ * not reflected in the themes. Only the top app.feedback-themes.max-terms-per-scope terms of each
+ * receiver and skill are kept, which keeps the table bounded at the cost of approximate counts for
+ * terms near the cut.
+ * 
+ * @author Umar Mohammad
+ */
+@Service
+public class FeedbackThemeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FeedbackThemeService.class);
+
+    static final String JOB_NAME = "feedback-themes";
+
+    private static final int SPLIT_THRESHOLD = 500;
+    private static final int MIN_TOKEN_LENGTH = 3;
+    private static final int MAX_TOKEN_LENGTH = 40;
+    private static final int UPSERT_BATCH_SIZE = 1000;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "the", "and", "for", "are", "but", "not", "you", "your", "yours", "was", "were", "with", "this", "that",
+            "these", "those", "have", "has", "had", "his", "her", "him", "she", "they", "them", "their", "there",
+            "then", "than", "what", "when", "where", "which", "who", "whom", "why", "how", "all", "any", "can",
+            "could", "should", "would", "will", "shall", "may", "might", "must", "did", "does", "doing", "done",
+            "into", "onto", "from", "about", "above", "below", "over", "under", "again", "very", "too", "also",
+            "just", "only", "some", "such", "more", "most", "other", "each", "both", "few", "own", "same", "out",
+            "off", "our", "ours", "its", "it's", "i'm", "i've", "you're", "let", "get", "got", "being", "been",
+            "because", "while", "during", "before", "after", "until", "really", "quite", "well", "much", "many",
+            "one", "two", "like", "bit", "lot", "way", "able", "make", "made", "need", "needs", "think", "felt");
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO feedback_themes (scope, scope_id, term, occurrences, updated_at)
+            VALUES (?, ?, ?, ?, ?)
+            ON CONFLICT (scope, scope_id, term)
+            DO UPDATE SET occurrences = feedback_themes.occurrences + EXCLUDED.occurrences,
+                          updated_at = EXCLUDED.updated_at
+            """;
+
+    private static final String TRIM_SQL = """
+            DELETE FROM feedback_themes
+            WHERE feedback_theme_id IN (
+                SELECT feedback_theme_id
+                FROM feedback_themes
+                WHERE scope = ? AND scope_id = ?
+                ORDER BY occurrences DESC, term ASC
+                OFFSET ?
+            )
+            """;
+
+    @Autowired
+    private FeedbackRepository feedbackRepository;
+
+    @Autowired
+    private FeedbackThemeRepository feedbackThemeRepository;
+
+    @Autowired
+    private InterviewerSkillRepository interviewerSkillRepository;
+
+    @Autowired
+    private IntervieweeSkillRepository intervieweeSkillRepository;
+
+    @Autowired
+    private JobCheckpointRepository jobCheckpointRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.feedback-themes.chunk-size:5000}")
+    private int chunkSize;
+
+    @Value("${app.feedback-themes.parallelism:0}")
+    private int parallelism;
+
+    @Value("${app.feedback-themes.commit-lag-seconds:300}")
+    private long commitLagSeconds;
+
+    @Value("${app.feedback-themes.max-terms-per-scope:200}")
+    private int maxTermsPerScope;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    private ForkJoinPool pool;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        pool = new ForkJoinPool(threads);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Processes all feedback created since the last checkpoint. The first run processes the
+     * whole table. Concurrent invocations are skipped.
+     *
+     * @return the number of feedback rows processed.
+     */
+    public long extractThemes() {
+        if (!running.compareAndSet(false, true)) {
+            logger.info("Feedback theme extraction already running, skipping.");
+            return 0;
+        }
+        long started = System.nanoTime();
+        long processed = 0;
+        try {
+            long lastId = jobCheckpointRepository.findById(JOB_NAME)
+                    .map(JobCheckpoint::getLastProcessedId)
+                    .orElse(0L);
+            LocalDateTime cutoff = LocalDateTime.now().minusSeconds(commitLagSeconds);
+
+            while (true) {
+                List<FeedbackTextProjection> fetched =
+                        feedbackRepository.findTextChunkAfter(lastId, PageRequest.of(0, chunkSize));
+                List<FeedbackTextProjection> chunk = settledPrefix(fetched, cutoff);
+                if (chunk.isEmpty()) {
+                    break;
+                }
+
+                Map<Long, TermCounter> byReceiver = pool.invoke(new ExtractTask(chunk, 0, chunk.size()));
+                Map<Long, TermCounter> bySkill = rollUpToSkills(byReceiver);
+                long chunkLastId = chunk.get(chunk.size() - 1).getFeedbackId();
+
+                transactionTemplate.executeWithoutResult(status -> {
+                    upsert(FeedbackTheme.Scope.RECEIVER, byReceiver);
+                    upsert(FeedbackTheme.Scope.SKILL, bySkill);
+                    jobCheckpointRepository.save(new JobCheckpoint(JOB_NAME, chunkLastId));
+                });
+
+                processed += chunk.size();
+                lastId = chunkLastId;
+                if (fetched.size() < chunkSize || chunk.size() < fetched.size()) {
+                    break;
+                }
+            }
+        } finally {
+            running.set(false);
+        }
+        if (processed > 0) {
+            logger.info("Extracted feedback themes from {} feedback rows in {} ms.",
+                    processed, (System.nanoTime() - started) / 1_000_000);
+        }
+        return processed;
+    }
+
+    /**
+     * Returns the most frequent themes in the feedback received by a user.
+     *
+     * @param userId the receiver's user ID.
+     * @param limit  maximum number of themes.
+     * @return themes, most frequent first.
+     */
+    public List<FeedbackThemeDto> getThemesForReceiver(Long userId, int limit) {
+        return getThemes(FeedbackTheme.Scope.RECEIVER, userId, limit);
+    }
+
+    /**
+     * Returns the most frequent themes in the feedback of users holding a skill.
+     *
+     * @param skillId the skill ID.
+     * @param limit   maximum number of themes.
+     * @return themes, most frequent first.
+     */
+    public List<FeedbackThemeDto> getThemesForSkill(Long skillId, int limit) {
+        return getThemes(FeedbackTheme.Scope.SKILL, skillId, limit);
+    }
+
+    private List<FeedbackThemeDto> getThemes(FeedbackTheme.Scope scope, Long scopeId, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, 100));
+        return feedbackThemeRepository.findTopThemes(scope, scopeId, PageRequest.of(0, pageSize)).stream()
+                .map(theme -> new FeedbackThemeDto(theme.getTerm(), theme.getOccurrences()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @return the leading rows of a chunk created before the cutoff, i.e. up to the first recent one.
+     */
+    private static List<FeedbackTextProjection> settledPrefix(List<FeedbackTextProjection> chunk, LocalDateTime cutoff) {
+        for (int i = 0; i < chunk.size(); i++) {
+            if (!chunk.get(i).getCreatedAt().isBefore(cutoff)) {
+                return chunk.subList(0, i);
+            }
+        }
+        return chunk;
+    }
+
+    /**
+     * Adds each receiver's counts to every skill on the receiver's interviewer and interviewee profile.
+     */
+    private Map<Long, TermCounter> rollUpToSkills(Map<Long, TermCounter> byReceiver) {
+        Map<Long, TermCounter> bySkill = new HashMap<>();
+        if (byReceiver.isEmpty()) {
+            return bySkill;
+        }
+        List<UserSkillProjection> pairs = new ArrayList<>();
+        pairs.addAll(interviewerSkillRepository.findSkillIdsByUserIds(byReceiver.keySet()));
+        pairs.addAll(intervieweeSkillRepository.findSkillIdsByUserIds(byReceiver.keySet()));
+
+        for (UserSkillProjection pair : pairs) {
+            TermCounter receiverCounts = byReceiver.get(pair.getUserId());
+            if (receiverCounts != null) {
+                bySkill.computeIfAbsent(pair.getSkillId(), id -> new TermCounter(receiverCounts.size()))
+                       .merge(receiverCounts);
+            }
+        }
+        return bySkill;
+    }
+
+    /**
+     * Upserts the most frequent terms of each counter and then deletes the stored themes of the
+     * touched scopes that fall outside the top app.feedback-themes.max-terms-per-scope. The long
+     * tail of rare terms is never stored, so a term only enters the table when it is frequent
+     * within a single chunk or already ranked.
+     */
+    private void upsert(FeedbackTheme.Scope scope, Map<Long, TermCounter> counters) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batch = new ArrayList<>(UPSERT_BATCH_SIZE);
+        List<Object[]> trims = new ArrayList<>(counters.size());
+        for (Map.Entry<Long, TermCounter> entry : counters.entrySet()) {
+            Long scopeId = entry.getKey();
+            entry.getValue().retainTop(maxTermsPerScope);
+            trims.add(new Object[] { scope.name(), scopeId, maxTermsPerScope });
+            entry.getValue().forEach((term, count) -> batch.add(new Object[] { scope.name(), scopeId, term, count, now }));
+            if (batch.size() >= UPSERT_BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(UPSERT_SQL, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_SQL, batch);
+        }
+        for (int from = 0; from < trims.size(); from += UPSERT_BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(TRIM_SQL, trims.subList(from, Math.min(from + UPSERT_BATCH_SIZE, trims.size())));
+        }
+    }
+
+    /**
+     * Tokenizes free text into lower case unigrams and bigrams. Stop words, numbers and very short
+     * or long tokens are dropped and break bigram adjacency.
+     *
+     * @param text  the text, may be null.
+     * @param terms receives the distinct terms.
+     */
+    static void collectTerms(String text, Set<String> terms) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        StringBuilder token = new StringBuilder(16);
+        String previous = null;
+        int length = text.length();
+        for (int i = 0; i <= length; i++) {
+            char c = i < length ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c) || c == '+' || c == '#' || (c == '\'' && token.length() > 0)) {
+                token.append(Character.toLowerCase(c));
+                continue;
+            }
+            if (token.length() == 0) {
+                continue;
+            }
+            String word = token.toString();
+            token.setLength(0);
+            if (!isTerm(word)) {
+                previous = null;
+                continue;
+            }
+            terms.add(word);
+            if (previous != null) {
+                terms.add(previous + " " + word);
+            }
+            previous = word;
+        }
+    }
+
+    private static boolean isTerm(String word) {
+        if (word.length() < MIN_TOKEN_LENGTH || word.length() > MAX_TOKEN_LENGTH || STOP_WORDS.contains(word)) {
+            return false;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            if (Character.isLetter(word.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Splits a chunk until it is small enough, then counts the distinct terms of each feedback
+     * into per receiver counters. Partial results are merged on join.
+     */
+    private static class ExtractTask extends RecursiveTask<Map<Long, TermCounter>> {
+
+        private final List<FeedbackTextProjection> rows;
+        private final int from;
+        private final int to;
+
+        ExtractTask(List<FeedbackTextProjection> rows, int from, int to) {
+            this.rows = rows;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Map<Long, TermCounter> compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                return countDirectly();
+            }
+            int mid = (from + to) >>> 1;
+            ExtractTask left = new ExtractTask(rows, from, mid);
+            left.fork();
+            Map<Long, TermCounter> right = new ExtractTask(rows, mid, to).compute();
+            Map<Long, TermCounter> merged = left.join();
+            right.forEach((receiverId, counter) -> merged.merge(receiverId, counter, (a, b) -> {
+                a.merge(b);
+                return a;
+            }));
+            return merged;
+        }
+
+        private Map<Long, TermCounter> countDirectly() {
+            Map<Long, TermCounter> counters = new HashMap<>();
+            Set<String> terms = new HashSet<>();
+            for (int i = from; i < to; i++) {
+                FeedbackTextProjection row = rows.get(i);
+                terms.clear();
+                collectTerms(row.getPositives(), terms);
+                collectTerms(row.getNegatives(), terms);
+                collectTerms(row.getImprovements(), terms);
+                if (terms.isEmpty()) {
+                    continue;
+                }
+                TermCounter counter = counters.computeIfAbsent(row.getReceiverId(), id -> new TermCounter());
+                for (String term : terms) {
+                    counter.increment(term);
+                }
+            }
+            return counters;
+        }
+    }
+}
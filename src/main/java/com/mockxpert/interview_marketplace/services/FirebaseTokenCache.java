@@ -0,0 +1,237 @@
+package com.mockxpert.interview_marketplace.services;
+
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseAuthException;
+import com.google.firebase.auth.FirebaseToken;
+import com.mockxpert.interview_marketplace.dto.TokenCacheStatsDto;
+import com.mockxpert.interview_marketplace.exceptions.UnauthorizedException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Service class that caches verified Firebase ID tokens.
+ *
+ * Verifying an ID token checks its signature and parses its claims, which the authentication
+ * filter would otherwise repeat for every request of a session. Verified tokens are kept under
+ * the SHA-256 hash of the token, never the token itself, until the token's exp claim. The cache
+ * is bounded, expired entries are swept periodically and on overflow.
+ *
+ * Revoking a user drops their cached tokens and rejects every token issued before the
+ * revocation, also when it is verified again later.
+ *
+ * @author Umar Mohammad
+ */
+@Service
+public class FirebaseTokenCache {
+
+    @Autowired
+    private FirebaseAuth firebaseAuth;
+
+    @Value("${app.security.token-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.security.token-cache.max-size:10000}")
+    private int maxSize;
+
+    /**
+     * Upper bound for how long a verified token is trusted without verifying it again.
+     */
+    @Value("${app.security.token-cache.max-ttl-seconds:3600}")
+    private long maxTtlSeconds;
+
+    private final Map<String, VerifiedToken> tokens = new ConcurrentHashMap<>();
+
+    /**
+     * Per user, the epoch second before which issued tokens are no longer accepted.
+     */
+    private final Map<String, Long> revokedBefore = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    private final LongAdder revokedRejections = new LongAdder();
+
+    /**
+     * Verifies an ID token, from the cache when it was verified before.
+     *
+     * @param idToken the Firebase ID token.
+     * @return the verified token.
+     * @throws FirebaseAuthException if Firebase rejects the token.
+     * @throws UnauthorizedException if the token was issued before its user was revoked.
+     */
+    public VerifiedToken verify(String idToken) throws FirebaseAuthException {
+        String key = hash(idToken);
+        long now = System.currentTimeMillis();
+        VerifiedToken cached = tokens.get(key);
+        if (cached != null) {
+            if (cached.expiresAt > now) {
+                // A revocation can race with the put below, so a cached token is checked again.
+                if (isRevoked(cached.uid, cached.issuedAt)) {
+                    tokens.remove(key, cached);
+                    revokedRejections.increment();
+                    throw new UnauthorizedException("Token has been revoked.");
+                }
+                hits.increment();
+                return cached;
+            }
+            tokens.remove(key, cached);
+        }
+        misses.increment();
+
+        FirebaseToken decoded = firebaseAuth.verifyIdToken(idToken);
+        Map<String, Object> claims = decoded.getClaims();
+        long issuedAt = epochSeconds(claims.get("iat"), now / 1000);
+        if (isRevoked(decoded.getUid(), issuedAt)) {
+            revokedRejections.increment();
+            throw new UnauthorizedException("Token has been revoked.");
+        }
+
+        long expiresAt = Math.min(TimeUnit.SECONDS.toMillis(epochSeconds(claims.get("exp"), 0)),
+                now + TimeUnit.SECONDS.toMillis(maxTtlSeconds));
+        VerifiedToken verified = new VerifiedToken(decoded.getUid(), Collections.unmodifiableMap(claims), issuedAt, expiresAt);
+        if (enabled && expiresAt > now) {
+            if (tokens.size() >= maxSize) {
+                evict(now);
+            }
+            tokens.put(key, verified);
+        }
+        return verified;
+    }
+
+    private boolean isRevoked(String uid, long issuedAt) {
+        Long revoked = revokedBefore.get(uid);
+        return revoked != null && issuedAt < revoked;
+    }
+
+    /**
+     * Drops the cached tokens of a user and rejects every token issued to them until now.
+     *
+     * @param uid the Firebase UID.
+     */
+    public void revokeUser(String uid) {
+        if (uid == null) {
+            return;
+        }
+        // Firebase compares issue times in seconds, so tokens issued in this second stay rejected too.
+        revokedBefore.put(uid, System.currentTimeMillis() / 1000 + 1);
+        tokens.values().removeIf(token -> token.uid.equals(uid));
+    }
+
+    /**
+     * Drops the cached entry of a single token.
+     *
+     * @param idToken the Firebase ID token.
+     */
+    public void invalidate(String idToken) {
+        tokens.remove(hash(idToken));
+    }
+
+    /**
+     * Removes expired tokens and revocations that outlived every token they could apply to.
+     */
+    @Scheduled(fixedDelayString = "${app.security.token-cache.sweep-interval-ms:60000}")
+    public void sweep() {
+        long now = System.currentTimeMillis();
+        tokens.values().removeIf(token -> token.expiresAt <= now);
+        long oldestAccepted = now / 1000 - maxTtlSeconds;
+        revokedBefore.values().removeIf(revoked -> revoked < oldestAccepted);
+    }
+
+    /**
+     * Returns a snapshot of the cache counters.
+     *
+     * @return size, hit rate and eviction statistics.
+     */
+    public TokenCacheStatsDto getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        TokenCacheStatsDto stats = new TokenCacheStatsDto();
+        stats.setSize(tokens.size());
+        stats.setMaxSize(maxSize);
+        stats.setHits(hitCount);
+        stats.setMisses(missCount);
+        stats.setHitRate(hitCount + missCount == 0 ? 0 : (double) hitCount / (hitCount + missCount));
+        stats.setEvictions(evictions.sum());
+        stats.setRevokedRejections(revokedRejections.sum());
+        return stats;
+    }
+
+    /**
+     * Makes room for new entries: expired tokens go first, then arbitrary ones until a tenth of the
+     * capacity is free again. An evicted token is simply verified again on its next request.
+     */
+    private void evict(long now) {
+        int before = tokens.size();
+        tokens.values().removeIf(token -> token.expiresAt <= now);
+        int target = maxSize - Math.max(1, maxSize / 10);
+        Iterator<VerifiedToken> iterator = tokens.values().iterator();
+        while (tokens.size() > target && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+        evictions.add(Math.max(0, before - tokens.size()));
+    }
+
+    private static long epochSeconds(Object claim, long fallback) {
+        return claim instanceof Number ? ((Number) claim).longValue() : fallback;
+    }
+
+    private static String hash(String idToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(idToken.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available.", e);
+        }
+    }
+
+    /**
+     * The UID and claims of a verified ID token.
+     */
+    public static class VerifiedToken {
+
+        private final String uid;
+        private final Map<String, Object> claims;
+        private final long issuedAt;
+        private final long expiresAt;
+
+        VerifiedToken(String uid, Map<String, Object> claims, long issuedAt, long expiresAt) {
+            this.uid = uid;
+            this.claims = claims;
+            this.issuedAt = issuedAt;
+            this.expiresAt = expiresAt;
+        }
+
+        public String getUid() {
+            return uid;
+        }
+
+        public Map<String, Object> getClaims() {
+            return claims;
+        }
+
+        /**
+         * @return the epoch second the token was issued at.
+         */
+        public long getIssuedAt() {
+            return issuedAt;
+        }
+    }
+}
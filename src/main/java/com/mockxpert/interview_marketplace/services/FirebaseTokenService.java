@@ -1,5 +1,6 @@
 package com.mockxpert.interview_marketplace.services;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
@@ -15,6 +16,12 @@ public class FirebaseTokenService {
     @Value("${firebase.api.key}")
     private String firebaseApiKey;
 
+    @Autowired
+    private RestTemplate restTemplate;
+
+    @Autowired
+    private ResilienceService resilienceService;
+
     private static final String FIREBASE_TOKEN_URL = "https://securetoken.googleapis.com/v1/token?key=";
 
     /**
@@ -24,8 +31,6 @@ public class FirebaseTokenService {
      * @return A FirebaseTokenResponse containing the new tokens.
      */
     public FirebaseTokenResponse refreshIdToken(String refreshToken) {
-        RestTemplate restTemplate = new RestTemplate();
-
         MultiValueMap<String, String> requestBody = new LinkedMultiValueMap<>();
         requestBody.add("grant_type", "refresh_token");
         requestBody.add("refresh_token", refreshToken);
@@ -35,12 +40,13 @@ public class FirebaseTokenService {
 
         HttpEntity<MultiValueMap<String, String>> requestEntity = new HttpEntity<>(requestBody, headers);
 
-        ResponseEntity<FirebaseTokenResponse> responseEntity = restTemplate.exchange(
-                FIREBASE_TOKEN_URL + firebaseApiKey,
-                HttpMethod.POST,
-                requestEntity,
-                FirebaseTokenResponse.class
-        );
+        ResponseEntity<FirebaseTokenResponse> responseEntity = resilienceService.execute(ResilienceService.FIREBASE,
+                () -> restTemplate.exchange(
+                        FIREBASE_TOKEN_URL + firebaseApiKey,
+                        HttpMethod.POST,
+                        requestEntity,
+                        FirebaseTokenResponse.class
+                ));
 
         if (responseEntity.getStatusCode() == HttpStatus.OK && responseEntity.getBody() != null) {
             return responseEntity.getBody();
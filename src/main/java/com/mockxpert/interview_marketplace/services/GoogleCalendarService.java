@@ -1,11 +1,25 @@
 package com.mockxpert.interview_marketplace.services;
 
+import com.google.api.client.googleapis.batch.BatchRequest;
+import com.google.api.client.googleapis.batch.json.JsonBatchCallback;
 import com.google.api.client.googleapis.javanet.GoogleNetHttpTransport;
+import com.google.api.client.googleapis.json.GoogleJsonError;
+import com.google.api.client.http.HttpHeaders;
+import com.google.api.client.http.HttpRequest;
+import com.google.api.client.http.HttpTransport;
 import com.google.api.client.json.JsonFactory;
 import com.google.api.client.json.jackson2.JacksonFactory;
 import com.google.api.client.util.DateTime;
 import com.google.api.services.calendar.Calendar;
 import com.google.api.services.calendar.model.*;
+import com.mockxpert.interview_marketplace.dto.MeetEventDto;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
@@ -13,24 +27,74 @@ import java.io.IOException;
 import java.security.GeneralSecurityException;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.UUID;
 
 /**
  * Service class for managing all google calendar related services.
+ *
+ * One HTTP transport and Calendar client are shared by all calls, so the trust store is loaded
+ * once and TLS connections are reused. The access token is attached to each request instead of
+ * the client. The root URL can be pointed at a local HTTP stub.
  * 
  * @author Umar Mohammad
  */
 @Service
 public class GoogleCalendarService {
 
+    private static final Logger logger = LoggerFactory.getLogger(GoogleCalendarService.class);
+
     private static final String APPLICATION_NAME = "MockXpert";
+    private static final String PLACEHOLDER_TITLE = "MockXpert meeting (reserved)";
     private static final JsonFactory JSON_FACTORY = JacksonFactory.getDefaultInstance();
 
 
     @Value("${meeting.google.account.email}")
     private String meetingAccountEmail;
 
+    /**
+     * Overrides https://www.googleapis.com/ when set, e.g. with the URL of a local stub.
+     */
+    @Value("${app.google.calendar.root-url:}")
+    private String rootUrl;
+
+    /**
+     * Google processes at most 50 calls of a Calendar batch reliably, larger lists are split.
+     */
+    @Value("${app.google.calendar.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.http.connect-timeout-ms:2000}")
+    private int connectTimeoutMillis;
+
+    @Value("${app.google.calendar.read-timeout-ms:10000}")
+    private int readTimeoutMillis;
+
+    @Autowired
+    private ResilienceService resilienceService;
+
+    private HttpTransport transport;
+
+    private Calendar calendar;
+
+    @PostConstruct
+    public void init() throws IOException, GeneralSecurityException {
+        transport = GoogleNetHttpTransport.newTrustedTransport();
+        Calendar.Builder builder = new Calendar.Builder(transport, JSON_FACTORY, this::applyTimeouts)
+                .setApplicationName(APPLICATION_NAME);
+        if (rootUrl != null && !rootUrl.isBlank()) {
+            builder.setRootUrl(rootUrl.endsWith("/") ? rootUrl : rootUrl + "/");
+        }
+        calendar = builder.build();
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException {
+        transport.shutdown();
+    }
+
     /**
      * Creates a Google Meet event using an OAuth access token.
      * The event is created on the dedicated meeting account's calendar so that email invites are sent.
@@ -43,19 +107,131 @@ public class GoogleCalendarService {
      * @param startTime        Event start time.
      * @param endTime          Event end time.
      * @return Google Meet link.
-     * @throws IOException              if the API call fails.
-     * @throws GeneralSecurityException if a security exception occurs.
+     * @throws IOException if the API call fails.
      */
     public String createGoogleMeetEvent(String accessToken, String title, String description,
                                         String interviewerEmail, String intervieweeEmail,
                                         LocalDateTime startTime, LocalDateTime endTime)
-                                        throws IOException, GeneralSecurityException {
+                                        throws IOException {
+
+        Calendar.Events.Insert insert = insertRequest(accessToken, buildEvent(title, description, interviewerEmail,
+                intervieweeEmail, startTime, endTime));
+        Event event = resilienceService.execute(ResilienceService.GOOGLE_CALENDAR, insert::execute);
+
+        return event.getHangoutLink();
+    }
 
-        Calendar service = new Calendar.Builder(GoogleNetHttpTransport.newTrustedTransport(),
-                JSON_FACTORY, request -> request.getHeaders().setAuthorization("Bearer " + accessToken))
-                .setApplicationName(APPLICATION_NAME)
-                .build();
+    /**
+     * Creates many Google Meet events with Calendar batch requests, one HTTP request per batch.
+     * Each event gets its Meet link or the error Google returned for it, a failed event does not
+     * fail the others.
+     *
+     * @param accessToken OAuth access token of the dedicated meeting account.
+     * @param events      the events to create.
+     * @return the same events with the meet link or error filled in.
+     * @throws IOException if a batch request fails as a whole.
+     */
+    public List<MeetEventDto> createGoogleMeetEvents(String accessToken, List<MeetEventDto> events) throws IOException {
+        insertInBatches(accessToken, events, "all");
+        long failed = events.stream().filter(event -> event.getError() != null).count();
+        logger.info("Created {} Google Meet events in batches, {} failed.", events.size() - failed, failed);
+        return events;
+    }
 
+    /**
+     * Creates Meet events without attendees that reserve a meeting link for a later booking. The
+     * events are marked free so they do not block the meeting account's calendar, and nobody is
+     * notified until the event is assigned with {@link #assignGoogleMeetEvent}.
+     *
+     * @param accessToken OAuth access token of the dedicated meeting account.
+     * @param count       number of events to create.
+     * @return the created events with event ID and meet link, or the error.
+     * @throws IOException if a batch request fails as a whole.
+     */
+    public List<MeetEventDto> createPlaceholderMeetEvents(String accessToken, int count) throws IOException {
+        LocalDateTime start = LocalDateTime.now(ZoneOffset.UTC).withNano(0);
+        List<MeetEventDto> events = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            events.add(new MeetEventDto(PLACEHOLDER_TITLE, null, null, null, start, start.plusHours(1)));
+        }
+        insertInBatches(accessToken, events, "none");
+        return events;
+    }
+
+    /**
+     * Turns a placeholder event into the interview's event: sets title, time and attendees and sends
+     * the invites. The Meet link of the event stays the same.
+     *
+     * @param accessToken      OAuth access token of the dedicated meeting account.
+     * @param eventId          ID of the placeholder event.
+     * @param title            Event title.
+     * @param description      Event description.
+     * @param interviewerEmail Interviewer's email.
+     * @param intervieweeEmail Interviewee's email.
+     * @param startTime        Event start time.
+     * @param endTime          Event end time.
+     * @throws IOException if the API call fails.
+     */
+    public void assignGoogleMeetEvent(String accessToken, String eventId, String title, String description,
+                                      String interviewerEmail, String intervieweeEmail,
+                                      LocalDateTime startTime, LocalDateTime endTime) throws IOException {
+        Event patch = buildEvent(title, description, interviewerEmail, intervieweeEmail, startTime, endTime)
+                .setConferenceData(null)
+                .setTransparency("opaque");
+        Calendar.Events.Patch request = calendar.events().patch("primary", eventId, patch)
+                .setSendUpdates("all");
+        request.getRequestHeaders().setAuthorization("Bearer " + accessToken);
+        resilienceService.execute(ResilienceService.GOOGLE_CALENDAR, request::execute);
+    }
+
+    private void insertInBatches(String accessToken, List<MeetEventDto> events, String sendUpdates) throws IOException {
+        for (int from = 0; from < events.size(); from += batchSize) {
+            List<MeetEventDto> chunk = events.subList(from, Math.min(events.size(), from + batchSize));
+            BatchRequest batch = calendar.batch(request -> {
+                applyTimeouts(request);
+                request.getHeaders().setAuthorization("Bearer " + accessToken);
+            });
+            for (MeetEventDto meetEvent : chunk) {
+                Event event = buildEvent(meetEvent.getTitle(), meetEvent.getDescription(), meetEvent.getInterviewerEmail(),
+                        meetEvent.getIntervieweeEmail(), meetEvent.getStartTime(), meetEvent.getEndTime());
+                if (meetEvent.getInterviewerEmail() == null) {
+                    event.setTransparency("transparent");
+                }
+                insertRequest(accessToken, event).setSendUpdates(sendUpdates).queue(batch, new JsonBatchCallback<Event>() {
+                    @Override
+                    public void onSuccess(Event created, HttpHeaders responseHeaders) {
+                        meetEvent.setEventId(created.getId());
+                        meetEvent.setMeetLink(created.getHangoutLink());
+                    }
+
+                    @Override
+                    public void onFailure(GoogleJsonError error, HttpHeaders responseHeaders) {
+                        meetEvent.setError(error.getCode() + " " + error.getMessage());
+                    }
+                });
+            }
+            resilienceService.execute(ResilienceService.GOOGLE_CALENDAR, () -> {
+                batch.execute();
+                return null;
+            });
+        }
+    }
+
+    private void applyTimeouts(HttpRequest request) {
+        request.setConnectTimeout(connectTimeoutMillis);
+        request.setReadTimeout(readTimeoutMillis);
+    }
+
+    private Calendar.Events.Insert insertRequest(String accessToken, Event event) throws IOException {
+        Calendar.Events.Insert insert = calendar.events().insert("primary", event)
+                .setConferenceDataVersion(1)
+                .setSendUpdates("all");
+        insert.getRequestHeaders().setAuthorization("Bearer " + accessToken);
+        return insert;
+    }
+
+    private Event buildEvent(String title, String description, String interviewerEmail, String intervieweeEmail,
+                             LocalDateTime startTime, LocalDateTime endTime) {
         Event event = new Event()
                 .setSummary(title)
                 .setDescription(description);
@@ -69,10 +245,12 @@ public class GoogleCalendarService {
 
         event.setOrganizer(new Event.Organizer().setEmail(meetingAccountEmail));
 
-        event.setAttendees(Arrays.asList(
-                new EventAttendee().setEmail(interviewerEmail),
-                new EventAttendee().setEmail(intervieweeEmail)
-        ));
+        if (interviewerEmail != null && intervieweeEmail != null) {
+            event.setAttendees(Arrays.asList(
+                    new EventAttendee().setEmail(interviewerEmail),
+                    new EventAttendee().setEmail(intervieweeEmail)
+            ));
+        }
 
         ConferenceData conferenceData = new ConferenceData();
         ConferenceSolutionKey conferenceSolutionKey = new ConferenceSolutionKey().setType("hangoutsMeet");
@@ -90,12 +268,6 @@ public class GoogleCalendarService {
                         new EventReminder().setMethod("popup").setMinutes(10)    
                 ));
         event.setReminders(reminders);
-
-        event = service.events().insert("primary", event)
-                .setConferenceDataVersion(1)
-                .setSendUpdates("all")
-                .execute();
-
-        return event.getHangoutLink();
+        return event;
     }
 }
@@ -1,5 +1,11 @@
 package com.mockxpert.interview_marketplace.services;
 
+import com.mockxpert.interview_marketplace.dto.GoogleTokenStatsDto;
+import com.mockxpert.interview_marketplace.exceptions.ServiceUnavailableException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
@@ -9,18 +15,34 @@ import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 
 /**
  * Service class for generating google OAuth service.
+ *
+ * Access tokens are cached per refresh token until shortly before they expire, so the token
+ * endpoint is called about once an hour instead of on every booking confirmation. When a token
+ * has to be refreshed, concurrent callers share a single request to Google.
  * 
  * @author Umar Mohammad
  */
 @Service
 public class GoogleOAuthService {
 
+    private static final Logger logger = LoggerFactory.getLogger(GoogleOAuthService.class);
+
     private static final String GOOGLE_TOKEN_URL = "https://oauth2.googleapis.com/token";
 
+    /**
+     * Lifetime assumed when Google does not report expires_in.
+     */
+    private static final long DEFAULT_EXPIRES_IN_SECONDS = 3600;
+
     @Value("${google.client.id}")
     private String clientId;
 
@@ -28,18 +50,107 @@ public class GoogleOAuthService {
     private String clientSecret;
 
     /**
-     * Exchanges a Google OAuth refresh token for a new access token.
+     * Tokens are refreshed this long before Google expires them.
+     */
+    @Value("${app.google.oauth.refresh-skew-seconds:300}")
+    private long refreshSkewSeconds;
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    @Autowired
+    private ResilienceService resilienceService;
+
+    private final Map<String, CachedToken> tokens = new ConcurrentHashMap<>();
+
+    private final Map<String, CompletableFuture<CachedToken>> refreshes = new ConcurrentHashMap<>();
+
+    private final LongAdder cacheHits = new LongAdder();
+
+    private final LongAdder refreshCount = new LongAdder();
+
+    private final LongAdder refreshFailures = new LongAdder();
+
+    private final LongAdder sharedRefreshes = new LongAdder();
+
+    private final LongAdder refreshNanos = new LongAdder();
+
+    private final AtomicLong maxRefreshNanos = new AtomicLong();
+
+    /**
+     * Returns a valid access token for a Google OAuth refresh token, from the cache when possible.
      *
      * @param refreshToken The refresh token retrieved during initial authentication.
-     * @return The new access token.
+     * @return The access token.
      */
     public String getAccessTokenFromRefreshToken(String refreshToken) {
-        RestTemplate restTemplate = new RestTemplate();
-
         if (refreshToken == null || refreshToken.isEmpty()) {
             throw new IllegalArgumentException("Refresh token is missing or empty.");
         }
 
+        CachedToken cached = tokens.get(refreshToken);
+        if (cached != null && cached.isFresh()) {
+            cacheHits.increment();
+            return cached.accessToken;
+        }
+
+        CompletableFuture<CachedToken> refresh = new CompletableFuture<>();
+        CompletableFuture<CachedToken> inFlight = refreshes.putIfAbsent(refreshToken, refresh);
+        if (inFlight != null) {
+            sharedRefreshes.increment();
+            return await(inFlight).accessToken;
+        }
+
+        try {
+            // Another caller may have finished a refresh between the cache check and the registration.
+            cached = tokens.get(refreshToken);
+            if (cached == null || !cached.isFresh()) {
+                cached = requestAccessToken(refreshToken);
+                tokens.put(refreshToken, cached);
+            }
+            refresh.complete(cached);
+            return cached.accessToken;
+        } catch (RuntimeException e) {
+            refresh.completeExceptionally(e);
+            throw e;
+        } finally {
+            refreshes.remove(refreshToken, refresh);
+        }
+    }
+
+    /**
+     * Drops the cached access token of a refresh token, e.g. after Google rejected it.
+     *
+     * @param refreshToken the refresh token.
+     */
+    public void invalidate(String refreshToken) {
+        if (refreshToken != null) {
+            tokens.remove(refreshToken);
+        }
+    }
+
+    /**
+     * Returns a snapshot of the token cache counters.
+     *
+     * @return cache hit, refresh and latency statistics.
+     */
+    public GoogleTokenStatsDto getStats() {
+        long refreshed = refreshCount.sum();
+        GoogleTokenStatsDto stats = new GoogleTokenStatsDto();
+        stats.setCachedTokens(tokens.size());
+        stats.setCacheHits(cacheHits.sum());
+        stats.setRefreshes(refreshed);
+        stats.setRefreshFailures(refreshFailures.sum());
+        stats.setSharedRefreshes(sharedRefreshes.sum());
+        stats.setAverageRefreshMillis(refreshed == 0 ? 0 : refreshNanos.sum() / 1e6 / refreshed);
+        stats.setMaxRefreshMillis(maxRefreshNanos.get() / 1e6);
+        return stats;
+    }
+
+    /**
+     * Exchanges a refresh token for a new access token at Google's token endpoint.
+     */
+    private CachedToken requestAccessToken(String refreshToken) {
         MultiValueMap<String, String> requestBody = new LinkedMultiValueMap<>();
         requestBody.add("client_id", clientId);
         requestBody.add("client_secret", clientSecret);
@@ -51,19 +162,65 @@ public class GoogleOAuthService {
 
         HttpEntity<MultiValueMap<String, String>> requestEntity = new HttpEntity<>(requestBody, headers);
 
+        long started = System.nanoTime();
         try {
-            ResponseEntity<Map> response = restTemplate.exchange(GOOGLE_TOKEN_URL, HttpMethod.POST, requestEntity, Map.class);
+            ResponseEntity<Map> response = resilienceService.execute(ResilienceService.GOOGLE_OAUTH,
+                    () -> restTemplate.exchange(GOOGLE_TOKEN_URL, HttpMethod.POST, requestEntity, Map.class));
             if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                return response.getBody().get("access_token").toString();
+                Object expiresIn = response.getBody().get("expires_in");
+                long lifetime = expiresIn instanceof Number ? ((Number) expiresIn).longValue() : DEFAULT_EXPIRES_IN_SECONDS;
+                recordRefresh(System.nanoTime() - started);
+                return new CachedToken(response.getBody().get("access_token").toString(),
+                        System.currentTimeMillis() + Math.max(0, lifetime - refreshSkewSeconds) * 1000);
             } else {
                 throw new RuntimeException("Failed to retrieve access token: " + response.getBody());
             }
+        } catch (ServiceUnavailableException ex) {
+            refreshFailures.increment();
+            throw ex;
         } catch (HttpClientErrorException ex) {
+            refreshFailures.increment();
             String errorResponse = ex.getResponseBodyAsString();
-            System.err.println("Error response from Google: " + errorResponse);
+            logger.error("Error response from Google: {}", errorResponse);
             throw new RuntimeException("OAuth Token request failed: " + errorResponse, ex);
         } catch (Exception e) {
+            refreshFailures.increment();
             throw new RuntimeException("OAuth Token request failed: " + e.getMessage(), e);
         }
     }
+
+    private void recordRefresh(long nanos) {
+        refreshCount.increment();
+        refreshNanos.add(nanos);
+        maxRefreshNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    private static CachedToken await(CompletableFuture<CachedToken> refresh) {
+        try {
+            return refresh.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * An access token and the time it should be refreshed at.
+     */
+    private static class CachedToken {
+
+        private final String accessToken;
+        private final long refreshAt;
+
+        CachedToken(String accessToken, long refreshAt) {
+            this.accessToken = accessToken;
+            this.refreshAt = refreshAt;
+        }
+
+        boolean isFresh() {
+            return System.currentTimeMillis() < refreshAt;
+        }
+    }
 }
@@ -0,0 +1,236 @@
+package com.mockxpert.interview_marketplace.services;
+
+import com.mockxpert.interview_marketplace.dto.ImageServingStatsDto;
+import com.mockxpert.interview_marketplace.utils.DirectBufferCache;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Service class that serves stored profile images and thumbnails.
+ *
+ * Image files are named by the hash of their content and never change, so the name doubles as a
+ * strong ETag and responses may be cached for a year. Conditional requests are answered with 304
+ * and single byte ranges with 206.
+ *
+ * Small files, i.e. the thumbnails shown on search pages, are kept in an off-heap LRU cache and
+ * written straight from there. Larger files are handed to the servlet container's sendfile
+ * support when it is available, so the kernel copies them to the socket without passing through
+ * the JVM, and are otherwise sent with FileChannel.transferTo.
+ *
+ * @author Umar Mohammad
+ */
+@Service
+public class ImageServingService {
+
+    private static final Pattern FILE_NAME = Pattern.compile("([0-9a-f]{64}(?:-\\d{1,4})?)\\.(png|jpg|gif)");
+
+    private static final Pattern RANGE = Pattern.compile("bytes=(\\d*)-(\\d*)");
+
+    private static final Map<String, String> CONTENT_TYPES = Map.of("png", "image/png", "jpg", "image/jpeg", "gif", "image/gif");
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final String CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    @Autowired
+    private ProfileImageService profileImageService;
+
+    @Value("${app.images.hot-cache.max-bytes:16777216}")
+    private long hotCacheMaxBytes;
+
+    @Value("${app.images.hot-cache.max-entry-bytes:65536}")
+    private int hotCacheMaxEntryBytes;
+
+    /**
+     * Files at least this large are sent with sendfile when the container supports it.
+     */
+    @Value("${app.images.sendfile-min-bytes:49152}")
+    private long sendfileMinBytes;
+
+    private DirectBufferCache hotCache;
+
+    private final LongAdder hotCacheHits = new LongAdder();
+
+    private final LongAdder notModified = new LongAdder();
+
+    private final LongAdder sendfileResponses = new LongAdder();
+
+    @PostConstruct
+    public void init() {
+        hotCache = new DirectBufferCache(hotCacheMaxBytes);
+    }
+
+    /**
+     * Writes an image to the response.
+     *
+     * @param fileName the stored file name.
+     * @param request  the HTTP request.
+     * @param response the HTTP response.
+     * @throws IOException if the response cannot be written.
+     */
+    public void serve(String fileName, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Matcher name = FILE_NAME.matcher(fileName);
+        if (!name.matches()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        String etag = "\"" + name.group(1) + "\"";
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        if (matchesEtag(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            notModified.increment();
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        Path path = profileImageService.getDirectory().resolve(fileName);
+        ByteBuffer cached = hotCache.get(fileName);
+        long size;
+        if (cached != null) {
+            size = cached.remaining();
+        } else {
+            try {
+                size = Files.size(path);
+            } catch (NoSuchFileException e) {
+                response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+                response.sendError(HttpServletResponse.SC_NOT_FOUND);
+                return;
+            }
+        }
+
+        long start = 0;
+        long end = size - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (range != null && (ifRange == null || ifRange.equals(etag))) {
+            Matcher matcher = RANGE.matcher(range.trim());
+            // Multiple ranges are answered with the whole file, which RFC 9110 allows.
+            if (matcher.matches() && !(matcher.group(1).isEmpty() && matcher.group(2).isEmpty())) {
+                if (matcher.group(1).isEmpty()) {
+                    start = Math.max(0, size - Long.parseLong(matcher.group(2)));
+                } else {
+                    start = Long.parseLong(matcher.group(1));
+                    if (!matcher.group(2).isEmpty()) {
+                        end = Math.min(end, Long.parseLong(matcher.group(2)));
+                    }
+                }
+                if (start > end) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                    response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    return;
+                }
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+            }
+        }
+
+        long length = end - start + 1;
+        response.setContentType(CONTENT_TYPES.get(name.group(2)));
+        response.setContentLengthLong(length);
+        if ("HEAD".equals(request.getMethod())) {
+            return;
+        }
+
+        if (cached == null && size <= hotCacheMaxEntryBytes) {
+            cached = load(fileName, path, size);
+        } else if (cached != null) {
+            hotCacheHits.increment();
+        }
+        if (cached != null) {
+            cached.position((int) start).limit((int) (end + 1));
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            while (cached.hasRemaining()) {
+                out.write(cached);
+            }
+            return;
+        }
+
+        if (length >= sendfileMinBytes && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            sendfileResponses.increment();
+            request.setAttribute(SENDFILE_FILENAME, path.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position <= end) {
+                position += channel.transferTo(position, end + 1 - position, out);
+            }
+        }
+    }
+
+    /**
+     * @return a snapshot of the hot cache and response statistics.
+     */
+    public ImageServingStatsDto getStats() {
+        ImageServingStatsDto stats = new ImageServingStatsDto();
+        stats.setHotCacheEntries(hotCache.size());
+        stats.setHotCacheBytes(hotCache.getTotalBytes());
+        stats.setHotCacheMaxBytes(hotCacheMaxBytes);
+        stats.setHotCacheHits(hotCacheHits.sum());
+        stats.setNotModified(notModified.sum());
+        stats.setSendfileResponses(sendfileResponses.sum());
+        return stats;
+    }
+
+    private ByteBuffer load(String fileName, Path path, long size) throws IOException {
+        ByteBuffer content = ByteBuffer.allocate((int) size);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            while (content.hasRemaining()) {
+                if (channel.read(content) == -1) {
+                    break;
+                }
+            }
+        }
+        content.flip();
+        ByteBuffer cached = hotCache.put(fileName, content);
+        return cached != null ? cached : content;
+    }
+
+    private static boolean matchesEtag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals(etag) || value.equals("*")) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
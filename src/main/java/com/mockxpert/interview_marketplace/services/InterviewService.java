@@ -1,15 +1,21 @@
 package com.mockxpert.interview_marketplace.services;
 
 import com.mockxpert.interview_marketplace.dto.InterviewDto;
+import com.mockxpert.interview_marketplace.dto.MeetEventDto;
 import com.mockxpert.interview_marketplace.entities.*;
 import com.mockxpert.interview_marketplace.exceptions.ResourceNotFoundException;
 import com.mockxpert.interview_marketplace.exceptions.InternalServerErrorException;
 import com.mockxpert.interview_marketplace.mappers.InterviewMapper;
 import com.mockxpert.interview_marketplace.repositories.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.List;
@@ -25,6 +31,8 @@ import java.util.stream.Collectors;
 @Service
 public class InterviewService {
 
+    private static final Logger logger = LoggerFactory.getLogger(InterviewService.class);
+
     @Autowired
     private InterviewRepository interviewRepository;
 
@@ -40,6 +48,15 @@ public class InterviewService {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private GoogleOAuthService googleOAuthService;
+
+    @Autowired
+    private GoogleCalendarService googleCalendarService;
+
+    @Value("${meeting.google.refresh.token}")
+    private String dedicatedGoogleRefreshToken;
+
     /**
      * Register a new interview.
      * 
@@ -379,11 +396,52 @@ public class InterviewService {
             })
             .collect(Collectors.toList());
         
-        filtered = filtered.stream().filter((interview) -> interview.getInterviewee().getUser().getUserId() == userService.getCurrentUser().getUserId()).collect(Collectors.toList());
+        Long currentUserId = userService.getCurrentUserId();
+        filtered = filtered.stream().filter((interview) -> currentUserId.equals(interview.getInterviewee().getUser().getUserId())).collect(Collectors.toList());
 
         return filtered.stream()
                 .map(InterviewMapper::toDto)
                 .collect(Collectors.toList());
     }
     
+
+    /**
+     * Creates the missing Google Meet events of upcoming booked interviews, in Calendar batches.
+     *
+     * @return the number of interviews that received a meeting link.
+     */
+    @Transactional
+    public int backfillMeetingLinks() {
+        List<Interview> interviews = interviewRepository.findUpcomingWithoutLink(LocalDate.now());
+        if (interviews.isEmpty()) {
+            return 0;
+        }
+        List<MeetEventDto> events = interviews.stream().map(interview -> {
+            LocalTime endTime = interview.getEndTime() != null ? interview.getEndTime()
+                    : interview.getStartTime().plus(interview.getDuration() != null ? interview.getDuration() : Duration.ofMinutes(60));
+            return new MeetEventDto(interview.getTitle() != null ? interview.getTitle() : "Mock Interview", "Scheduled interview",
+                    interview.getInterviewer().getUser().getEmail(), interview.getInterviewee().getUser().getEmail(),
+                    interview.getDate().atTime(interview.getStartTime()), interview.getDate().atTime(endTime));
+        }).collect(Collectors.toList());
+
+        try {
+            String accessToken = googleOAuthService.getAccessTokenFromRefreshToken(dedicatedGoogleRefreshToken);
+            googleCalendarService.createGoogleMeetEvents(accessToken, events);
+        } catch (IOException e) {
+            throw new InternalServerErrorException("Google Meet backfill failed: " + e.getMessage());
+        }
+
+        int linked = 0;
+        for (int i = 0; i < interviews.size(); i++) {
+            MeetEventDto event = events.get(i);
+            if (event.getMeetLink() != null) {
+                interviews.get(i).setInterviewLink(event.getMeetLink());
+                linked++;
+            } else {
+                logger.warn("No meeting link created for interview {}: {}", interviews.get(i).getInterviewId(), event.getError());
+            }
+        }
+        interviewRepository.saveAll(interviews);
+        return linked;
+    }
 }
@@ -2,6 +2,7 @@ package com.mockxpert.interview_marketplace.services;
 
 import com.mockxpert.interview_marketplace.dto.IntervieweeDto;
 import com.mockxpert.interview_marketplace.dto.IntervieweeSkillDto;
+import com.mockxpert.interview_marketplace.dto.UserPrincipal;
 import com.mockxpert.interview_marketplace.entities.Interviewee;
 import com.mockxpert.interview_marketplace.entities.IntervieweeSkill;
 import com.mockxpert.interview_marketplace.entities.Skill;
@@ -44,6 +45,12 @@ public class IntervieweeService {
     @Autowired 
     private IntervieweeSkillRepository intervieweeSkillRepository;
 
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
     /**
      * Register a new Interviewee.
      * 
@@ -76,6 +83,7 @@ public class IntervieweeService {
             }
             intervieweeSkillRepository.saveAll(intervieweeSkills);
         }
+        principalCache.invalidateUser(user.getUserId());
 
         return IntervieweeMapper.toDto(savedInterviewee);
     }
@@ -185,6 +193,7 @@ public class IntervieweeService {
         interviewee.getUser().setStatus(User.Status.INACTIVE);
         try {
             intervieweeRepository.saveAndFlush(interviewee);
+            principalCache.invalidateUser(interviewee.getUser().getUserId());
             return true;
         } catch (Exception e) {
             throw new InternalServerErrorException("Failed to deactivate interviewee due to server error.");
@@ -209,6 +218,7 @@ public class IntervieweeService {
         interviewee.getUser().setStatus(User.Status.ACTIVE);
         try {
             intervieweeRepository.saveAndFlush(interviewee);
+            principalCache.invalidateUser(interviewee.getUser().getUserId());
             return true;
         } catch (Exception e) {
             throw new InternalServerErrorException("Failed to reactivate interviewee due to server error.");
@@ -223,6 +233,10 @@ public class IntervieweeService {
      */
     @Transactional
     public boolean checkExistenceOfInterviewee(Long userId) {
+        UserPrincipal principal = userService.findCurrentPrincipal();
+        if (principal != null && principal.getUserId().equals(userId)) {
+            return principal.getIntervieweeId() != null;
+        }
         return intervieweeRepository.existsByUser_UserId(userId);
     }
 }
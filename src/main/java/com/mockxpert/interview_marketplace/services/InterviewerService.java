@@ -2,6 +2,7 @@ package com.mockxpert.interview_marketplace.services;
 
 import com.mockxpert.interview_marketplace.dto.InterviewerDto;
 import com.mockxpert.interview_marketplace.dto.InterviewerSkillDto;
+import com.mockxpert.interview_marketplace.dto.UserPrincipal;
 import com.mockxpert.interview_marketplace.entities.Interviewer;
 import com.mockxpert.interview_marketplace.entities.InterviewerSkill;
 import com.mockxpert.interview_marketplace.entities.Skill;
@@ -42,6 +43,12 @@ public class InterviewerService {
     
     @Autowired
     private SkillRepository skillRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PrincipalCache principalCache;
     
     private InterviewerMapper interviewerMapper;
 
@@ -80,6 +87,7 @@ public class InterviewerService {
             }
             interviewerSkillRepository.saveAll(interviewerSkills);
         }
+        principalCache.invalidateUser(user.getUserId());
 
         return InterviewerMapper.toDto(savedInterviewer);
     }
@@ -395,6 +403,10 @@ public class InterviewerService {
      */
     @Transactional
     public boolean checkExistenceOfInterviewee(Long userId) {
+    	UserPrincipal principal = userService.findCurrentPrincipal();
+    	if (principal != null && principal.getUserId().equals(userId)) {
+    		return principal.getInterviewerId() != null;
+    	}
     	return interviewerRepository.existsByUser_UserId(userId);
     }
         
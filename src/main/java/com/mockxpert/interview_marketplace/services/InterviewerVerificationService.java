@@ -14,7 +14,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.Optional;
 
 /**
  * Service class for managing InterviewerVerification entities.
@@ -35,13 +34,19 @@ public class InterviewerVerificationService {
     @Autowired
     private InterviewerRepository interviewerRepository;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private SignedTokenService signedTokenService;
+
     /**
      * Initiates the verification process by generating an OTP and sending an email.
-     * Uses the provided userId to fetch the associated Interviewer record.
+     * Uses the provided userId to fetch the associated Interviewer record. The OTP is derived, not stored.
      *
      * @param userId the ID of the user whose associated interviewer record should be verified.
      */
-    @Transactional
+    @Transactional(readOnly = true)
     public void sendVerificationOtp(Long userId) {
         // Retrieve the Interviewer record based on the user's ID.
         Interviewer interviewer = interviewerRepository.findByUser_UserId(userId)
@@ -52,22 +57,9 @@ public class InterviewerVerificationService {
             throw new BadRequestException("Invalid work email provided.");
         }
 
-        String otp = TokenGenerator.generateOtp();
-        LocalDateTime expiryTime = LocalDateTime.now().plusMinutes(15);
+        String otp = signedTokenService.generateOtp(SignedTokenService.WORK_EMAIL_OTP, userId, user.getWorkEmail());
 
-        Optional<InterviewerVerification> existingVerification =
-                verificationRepository.findByInterviewer_InterviewerId(interviewer.getInterviewerId());
-        InterviewerVerification verification = existingVerification.orElse(new InterviewerVerification());
-
-        verification.setInterviewer(interviewer);
-        verification.setVerificationToken(otp);
-        verification.setTokenExpiry(expiryTime);
-        verification.setStatus(InterviewerVerification.VerificationStatus.EMAIL_SENT);
-        verification.setLastUpdated(LocalDateTime.now());
-
-        verificationRepository.save(verification);
-
-        emailService.sendOtpEmail(user.getWorkEmail(), otp);
+        emailService.sendOtpEmail(user.getWorkEmail(), otp, user.getPreferredLanguage());
     }
 
     /**
@@ -82,18 +74,19 @@ public class InterviewerVerificationService {
         Interviewer interviewer = interviewerRepository.findByUser_UserId(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Interviewer not found for user ID: " + userId));
 
-        InterviewerVerification verification =
-                verificationRepository.findByInterviewer_InterviewerId(interviewer.getInterviewerId())
-                .orElseThrow(() -> new ResourceNotFoundException("Verification not found for interviewer with user ID: " + userId));
-
-        if (!verification.getVerificationToken().equals(otp)) {
-            throw new BadRequestException("Invalid OTP.");
+        String workEmail = interviewer.getUser() != null ? interviewer.getUser().getWorkEmail() : null;
+        if (!signedTokenService.verifyOtp(SignedTokenService.WORK_EMAIL_OTP, userId, workEmail, otp)) {
+            throw new BadRequestException("Invalid or expired OTP. Please request a new one.");
         }
 
-        if (verification.getTokenExpiry().isBefore(LocalDateTime.now())) {
-            throw new BadRequestException("OTP has expired. Please request a new one.");
+        InterviewerVerification verification =
+                verificationRepository.findByInterviewer_InterviewerId(interviewer.getInterviewerId())
+                .orElse(new InterviewerVerification());
+        verification.setInterviewer(interviewer);
+        if (verification.getVerificationToken() == null) {
+            verification.setVerificationToken(TokenGenerator.generateToken());
         }
-
+        verification.setTokenExpiry(null);
         verification.setStatus(InterviewerVerification.VerificationStatus.VERIFIED);
         verification.setLastUpdated(LocalDateTime.now());
         verificationRepository.save(verification);
@@ -106,9 +99,10 @@ public class InterviewerVerificationService {
         if (user != null) {
             user.setStatus(User.Status.ACTIVE);
             user.setWorkEmailVerified(true);
+            principalCache.invalidateUser(user.getUserId());
         }
 
-        emailService.sendVerificationEmail(user.getWorkEmail());
+        emailService.sendVerificationEmail(user.getWorkEmail(), user.getPreferredLanguage());
     }
 
     /**
@@ -116,7 +110,7 @@ public class InterviewerVerificationService {
      *
      * @param userId the ID of the user whose associated interviewer record should have its OTP resent.
      */
-    @Transactional
+    @Transactional(readOnly = true)
     public void resendOtp(Long userId) {
         sendVerificationOtp(userId);
     }
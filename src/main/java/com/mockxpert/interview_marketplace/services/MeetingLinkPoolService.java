@@ -0,0 +1,318 @@
+package com.mockxpert.interview_marketplace.services;
+
+import com.mockxpert.interview_marketplace.dto.MeetEventDto;
+import com.mockxpert.interview_marketplace.entities.Interview;
+import com.mockxpert.interview_marketplace.entities.MeetingLink;
+import com.mockxpert.interview_marketplace.events.MeetingLinkClaimedEvent;
+import com.mockxpert.interview_marketplace.repositories.InterviewRepository;
+import com.mockxpert.interview_marketplace.repositories.MeetingLinkRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Service class that keeps a pool of ready Google Meet links for new interviews.
+ *
+ * The pool holds placeholder calendar events that already have a Meet link. Confirming a payment
+ * claims one with a skip-locked row lock and stores its link on the interview right away, so the
+ * confirmation does not wait for Google. After the transaction commits, the placeholder event is
+ * patched in the background with the interview's title, time and attendees, which sends the
+ * invites. The pool is topped up in the background whenever it drops below its low watermark.
+ * When the pool is empty the caller falls back to creating the event itself.
+ *
+ * @author Umar Mohammad
+ */
+@Service
+public class MeetingLinkPoolService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MeetingLinkPoolService.class);
+
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    @Autowired
+    private MeetingLinkRepository meetingLinkRepository;
+
+    @Autowired
+    private InterviewRepository interviewRepository;
+
+    @Autowired
+    private GoogleCalendarService googleCalendarService;
+
+    @Autowired
+    private GoogleOAuthService googleOAuthService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${meeting.google.refresh.token}")
+    private String dedicatedGoogleRefreshToken;
+
+    @Value("${app.meetings.pool.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.meetings.pool.size:20}")
+    private int poolSize;
+
+    @Value("${app.meetings.pool.low-watermark:5}")
+    private int lowWatermark;
+
+    @Value("${app.meetings.pool.max-attempts:5}")
+    private int maxAttempts;
+
+    /**
+     * Claimed links older than this are retried by the scheduler, younger ones are still being patched.
+     */
+    @Value("${app.meetings.pool.retry-after-ms:60000}")
+    private long retryAfterMillis;
+
+    private final AtomicBoolean replenishing = new AtomicBoolean(false);
+
+    private ExecutorService worker;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        worker = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "meeting-link-pool");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdown();
+        try {
+            worker.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Takes a ready link from the pool. Runs in the caller's transaction, the link goes back to the
+     * pool if that transaction rolls back.
+     *
+     * @return the claimed link, or null when the pool is disabled or empty.
+     */
+    @Transactional
+    public MeetingLink claim() {
+        if (!enabled) {
+            return null;
+        }
+        MeetingLink link = meetingLinkRepository.lockNextAvailable().orElse(null);
+        if (link == null) {
+            logger.warn("Meeting link pool is empty, the event is created synchronously.");
+            requestReplenish();
+            return null;
+        }
+        link.setStatus(MeetingLink.Status.CLAIMED);
+        link.setClaimedAt(LocalDateTime.now());
+        return link;
+    }
+
+    /**
+     * Binds a claimed link to its saved interview. The attendees are patched in after commit.
+     *
+     * @param link      the claimed link.
+     * @param interview the saved interview that uses the link.
+     */
+    @Transactional
+    public void assign(MeetingLink link, Interview interview) {
+        link.setInterviewId(interview.getInterviewId());
+        meetingLinkRepository.save(link);
+        eventPublisher.publishEvent(new MeetingLinkClaimedEvent(link.getMeetingLinkId()));
+    }
+
+    /**
+     * Patches the claimed event in the background and tops the pool up once the booking has committed.
+     *
+     * @param event the claim event.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onMeetingLinkClaimed(MeetingLinkClaimedEvent event) {
+        try {
+            worker.execute(() -> patchAttendees(event.getMeetingLinkId()));
+        } catch (RejectedExecutionException e) {
+            logger.warn("Meeting link {} is patched by the next scheduler run.", event.getMeetingLinkId());
+        }
+        requestReplenish();
+    }
+
+    /**
+     * Retries the claimed links whose event was not patched yet.
+     *
+     * @return the number of links patched.
+     */
+    public int patchPendingClaims() {
+        LocalDateTime cutoff = LocalDateTime.now().minusNanos(retryAfterMillis * 1_000_000);
+        List<Long> pending = meetingLinkRepository.findByStatusOrderByMeetingLinkIdAsc(MeetingLink.Status.CLAIMED).stream()
+                .filter(link -> link.getInterviewId() != null && link.getClaimedAt().isBefore(cutoff))
+                .map(MeetingLink::getMeetingLinkId)
+                .collect(Collectors.toList());
+        int patched = 0;
+        for (Long linkId : pending) {
+            if (patchAttendees(linkId)) {
+                patched++;
+            }
+        }
+        return patched;
+    }
+
+    /**
+     * Creates placeholder events until the pool holds its configured size.
+     *
+     * @return the number of links added.
+     */
+    public int replenish() {
+        if (!enabled || !replenishing.compareAndSet(false, true)) {
+            return 0;
+        }
+        try {
+            long missing = poolSize - meetingLinkRepository.countByStatus(MeetingLink.Status.AVAILABLE);
+            if (missing <= 0) {
+                return 0;
+            }
+            String accessToken = googleOAuthService.getAccessTokenFromRefreshToken(dedicatedGoogleRefreshToken);
+            List<MeetingLink> links = googleCalendarService.createPlaceholderMeetEvents(accessToken, (int) missing).stream()
+                    .filter(event -> event.getEventId() != null && event.getMeetLink() != null)
+                    .map(MeetingLinkPoolService::toLink)
+                    .collect(Collectors.toList());
+            meetingLinkRepository.saveAll(links);
+            logger.info("Added {} meeting links to the pool.", links.size());
+            return links.size();
+        } catch (IOException | RuntimeException e) {
+            logger.error("Failed to replenish the meeting link pool.", e);
+            return 0;
+        } finally {
+            replenishing.set(false);
+        }
+    }
+
+    /**
+     * @return number of links ready to be claimed.
+     */
+    public long getAvailableCount() {
+        return meetingLinkRepository.countByStatus(MeetingLink.Status.AVAILABLE);
+    }
+
+    private void requestReplenish() {
+        try {
+            worker.execute(() -> {
+                if (getAvailableCount() < lowWatermark) {
+                    replenish();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            logger.debug("Meeting link pool replenishment skipped during shutdown.");
+        }
+    }
+
+    /**
+     * Moves the placeholder event of a claimed link to the interview and invites the participants.
+     */
+    private boolean patchAttendees(Long linkId) {
+        AssignedEvent assigned = transactionTemplate.execute(status -> loadAssignment(linkId));
+        if (assigned == null) {
+            return false;
+        }
+        try {
+            String accessToken = googleOAuthService.getAccessTokenFromRefreshToken(dedicatedGoogleRefreshToken);
+            googleCalendarService.assignGoogleMeetEvent(accessToken, assigned.eventId, "Mock Interview", "Scheduled interview",
+                    assigned.interviewerEmail, assigned.intervieweeEmail, assigned.startTime, assigned.endTime);
+            transactionTemplate.executeWithoutResult(status -> meetingLinkRepository.findById(linkId).ifPresent(link -> {
+                link.setStatus(MeetingLink.Status.ASSIGNED);
+                link.setAssignedAt(LocalDateTime.now());
+                link.setLastError(null);
+            }));
+            return true;
+        } catch (IOException | RuntimeException e) {
+            String error = e.getClass().getSimpleName() + ": " + e.getMessage();
+            transactionTemplate.executeWithoutResult(status -> meetingLinkRepository.findById(linkId).ifPresent(link -> {
+                link.setAttempts(link.getAttempts() + 1);
+                link.setLastError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+                if (link.getAttempts() >= maxAttempts) {
+                    link.setStatus(MeetingLink.Status.FAILED);
+                    logger.error("Giving up on inviting the participants of interview {} to {}.", link.getInterviewId(), link.getMeetLink(), e);
+                } else {
+                    logger.warn("Failed to patch meeting link {}, retrying later: {}", linkId, error);
+                }
+            }));
+            return false;
+        }
+    }
+
+    private AssignedEvent loadAssignment(Long linkId) {
+        MeetingLink link = meetingLinkRepository.findById(linkId).orElse(null);
+        if (link == null || link.getStatus() != MeetingLink.Status.CLAIMED || link.getInterviewId() == null) {
+            return null;
+        }
+        Interview interview = interviewRepository.findById(link.getInterviewId()).orElse(null);
+        if (interview == null) {
+            return null;
+        }
+        LocalTime endTime = interview.getEndTime() != null ? interview.getEndTime()
+                : interview.getStartTime().plus(interview.getDuration() != null ? interview.getDuration() : Duration.ofMinutes(60));
+        return new AssignedEvent(link.getEventId(),
+                interview.getInterviewer().getUser().getEmail(), interview.getInterviewee().getUser().getEmail(),
+                interview.getDate().atTime(interview.getStartTime()), interview.getDate().atTime(endTime));
+    }
+
+    private static MeetingLink toLink(MeetEventDto event) {
+        MeetingLink link = new MeetingLink();
+        link.setEventId(event.getEventId());
+        link.setMeetLink(event.getMeetLink());
+        link.setStatus(MeetingLink.Status.AVAILABLE);
+        return link;
+    }
+
+    /**
+     * What the placeholder event of a claimed link is patched with.
+     */
+    private static class AssignedEvent {
+
+        private final String eventId;
+        private final String interviewerEmail;
+        private final String intervieweeEmail;
+        private final LocalDateTime startTime;
+        private final LocalDateTime endTime;
+
+        AssignedEvent(String eventId, String interviewerEmail, String intervieweeEmail,
+                      LocalDateTime startTime, LocalDateTime endTime) {
+            this.eventId = eventId;
+            this.interviewerEmail = interviewerEmail;
+            this.intervieweeEmail = intervieweeEmail;
+            this.startTime = startTime;
+            this.endTime = endTime;
+        }
+    }
+}
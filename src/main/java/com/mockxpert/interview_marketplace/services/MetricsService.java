@@ -0,0 +1,222 @@
+package com.mockxpert.interview_marketplace.services;
+
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Service class that keeps the application metrics and renders them in the Prometheus text format.
+ *
+ * Metrics are named the way Micrometer names them, e.g. http.server.requests, and tagged with
+ * key/value pairs. Timers are histograms with fixed buckets from 5ms to 10s, so latency
+ * percentiles can be computed across instances on the Prometheus side. Recording is lock free,
+ * scraping only reads the adders.
+ *
+ * Tag values must come from a small set, such as URI patterns or outcomes, never IDs.
+ *
+ * @author Umar Mohammad
+ */
+@Service
+public class MetricsService {
+
+    private static final double[] BUCKETS = {0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10};
+
+    private static final String COUNTER = "counter";
+
+    private static final String GAUGE = "gauge";
+
+    private static final String HISTOGRAM = "histogram";
+
+    private final Map<String, Family> families = new ConcurrentSkipListMap<>();
+
+    /**
+     * Increments a counter by one.
+     *
+     * @param name the metric name.
+     * @param tags alternating tag keys and values.
+     */
+    public void increment(String name, String... tags) {
+        ((Counter) family(name, COUNTER).child(tags, Counter::new)).value.increment();
+    }
+
+    /**
+     * Records the duration of an event in a timer.
+     *
+     * @param name  the metric name.
+     * @param nanos the duration in nanoseconds.
+     * @param tags  alternating tag keys and values.
+     */
+    public void recordTime(String name, long nanos, String... tags) {
+        ((Timer) family(name, HISTOGRAM).child(tags, Timer::new)).record(nanos / 1e9);
+    }
+
+    /**
+     * Records the time elapsed since a System.nanoTime() reading.
+     *
+     * @param name    the metric name.
+     * @param started the System.nanoTime() value at the start of the event.
+     * @param tags    alternating tag keys and values.
+     */
+    public void recordSince(String name, long started, String... tags) {
+        recordTime(name, System.nanoTime() - started, tags);
+    }
+
+    /**
+     * Registers a gauge that is read on every scrape, replacing an earlier one with the same tags.
+     *
+     * @param name  the metric name.
+     * @param value supplies the current value.
+     * @param tags  alternating tag keys and values.
+     */
+    public void gauge(String name, DoubleSupplier value, String... tags) {
+        family(name, GAUGE).children.put(labels(tags), new Gauge(value));
+    }
+
+    /**
+     * Renders all metrics in the Prometheus text exposition format, version 0.0.4.
+     *
+     * @return the scrape response body.
+     */
+    public String scrape() {
+        StringBuilder out = new StringBuilder(8192);
+        for (Map.Entry<String, Family> entry : families.entrySet()) {
+            Family family = entry.getValue();
+            String name = sanitize(entry.getKey());
+            if (HISTOGRAM.equals(family.type)) {
+                name += "_seconds";
+            } else if (COUNTER.equals(family.type)) {
+                name += "_total";
+            }
+            out.append("# TYPE ").append(name).append(' ').append(family.type).append('\n');
+            for (Map.Entry<String, Object> child : family.children.entrySet()) {
+                String labels = child.getKey();
+                Object metric = child.getValue();
+                if (metric instanceof Counter counter) {
+                    line(out, name, labels, counter.value.sum());
+                } else if (metric instanceof Gauge gauge) {
+                    line(out, name, labels, gauge.value.getAsDouble());
+                } else if (metric instanceof Timer timer) {
+                    long cumulative = 0;
+                    for (int i = 0; i < BUCKETS.length; i++) {
+                        cumulative += timer.buckets[i].sum();
+                        line(out, name + "_bucket", withLabel(labels, "le", format(BUCKETS[i])), cumulative);
+                    }
+                    cumulative += timer.buckets[BUCKETS.length].sum();
+                    line(out, name + "_bucket", withLabel(labels, "le", "+Inf"), cumulative);
+                    line(out, name + "_count", labels, cumulative);
+                    line(out, name + "_sum", labels, timer.sum.sum());
+                }
+            }
+        }
+        return out.toString();
+    }
+
+    private Family family(String name, String type) {
+        Family family = families.computeIfAbsent(name, key -> new Family(type));
+        if (!family.type.equals(type)) {
+            throw new IllegalArgumentException("Metric " + name + " is already registered as a " + family.type + ".");
+        }
+        return family;
+    }
+
+    private static String labels(String... tags) {
+        if (tags.length % 2 != 0) {
+            throw new IllegalArgumentException("Tags must be key/value pairs.");
+        }
+        StringBuilder labels = new StringBuilder();
+        for (int i = 0; i < tags.length; i += 2) {
+            if (labels.length() > 0) {
+                labels.append(',');
+            }
+            labels.append(sanitize(tags[i])).append("=\"").append(escape(tags[i + 1])).append('"');
+        }
+        return labels.toString();
+    }
+
+    private static String withLabel(String labels, String key, String value) {
+        return (labels.isEmpty() ? "" : labels + ",") + key + "=\"" + value + "\"";
+    }
+
+    private static void line(StringBuilder out, String name, String labels, double value) {
+        out.append(name);
+        if (!labels.isEmpty()) {
+            out.append('{').append(labels).append('}');
+        }
+        out.append(' ').append(format(value)).append('\n');
+    }
+
+    private static String format(double value) {
+        if (Double.isNaN(value)) {
+            return "NaN";
+        }
+        if (Double.isInfinite(value)) {
+            return value > 0 ? "+Inf" : "-Inf";
+        }
+        return value == Math.rint(value) && Math.abs(value) < 1e15 ? String.valueOf((long) value) : String.valueOf(value);
+    }
+
+    private static String sanitize(String name) {
+        return name.replaceAll("[^a-zA-Z0-9_]", "_");
+    }
+
+    private static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static class Family {
+
+        private final String type;
+        private final Map<String, Object> children = new ConcurrentSkipListMap<>();
+
+        Family(String type) {
+            this.type = type;
+        }
+
+        Object child(String[] tags, Supplier<Object> factory) {
+            return children.computeIfAbsent(labels(tags), key -> factory.get());
+        }
+    }
+
+    private static class Counter {
+
+        private final LongAdder value = new LongAdder();
+    }
+
+    private static class Gauge {
+
+        private final DoubleSupplier value;
+
+        Gauge(DoubleSupplier value) {
+            this.value = value;
+        }
+    }
+
+    private static class Timer {
+
+        private final LongAdder[] buckets = new LongAdder[BUCKETS.length + 1];
+        private final DoubleAdder sum = new DoubleAdder();
+
+        Timer() {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        void record(double seconds) {
+            int index = 0;
+            while (index < BUCKETS.length && seconds > BUCKETS[index]) {
+                index++;
+            }
+            buckets[index].increment();
+            sum.add(seconds);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.mockxpert.interview_marketplace.services;
+
+import com.mockxpert.interview_marketplace.entities.Notification;
+import com.mockxpert.interview_marketplace.entities.Notification.NotificationStatus;
+import com.mockxpert.interview_marketplace.entities.User;
+import com.mockxpert.interview_marketplace.repositories.NotificationRepository;
+
+import jakarta.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Service class that coalesces batchable notification emails into digests.
+ *
+ * Notifications rendered from a batchable template are stored as QUEUED instead of being mailed
+ * right away. Once the oldest queued notification of a user has waited for the coalescing window,
+ * everything queued for that user goes out as a single email. Users who opted in to the daily
+ * digest get their queued notifications once a day instead. Transactional templates such as OTPs,
+ * password resets, bookings and payments are never queued. The notifications themselves are
+ * visible in the inbox and on the live stream immediately, only the email is deferred.
+ *
+ * @author Umar Mohammad
+ */
+@Service
+public class NotificationDigestService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationDigestService.class);
+
+    private static final String DIGEST_TEMPLATE = "digest.summary";
+
+    private static final String ITEM_TEMPLATE = "digest.item";
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private EmailTemplateService emailTemplateService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.notifications.digest.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.notifications.digest.window-seconds:300}")
+    private long windowSeconds;
+
+    @Value("${app.notifications.digest.max-items:50}")
+    private int maxItems;
+
+    /**
+     * Template keys that may be batched. An entry ending with a dot matches every key with that prefix.
+     * Security notices such as account changes must never be listed, they are sent right away.
+     */
+    @Value("${app.notifications.digest.templates:availability.,feedback.received}")
+    private List<String> batchableTemplates;
+
+    private final AtomicBoolean sendingDue = new AtomicBoolean(false);
+
+    private final AtomicBoolean sendingDaily = new AtomicBoolean(false);
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Checks whether emails of the given template are collected into a digest instead of being sent right away.
+     *
+     * @param templateKey the email template key.
+     * @return true if the template is batchable.
+     */
+    public boolean isBatchable(String templateKey) {
+        if (!enabled || templateKey == null) {
+            return false;
+        }
+        for (String template : batchableTemplates) {
+            String candidate = template.trim();
+            if (candidate.endsWith(".") ? templateKey.startsWith(candidate) : templateKey.equals(candidate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Sends the digests of all users whose coalescing window has passed.
+     *
+     * @return the number of emails sent.
+     */
+    public int sendDueDigests() {
+        return sendDigests(sendingDue,
+                () -> notificationRepository.findUsersWithDueDigest(LocalDateTime.now().minusSeconds(windowSeconds)));
+    }
+
+    /**
+     * Sends the daily digests of the users who opted in.
+     *
+     * @return the number of emails sent.
+     */
+    public int sendDailyDigests() {
+        return sendDigests(sendingDaily, notificationRepository::findUsersWithDailyDigest);
+    }
+
+    private int sendDigests(AtomicBoolean running, Supplier<List<Long>> users) {
+        if (!running.compareAndSet(false, true)) {
+            logger.debug("Notification digests are already being sent, skipping this run.");
+            return 0;
+        }
+        int sent = 0;
+        try {
+            for (Long userId : users.get()) {
+                try {
+                    Boolean delivered = transactionTemplate.execute(status -> sendDigest(userId));
+                    if (Boolean.TRUE.equals(delivered)) {
+                        sent++;
+                    }
+                } catch (RuntimeException e) {
+                    logger.error("Failed to send notification digest to user {}, it stays queued.", userId, e);
+                }
+            }
+        } finally {
+            running.set(false);
+        }
+        if (sent > 0) {
+            logger.info("Sent {} notification digest emails.", sent);
+        }
+        return sent;
+    }
+
+    /**
+     * Mails what is queued for a user, as the original email when only one notification is queued.
+     * Anything beyond the item limit stays queued for the next run.
+     */
+    private boolean sendDigest(Long userId) {
+        List<Notification> queued = notificationRepository.findByUser_UserIdAndStatusOrderBySentAtAsc(userId, NotificationStatus.QUEUED);
+        if (queued.isEmpty()) {
+            return false;
+        }
+        if (queued.size() > maxItems) {
+            queued = queued.subList(0, maxItems);
+        }
+        User user = queued.get(0).getUser();
+        String language = user.getPreferredLanguage();
+
+        String subject;
+        String content;
+        if (queued.size() == 1) {
+            Notification notification = queued.get(0);
+            subject = notification.getSubject();
+            content = emailTemplateService.renderEmail(subject, notification.getTemplateKey(), paramsOf(notification), language);
+        } else {
+            StringBuilder items = new StringBuilder();
+            for (Notification notification : queued) {
+                items.append(emailTemplateService.renderBody(ITEM_TEMPLATE, EmailTemplateService.params(
+                        "subject", notification.getSubject(),
+                        "body", emailTemplateService.renderBody(notification.getTemplateKey(), paramsOf(notification), language)),
+                        language));
+            }
+            subject = "Your MockXpert updates (" + queued.size() + ")";
+            content = emailTemplateService.renderEmail(subject, DIGEST_TEMPLATE, EmailTemplateService.params(
+                    "firstName", user.getFirstName(),
+                    "count", queued.size(),
+                    "items", items), language);
+        }
+
+        emailService.sendNotificationEmail(user.getEmail(), subject, content);
+        notificationRepository.updateStatus(queued.stream().map(Notification::getNotificationId).collect(Collectors.toList()),
+                NotificationStatus.SENT, queued.get(0).getSentAt());
+        return true;
+    }
+
+    private static Map<String, String> paramsOf(Notification notification) {
+        return notification.getTemplateParams() != null ? notification.getTemplateParams() : Map.of();
+    }
+}
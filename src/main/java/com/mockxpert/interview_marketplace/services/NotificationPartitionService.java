@@ -0,0 +1,216 @@
+package com.mockxpert.interview_marketplace.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Service class that maintains the monthly partitions of the notifications table.
+ *
+ * The table is range partitioned on sent_at with one partition per calendar month, named
+ * notifications_pYYYYMM, and a default partition for rows outside every range. Partitions are
+ * created a few months ahead so inserts never land in the default partition, and partitions that
+ * fall completely before the retention horizon are detached and dropped, which removes old
+ * history without a mass DELETE or any vacuum work.
+ *
+ * @author Umar Mohammad
+ */
+@Service
+public class NotificationPartitionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationPartitionService.class);
+
+    public static final String PARTITION_PREFIX = "notifications_p";
+
+    public static final String DEFAULT_PARTITION = "notifications_default";
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static final LocalDateTime NO_HORIZON = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private static final String LIST_PARTITIONS = """
+            SELECT c.relname
+            FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            WHERE i.inhparent = 'notifications'::regclass
+            ORDER BY c.relname
+            """;
+
+    private static final String RECOUNT_UNREAD = """
+            UPDATE notification_counters
+            SET unread_count = (
+                SELECT count(*) FROM notifications n
+                WHERE n.user_id = notification_counters.user_id AND n.is_read = false AND n.sent_at >= ?
+            ), updated_at = now()
+            WHERE user_id = ?
+            """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${app.notifications.partitioning.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.notifications.partitioning.premake-months:3}")
+    private int premakeMonths;
+
+    /**
+     * Number of full months kept besides the current one. Older partitions are dropped.
+     */
+    @Value("${app.notifications.retention-months:12}")
+    private int retentionMonths;
+
+    /**
+     * @return whether the notifications table is partitioned and retention is applied.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return whether the notifications table already is a partitioned table.
+     */
+    public boolean isPartitioned() {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_partitioned_table WHERE partrelid = to_regclass('notifications')", Integer.class);
+        return count != null && count > 0;
+    }
+
+    /**
+     * Oldest send time that is still within retention. Queries bound sent_at by it so that the
+     * planner skips expired partitions that were not dropped yet.
+     *
+     * @return the first instant of the oldest retained month.
+     */
+    public LocalDateTime getRetentionHorizon() {
+        if (!enabled) {
+            return NO_HORIZON;
+        }
+        return YearMonth.now().minusMonths(retentionMonths).atDay(1).atStartOfDay();
+    }
+
+    /**
+     * Creates the partitions from the given month up to the premake window, and the default partition.
+     *
+     * @param from the first month that needs a partition.
+     * @return the number of partitions created.
+     */
+    public int ensurePartitions(YearMonth from) {
+        int created = 0;
+        YearMonth last = YearMonth.now().plusMonths(premakeMonths);
+        for (YearMonth month = from; !month.isAfter(last); month = month.plusMonths(1)) {
+            String name = partitionName(month);
+            try {
+                Integer exists = jdbcTemplate.queryForObject(
+                        "SELECT count(*) FROM pg_class WHERE relname = ?", Integer.class, name);
+                if (exists != null && exists > 0) {
+                    continue;
+                }
+                jdbcTemplate.execute("CREATE TABLE " + name + " PARTITION OF notifications FOR VALUES FROM ('"
+                        + month.atDay(1).atStartOfDay() + "') TO ('" + month.plusMonths(1).atDay(1).atStartOfDay() + "')");
+                created++;
+            } catch (DataAccessException e) {
+                logger.error("Failed to create notification partition {}.", name, e);
+            }
+        }
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + DEFAULT_PARTITION + " PARTITION OF notifications DEFAULT");
+        if (created > 0) {
+            logger.info("Created {} notification partitions up to {}.", created, last);
+        }
+        return created;
+    }
+
+    /**
+     * Detaches and drops every monthly partition that ends before the retention horizon and removes
+     * expired rows from the default partition.
+     *
+     * Only the counters of users who lost unread rows are touched. Counters only cover rows inside
+     * the retention horizon, and a recount may already have left the expired rows out, so the
+     * affected counters are recounted against the horizon instead of having the removed rows
+     * subtracted twice.
+     *
+     * @return the number of partitions dropped.
+     */
+    public int purgeExpiredPartitions() {
+        YearMonth oldestRetained = YearMonth.from(getRetentionHorizon());
+        Map<Long, Long> removedUnread = new HashMap<>();
+        int dropped = 0;
+        for (String name : jdbcTemplate.queryForList(LIST_PARTITIONS, String.class)) {
+            YearMonth month = monthOf(name);
+            if (month == null || !month.isBefore(oldestRetained)) {
+                continue;
+            }
+            try {
+                jdbcTemplate.execute("ALTER TABLE notifications DETACH PARTITION " + name);
+            } catch (DataAccessException e) {
+                logger.error("Failed to detach expired notification partition {}.", name, e);
+                continue;
+            }
+            jdbcTemplate.query("SELECT user_id, count(*) FROM " + name + " WHERE is_read = false GROUP BY user_id",
+                    rs -> {
+                        removedUnread.merge(rs.getLong(1), rs.getLong(2), Long::sum);
+                    });
+            try {
+                jdbcTemplate.execute("DROP TABLE " + name);
+                dropped++;
+            } catch (DataAccessException e) {
+                logger.error("Failed to drop detached notification partition {}.", name, e);
+            }
+        }
+        List<Long> strayUnread = jdbcTemplate.queryForList("DELETE FROM " + DEFAULT_PARTITION
+                + " WHERE sent_at < ? RETURNING CASE WHEN is_read THEN NULL ELSE user_id END", Long.class, getRetentionHorizon());
+        strayUnread.stream().filter(Objects::nonNull).forEach(userId -> removedUnread.merge(userId, 1L, Long::sum));
+
+        if (!removedUnread.isEmpty()) {
+            LocalDateTime horizon = getRetentionHorizon();
+            List<Object[]> recounts = new ArrayList<>(removedUnread.size());
+            removedUnread.keySet().forEach(userId -> recounts.add(new Object[] {horizon, userId}));
+            jdbcTemplate.batchUpdate(RECOUNT_UNREAD, recounts);
+        }
+        if (dropped > 0 || !strayUnread.isEmpty()) {
+            logger.info("Dropped {} expired notification partitions and {} rows before {}, recounted {} unread counters.",
+                    dropped, strayUnread.size(), oldestRetained, removedUnread.size());
+        }
+        return dropped;
+    }
+
+    /**
+     * Runs the daily maintenance: premakes upcoming partitions and drops expired ones.
+     */
+    public void maintain() {
+        if (!enabled || !isPartitioned()) {
+            return;
+        }
+        ensurePartitions(YearMonth.now());
+        purgeExpiredPartitions();
+    }
+
+    public static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+    }
+
+    private static YearMonth monthOf(String partitionName) {
+        if (!partitionName.startsWith(PARTITION_PREFIX)) {
+            return null;
+        }
+        try {
+            return YearMonth.parse(partitionName.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
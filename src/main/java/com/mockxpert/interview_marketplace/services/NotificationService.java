@@ -1,16 +1,40 @@
 package com.mockxpert.interview_marketplace.services;
 
 import com.mockxpert.interview_marketplace.dto.NotificationDto;
+import com.mockxpert.interview_marketplace.dto.NotificationPageDto;
 import com.mockxpert.interview_marketplace.entities.*;
 import com.mockxpert.interview_marketplace.mappers.NotificationMapper;
 import com.mockxpert.interview_marketplace.repositories.*;
+import com.mockxpert.interview_marketplace.events.NotificationCreatedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 
@@ -22,6 +46,32 @@ import java.util.stream.Collectors;
 @Service
 public class NotificationService {
 
+    private static final int MAX_INBOX_PAGE_SIZE = 100;
+
+    /**
+     * Templates of emails the user is waiting for. Creating one of them fails when the email cannot be delivered.
+     */
+    private static final Set<String> AWAITED_TEMPLATES = Set.of("user.password-reset");
+
+    private static final String ALLOCATE_IDS =
+            "SELECT nextval(pg_get_serial_sequence('notifications', 'notification_id')) FROM generate_series(1, ?)";
+
+    private static final String INSERT_NOTIFICATION = """
+            INSERT INTO notifications (notification_id, user_id, booking_id, interview_id, payment_id, feedback_id,
+                                       notification_type, subject, message, template_key, template_params, status,
+                                       sent_at, read_at, scheduled_send_time, is_read, time_before_interview)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, CAST(? AS jsonb), ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String ADJUST_UNREAD_COUNT = """
+            UPDATE notification_counters
+            SET unread_count = GREATEST(unread_count + ?, 0), updated_at = now()
+            WHERE user_id = ?
+            """;
+
+    @Value("${app.notifications.insert-batch-size:500}")
+    private int insertBatchSize;
+
     @Autowired
     private NotificationRepository notificationRepository;
 
@@ -43,6 +93,27 @@ public class NotificationService {
     @Autowired
     private EmailService emailService;
 
+    @Autowired
+    private EmailTemplateService emailTemplateService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private NotificationCounterRepository notificationCounterRepository;
+
+    @Autowired
+    private NotificationPartitionService notificationPartitionService;
+
+    @Autowired
+    private NotificationDigestService notificationDigestService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     /**
      * Create a new notification.
      *
@@ -51,30 +122,119 @@ public class NotificationService {
      */
     @Transactional
     public NotificationDto createNotification(NotificationDto notificationDto) {
-        User user = userRepository.findById(notificationDto.getUserId())
-                .orElseThrow(() -> new IllegalArgumentException("User not found with ID: " + notificationDto.getUserId()));
-
-        Booking booking = notificationDto.getBookingId() != null ?
-                bookingRepository.findById(notificationDto.getBookingId()).orElse(null) : null;
+        validateContent(notificationDto);
+
+        // The insert itself checks the foreign keys, so the referenced rows are attached as proxies. The
+        // user is still loaded to mail or render a template, unless the caller already has it in this transaction.
+        User user = userRepository.getReferenceById(notificationDto.getUserId());
+        Notification notification = toEntity(notificationDto, user);
+        Notification savedNotification;
+        try {
+            savedNotification = notificationRepository.save(notification);
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalArgumentException("User, booking, interview, payment or feedback not found for notification: "
+                    + notificationDto.getSubject());
+        }
+        if (!savedNotification.isRead()) {
+            notificationCounterRepository.adjustUnreadCount(notificationDto.getUserId(), 1);
+        }
 
-        Interview interview = notificationDto.getInterviewId() != null ?
-                interviewRepository.findById(notificationDto.getInterviewId()).orElse(null) : null;
+        // Queued notifications are mailed later as part of a digest.
+        sendEmailIfDue(savedNotification);
 
-        Payment payment = notificationDto.getPaymentId() != null ?
-                paymentRepository.findById(notificationDto.getPaymentId()).orElse(null) : null;
+        NotificationDto savedDto = toDto(savedNotification);
+        eventPublisher.publishEvent(new NotificationCreatedEvent(savedDto));
+        return savedDto;
+    }
 
-        Feedback feedback = notificationDto.getFeedbackId() != null ?
-                feedbackRepository.findById(notificationDto.getFeedbackId()).orElse(null) : null;
+    /**
+     * Create an email notification from a template. Only the template key and parameters are stored,
+     * the body is rendered in the user's preferred language when it is sent or viewed. Emails of
+     * batchable templates are queued for the user's next digest instead of being sent right away.
+     *
+     * @param userId      the recipient's user ID.
+     * @param subject     the subject of the notification.
+     * @param templateKey the email template key.
+     * @param params      the template parameters.
+     * @return the saved NotificationDto.
+     */
+    @Transactional
+    public NotificationDto createEmailNotification(Long userId, String subject, String templateKey, Map<String, String> params) {
+        return createNotification(emailNotification(userId, subject, templateKey, params));
+    }
 
-        Notification notification = NotificationMapper.toEntity(notificationDto, user, booking, interview, payment, feedback);
-        Notification savedNotification = notificationRepository.save(notification);
+    /**
+     * Create several notifications at once, for fan-out such as both participants of a booking or a
+     * platform announcement. The recipients are loaded in one query, the IDs are taken from the
+     * sequence in one query and the rows are inserted as a JDBC batch.
+     *
+     * @param notificationDtos the notification DTOs.
+     * @return the saved NotificationDtos, in the order given.
+     */
+    @Transactional
+    public List<NotificationDto> createNotifications(List<NotificationDto> notificationDtos) {
+        if (notificationDtos.isEmpty()) {
+            return List.of();
+        }
+        notificationDtos.forEach(this::validateContent);
+
+        Set<Long> userIds = notificationDtos.stream().map(NotificationDto::getUserId).collect(Collectors.toSet());
+        Map<Long, User> users = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getUserId, Function.identity()));
+        userIds.stream().filter(userId -> !users.containsKey(userId)).findFirst().ifPresent(userId -> {
+            throw new IllegalArgumentException("User not found with ID: " + userId);
+        });
+
+        List<Long> ids = jdbcTemplate.queryForList(ALLOCATE_IDS, Long.class, notificationDtos.size());
+        LocalDateTime now = LocalDateTime.now();
+        List<Notification> notifications = new ArrayList<>(notificationDtos.size());
+        Map<Long, Long> unreadByUser = new HashMap<>();
+        for (int i = 0; i < notificationDtos.size(); i++) {
+            NotificationDto notificationDto = notificationDtos.get(i);
+            Notification notification = toEntity(notificationDto, users.get(notificationDto.getUserId()));
+            notification.setNotificationId(ids.get(i));
+            notification.setSentAt(now);
+            notifications.add(notification);
+            if (!notification.isRead()) {
+                unreadByUser.merge(notificationDto.getUserId(), 1L, Long::sum);
+            }
+        }
 
-        if (notification.getType() == Notification.NotificationType.EMAIL) {
-            String emailContent = formatEmailContent(notificationDto.getSubject(), notificationDto.getMessage());
-            emailService.sendNotificationEmail(user.getEmail(), notificationDto.getSubject(), emailContent);
+        jdbcTemplate.batchUpdate(INSERT_NOTIFICATION, notifications, insertBatchSize, this::bindInsert);
+        jdbcTemplate.batchUpdate(ADJUST_UNREAD_COUNT, new ArrayList<>(unreadByUser.entrySet()), insertBatchSize,
+                (ps, entry) -> {
+                    ps.setLong(1, entry.getValue());
+                    ps.setLong(2, entry.getKey());
+                });
+
+        List<NotificationDto> savedDtos = new ArrayList<>(notifications.size());
+        for (Notification notification : notifications) {
+            sendEmailIfDue(notification);
+            NotificationDto savedDto = toDto(notification);
+            eventPublisher.publishEvent(new NotificationCreatedEvent(savedDto));
+            savedDtos.add(savedDto);
         }
+        return savedDtos;
+    }
 
-        return NotificationMapper.toDto(savedNotification);
+    /**
+     * Build an email notification from a template without saving it, for use with {@link #createNotifications(List)}.
+     *
+     * @param userId      the recipient's user ID.
+     * @param subject     the subject of the notification.
+     * @param templateKey the email template key.
+     * @param params      the template parameters.
+     * @return the unsaved NotificationDto.
+     */
+    public NotificationDto emailNotification(Long userId, String subject, String templateKey, Map<String, String> params) {
+        NotificationDto notificationDto = new NotificationDto();
+        notificationDto.setUserId(userId);
+        notificationDto.setSubject(subject);
+        notificationDto.setTemplateKey(templateKey);
+        notificationDto.setTemplateParams(params);
+        notificationDto.setType("EMAIL");
+        notificationDto.setStatus(notificationDigestService.isBatchable(templateKey) ? "QUEUED" : "SENT");
+        return notificationDto;
     }
 
     /**
@@ -83,11 +243,12 @@ public class NotificationService {
      * @param notificationId the ID of the notification.
      * @return the NotificationDto.
      */
+    @Transactional(readOnly = true)
     public NotificationDto getNotificationById(Long notificationId) {
         Notification notification = notificationRepository.findById(notificationId)
                 .orElseThrow(() -> new IllegalArgumentException("Notification not found with ID: " + notificationId));
 
-        return NotificationMapper.toDto(notification);
+        return toDto(notification);
     }
 
     /**
@@ -99,23 +260,28 @@ public class NotificationService {
      */
     @Transactional
     public NotificationDto updateNotification(Long notificationId, NotificationDto notificationDto) {
+        validateContent(notificationDto);
+
         Notification existingNotification = notificationRepository.findById(notificationId)
                 .orElseThrow(() -> new IllegalArgumentException("Notification not found with ID: " + notificationId));
 
-        User user = userRepository.findById(notificationDto.getUserId())
-                .orElseThrow(() -> new IllegalArgumentException("User not found with ID: " + notificationDto.getUserId()));
+        // As on create, the update checks the foreign keys, so the referenced rows are attached as proxies.
+        User user = userRepository.getReferenceById(notificationDto.getUserId());
 
         Booking booking = notificationDto.getBookingId() != null ?
-                bookingRepository.findById(notificationDto.getBookingId()).orElse(null) : null;
+                bookingRepository.getReferenceById(notificationDto.getBookingId()) : null;
 
         Interview interview = notificationDto.getInterviewId() != null ?
-                interviewRepository.findById(notificationDto.getInterviewId()).orElse(null) : null;
+                interviewRepository.getReferenceById(notificationDto.getInterviewId()) : null;
 
         Payment payment = notificationDto.getPaymentId() != null ?
-                paymentRepository.findById(notificationDto.getPaymentId()).orElse(null) : null;
+                paymentRepository.getReferenceById(notificationDto.getPaymentId()) : null;
 
         Feedback feedback = notificationDto.getFeedbackId() != null ?
-                feedbackRepository.findById(notificationDto.getFeedbackId()).orElse(null) : null;
+                feedbackRepository.getReferenceById(notificationDto.getFeedbackId()) : null;
+
+        boolean wasRead = existingNotification.isRead();
+        Long previousUserId = existingNotification.getUser().getUserId();
 
         existingNotification.setUser(user);
         existingNotification.setBooking(booking);
@@ -123,16 +289,32 @@ public class NotificationService {
         existingNotification.setPayment(payment);
         existingNotification.setFeedback(feedback);
         existingNotification.setSubject(notificationDto.getSubject());
-        existingNotification.setMessage(notificationDto.getMessage());
+        existingNotification.setMessage(notificationDto.getTemplateKey() != null ? null : notificationDto.getMessage());
+        existingNotification.setTemplateKey(notificationDto.getTemplateKey());
+        existingNotification.setTemplateParams(notificationDto.getTemplateParams());
         existingNotification.setType(Notification.NotificationType.valueOf(notificationDto.getType()));
         existingNotification.setStatus(Notification.NotificationStatus.valueOf(notificationDto.getStatus()));
         existingNotification.setScheduledSendTime(notificationDto.getScheduledSendTime());
         existingNotification.setRead(notificationDto.isRead());
         existingNotification.setTimeBeforeInterview(notificationDto.getTimeBeforeInterview());
 
-        Notification updatedNotification = notificationRepository.save(existingNotification);
+        Notification updatedNotification;
+        try {
+            updatedNotification = notificationRepository.saveAndFlush(existingNotification);
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalArgumentException("User, booking, interview, payment or feedback not found for notification: "
+                    + notificationDto.getSubject());
+        }
+        if (wasRead != updatedNotification.isRead() || !previousUserId.equals(user.getUserId())) {
+            if (!wasRead) {
+                notificationCounterRepository.adjustUnreadCount(previousUserId, -1);
+            }
+            if (!updatedNotification.isRead()) {
+                notificationCounterRepository.adjustUnreadCount(user.getUserId(), 1);
+            }
+        }
 
-        return NotificationMapper.toDto(updatedNotification);
+        return toDto(updatedNotification);
     }
 
     /**
@@ -146,6 +328,9 @@ public class NotificationService {
                 .orElseThrow(() -> new IllegalArgumentException("Notification not found with ID: " + notificationId));
 
         notificationRepository.delete(notification);
+        if (!notification.isRead()) {
+            notificationCounterRepository.adjustUnreadCount(notification.getUser().getUserId(), -1);
+        }
     }
 
     /**
@@ -154,9 +339,27 @@ public class NotificationService {
      * @param userId the ID of the user.
      * @return a list of NotificationDto.
      */
+    @Transactional(readOnly = true)
     public List<NotificationDto> getNotificationsByUser(Long userId) {
-        return notificationRepository.findByUser_UserId(userId).stream()
-                .map(NotificationMapper::toDto)
+        return notificationRepository.findByUser_UserIdAndSentAtGreaterThanEqual(
+                        userId, notificationPartitionService.getRetentionHorizon()).stream()
+                .map(this::toDto)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Get the notifications of a user created after the given notification, used to resume a live stream.
+     *
+     * @param userId              the ID of the user.
+     * @param afterNotificationId the last notification the client has received.
+     * @param limit               maximum number of notifications.
+     * @return the newer notifications, oldest first.
+     */
+    @Transactional(readOnly = true)
+    public List<NotificationDto> getNotificationsAfter(Long userId, Long afterNotificationId, int limit) {
+        return notificationRepository.findByUser_UserIdAndNotificationIdGreaterThanAndSentAtGreaterThanEqualOrderByNotificationIdAsc(
+                        userId, afterNotificationId, notificationPartitionService.getRetentionHorizon(), PageRequest.of(0, limit)).stream()
+                .map(this::toDto)
                 .collect(Collectors.toList());
     }
 
@@ -170,22 +373,255 @@ public class NotificationService {
         Notification notification = notificationRepository.findById(notificationId)
                 .orElseThrow(() -> new IllegalArgumentException("Notification not found with ID: " + notificationId));
 
+        if (notification.isRead()) {
+            return;
+        }
         notification.setRead(true);
         notification.setReadAt(LocalDateTime.now());
         notificationRepository.save(notification);
+        notificationCounterRepository.adjustUnreadCount(notification.getUser().getUserId(), -1);
     }
-    
+
     /**
-     * Formats notification content.
+     * Get one page of the inbox of a user, newest first.
      *
-     * @param subject and body of the email.
+     * @param userId     the ID of the user.
+     * @param cursor     the cursor returned with the previous page, or null for the first page.
+     * @param size       the page size.
+     * @param unreadOnly whether to return unread notifications only.
+     * @return the page with the cursor of the next page and the unread count.
      */
-    private String formatEmailContent(String subject, String message) {
-        return "<html>" +
-                "<body style='font-family: Arial, sans-serif;'>" +
-                "<p>" + message + "</p>" +
-                "<br><p style='font-size: 12px; color: gray;'>MockXpert Team</p>" +
-                "</body></html>";
+    @Transactional
+    public NotificationPageDto getInbox(Long userId, String cursor, int size, boolean unreadOnly) {
+        if (size < 1 || size > MAX_INBOX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_INBOX_PAGE_SIZE);
+        }
+        Pageable pageable = PageRequest.of(0, size + 1);
+        LocalDateTime since = notificationPartitionService.getRetentionHorizon();
+        List<Notification> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = unreadOnly
+                    ? notificationRepository.findUnreadInboxPage(userId, since, pageable)
+                    : notificationRepository.findInboxPage(userId, since, pageable);
+        } else {
+            InboxCursor position = InboxCursor.decode(cursor);
+            rows = unreadOnly
+                    ? notificationRepository.findUnreadInboxPageBefore(userId, position.sentAt, position.notificationId, since, pageable)
+                    : notificationRepository.findInboxPageBefore(userId, position.sentAt, position.notificationId, since, pageable);
+        }
+
+        boolean hasMore = rows.size() > size;
+        List<Notification> page = hasMore ? rows.subList(0, size) : rows;
+
+        NotificationPageDto pageDto = new NotificationPageDto();
+        pageDto.setItems(page.stream().map(this::toDto).collect(Collectors.toList()));
+        pageDto.setHasMore(hasMore);
+        if (hasMore) {
+            Notification last = page.get(page.size() - 1);
+            pageDto.setNextCursor(new InboxCursor(last.getSentAt(), last.getNotificationId()).encode());
+        }
+        pageDto.setUnreadCount(getUnreadCount(userId));
+        return pageDto;
+    }
+
+    /**
+     * Get the number of unread notifications of a user from the maintained counter.
+     * The counter is initialized from the notifications table the first time it is read.
+     *
+     * @param userId the ID of the user.
+     * @return the unread count.
+     */
+    @Transactional
+    public long getUnreadCount(Long userId) {
+        Optional<NotificationCounter> counter = notificationCounterRepository.findById(userId);
+        if (counter.isPresent()) {
+            return counter.get().getUnreadCount();
+        }
+        notificationCounterRepository.recountUnread(userId, notificationPartitionService.getRetentionHorizon());
+        return notificationCounterRepository.findById(userId).map(NotificationCounter::getUnreadCount).orElse(0L);
+    }
+
+    /**
+     * Mark several notifications of a user as read with a single update.
+     *
+     * @param userId          the ID of the user.
+     * @param notificationIds the notifications to mark, or null/empty to mark all.
+     * @return the number of notifications that changed to read.
+     */
+    @Transactional
+    public int markAsRead(Long userId, Collection<Long> notificationIds) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = notificationPartitionService.getRetentionHorizon();
+        if (notificationIds == null || notificationIds.isEmpty()) {
+            int updated = notificationRepository.markAllAsRead(userId, now, since);
+            notificationCounterRepository.recountUnread(userId, since);
+            return updated;
+        }
+        int updated = notificationRepository.markAsRead(userId, notificationIds, now, since);
+        if (updated > 0) {
+            notificationCounterRepository.adjustUnreadCount(userId, -updated);
+        }
+        return updated;
+    }
+
+    /**
+     * Maps a DTO to a new notification, attaching the referenced rows as proxies so that no lookup
+     * query is needed to set the foreign keys.
+     *
+     * @param notificationDto the notification DTO.
+     * @param user            the recipient.
+     * @return the unsaved notification.
+     */
+    private Notification toEntity(NotificationDto notificationDto, User user) {
+        Booking booking = notificationDto.getBookingId() != null ?
+                bookingRepository.getReferenceById(notificationDto.getBookingId()) : null;
+
+        Interview interview = notificationDto.getInterviewId() != null ?
+                interviewRepository.getReferenceById(notificationDto.getInterviewId()) : null;
+
+        Payment payment = notificationDto.getPaymentId() != null ?
+                paymentRepository.getReferenceById(notificationDto.getPaymentId()) : null;
+
+        Feedback feedback = notificationDto.getFeedbackId() != null ?
+                feedbackRepository.getReferenceById(notificationDto.getFeedbackId()) : null;
+
+        return NotificationMapper.toEntity(notificationDto, user, booking, interview, payment, feedback);
+    }
+
+    /**
+     * Mails an email notification unless it is queued for a digest. The email is rendered now and
+     * handed to the dispatcher after the transaction committed, so a rollback sends nothing.
+     *
+     * @param notification the saved notification.
+     */
+    private void sendEmailIfDue(Notification notification) {
+        if (notification.getType() != Notification.NotificationType.EMAIL
+                || notification.getStatus() == Notification.NotificationStatus.QUEUED) {
+            return;
+        }
+        User user = notification.getUser();
+        String emailContent = notification.getTemplateKey() != null
+                ? emailTemplateService.renderEmail(notification.getSubject(), notification.getTemplateKey(),
+                        notification.getTemplateParams() != null ? notification.getTemplateParams() : Map.of(),
+                        user.getPreferredLanguage())
+                : emailTemplateService.renderEmail(notification.getSubject(), notification.getMessage(),
+                        user.getPreferredLanguage());
+        String to = user.getEmail();
+        String subject = notification.getSubject();
+        boolean awaited = AWAITED_TEMPLATES.contains(notification.getTemplateKey());
+        afterCommit(() -> {
+            CompletableFuture<Void> delivery = emailService.sendNotificationEmail(to, subject, emailContent);
+            if (awaited) {
+                emailService.awaitDelivery(delivery, to);
+            }
+        });
+    }
+
+    /**
+     * Runs an action after the transaction committed, or right away without a transaction. Waiting
+     * for an email there holds no database connection, and an exception still reaches the caller.
+     */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Binds one notification to the batched insert statement.
+     */
+    private void bindInsert(PreparedStatement ps, Notification notification) throws SQLException {
+        ps.setLong(1, notification.getNotificationId());
+        ps.setLong(2, notification.getUser().getUserId());
+        ps.setObject(3, notification.getBooking() != null ? notification.getBooking().getBookingId() : null, Types.BIGINT);
+        ps.setObject(4, notification.getInterview() != null ? notification.getInterview().getInterviewId() : null, Types.BIGINT);
+        ps.setObject(5, notification.getPayment() != null ? notification.getPayment().getPaymentId() : null, Types.BIGINT);
+        ps.setObject(6, notification.getFeedback() != null ? notification.getFeedback().getFeedbackId() : null, Types.BIGINT);
+        ps.setString(7, notification.getType().name());
+        ps.setString(8, notification.getSubject());
+        ps.setString(9, notification.getMessage());
+        ps.setString(10, notification.getTemplateKey());
+        try {
+            ps.setString(11, notification.getTemplateParams() != null
+                    ? objectMapper.writeValueAsString(notification.getTemplateParams()) : null);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid template parameters for notification: " + notification.getSubject(), e);
+        }
+        ps.setString(12, notification.getStatus().name());
+        ps.setObject(13, notification.getSentAt(), Types.TIMESTAMP);
+        ps.setObject(14, notification.getReadAt(), Types.TIMESTAMP);
+        ps.setObject(15, notification.getScheduledSendTime(), Types.TIMESTAMP);
+        ps.setBoolean(16, notification.isRead());
+        ps.setObject(17, notification.getTimeBeforeInterview(), Types.BIGINT);
+    }
+
+    /**
+     * Maps a notification to its DTO, rendering the body of templated notifications in the user's language.
+     * The template key and parameters stay on the server, clients only receive the rendered message.
+     *
+     * @param notification the notification entity.
+     * @return the NotificationDto.
+     */
+    private NotificationDto toDto(Notification notification) {
+        NotificationDto notificationDto = NotificationMapper.toDto(notification);
+        if (notification.getTemplateKey() != null && emailTemplateService.hasTemplate(notification.getTemplateKey())) {
+            notificationDto.setMessage(emailTemplateService.renderBody(notification.getTemplateKey(),
+                    notification.getTemplateParams() != null ? notification.getTemplateParams() : Map.of(),
+                    notification.getUser().getPreferredLanguage()));
+        }
+        return notificationDto;
+    }
+
+    /**
+     * Checks that a notification has either free text content or a known template.
+     *
+     * @param notificationDto the notification DTO.
+     */
+    private void validateContent(NotificationDto notificationDto) {
+        if (notificationDto.getTemplateKey() != null) {
+            if (!emailTemplateService.hasTemplate(notificationDto.getTemplateKey())) {
+                throw new IllegalArgumentException("Unknown notification template: " + notificationDto.getTemplateKey());
+            }
+        } else if (notificationDto.getMessage() == null || notificationDto.getMessage().isBlank()) {
+            throw new IllegalArgumentException("Message content is required");
+        }
+    }
+
+    /**
+     * Position in the inbox, encoded as an opaque URL safe token.
+     */
+    private static class InboxCursor {
+
+        private final LocalDateTime sentAt;
+        private final Long notificationId;
+
+        InboxCursor(LocalDateTime sentAt, Long notificationId) {
+            this.sentAt = sentAt;
+            this.notificationId = notificationId;
+        }
+
+        String encode() {
+            String raw = sentAt + "|" + notificationId;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static InboxCursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.indexOf('|');
+                return new InboxCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                        Long.valueOf(raw.substring(separator + 1)));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid inbox cursor.");
+            }
+        }
     }
 
 }
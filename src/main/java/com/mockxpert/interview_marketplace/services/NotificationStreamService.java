@@ -0,0 +1,385 @@
+package com.mockxpert.interview_marketplace.services;
+
+import com.mockxpert.interview_marketplace.dto.NotificationDto;
+import com.mockxpert.interview_marketplace.events.NotificationCreatedEvent;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service class that pushes new notifications to connected clients over server-sent events.
+ *
+ * Every user with an open stream has a channel holding the connected subscribers and a small
+ * replay buffer of the latest notifications. Each subscriber has its own bounded queue that is
+ * drained on a shared pool, so a slow client never blocks the committing thread or the other
+ * subscribers. A subscriber whose queue overflows is disconnected and catches up through the
+ * Last-Event-ID resume, from the replay buffer when it still covers the gap and from the
+ * database otherwise. While the database replay runs, live notifications for the new subscriber
+ * are held back and sent after it, skipping the ones the replay already contained. A database
+ * replay never takes more than the free part of the queue; when there is more to catch up, the
+ * stream is completed once the replay is sent and the client resumes from the last replayed ID.
+ *
+ * @author Umar Mohammad
+ */
+@Service
+public class NotificationStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationStreamService.class);
+
+    private static final String EVENT_NAME = "notification";
+
+    private static final long RECONNECT_DELAY_MILLIS = 3000;
+
+    /**
+     * Queue slots kept free during a database replay for heartbeats sent meanwhile.
+     */
+    private static final int REPLAY_HEADROOM = 2;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Value("${app.notifications.stream.timeout-ms:1800000}")
+    private long emitterTimeoutMillis;
+
+    @Value("${app.notifications.stream.replay-buffer-size:50}")
+    private int replayBufferSize;
+
+    @Value("${app.notifications.stream.subscriber-buffer-size:100}")
+    private int subscriberBufferSize;
+
+    @Value("${app.notifications.stream.max-subscribers-per-user:5}")
+    private int maxSubscribersPerUser;
+
+    @Value("${app.notifications.stream.channel-retention-ms:300000}")
+    private long channelRetentionMillis;
+
+    @Value("${app.notifications.stream.resume-limit:200}")
+    private int resumeLimit;
+
+    @Value("${app.notifications.stream.threads:4}")
+    private int threads;
+
+    private final Map<Long, Channel> channels = new ConcurrentHashMap<>();
+
+    private ExecutorService senderPool;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger counter = new AtomicInteger();
+        senderPool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "notification-stream-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        channels.values().forEach(channel -> channel.subscribers.forEach(Subscriber::close));
+        channels.clear();
+        senderPool.shutdown();
+        try {
+            senderPool.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Opens a stream for a user and replays what was missed since the given event ID.
+     *
+     * @param userId      the ID of the user.
+     * @param lastEventId the ID of the last notification the client received, or null for a fresh stream.
+     * @return the emitter to return from the controller.
+     */
+    public SseEmitter subscribe(Long userId, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, subscriberBufferSize);
+        subscriber.enqueue(SseEmitter.event().reconnectTime(RECONNECT_DELAY_MILLIS).comment("connected"));
+
+        // Registered inside compute so the heartbeat cannot drop the channel while the subscriber joins.
+        AtomicBoolean replayed = new AtomicBoolean(lastEventId == null);
+        Channel channel = channels.compute(userId, (id, existing) -> {
+            Channel target = existing != null ? existing : new Channel(replayBufferSize);
+            synchronized (target) {
+                if (lastEventId != null) {
+                    List<NotificationDto> missed = target.replayAfter(lastEventId);
+                    if (missed != null) {
+                        missed.forEach(subscriber::deliver);
+                        replayed.set(true);
+                    } else {
+                        subscriber.hold();
+                    }
+                }
+                target.add(subscriber, maxSubscribersPerUser);
+            }
+            return target;
+        });
+
+        emitter.onCompletion(() -> channel.remove(subscriber));
+        emitter.onTimeout(() -> channel.remove(subscriber));
+        emitter.onError(error -> channel.remove(subscriber));
+
+        if (!replayed.get()) {
+            // The replay buffer no longer reaches back to the client's last event.
+            int limit = Math.max(1, Math.min(resumeLimit, subscriber.remainingCapacity() - REPLAY_HEADROOM));
+            List<NotificationDto> missed = List.of();
+            try {
+                missed = notificationService.getNotificationsAfter(userId, lastEventId, limit);
+            } finally {
+                subscriber.release(missed, missed.size() >= limit);
+            }
+        }
+        subscriber.schedule(senderPool);
+        return emitter;
+    }
+
+    /**
+     * Fans a committed notification out to the user's subscribers.
+     *
+     * @param event the notification event.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onNotificationCreated(NotificationCreatedEvent event) {
+        Channel channel = channels.get(event.getUserId());
+        if (channel == null) {
+            return;
+        }
+        NotificationDto notification = event.getNotification();
+        synchronized (channel) {
+            channel.remember(notification);
+            channel.subscribers.forEach(subscriber -> subscriber.deliver(notification));
+        }
+        channel.subscribers.forEach(subscriber -> subscriber.schedule(senderPool));
+    }
+
+    /**
+     * Keeps idle connections open through proxies and drops channels nobody listened to for a while.
+     */
+    @Scheduled(fixedRateString = "${app.notifications.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        long now = System.currentTimeMillis();
+        channels.forEach((userId, channel) -> {
+            if (channel.subscribers.isEmpty()) {
+                channels.computeIfPresent(userId, (id, current) ->
+                        current.subscribers.isEmpty() && now - current.lastActiveAt > channelRetentionMillis ? null : current);
+                return;
+            }
+            channel.lastActiveAt = now;
+            for (Subscriber subscriber : channel.subscribers) {
+                subscriber.enqueue(SseEmitter.event().comment("heartbeat"));
+                subscriber.schedule(senderPool);
+            }
+        });
+    }
+
+    /**
+     * @return number of open streams across all users.
+     */
+    public int getSubscriberCount() {
+        return channels.values().stream().mapToInt(channel -> channel.subscribers.size()).sum();
+    }
+
+    private static SseEmitter.SseEventBuilder toEvent(NotificationDto notification) {
+        return SseEmitter.event()
+                .id(String.valueOf(notification.getNotificationId()))
+                .name(EVENT_NAME)
+                .data(notification);
+    }
+
+    /**
+     * The subscribers and replay buffer of one user. Mutations happen under the channel monitor.
+     */
+    private static class Channel {
+
+        private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+        private final ArrayDeque<NotificationDto> replay;
+        private final int replayCapacity;
+        private Long lastEvictedId;
+        private volatile long lastActiveAt = System.currentTimeMillis();
+
+        Channel(int replayCapacity) {
+            this.replayCapacity = replayCapacity;
+            this.replay = new ArrayDeque<>(replayCapacity);
+        }
+
+        void add(Subscriber subscriber, int maxSubscribers) {
+            subscribers.add(subscriber);
+            while (subscribers.size() > maxSubscribers) {
+                subscribers.remove(0).close();
+            }
+            lastActiveAt = System.currentTimeMillis();
+        }
+
+        void remove(Subscriber subscriber) {
+            subscribers.remove(subscriber);
+            lastActiveAt = System.currentTimeMillis();
+        }
+
+        void remember(NotificationDto notification) {
+            if (replay.size() == replayCapacity) {
+                lastEvictedId = replay.removeFirst().getNotificationId();
+            }
+            replay.addLast(notification);
+        }
+
+        /**
+         * @return the buffered notifications after the given ID, or null when the buffer does not reach back that far.
+         */
+        List<NotificationDto> replayAfter(long lastEventId) {
+            boolean covered = lastEvictedId != null && lastEvictedId == lastEventId;
+            List<NotificationDto> missed = new ArrayList<>();
+            for (NotificationDto notification : replay) {
+                if (notification.getNotificationId() == lastEventId) {
+                    covered = true;
+                } else if (notification.getNotificationId() > lastEventId) {
+                    missed.add(notification);
+                }
+            }
+            return covered ? missed : null;
+        }
+    }
+
+    /**
+     * One open stream with its bounded outbound queue. At most one pool thread drains it at a time.
+     */
+    private static class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> queue;
+        private final AtomicBoolean draining = new AtomicBoolean(false);
+        private volatile boolean closed;
+        private volatile boolean finishing;
+        private List<NotificationDto> held;
+        private boolean heldOverflow;
+
+        Subscriber(SseEmitter emitter, int capacity) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        int remainingCapacity() {
+            return queue.remainingCapacity();
+        }
+
+        void enqueue(SseEmitter.SseEventBuilder event) {
+            if (!closed && !finishing && !queue.offer(event)) {
+                logger.debug("Notification stream buffer full, disconnecting slow subscriber.");
+                close();
+            }
+        }
+
+        synchronized void deliver(NotificationDto notification) {
+            if (held != null) {
+                if (held.size() < queue.remainingCapacity()) {
+                    held.add(notification);
+                } else {
+                    // Committed, so the next resume reads it from the database.
+                    heldOverflow = true;
+                }
+            } else {
+                enqueue(toEvent(notification));
+            }
+        }
+
+        /**
+         * Holds back live notifications until {@link #release} is called.
+         */
+        synchronized void hold() {
+            held = new ArrayList<>();
+        }
+
+        /**
+         * Sends the replayed notifications, then the live ones held back meanwhile that were not part
+         * of the replay. When the replay was cut off, or the held ones do not fit, the live ones are
+         * dropped and the stream completes after the replay, so the client resumes from the database.
+         */
+        synchronized void release(List<NotificationDto> replayed, boolean truncated) {
+            Set<Long> replayedIds = new HashSet<>();
+            for (NotificationDto notification : replayed) {
+                replayedIds.add(notification.getNotificationId());
+                enqueue(toEvent(notification));
+            }
+            List<NotificationDto> live = held;
+            held = null;
+            if (truncated || heldOverflow) {
+                finishing = true;
+                return;
+            }
+            if (live != null) {
+                for (NotificationDto notification : live) {
+                    if (replayedIds.contains(notification.getNotificationId())) {
+                        continue;
+                    }
+                    if (queue.remainingCapacity() == 0) {
+                        finishing = true;
+                        return;
+                    }
+                    enqueue(toEvent(notification));
+                }
+            }
+        }
+
+        void schedule(ExecutorService pool) {
+            if (!closed && (!queue.isEmpty() || finishing) && draining.compareAndSet(false, true)) {
+                pool.execute(() -> drain(pool));
+            }
+        }
+
+        private void drain(ExecutorService pool) {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while (!closed && (event = queue.poll()) != null) {
+                    emitter.send(event);
+                }
+                if (finishing && !closed) {
+                    // The rest of the replay follows on the client's reconnect.
+                    closed = true;
+                    emitter.complete();
+                }
+            } catch (IOException | IllegalStateException e) {
+                closed = true;
+                queue.clear();
+                emitter.completeWithError(e);
+            } finally {
+                draining.set(false);
+            }
+            schedule(pool);
+        }
+
+        void close() {
+            if (!closed) {
+                closed = true;
+                queue.clear();
+                emitter.complete();
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.mockxpert.interview_marketplace.services;
+
+import com.mockxpert.interview_marketplace.dto.HostHttpStatsDto;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Records request counts, failures, concurrency and latency per remote host for the shared
+ * RestTemplate.
+ *
+ * @author Umar Mohammad
+ */
+@Component
+public class OutboundHttpMetrics implements ClientHttpRequestInterceptor {
+
+    private final Map<String, HostStats> hosts = new ConcurrentHashMap<>();
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        HostStats stats = hosts.computeIfAbsent(String.valueOf(request.getURI().getHost()), host -> new HostStats());
+        stats.inFlight.incrementAndGet();
+        long started = System.nanoTime();
+        boolean failed = true;
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            failed = response.getStatusCode().is5xxServerError();
+            return response;
+        } finally {
+            long nanos = System.nanoTime() - started;
+            stats.inFlight.decrementAndGet();
+            stats.requests.increment();
+            stats.nanos.add(nanos);
+            stats.maxNanos.accumulateAndGet(nanos, Math::max);
+            if (failed) {
+                stats.failures.increment();
+            }
+        }
+    }
+
+    /**
+     * @return statistics of every host called so far.
+     */
+    public List<HostHttpStatsDto> getStats() {
+        return hosts.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> entry.getValue().toDto(entry.getKey()))
+                .collect(Collectors.toList());
+    }
+
+    private static class HostStats {
+
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        HostHttpStatsDto toDto(String host) {
+            long count = requests.sum();
+            HostHttpStatsDto dto = new HostHttpStatsDto();
+            dto.setHost(host);
+            dto.setRequests(count);
+            dto.setFailures(failures.sum());
+            dto.setInFlight(inFlight.get());
+            dto.setAverageMillis(count == 0 ? 0 : nanos.sum() / 1e6 / count);
+            dto.setMaxMillis(maxNanos.get() / 1e6);
+            return dto;
+        }
+    }
+}
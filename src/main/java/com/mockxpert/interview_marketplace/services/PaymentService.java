@@ -1,6 +1,6 @@
 package com.mockxpert.interview_marketplace.services;
 
-import com.mockxpert.interview_marketplace.dto.NotificationDto;
+import com.mockxpert.interview_marketplace.dto.MonthlyEarningsDto;
 import com.mockxpert.interview_marketplace.dto.PaymentDto;
 import com.mockxpert.interview_marketplace.entities.*;
 import com.mockxpert.interview_marketplace.entities.Availability.AvailabilityStatus;
@@ -10,8 +10,8 @@ import com.mockxpert.interview_marketplace.mappers.PaymentMapper;
 import com.mockxpert.interview_marketplace.repositories.BookingRepository;
 import com.mockxpert.interview_marketplace.repositories.InterviewRepository;
 import com.mockxpert.interview_marketplace.repositories.IntervieweeRepository;
-import com.mockxpert.interview_marketplace.repositories.InterviewerRepository;
 import com.mockxpert.interview_marketplace.repositories.PaymentRepository;
+import com.google.api.client.googleapis.json.GoogleJsonResponseException;
 import jakarta.persistence.EntityManager;
 import jakarta.servlet.http.HttpServletResponse;
 
@@ -23,10 +23,10 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.io.IOException;
-import java.security.GeneralSecurityException;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import java.math.BigDecimal;
 import java.util.List;
@@ -50,9 +50,6 @@ public class PaymentService {
     @Autowired
     private InterviewRepository interviewRepository;
     
-    @Autowired
-    private InterviewerRepository interviewerRepository;
-    
     @Autowired
     private IntervieweeRepository intervieweeRepository;
 
@@ -68,6 +65,15 @@ public class PaymentService {
     @Autowired
     private GoogleOAuthService googleOAuthService;
 
+    @Autowired
+    private MeetingLinkPoolService meetingLinkPoolService;
+
+    @Autowired
+    private EarningsService earningsService;
+
+    @Autowired
+    private MetricsService metricsService;
+
     // The dedicated meeting account's refresh token from application.properties.
     @Value("${meeting.google.refresh.token}")
     private String dedicatedGoogleRefreshToken;
@@ -113,6 +119,21 @@ public class PaymentService {
      */
     @Transactional    
     public PaymentDto processSuccessfulPayment(String sessionId) {
+        long started = System.nanoTime();
+        String outcome = "error";
+        try {
+            PaymentDto payment = applySuccessfulPayment(sessionId);
+            outcome = "success";
+            return payment;
+        } finally {
+            metricsService.recordSince("payment.success.processing", started, "outcome", outcome);
+        }
+    }
+
+    /**
+     * Marks the payment as paid and schedules the interview, see {@link #processSuccessfulPayment}.
+     */
+    private PaymentDto applySuccessfulPayment(String sessionId) {
         Payment payment = paymentRepository.findByTransactionId(sessionId);
         if (payment == null) {
             throw new ResourceNotFoundException("Payment not found for session ID: " + sessionId);
@@ -125,39 +146,44 @@ public class PaymentService {
 
         payment.setPaymentStatus(Payment.PaymentStatus.PAID);
         paymentRepository.save(payment);
+        earningsService.recordPaid(payment);
 
         Booking booking = payment.getBooking();
         booking.setPaymentStatus(PaymentStatus.PAID);
         booking.getAvailability().setStatus(AvailabilityStatus.BOOKED);
 
+        if (interviewRepository.existsByBooking_BookingId(booking.getBookingId())) {
+            logger.warn("Interview already scheduled for Booking ID: {}", booking.getBookingId());
+        } else {
+            scheduleInterview(booking, payment);
+        }
+
+        // Last, so an attempt that fails on the Meet link creates no confirmations.
         String bookingDate = booking.getBookingDate().toString(); 
         String intervieweeName = booking.getInterviewee().getUser().getFullName();
         String interviewerName = booking.getAvailability().getInterviewer().getUser().getFullName();
 
-        String subjectInterviewee = String.format("Payment Successful: Your Booking on %s is Confirmed", bookingDate);
-        String messageInterviewee = String.format(
-                "Dear %s,<br/><br/>Your payment for your booking on %s has been successfully processed. " +
-                "Your interview with %s is now confirmed. We look forward to a great session!",
-                intervieweeName, bookingDate, interviewerName);
-        sendPaymentNotification(booking.getInterviewee().getUser().getUserId(), subjectInterviewee, messageInterviewee);
+        Map<String, String> params = EmailTemplateService.params("bookingDate", bookingDate,
+                "intervieweeName", intervieweeName, "interviewerName", interviewerName);
 
+        String subjectInterviewee = String.format("Payment Successful: Your Booking on %s is Confirmed", bookingDate);
         String subjectInterviewer = String.format("Booking Confirmed: Interview Scheduled on %s", bookingDate);
-        String messageInterviewer = String.format(
-                "Dear %s,<br/><br/>A new booking has been confirmed for your interview session on %s with %s. " +
-                "Please prepare for your upcoming interview.",
-                interviewerName, bookingDate, intervieweeName);
-        
-        sendPaymentNotification(booking.getAvailability().getInterviewer().getUser().getUserId(), subjectInterviewer, messageInterviewer);
+        notificationService.createNotifications(List.of(
+                notificationService.emailNotification(booking.getInterviewee().getUser().getUserId(), subjectInterviewee,
+                        "payment.succeeded.interviewee", params),
+                notificationService.emailNotification(booking.getAvailability().getInterviewer().getUser().getUserId(), subjectInterviewer,
+                        "payment.confirmed.interviewer", params)));
 
-        if (interviewRepository.existsByBooking_BookingId(booking.getBookingId())) {
-            logger.warn("Interview already scheduled for Booking ID: {}", booking.getBookingId());
-            return PaymentMapper.toDto(payment);
-        }
+        return PaymentMapper.toDto(payment);
+    }
 
-        if (dedicatedGoogleRefreshToken == null || dedicatedGoogleRefreshToken.isEmpty()) {
-            throw new RuntimeException("Dedicated Google refresh token is not configured.");
-        }
-        String accessToken = googleOAuthService.getAccessTokenFromRefreshToken(dedicatedGoogleRefreshToken);
+    /**
+     * Creates the interview of a paid booking with a pooled or freshly created Meet link.
+     *
+     * @param booking the paid booking.
+     * @param payment the payment of the booking.
+     */
+    private void scheduleInterview(Booking booking, Payment payment) {
 
         String interviewerFirstName = booking.getAvailability().getInterviewer().getUser().getFirstName();
         String intervieweeFirstName = booking.getInterviewee().getUser().getFirstName();
@@ -173,6 +199,37 @@ public class PaymentService {
         interview.setTimezone(booking.getAvailability().getTimezone());
         interview.setTitle("Mock Interview between " + interviewerFirstName + " and " + intervieweeFirstName);
 
+        // A pooled link makes the confirmation independent of Google, the invites follow after commit.
+        MeetingLink pooledLink = meetingLinkPoolService.claim();
+        if (pooledLink != null) {
+            interview.setInterviewLink(pooledLink.getMeetLink());
+        } else {
+            interview.setInterviewLink(createMeetLink(booking));
+        }
+
+        Interview savedInterview = interviewRepository.save(interview);
+        if (pooledLink != null) {
+            meetingLinkPoolService.assign(pooledLink, savedInterview);
+        }
+        payment.setInterview(savedInterview);
+        paymentRepository.save(payment);
+
+        logger.info("Interview successfully scheduled for Booking ID: {} with Meet Link: {}",
+                booking.getBookingId(), savedInterview.getInterviewLink());
+    }
+
+    /**
+     * Creates the Google Meet event of a booking synchronously, used when the link pool is empty.
+     *
+     * @param booking the paid booking.
+     * @return the Meet link.
+     */
+    private String createMeetLink(Booking booking) {
+        if (dedicatedGoogleRefreshToken == null || dedicatedGoogleRefreshToken.isEmpty()) {
+            throw new RuntimeException("Dedicated Google refresh token is not configured.");
+        }
+        String accessToken = googleOAuthService.getAccessTokenFromRefreshToken(dedicatedGoogleRefreshToken);
+
         try {
             String intervieweeEmail = booking.getInterviewee().getUser().getEmail();
             String interviewerEmail = booking.getAvailability().getInterviewer().getUser().getEmail();
@@ -180,7 +237,7 @@ public class PaymentService {
             LocalDateTime startTime = booking.getBookingDate().atTime(booking.getAvailability().getStartTime());
             LocalDateTime endTime = booking.getBookingDate().atTime(booking.getAvailability().getEndTime());
 
-            String meetLink = googleCalendarService.createGoogleMeetEvent(
+            return googleCalendarService.createGoogleMeetEvent(
                     accessToken,
                     "Mock Interview",
                     "Scheduled interview",
@@ -189,21 +246,14 @@ public class PaymentService {
                     startTime,
                     endTime
             );
-
-            interview.setInterviewLink(meetLink);
-        } catch (IOException | GeneralSecurityException e) {
+        } catch (IOException e) {
+            if (e instanceof GoogleJsonResponseException && ((GoogleJsonResponseException) e).getStatusCode() == 401) {
+                // The cached access token was revoked, the next attempt fetches a new one.
+                googleOAuthService.invalidate(dedicatedGoogleRefreshToken);
+            }
             logger.error("Failed to schedule Google Meet event for Booking ID: {}", booking.getBookingId(), e);
             throw new RuntimeException("Google Meet scheduling failed", e);
         }
-
-        Interview savedInterview = interviewRepository.save(interview);
-        payment.setInterview(savedInterview);
-        paymentRepository.save(payment);
-
-        logger.info("Interview successfully scheduled for Booking ID: {} with Meet Link: {}",
-                booking.getBookingId(), savedInterview.getInterviewLink());
-
-        return PaymentMapper.toDto(payment);
     }
 
     /**
@@ -245,11 +295,19 @@ public class PaymentService {
         if (paymentDto.getPaymentMethod() != null) {
             payment.setPaymentMethod(paymentDto.getPaymentMethod());
         }
+        Payment.PaymentStatus previousStatus = payment.getPaymentStatus();
         if (paymentDto.getPaymentStatus() != null) {
             payment.setPaymentStatus(Payment.PaymentStatus.valueOf(paymentDto.getPaymentStatus()));
         }
 
         Payment updatedPayment = paymentRepository.save(payment);
+        if (previousStatus != updatedPayment.getPaymentStatus()) {
+            if (updatedPayment.getPaymentStatus() == Payment.PaymentStatus.PAID) {
+                earningsService.recordPaid(updatedPayment);
+            } else if (updatedPayment.getPaymentStatus() == Payment.PaymentStatus.REFUNDED) {
+                earningsService.recordRefund(updatedPayment);
+            }
+        }
         return PaymentMapper.toDto(updatedPayment);
     }
 
@@ -289,100 +347,49 @@ public class PaymentService {
 
         payment.setPaymentStatus(Payment.PaymentStatus.REFUNDED);
         paymentRepository.save(payment);
+        earningsService.recordRefund(payment);
 
         String bookingDate = payment.getBooking().getBookingDate().toString();
         String intervieweeName = payment.getBooking().getInterviewee().getUser().getFullName();
         String subject = String.format("Refund Processed: Booking on %s", bookingDate);
-        String message = String.format(
-                "Dear %s,<br/><br/>Your payment for your booking on %s has been refunded. " +
-                "If you have any questions, please contact our support team.<br/><br/>Best regards,<br/>MockXpert Team",
-                intervieweeName, bookingDate);
-        sendPaymentNotification(payment.getBooking().getInterviewee().getUser().getUserId(), subject, message);
+        sendPaymentNotification(payment.getBooking().getInterviewee().getUser().getUserId(), subject, "payment.refunded",
+                EmailTemplateService.params("intervieweeName", intervieweeName, "bookingDate", bookingDate));
     }
     
     /**
-     * Helper method to send payment-related notifications using a beautiful HTML email template.
+     * Helper method to send payment-related notifications using the shared email templates.
      *
-     * @param userId       The recipient's user ID.
-     * @param subject      The subject for the notification email.
-     * @param plainMessage The plain text message content, which will be wrapped in a styled HTML template.
+     * @param userId      The recipient's user ID.
+     * @param subject     The subject for the notification email.
+     * @param templateKey The email template to render.
+     * @param params      The template parameters.
      */
-    private void sendPaymentNotification(Long userId, String subject, String plainMessage) {
-        // Build the full HTML email message using the helper method.
-        String htmlMessage = buildHtmlEmail(subject, plainMessage);
-
-        NotificationDto notificationDto = new NotificationDto();
-        notificationDto.setUserId(userId);
-        notificationDto.setSubject(subject);
-        notificationDto.setMessage(htmlMessage);
-        notificationDto.setType("EMAIL");
-        notificationDto.setStatus("SENT");
-
-        notificationService.createNotification(notificationDto);
+    private void sendPaymentNotification(Long userId, String subject, String templateKey, Map<String, String> params) {
+        notificationService.createEmailNotification(userId, subject, templateKey, params);
     }
     
     
-    /**
-     * Helper method to construct a full HTML email template (using the MockXpert theme) that wraps the content.
-     *
-     * @param headerTitle The header title to show in the email (typically the subject).
-     * @param content     The HTML content (with dynamic data) for the email body.
-     * @return A complete HTML string representing the email.
-     */
-    private String buildHtmlEmail(String headerTitle, String content) {
-        return String.format(
-            "<!DOCTYPE html>" +
-            "<html>" +
-              "<head>" +
-                "<meta charset=\"UTF-8\">" +
-                "<title>%s</title>" +
-              "</head>" +
-              "<body style=\"margin: 0; padding: 0; background-color: #f4f4f4; font-family: Arial, sans-serif;\">" +
-                "<table border=\"0\" cellpadding=\"0\" cellspacing=\"0\" width=\"100%%\">" +
-                  "<tr>" +
-                    "<td align=\"center\" style=\"padding: 20px 10px;\">" +
-                      "<table border=\"0\" cellpadding=\"0\" cellspacing=\"0\" width=\"600\" " +
-                        "style=\"background-color: #ffffff; border-radius: 8px; overflow: hidden; " +
-                        "box-shadow: 0 2px 8px rgba(0,0,0,0.1);\">" +
-                        "<tr>" +
-                          "<td align=\"center\" bgcolor=\"#6366f1\" " +
-                            "style=\"padding: 30px 0; color: #ffffff; font-size: 28px; font-weight: bold;\">" +
-                            "MockXpert" +
-                          "</td>" +
-                        "</tr>" +
-                        "<tr>" +
-                          "<td style=\"padding: 40px 30px; color: #333333;\">" +
-                            "<p style=\"margin: 20px 0 0 0; font-size: 16px; line-height: 1.5;\">%s</p>" +
-                          "</td>" +
-                        "</tr>" +
-                        "<tr>" +
-                          "<td align=\"center\" bgcolor=\"#f4f4f4\" " +
-                            "style=\"padding: 20px; font-size: 12px; color: #777777;\">" +
-                            "© 2025 MockXpert. All rights reserved." +
-                          "</td>" +
-                        "</tr>" +
-                      "</table>" +
-                    "</td>" +
-                  "</tr>" +
-                "</table>" +
-              "</body>" +
-            "</html>", headerTitle, content);
-    }
     
     
     /**
-     * Get the total earnings for an interviewer.
+     * Get the total earnings for an interviewer from the earnings ledger.
      *
-     * @param interviewerId the ID of the interviewer.
+     * @param userId the user ID of the interviewer.
      * @return total earnings amount as BigDecimal.
      */
     public BigDecimal getTotalEarningsForInterviewer(Long userId) {
-    	long interviewerId = interviewerRepository.findByUser_UserId(userId).get().getInterviewerId();
-        return paymentRepository.findAll().stream()
-            .filter(payment -> payment.getPaymentStatus() == Payment.PaymentStatus.PAID)
-            .filter(payment -> payment.getBooking().getAvailability().getInterviewer().getInterviewerId().equals(interviewerId))
-            .map(Payment::getAmount) 
-            .reduce(BigDecimal.ZERO, BigDecimal::add); 
+        return earningsService.getTotalEarnings(userId);
+    }
+
+    /**
+     * Get the monthly earnings for an interviewer from the earnings ledger.
+     *
+     * @param userId the user ID of the interviewer.
+     * @param months the number of months to return.
+     * @return the monthly earnings, latest month first.
+     */
+    public List<MonthlyEarningsDto> getMonthlyEarningsForInterviewer(Long userId, int months) {
+        return earningsService.getMonthlyEarnings(userId, months);
     }
     
     /**
@@ -0,0 +1,146 @@
+package com.mockxpert.interview_marketplace.services;
+
+import com.mockxpert.interview_marketplace.dto.TokenCacheStatsDto;
+import com.mockxpert.interview_marketplace.dto.UserPrincipal;
+import com.mockxpert.interview_marketplace.repositories.UserRepository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Service class that caches the resolved principal of a Firebase UID for a short time.
+ *
+ * The authentication filter resolves the UID of every request into a principal carrying the
+ * user ID, role and the interviewer and interviewee IDs, so services read the current user from
+ * the security context instead of the database. Entries live for
+ * app.security.principal-cache.ttl-seconds, 10 by default, and are dropped whenever the user,
+ * their status or their interviewer or interviewee profile changes; the drop is repeated after
+ * commit so a concurrent request cannot cache the state before the change.
+ *
+ * The cache and its invalidation are local to each instance. Another instance keeps serving the
+ * old role or status, e.g. of a suspended user, until its entry expires, so the TTL is the upper
+ * bound of that staleness window across the cluster.
+ *
+ * @author Umar Mohammad
+ */
+@Service
+public class PrincipalCache {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${app.security.principal-cache.ttl-seconds:10}")
+    private long ttlSeconds;
+
+    @Value("${app.security.principal-cache.max-size:10000}")
+    private int maxSize;
+
+    private final Map<String, Entry> principals = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Resolves a Firebase UID into its principal.
+     *
+     * @param firebaseUid the Firebase UID.
+     * @return the principal, or null when no user has this UID.
+     */
+    public UserPrincipal resolve(String firebaseUid) {
+        long now = System.nanoTime();
+        Entry cached = principals.get(firebaseUid);
+        if (cached != null && now - cached.loadedAt < TimeUnit.SECONDS.toNanos(ttlSeconds)) {
+            hits.increment();
+            return cached.principal;
+        }
+        misses.increment();
+        UserPrincipal principal = userRepository.findPrincipalByFirebaseUid(firebaseUid).orElse(null);
+        if (principal == null) {
+            principals.remove(firebaseUid);
+            return null;
+        }
+        if (principals.size() >= maxSize) {
+            evict(now);
+        }
+        principals.put(firebaseUid, new Entry(principal, now));
+        return principal;
+    }
+
+    /**
+     * Drops the cached principal of a user, now and after the current transaction commits.
+     *
+     * @param userId the user ID.
+     */
+    public void invalidateUser(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        removeUser(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    removeUser(userId);
+                }
+            });
+        }
+    }
+
+    /**
+     * Returns a snapshot of the cache counters.
+     *
+     * @return size, hit rate and eviction statistics.
+     */
+    public TokenCacheStatsDto getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        TokenCacheStatsDto stats = new TokenCacheStatsDto();
+        stats.setSize(principals.size());
+        stats.setMaxSize(maxSize);
+        stats.setHits(hitCount);
+        stats.setMisses(missCount);
+        stats.setHitRate(hitCount + missCount == 0 ? 0 : (double) hitCount / (hitCount + missCount));
+        stats.setEvictions(evictions.sum());
+        return stats;
+    }
+
+    private void removeUser(Long userId) {
+        principals.values().removeIf(entry -> userId.equals(entry.principal.getUserId()));
+    }
+
+    private void evict(long now) {
+        int before = principals.size();
+        long ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        principals.values().removeIf(entry -> now - entry.loadedAt >= ttlNanos);
+        int target = maxSize - Math.max(1, maxSize / 10);
+        Iterator<Entry> iterator = principals.values().iterator();
+        while (principals.size() > target && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+        evictions.add(Math.max(0, before - principals.size()));
+    }
+
+    private static class Entry {
+
+        private final UserPrincipal principal;
+        private final long loadedAt;
+
+        Entry(UserPrincipal principal, long loadedAt) {
+            this.principal = principal;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
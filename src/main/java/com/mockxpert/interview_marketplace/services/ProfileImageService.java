@@ -0,0 +1,336 @@
+package com.mockxpert.interview_marketplace.services;
+
+import com.mockxpert.interview_marketplace.dto.ProfileImageDto;
+import com.mockxpert.interview_marketplace.exceptions.BadRequestException;
+import com.mockxpert.interview_marketplace.exceptions.InternalServerErrorException;
+import com.mockxpert.interview_marketplace.exceptions.ResourceNotFoundException;
+import com.mockxpert.interview_marketplace.repositories.InterviewerRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service class that stores uploaded profile images and their thumbnails.
+ *
+ * The upload is streamed to a temporary file while it is hashed and counted, so an oversized
+ * file is rejected after at most the size limit was read. The dimensions are read from the image
+ * header without decoding the pixels. Images are stored unchanged under their SHA-256 hash, so
+ * the same picture uploaded twice is stored once, and only the profile image column of the
+ * interviewer is updated.
+ *
+ * Thumbnails are generated on a small bounded pool after the upload returned. Decoding for a
+ * thumbnail uses source subsampling, so a large photo never has to be held in memory at full
+ * resolution.
+ *
+ * @author Umar Mohammad
+ */
+@Service
+public class ProfileImageService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProfileImageService.class);
+
+    /**
+     * Accepted image formats, by ImageIO format name, and the file extension they are stored with.
+     */
+    private static final Map<String, String> EXTENSIONS = Map.of("png", "png", "jpeg", "jpg", "gif", "gif");
+
+    @Autowired
+    private InterviewerRepository interviewerRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.uploads.image-dir:uploads/images}")
+    private String imageDir;
+
+    @Value("${app.uploads.image-url-prefix:/images/}")
+    private String imageUrlPrefix;
+
+    @Value("${app.uploads.max-image-bytes:5242880}")
+    private long maxImageBytes;
+
+    @Value("${app.uploads.max-image-dimension:4096}")
+    private int maxImageDimension;
+
+    @Value("${app.uploads.thumbnail-sizes:64,128,256}")
+    private List<Integer> thumbnailSizes;
+
+    @Value("${app.uploads.thumbnail-threads:2}")
+    private int thumbnailThreads;
+
+    @Value("${app.uploads.thumbnail-queue:100}")
+    private int thumbnailQueue;
+
+    private Path directory;
+
+    private ThreadPoolExecutor thumbnailPool;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() throws IOException {
+        directory = Paths.get(imageDir).toAbsolutePath().normalize();
+        Files.createDirectories(directory);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        AtomicInteger counter = new AtomicInteger();
+        thumbnailPool = new ThreadPoolExecutor(thumbnailThreads, thumbnailThreads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(thumbnailQueue), runnable -> {
+                    Thread thread = new Thread(runnable, "profile-thumbnails-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, (task, pool) -> logger.warn("Thumbnail queue is full, skipping thumbnails for one upload."));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        thumbnailPool.shutdown();
+        try {
+            thumbnailPool.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return the directory images are stored in.
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Stores an uploaded image and makes it the profile image of the interviewer of a user.
+     *
+     * @param userId the ID of the interviewer's user.
+     * @param file   the uploaded image.
+     * @return the stored image and the URLs its thumbnails will be available at.
+     */
+    public ProfileImageDto storeProfileImage(Long userId, MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            throw new BadRequestException("No image was uploaded.");
+        }
+        if (file.getSize() > maxImageBytes) {
+            throw new BadRequestException("Image is larger than " + maxImageBytes + " bytes.");
+        }
+
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(directory, "upload-", ".part");
+            String hash = copyAndHash(file, temp);
+            ImageInfo info = readImageInfo(temp);
+
+            String fileName = hash + "." + info.extension;
+            Path target = directory.resolve(fileName);
+            boolean deduplicated = Files.exists(target);
+            if (!deduplicated) {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            }
+            String url = imageUrlPrefix + fileName;
+
+            Integer updated = transactionTemplate.execute(status -> interviewerRepository.updateProfileImageByUserId(userId, url));
+            if (updated == null || updated == 0) {
+                throw new ResourceNotFoundException("Interviewer not found for user ID: " + userId);
+            }
+
+            Map<Integer, String> thumbnails = new TreeMap<>();
+            for (Integer size : thumbnailSizes) {
+                thumbnails.put(size, imageUrlPrefix + thumbnailName(hash, size, info.extension));
+            }
+            thumbnailPool.execute(() -> generateThumbnails(target, hash, info.extension));
+
+            ProfileImageDto dto = new ProfileImageDto();
+            dto.setUrl(url);
+            dto.setContentHash(hash);
+            dto.setWidth(info.width);
+            dto.setHeight(info.height);
+            dto.setDeduplicated(deduplicated);
+            dto.setThumbnails(thumbnails);
+            return dto;
+        } catch (IOException e) {
+            throw new InternalServerErrorException("Failed to store image: " + e.getMessage());
+        } finally {
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException e) {
+                    logger.warn("Failed to delete temporary upload {}.", temp);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param hash      the content hash of the image.
+     * @param size      the thumbnail edge length in pixels.
+     * @param extension the extension of the image.
+     * @return the file name of the thumbnail.
+     */
+    public static String thumbnailName(String hash, int size, String extension) {
+        return hash + "-" + size + "." + extension;
+    }
+
+    /**
+     * Copies the upload to a file, counting and hashing the bytes on the way.
+     */
+    private String copyAndHash(MultipartFile file, Path destination) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        byte[] buffer = new byte[64 * 1024];
+        long total = 0;
+        try (InputStream in = file.getInputStream(); OutputStream out = Files.newOutputStream(destination)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                total += read;
+                if (total > maxImageBytes) {
+                    throw new BadRequestException("Image is larger than " + maxImageBytes + " bytes.");
+                }
+                digest.update(buffer, 0, read);
+                out.write(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Reads format and dimensions from the image header without decoding the pixels.
+     */
+    private ImageInfo readImageInfo(Path path) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(path.toFile())) {
+            Iterator<ImageReader> readers = input == null ? null : ImageIO.getImageReaders(input);
+            if (readers == null || !readers.hasNext()) {
+                throw new BadRequestException("Unsupported image format.");
+            }
+            ImageReader reader = readers.next();
+            try {
+                String extension = EXTENSIONS.get(reader.getFormatName().toLowerCase(Locale.ROOT));
+                if (extension == null) {
+                    throw new BadRequestException("Unsupported image format: " + reader.getFormatName());
+                }
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if (width > maxImageDimension || height > maxImageDimension) {
+                    throw new BadRequestException("Image must not be larger than " + maxImageDimension + " pixels on either side.");
+                }
+                return new ImageInfo(extension, width, height);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private void generateThumbnails(Path source, String hash, String extension) {
+        for (Integer size : thumbnailSizes) {
+            Path target = directory.resolve(thumbnailName(hash, size, extension));
+            if (Files.exists(target)) {
+                continue;
+            }
+            Path temp = null;
+            try {
+                BufferedImage thumbnail = scale(readSubsampled(source, size), size);
+                temp = Files.createTempFile(directory, "thumb-", ".part");
+                ImageIO.write(thumbnail, "jpg".equals(extension) ? "jpeg" : extension, temp.toFile());
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException | RuntimeException e) {
+                logger.error("Failed to generate {}px thumbnail for image {}.", size, hash, e);
+            } finally {
+                if (temp != null) {
+                    try {
+                        Files.deleteIfExists(temp);
+                    } catch (IOException e) {
+                        logger.warn("Failed to delete temporary thumbnail {}.", temp);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Decodes the image, skipping pixels so that the result is at most about twice the target size.
+     */
+    private BufferedImage readSubsampled(Path source, int size) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(source.toFile())) {
+            ImageReader reader = ImageIO.getImageReaders(input).next();
+            try {
+                reader.setInput(input, true, true);
+                int longest = Math.max(reader.getWidth(0), reader.getHeight(0));
+                int step = Math.max(1, longest / (size * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static BufferedImage scale(BufferedImage image, int size) {
+        double factor = Math.min(1.0, (double) size / Math.max(image.getWidth(), image.getHeight()));
+        int width = Math.max(1, (int) Math.round(image.getWidth() * factor));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * factor));
+        int type = image.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage scaled = new BufferedImage(width, height, type);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    private static class ImageInfo {
+
+        private final String extension;
+        private final int width;
+        private final int height;
+
+        ImageInfo(String extension, int width, int height) {
+            this.extension = extension;
+            this.width = width;
+            this.height = height;
+        }
+    }
+}
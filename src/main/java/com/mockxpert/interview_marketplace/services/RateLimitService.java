@@ -0,0 +1,237 @@
+package com.mockxpert.interview_marketplace.services;
+
+import com.mockxpert.interview_marketplace.dto.RateLimitStatsDto;
+import com.mockxpert.interview_marketplace.exceptions.TooManyRequestsException;
+import com.mockxpert.interview_marketplace.utils.TokenBucket;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Service class that rate limits the unauthenticated endpoints that trigger expensive work, such
+ * as password hashing, Firebase calls and OTP emails.
+ *
+ * Every policy limits requests per client IP and per account, i.e. email address or user ID, each
+ * with its own lock-free token bucket. Buckets are created on first use and dropped again once
+ * they have refilled completely, since a full bucket behaves exactly like a new one. IPv6 clients
+ * are keyed by their /64 prefix, since a single host usually controls the whole prefix.
+ *
+ * The number of keys is bounded: when the map is full, refilled buckets are swept right away, and
+ * if it is still full new accounts are only limited per IP and new IPs share one overflow bucket
+ * per policy until space frees up. Clients that are already tracked keep their own buckets, so a
+ * spray of fresh addresses only throttles itself and other newcomers.
+ *
+ * Limits are configured per policy under app.rate-limit.&lt;policy&gt;.ip and
+ * app.rate-limit.&lt;policy&gt;.account as rate-per-minute and burst.
+ *
+ * @author Umar Mohammad
+ */
+@Service
+public class RateLimitService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitService.class);
+
+    public static final String LOGIN = "login";
+
+    public static final String REGISTER = "register";
+
+    public static final String PASSWORD_RESET = "password-reset";
+
+    public static final String OTP_SEND = "otp-send";
+
+    public static final String OTP_VERIFY = "otp-verify";
+
+    private static final String IP = "ip";
+
+    private static final String ACCOUNT = "account";
+
+    private static final String OVERFLOW_KEY = "*";
+
+    private static final Pattern IPV6_LITERAL = Pattern.compile("\\[?[0-9A-Fa-f:][0-9A-Fa-f:.]*]?");
+
+    /**
+     * Default rate per minute and burst of each policy, for the IP and the account dimension.
+     */
+    private static final Map<String, double[]> DEFAULTS = Map.of(
+            LOGIN, new double[] { 30, 10, 10, 5 },
+            REGISTER, new double[] { 5, 5, 3, 3 },
+            PASSWORD_RESET, new double[] { 5, 5, 2, 2 },
+            OTP_SEND, new double[] { 10, 5, 2, 3 },
+            OTP_VERIFY, new double[] { 30, 10, 5, 5 });
+
+    @Autowired
+    private Environment environment;
+
+    @Value("${app.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.rate-limit.max-keys:100000}")
+    private int maxKeys;
+
+    /**
+     * Only enable behind a proxy that overwrites the header, clients can send any value otherwise.
+     */
+    @Value("${app.rate-limit.trust-forwarded-for:false}")
+    private boolean trustForwardedFor;
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    private final Map<String, LongAdder> allowed = new ConcurrentHashMap<>();
+
+    private final Map<String, LongAdder> rejected = new ConcurrentHashMap<>();
+
+    private final LongAdder evictions = new LongAdder();
+
+    private final LongAdder overflowed = new LongAdder();
+
+    /**
+     * Sweeps when the map is full run at most once a second, the scheduled sweep handles the rest.
+     */
+    private final AtomicLong lastFullSweep = new AtomicLong(System.nanoTime() - TimeUnit.SECONDS.toNanos(1));
+
+    /**
+     * Takes a token for the client IP and, if given, for the account of a request.
+     *
+     * @param policy  the policy name.
+     * @param request the HTTP request, used for the client IP.
+     * @param account the email address or user ID the request is about, or null.
+     * @throws TooManyRequestsException when either limit is exhausted.
+     */
+    public void checkLimit(String policy, HttpServletRequest request, Object account) {
+        if (!enabled) {
+            return;
+        }
+        acquire(policy, IP, clientIp(request));
+        if (account != null) {
+            acquire(policy, ACCOUNT, account.toString().trim().toLowerCase(Locale.ROOT));
+        }
+        allowed.computeIfAbsent(policy, name -> new LongAdder()).increment();
+    }
+
+    /**
+     * Drops the buckets that have refilled completely.
+     */
+    @Scheduled(fixedDelayString = "${app.rate-limit.sweep-ms:60000}")
+    public void evictIdle() {
+        int before = buckets.size();
+        // A bucket that refilled may still be used concurrently, that caller then simply got one token for free.
+        buckets.values().removeIf(TokenBucket::isFull);
+        evictions.add(Math.max(0, before - buckets.size()));
+    }
+
+    /**
+     * @return a snapshot of the rate limiter statistics.
+     */
+    public RateLimitStatsDto getStats() {
+        RateLimitStatsDto stats = new RateLimitStatsDto();
+        stats.setTrackedKeys(buckets.size());
+        stats.setMaxKeys(maxKeys);
+        stats.setEvictions(evictions.sum());
+        stats.setOverflowed(overflowed.sum());
+        Map<String, Long> allowedByPolicy = new TreeMap<>();
+        allowed.forEach((policy, count) -> allowedByPolicy.put(policy, count.sum()));
+        stats.setAllowed(allowedByPolicy);
+        Map<String, Long> rejectedByPolicy = new TreeMap<>();
+        rejected.forEach((policy, count) -> rejectedByPolicy.put(policy, count.sum()));
+        stats.setRejected(rejectedByPolicy);
+        return stats;
+    }
+
+    private void acquire(String policy, String dimension, String key) {
+        String limit = policy + "." + dimension;
+        TokenBucket bucket = buckets.get(limit + ":" + key);
+        if (bucket == null && buckets.size() >= maxKeys && !sweepWhenFull()) {
+            overflowed.increment();
+            if (ACCOUNT.equals(dimension)) {
+                return;
+            }
+            bucket = buckets.computeIfAbsent(limit + ":" + OVERFLOW_KEY, name -> createBucket(policy, dimension));
+        }
+        if (bucket == null) {
+            bucket = buckets.computeIfAbsent(limit + ":" + key, name -> createBucket(policy, dimension));
+        }
+        long waitNanos = bucket.tryAcquire();
+        if (waitNanos > 0) {
+            rejected.computeIfAbsent(policy, name -> new LongAdder()).increment();
+            logger.debug("Rate limit {} exceeded for {}.", limit, key);
+            throw new TooManyRequestsException("Too many requests, please try again later.",
+                    Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1)));
+        }
+    }
+
+    /**
+     * Drops refilled buckets once the map is full.
+     *
+     * @return whether there is room for another key afterwards.
+     */
+    private boolean sweepWhenFull() {
+        long now = System.nanoTime();
+        long last = lastFullSweep.get();
+        if (now - last >= TimeUnit.SECONDS.toNanos(1) && lastFullSweep.compareAndSet(last, now)) {
+            evictIdle();
+        }
+        return buckets.size() < maxKeys;
+    }
+
+    private TokenBucket createBucket(String policy, String dimension) {
+        double[] defaults = DEFAULTS.getOrDefault(policy, DEFAULTS.get(LOGIN));
+        int offset = IP.equals(dimension) ? 0 : 2;
+        String prefix = "app.rate-limit." + policy + "." + dimension + ".";
+        double perMinute = environment.getProperty(prefix + "rate-per-minute", Double.class, defaults[offset]);
+        int burst = environment.getProperty(prefix + "burst", Integer.class, (int) defaults[offset + 1]);
+        return new TokenBucket(perMinute / 60, burst);
+    }
+
+    private String clientIp(HttpServletRequest request) {
+        if (trustForwardedFor) {
+            String forwarded = request.getHeader("X-Forwarded-For");
+            if (forwarded != null && !forwarded.isBlank()) {
+                return ipKey(forwarded.split(",")[0].trim());
+            }
+        }
+        return ipKey(request.getRemoteAddr());
+    }
+
+    /**
+     * @return the /64 prefix of an IPv6 address, any other address unchanged.
+     */
+    static String ipKey(String address) {
+        if (address == null || address.indexOf(':') < 0 || !IPV6_LITERAL.matcher(address).matches()) {
+            return address;
+        }
+        try {
+            // Only hex digits, colons and dots are left, so this parses the literal and never resolves a name.
+            InetAddress parsed = InetAddress.getByName(address);
+            if (!(parsed instanceof Inet6Address)) {
+                return parsed.getHostAddress();
+            }
+            byte[] bytes = parsed.getAddress();
+            StringBuilder key = new StringBuilder(24);
+            for (int i = 0; i < 8; i += 2) {
+                key.append(Integer.toHexString(((bytes[i] & 0xff) << 8) | (bytes[i + 1] & 0xff))).append(':');
+            }
+            return key.append(":/64").toString();
+        } catch (UnknownHostException e) {
+            return address;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.mockxpert.interview_marketplace.services;
+
+import com.google.api.client.http.HttpResponseException;
+import com.google.firebase.FirebaseException;
+import com.mockxpert.interview_marketplace.dto.DependencyHealthDto;
+import com.mockxpert.interview_marketplace.exceptions.ServiceUnavailableException;
+import com.mockxpert.interview_marketplace.utils.Bulkhead;
+import com.mockxpert.interview_marketplace.utils.CircuitBreaker;
+import com.stripe.exception.StripeException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Service class that isolates calls to remote dependencies such as Firebase, Stripe and Google.
+ *
+ * Each dependency has its own bulkhead, so a slow provider can only tie up its own share of the
+ * request threads, and its own circuit breaker, so calls fail fast with a 503 while the provider
+ * is down instead of waiting for timeouts. Client errors like a wrong password or a declined
+ * card prove the provider is reachable and do not count as failures.
+ *
+ * Limits are configured per dependency under app.resilience.&lt;name&gt;, falling back to
+ * app.resilience.default.
+ *
+ * @author Umar Mohammad
+ */
+@Service
+public class ResilienceService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResilienceService.class);
+
+    public static final String FIREBASE = "firebase";
+
+    public static final String STRIPE = "stripe";
+
+    public static final String GOOGLE_OAUTH = "google-oauth";
+
+    public static final String GOOGLE_CALENDAR = "google-calendar";
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private MetricsService metricsService;
+
+    private final Map<String, Dependency> dependencies = new ConcurrentHashMap<>();
+
+    /**
+     * A call to a remote dependency.
+     */
+    @FunctionalInterface
+    public interface RemoteCall<T, E extends Exception> {
+        T call() throws E;
+    }
+
+    /**
+     * Runs a call through the bulkhead and circuit breaker of a dependency.
+     *
+     * @param name the dependency name.
+     * @param call the remote call.
+     * @return the result of the call.
+     * @throws E the exception of the call.
+     * @throws ServiceUnavailableException when the breaker is open or the bulkhead is full.
+     */
+    public <T, E extends Exception> T execute(String name, RemoteCall<T, E> call) throws E {
+        Dependency dependency = dependencies.computeIfAbsent(name, this::createDependency);
+        if (!dependency.breaker.tryAcquire()) {
+            dependency.shortCircuited.increment();
+            metricsService.increment("remote.calls.rejected", "dependency", name, "reason", "circuit_open");
+            throw new ServiceUnavailableException("The " + name + " service is temporarily unavailable, please try again later.",
+                    Math.max(1, dependency.breaker.getRemainingOpenMillis() / 1000));
+        }
+        if (!dependency.bulkhead.tryAcquire()) {
+            dependency.breaker.onIgnored();
+            dependency.rejected.increment();
+            metricsService.increment("remote.calls.rejected", "dependency", name, "reason", "bulkhead_full");
+            throw new ServiceUnavailableException("The " + name + " service is busy, please try again later.", 1);
+        }
+        dependency.calls.increment();
+        long started = System.nanoTime();
+        String outcome = "error";
+        try {
+            T result = call.call();
+            dependency.breaker.onSuccess();
+            outcome = "success";
+            return result;
+        } catch (Exception e) {
+            if (isDependencyFailure(e)) {
+                outcome = "failure";
+                dependency.failures.increment();
+                CircuitBreaker.State before = dependency.breaker.getState();
+                dependency.breaker.onFailure();
+                if (before != CircuitBreaker.State.OPEN && dependency.breaker.getState() == CircuitBreaker.State.OPEN) {
+                    logger.warn("Circuit breaker for {} opened after: {}", name, e.toString());
+                }
+            } else {
+                dependency.breaker.onSuccess();
+                outcome = "client_error";
+            }
+            throw e;
+        } catch (Error e) {
+            dependency.breaker.onIgnored();
+            throw e;
+        } finally {
+            dependency.bulkhead.release();
+            metricsService.recordSince("remote.calls", started, "dependency", name, "outcome", outcome);
+        }
+    }
+
+    /**
+     * Runs a call that returns nothing through the bulkhead and circuit breaker of a dependency.
+     *
+     * @param name the dependency name.
+     * @param call the remote call.
+     */
+    public void run(String name, Runnable call) {
+        execute(name, () -> {
+            call.run();
+            return null;
+        });
+    }
+
+    /**
+     * @return state, concurrency and counters of every dependency used so far.
+     */
+    public List<DependencyHealthDto> getHealth() {
+        return dependencies.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> entry.getValue().toDto(entry.getKey()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Decides whether an exception means the dependency is unhealthy. Rejections of the request
+     * itself (4xx other than 429) mean the dependency answered.
+     */
+    static boolean isDependencyFailure(Exception e) {
+        Integer status = null;
+        if (e instanceof HttpClientErrorException) {
+            status = ((HttpClientErrorException) e).getStatusCode().value();
+        } else if (e instanceof HttpResponseException) {
+            status = ((HttpResponseException) e).getStatusCode();
+        } else if (e instanceof StripeException) {
+            status = ((StripeException) e).getStatusCode();
+        } else if (e instanceof FirebaseException && ((FirebaseException) e).getHttpResponse() != null) {
+            status = ((FirebaseException) e).getHttpResponse().getStatusCode();
+        }
+        return status == null || status == 429 || status < 400 || status >= 500;
+    }
+
+    private Dependency createDependency(String name) {
+        return new Dependency(
+                new Bulkhead(property(name, "max-concurrent", Integer.class, 20), property(name, "max-wait-ms", Long.class, 100L)),
+                new CircuitBreaker(property(name, "window-size", Integer.class, 20),
+                        property(name, "minimum-calls", Integer.class, 10),
+                        property(name, "failure-rate-threshold", Double.class, 0.5),
+                        property(name, "open-ms", Long.class, 30000L),
+                        property(name, "half-open-probes", Integer.class, 1)));
+    }
+
+    private <T> T property(String name, String key, Class<T> type, T defaultValue) {
+        T fallback = environment.getProperty("app.resilience.default." + key, type, defaultValue);
+        return environment.getProperty("app.resilience." + name + "." + key, type, fallback);
+    }
+
+    private static class Dependency {
+
+        private final Bulkhead bulkhead;
+        private final CircuitBreaker breaker;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder shortCircuited = new LongAdder();
+
+        Dependency(Bulkhead bulkhead, CircuitBreaker breaker) {
+            this.bulkhead = bulkhead;
+            this.breaker = breaker;
+        }
+
+        DependencyHealthDto toDto(String name) {
+            DependencyHealthDto dto = new DependencyHealthDto();
+            dto.setName(name);
+            dto.setState(breaker.getState().name());
+            dto.setFailureRate(breaker.getFailureRate());
+            dto.setOpenCount(breaker.getOpenCount());
+            dto.setInFlight(bulkhead.getInFlight());
+            dto.setMaxConcurrent(bulkhead.getMaxConcurrent());
+            dto.setCalls(calls.sum());
+            dto.setFailures(failures.sum());
+            dto.setRejected(rejected.sum());
+            dto.setShortCircuited(shortCircuited.sum());
+            return dto;
+        }
+    }
+}
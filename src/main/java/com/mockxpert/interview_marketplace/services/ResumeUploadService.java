@@ -0,0 +1,462 @@
+package com.mockxpert.interview_marketplace.services;
+
+import com.mockxpert.interview_marketplace.dto.ResumeUploadDto;
+import com.mockxpert.interview_marketplace.dto.ResumeUploadRequest;
+import com.mockxpert.interview_marketplace.dto.UserPrincipal;
+import com.mockxpert.interview_marketplace.entities.ResumeUpload;
+import com.mockxpert.interview_marketplace.exceptions.BadRequestException;
+import com.mockxpert.interview_marketplace.exceptions.ConflictException;
+import com.mockxpert.interview_marketplace.exceptions.ForbiddenException;
+import com.mockxpert.interview_marketplace.exceptions.InternalServerErrorException;
+import com.mockxpert.interview_marketplace.exceptions.ResourceNotFoundException;
+import com.mockxpert.interview_marketplace.repositories.IntervieweeRepository;
+import com.mockxpert.interview_marketplace.repositories.ResumeUploadRepository;
+
+import jakarta.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Service class for resumable, chunked resume uploads.
+ *
+ * An upload is started with the file size and type and is then sent as fixed size chunks, in any
+ * order and with any parallelism. Each chunk is streamed from the request through a small direct
+ * buffer into a file of its own and hashed on the way. Only when it matches the SHA-256 the client
+ * sent with it is it copied to its offset in a sparse partial file and marked as received, so a
+ * broken resend can never overwrite a chunk that was already accepted. After a disconnect the
+ * client asks which chunks are missing and sends only those. Since every chunk lands in place, the
+ * complete file exists once the last chunk arrives and completing the upload is a hash pass and
+ * a rename, the file is never held in memory.
+ *
+ * Completed resumes are stored under their content hash and the storage key is set on the
+ * interviewee. Uploads that are not completed within the expiry are removed with their files.
+ *
+ * @author Umar Mohammad
+ */
+@Service
+public class ResumeUploadService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResumeUploadService.class);
+
+    private static final Map<String, String> EXTENSIONS = Map.of(
+            "application/pdf", "pdf",
+            "application/msword", "doc",
+            "application/vnd.openxmlformats-officedocument.wordprocessingml.document", "docx");
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String PARTIAL_DIR = ".partial";
+
+    private static final String CHUNK_SUFFIX = ".chunk";
+
+    @Autowired
+    private ResumeUploadRepository resumeUploadRepository;
+
+    @Autowired
+    private IntervieweeRepository intervieweeRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.uploads.resume-dir:uploads/resumes}")
+    private String resumeDir;
+
+    @Value("${app.uploads.resume.max-bytes:20971520}")
+    private long maxBytes;
+
+    @Value("${app.uploads.resume.chunk-size:1048576}")
+    private int chunkSize;
+
+    @Value("${app.uploads.resume.expiry-hours:24}")
+    private long expiryHours;
+
+    private Path directory;
+
+    private Path partialDirectory;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() throws IOException {
+        directory = Paths.get(resumeDir).toAbsolutePath().normalize();
+        partialDirectory = directory.resolve(PARTIAL_DIR);
+        Files.createDirectories(partialDirectory);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Starts an upload for the current interviewee.
+     *
+     * @param principal the current user.
+     * @param request   the file name, type and size.
+     * @return the new upload with its chunk layout.
+     */
+    public ResumeUploadDto startUpload(UserPrincipal principal, ResumeUploadRequest request) {
+        if (principal.getIntervieweeId() == null) {
+            throw new ForbiddenException("Only interviewees can upload a resume.");
+        }
+        String contentType = request.getContentType() == null ? null : request.getContentType().trim().toLowerCase();
+        if (!EXTENSIONS.containsKey(contentType)) {
+            throw new BadRequestException("Resumes must be PDF or Word documents.");
+        }
+        if (request.getTotalSize() <= 0 || request.getTotalSize() > maxBytes) {
+            throw new BadRequestException("Resume size must be between 1 and " + maxBytes + " bytes.");
+        }
+        if (request.getSha256() != null && !request.getSha256().matches("[0-9a-fA-F]{64}")) {
+            throw new BadRequestException("sha256 must be 64 hex characters.");
+        }
+
+        int totalChunks = (int) ((request.getTotalSize() + chunkSize - 1) / chunkSize);
+        ResumeUpload upload = new ResumeUpload();
+        upload.setUploadId(UUID.randomUUID().toString());
+        upload.setIntervieweeId(principal.getIntervieweeId());
+        upload.setUserId(principal.getUserId());
+        upload.setFileName(request.getFileName());
+        upload.setContentType(contentType);
+        upload.setTotalSize(request.getTotalSize());
+        upload.setChunkSize(chunkSize);
+        upload.setTotalChunks(totalChunks);
+        upload.setReceivedChunks(new byte[(totalChunks + 7) / 8]);
+        upload.setExpectedSha256(request.getSha256() == null ? null : request.getSha256().toLowerCase());
+        upload.setStatus(ResumeUpload.Status.UPLOADING);
+        return toDto(resumeUploadRepository.save(upload));
+    }
+
+    /**
+     * Verifies one chunk of an upload and copies it to its place in the partial file.
+     *
+     * @param principal     the current user.
+     * @param uploadId      the ID of the upload.
+     * @param index         the zero based chunk index.
+     * @param sha256        the hex SHA-256 of the chunk.
+     * @param body          the chunk content.
+     * @param contentLength the length the client announced, or -1.
+     * @return the upload state after the chunk.
+     */
+    public ResumeUploadDto writeChunk(UserPrincipal principal, String uploadId, int index, String sha256,
+                                      InputStream body, long contentLength) {
+        ResumeUpload upload = getOwnedUpload(principal, uploadId);
+        if (upload.getStatus() != ResumeUpload.Status.UPLOADING) {
+            throw new ConflictException("Upload " + uploadId + " is already completed.");
+        }
+        if (index < 0 || index >= upload.getTotalChunks()) {
+            throw new BadRequestException("Chunk index must be between 0 and " + (upload.getTotalChunks() - 1) + ".");
+        }
+        if (sha256 == null || !sha256.matches("[0-9a-fA-F]{64}")) {
+            throw new BadRequestException("X-Chunk-Checksum must be the SHA-256 of the chunk in hex.");
+        }
+        long offset = (long) index * upload.getChunkSize();
+        long expected = Math.min(upload.getChunkSize(), upload.getTotalSize() - offset);
+        if (contentLength >= 0 && contentLength != expected) {
+            throw new BadRequestException("Chunk " + index + " must be " + expected + " bytes.");
+        }
+
+        Path chunkFile = null;
+        try {
+            chunkFile = Files.createTempFile(partialDirectory, uploadId + "-" + index + "-", CHUNK_SUFFIX);
+            try {
+                receiveChunk(body, chunkFile, index, expected, sha256);
+            } catch (BadRequestException e) {
+                unmarkChunk(uploadId, index);
+                throw e;
+            }
+
+            Path verified = chunkFile;
+            long position = offset;
+            return transactionTemplate.execute(status -> {
+                ResumeUpload locked = resumeUploadRepository.lockById(uploadId)
+                        .orElseThrow(() -> new ResourceNotFoundException("Upload not found: " + uploadId));
+                // The row lock serializes writers, an accepted chunk is never written twice.
+                if (!locked.hasChunk(index)) {
+                    copyIntoPartial(uploadId, verified, position, expected, index);
+                    locked.markChunk(index);
+                }
+                locked.setUpdatedAt(LocalDateTime.now());
+                return toDto(resumeUploadRepository.save(locked));
+            });
+        } catch (IOException e) {
+            throw new InternalServerErrorException("Failed to write chunk " + index + ": " + e.getMessage());
+        } finally {
+            if (chunkFile != null) {
+                try {
+                    Files.deleteIfExists(chunkFile);
+                } catch (IOException e) {
+                    logger.warn("Failed to delete temporary chunk {}.", chunkFile);
+                }
+            }
+        }
+    }
+
+    /**
+     * Streams a chunk into its own file and checks its length and checksum.
+     */
+    private void receiveChunk(InputStream body, Path chunkFile, int index, long expected, String sha256) throws IOException {
+        MessageDigest digest = sha256();
+        long written = 0;
+        try (ReadableByteChannel in = Channels.newChannel(body);
+             FileChannel out = FileChannel.open(chunkFile, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                written += read;
+                if (written > expected) {
+                    throw new BadRequestException("Chunk " + index + " must be " + expected + " bytes.");
+                }
+                buffer.flip();
+                digest.update(buffer.duplicate());
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+                buffer.clear();
+            }
+        }
+        if (written != expected) {
+            throw new BadRequestException("Chunk " + index + " is incomplete, received " + written + " of " + expected + " bytes.");
+        }
+        if (!HexFormat.of().formatHex(digest.digest()).equalsIgnoreCase(sha256)) {
+            throw new BadRequestException("Checksum mismatch for chunk " + index + ", please send it again.");
+        }
+    }
+
+    /**
+     * Copies a verified chunk to its offset in the partial file. Positional writes extend the file
+     * sparsely, so chunks can land past its current end in any order.
+     */
+    private void copyIntoPartial(String uploadId, Path chunkFile, long offset, long length, int index) {
+        try (FileChannel in = FileChannel.open(chunkFile, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(partialFile(uploadId), StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            long copied = 0;
+            while (copied < length) {
+                buffer.clear();
+                if (in.read(buffer, copied) <= 0) {
+                    throw new IOException("chunk file ended after " + copied + " of " + length + " bytes");
+                }
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    int written = out.write(buffer, offset + copied);
+                    if (written <= 0) {
+                        throw new IOException("no progress writing at offset " + (offset + copied));
+                    }
+                    copied += written;
+                }
+            }
+            out.force(false);
+        } catch (IOException e) {
+            throw new InternalServerErrorException("Failed to write chunk " + index + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Clears the received flag of a chunk whose resend failed verification, so the client sends it again.
+     */
+    private void unmarkChunk(String uploadId, int index) {
+        transactionTemplate.executeWithoutResult(status -> resumeUploadRepository.lockById(uploadId).ifPresent(locked -> {
+            if (locked.getStatus() == ResumeUpload.Status.UPLOADING && locked.clearChunk(index)) {
+                locked.setUpdatedAt(LocalDateTime.now());
+                resumeUploadRepository.save(locked);
+            }
+        }));
+    }
+
+    /**
+     * @param principal the current user.
+     * @param uploadId  the ID of the upload.
+     * @return the upload state, including the chunks still missing.
+     */
+    public ResumeUploadDto getUpload(UserPrincipal principal, String uploadId) {
+        return toDto(getOwnedUpload(principal, uploadId));
+    }
+
+    /**
+     * Verifies a fully received upload, stores it under its content hash and sets it as the
+     * interviewee's resume.
+     *
+     * @param principal the current user.
+     * @param uploadId  the ID of the upload.
+     * @return the completed upload with its storage key.
+     */
+    public ResumeUploadDto completeUpload(UserPrincipal principal, String uploadId) {
+        ResumeUpload upload = getOwnedUpload(principal, uploadId);
+        if (upload.getStatus() == ResumeUpload.Status.COMPLETED) {
+            return toDto(upload);
+        }
+        if (upload.getReceivedCount() < upload.getTotalChunks()) {
+            throw new ConflictException("Upload " + uploadId + " is missing "
+                    + (upload.getTotalChunks() - upload.getReceivedCount()) + " chunks.");
+        }
+
+        Path partial = partialFile(uploadId);
+        String hash;
+        try {
+            if (Files.size(partial) != upload.getTotalSize()) {
+                throw new ConflictException("Upload " + uploadId + " has an unexpected size, please start again.");
+            }
+            hash = hashFile(partial);
+        } catch (NoSuchFileException e) {
+            // A concurrent completion already moved the file.
+            ResumeUpload current = getOwnedUpload(principal, uploadId);
+            if (current.getStatus() == ResumeUpload.Status.COMPLETED) {
+                return toDto(current);
+            }
+            throw new ConflictException("Upload " + uploadId + " has no data, please start again.");
+        } catch (IOException e) {
+            throw new InternalServerErrorException("Failed to read upload " + uploadId + ": " + e.getMessage());
+        }
+        if (upload.getExpectedSha256() != null && !upload.getExpectedSha256().equals(hash)) {
+            throw new BadRequestException("The uploaded file does not match the announced SHA-256.");
+        }
+
+        String storageKey = hash + "." + EXTENSIONS.get(upload.getContentType());
+        try {
+            Path target = directory.resolve(storageKey);
+            if (Files.exists(target)) {
+                Files.delete(partial);
+            } else {
+                Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE);
+            }
+        } catch (IOException e) {
+            throw new InternalServerErrorException("Failed to store upload " + uploadId + ": " + e.getMessage());
+        }
+
+        return transactionTemplate.execute(status -> {
+            ResumeUpload locked = resumeUploadRepository.lockById(uploadId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Upload not found: " + uploadId));
+            intervieweeRepository.updateResume(locked.getIntervieweeId(), storageKey);
+            locked.setStatus(ResumeUpload.Status.COMPLETED);
+            locked.setStorageKey(storageKey);
+            locked.setUpdatedAt(LocalDateTime.now());
+            return toDto(resumeUploadRepository.save(locked));
+        });
+    }
+
+    /**
+     * Cancels an upload and deletes its partial file.
+     *
+     * @param principal the current user.
+     * @param uploadId  the ID of the upload.
+     */
+    public void abortUpload(UserPrincipal principal, String uploadId) {
+        ResumeUpload upload = getOwnedUpload(principal, uploadId);
+        if (upload.getStatus() == ResumeUpload.Status.COMPLETED) {
+            throw new ConflictException("Upload " + uploadId + " is already completed.");
+        }
+        resumeUploadRepository.delete(upload);
+        deletePartial(uploadId);
+    }
+
+    /**
+     * Removes uploads that were not touched within the expiry, with their partial files.
+     *
+     * @return the number of uploads removed.
+     */
+    public int purgeExpiredUploads() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(expiryHours);
+        List<ResumeUpload> expired = new ArrayList<>(
+                resumeUploadRepository.findByStatusAndUpdatedAtBefore(ResumeUpload.Status.UPLOADING, cutoff));
+        expired.forEach(upload -> deletePartial(upload.getUploadId()));
+        expired.addAll(resumeUploadRepository.findByStatusAndUpdatedAtBefore(ResumeUpload.Status.COMPLETED, cutoff));
+        resumeUploadRepository.deleteAll(expired);
+        if (!expired.isEmpty()) {
+            logger.info("Removed {} expired resume uploads.", expired.size());
+        }
+        return expired.size();
+    }
+
+    private ResumeUpload getOwnedUpload(UserPrincipal principal, String uploadId) {
+        ResumeUpload upload = resumeUploadRepository.findById(uploadId)
+                .orElseThrow(() -> new ResourceNotFoundException("Upload not found: " + uploadId));
+        if (!upload.getUserId().equals(principal.getUserId())) {
+            throw new ResourceNotFoundException("Upload not found: " + uploadId);
+        }
+        return upload;
+    }
+
+    private Path partialFile(String uploadId) {
+        return partialDirectory.resolve(uploadId + ".part");
+    }
+
+    private void deletePartial(String uploadId) {
+        try {
+            Files.deleteIfExists(partialFile(uploadId));
+            // Leftovers of chunks that were being received when the server stopped.
+            try (DirectoryStream<Path> chunks = Files.newDirectoryStream(partialDirectory, uploadId + "-*" + CHUNK_SUFFIX)) {
+                for (Path chunk : chunks) {
+                    Files.deleteIfExists(chunk);
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to delete partial resume upload {}.", uploadId, e);
+        }
+    }
+
+    private static String hashFile(Path path) throws IOException {
+        MessageDigest digest = sha256();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static ResumeUploadDto toDto(ResumeUpload upload) {
+        ResumeUploadDto dto = new ResumeUploadDto();
+        dto.setUploadId(upload.getUploadId());
+        dto.setFileName(upload.getFileName());
+        dto.setContentType(upload.getContentType());
+        dto.setTotalSize(upload.getTotalSize());
+        dto.setChunkSize(upload.getChunkSize());
+        dto.setTotalChunks(upload.getTotalChunks());
+        dto.setReceivedChunks(upload.getReceivedCount());
+        List<Integer> missing = new ArrayList<>();
+        for (int index = 0; index < upload.getTotalChunks(); index++) {
+            if (!upload.hasChunk(index)) {
+                missing.add(index);
+            }
+        }
+        dto.setMissingChunks(missing);
+        dto.setStatus(upload.getStatus().name());
+        dto.setStorageKey(upload.getStorageKey());
+        return dto;
+    }
+}
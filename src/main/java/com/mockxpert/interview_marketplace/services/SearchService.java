@@ -0,0 +1,159 @@
+package com.mockxpert.interview_marketplace.services;
+
+import com.mockxpert.interview_marketplace.dto.SearchResponseDto;
+import com.mockxpert.interview_marketplace.dto.SearchResultDto;
+import com.mockxpert.interview_marketplace.exceptions.BadRequestException;
+import com.mockxpert.interview_marketplace.repositories.BookingRepository;
+import com.mockxpert.interview_marketplace.repositories.FeedbackRepository;
+import com.mockxpert.interview_marketplace.repositories.NotificationRepository;
+import com.mockxpert.interview_marketplace.repositories.SearchHitProjection;
+import com.mockxpert.interview_marketplace.repositories.SearchSnippetProjection;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+/**
+ * Service class for the support desk search across feedback, bookings and notifications.
+ *
+ * Each entity is searched through its GIN indexed tsvector column, the per entity hits are merged
+ * by rank and the requested page is cut out of the merged list. Snippets are only highlighted for
+ * the hits of that page. The admin role is enforced by the /api/admin/** rule in SecurityConfig.
+ * 
+ * @author Umar Mohammad
+ */
+@Service
+public class SearchService {
+
+    /**
+     * Deepest hit (page * size) a caller can page to. Keeps every per entity query bounded.
+     */
+    private static final int MAX_WINDOW = 1000;
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    public enum EntityType {
+        FEEDBACK,
+        BOOKING,
+        NOTIFICATION
+    }
+
+    @Autowired
+    private FeedbackRepository feedbackRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    /**
+     * Searches the selected entity types and returns one ranked page of hits.
+     *
+     * @param query the search string, supports web search syntax ("quoted phrases", -exclusions, or).
+     * @param types the entity types to search, or null/empty for all.
+     * @param page  zero based page number.
+     * @param size  page size.
+     * @return the requested page of ranked hits.
+     */
+    @Transactional(readOnly = true)
+    public SearchResponseDto search(String query, Set<EntityType> types, int page, int size) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("Search query must not be empty.");
+        }
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+        int window = (page + 1) * size;
+        if (window > MAX_WINDOW) {
+            throw new BadRequestException("Results are limited to the first " + MAX_WINDOW + " hits. Please refine the query.");
+        }
+
+        Set<EntityType> selected = (types == null || types.isEmpty()) ? EnumSet.allOf(EntityType.class) : types;
+        String trimmed = query.trim();
+        // One extra row tells us whether there is a next page.
+        int limit = window + 1;
+
+        List<SearchResultDto> merged = new ArrayList<>();
+        if (selected.contains(EntityType.FEEDBACK)) {
+            collect(merged, EntityType.FEEDBACK, feedbackRepository.searchFullText(trimmed, limit));
+        }
+        if (selected.contains(EntityType.BOOKING)) {
+            collect(merged, EntityType.BOOKING, bookingRepository.searchFullText(trimmed, limit));
+        }
+        if (selected.contains(EntityType.NOTIFICATION)) {
+            collect(merged, EntityType.NOTIFICATION, notificationRepository.searchFullText(trimmed, limit));
+        }
+
+        merged.sort(Comparator.comparingDouble(SearchResultDto::getRank).reversed()
+                .thenComparing(SearchResultDto::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder())));
+
+        int from = Math.min(page * size, merged.size());
+        int to = Math.min(from + size, merged.size());
+
+        SearchResponseDto response = new SearchResponseDto();
+        response.setQuery(trimmed);
+        response.setPage(page);
+        response.setSize(size);
+        response.setHasMore(merged.size() > to);
+        List<SearchResultDto> results = new ArrayList<>(merged.subList(from, to));
+        addSnippets(trimmed, results);
+        response.setResults(results);
+        return response;
+    }
+
+    /**
+     * Highlights the query in the hits of one page, with one query per entity type on the page.
+     */
+    private void addSnippets(String query, List<SearchResultDto> results) {
+        Map<EntityType, List<Long>> idsByType = new EnumMap<>(EntityType.class);
+        for (SearchResultDto result : results) {
+            idsByType.computeIfAbsent(EntityType.valueOf(result.getEntityType()), type -> new ArrayList<>())
+                     .add(result.getEntityId());
+        }
+        Map<EntityType, Map<Long, String>> snippets = new EnumMap<>(EntityType.class);
+        idsByType.forEach((type, ids) -> snippets.put(type, snippetsById(snippetQuery(type).apply(query, ids))));
+        for (SearchResultDto result : results) {
+            result.setSnippet(snippets.get(EntityType.valueOf(result.getEntityType())).get(result.getEntityId()));
+        }
+    }
+
+    private BiFunction<String, Collection<Long>, List<SearchSnippetProjection>> snippetQuery(EntityType type) {
+        switch (type) {
+            case FEEDBACK:
+                return feedbackRepository::findSnippets;
+            case BOOKING:
+                return bookingRepository::findSnippets;
+            default:
+                return notificationRepository::findSnippets;
+        }
+    }
+
+    private static Map<Long, String> snippetsById(List<SearchSnippetProjection> rows) {
+        Map<Long, String> snippets = new HashMap<>(rows.size() * 2);
+        for (SearchSnippetProjection row : rows) {
+            snippets.put(row.getId(), row.getSnippet());
+        }
+        return snippets;
+    }
+
+    /**
+     * Converts the projection rows of one entity type into result DTOs.
+     */
+    private void collect(List<SearchResultDto> target, EntityType type, List<SearchHitProjection> hits) {
+        for (SearchHitProjection hit : hits) {
+            target.add(new SearchResultDto(type.name(), hit.getId(),
+                    hit.getRank() != null ? hit.getRank() : 0.0, null, hit.getCreatedAt()));
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.mockxpert.interview_marketplace.services;
+
+import com.mockxpert.interview_marketplace.utils.ReplayGuard;
+import com.mockxpert.interview_marketplace.utils.TokenGenerator;
+
+import jakarta.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service class that issues and checks one-time codes and tokens without storing them.
+ *
+ * OTPs are derived from an HMAC over the purpose, the user, the address the code was mailed to
+ * and the current validity window, so sending and resending a code writes nothing and checking
+ * it is a single HMAC computation. A code stays valid for the rest of its window and the whole
+ * next one, and it no longer matches once the address changes.
+ *
+ * Tokens such as password reset links carry the user ID, a generation, expiry and a random nonce,
+ * signed with the same key. The generation is a per-user counter the caller compares with the
+ * stored one, so bumping it rejects every token issued before, including tokens the replay guard
+ * forgot after a restart.
+ *
+ * Used codes and tokens are remembered in a replay guard until they expire, so each one is only
+ * accepted once. The signing key is configured as app.security.token-secret (Base64). Without it a
+ * random key is generated, and codes and tokens do not survive a restart.
+ *
+ * @author Umar Mohammad
+ */
+@Service
+public class SignedTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SignedTokenService.class);
+
+    public static final String EMAIL_OTP = "email-otp";
+
+    public static final String WORK_EMAIL_OTP = "work-email-otp";
+
+    public static final String PASSWORD_RESET = "password-reset";
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    @Value("${app.security.token-secret:}")
+    private String secret;
+
+    @Value("${app.security.otp.window-minutes:15}")
+    private long otpWindowMinutes;
+
+    @Value("${app.security.replay-guard.max-entries:100000}")
+    private int replayGuardSize;
+
+    private SecretKeySpec key;
+
+    private ThreadLocal<Mac> macs;
+
+    private ReplayGuard replayGuard;
+
+    @PostConstruct
+    public void init() {
+        byte[] keyBytes;
+        if (secret == null || secret.isBlank()) {
+            logger.warn("app.security.token-secret is not set, OTPs and reset tokens are only valid until the next restart.");
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+        } else {
+            keyBytes = Base64.getDecoder().decode(secret.trim());
+        }
+        key = new SecretKeySpec(keyBytes, HMAC_ALGORITHM);
+        macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HMAC-SHA256 is not available.", e);
+            }
+        });
+        replayGuard = new ReplayGuard(replayGuardSize);
+    }
+
+    /**
+     * Derives the 6-digit OTP for a user and address in the current window.
+     *
+     * @param purpose the purpose, e.g. {@link #EMAIL_OTP}.
+     * @param userId  the ID of the user.
+     * @param target  the address the code is sent to.
+     * @return the OTP.
+     */
+    public String generateOtp(String purpose, Long userId, String target) {
+        return otpFor(purpose, userId, target, currentWindow());
+    }
+
+    /**
+     * Checks an OTP and marks it as used.
+     *
+     * @param purpose the purpose the code was generated for.
+     * @param userId  the ID of the user.
+     * @param target  the address the code was sent to.
+     * @param otp     the code entered by the user.
+     * @return true if the code is valid and was not used before.
+     */
+    public boolean verifyOtp(String purpose, Long userId, String target, String otp) {
+        if (otp == null) {
+            return false;
+        }
+        long window = currentWindow();
+        for (long candidate = window; candidate >= window - 1; candidate--) {
+            if (constantTimeEquals(otpFor(purpose, userId, target, candidate), otp.trim())) {
+                long expiresAt = TimeUnit.MINUTES.toMillis(otpWindowMinutes) * (candidate + 2);
+                return replayGuard.tryUse(purpose + ":" + userId + ":" + candidate, expiresAt);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Issues a signed token for a user.
+     *
+     * @param purpose    the purpose, e.g. {@link #PASSWORD_RESET}.
+     * @param userId     the ID of the user.
+     * @param generation the user's current generation for this purpose.
+     * @param ttlMinutes minutes the token stays valid.
+     * @return the token.
+     */
+    public String createToken(String purpose, Long userId, long generation, long ttlMinutes) {
+        long expiresAt = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(ttlMinutes);
+        String payload = ENCODER.encodeToString((userId + ":" + generation + ":" + expiresAt + ":" + TokenGenerator.generateToken())
+                .getBytes(StandardCharsets.UTF_8));
+        return payload + "." + ENCODER.encodeToString(sign(purpose + "." + payload));
+    }
+
+    /**
+     * Checks the signature and expiry of a token. The token is not consumed, see {@link #consumeToken}.
+     *
+     * @param purpose the purpose the token was issued for.
+     * @param token   the token.
+     * @return the user ID and generation, or null when the token is invalid, expired or already used.
+     */
+    public TokenClaims verifyToken(String purpose, String token) {
+        if (token == null) {
+            return null;
+        }
+        int dot = token.indexOf('.');
+        if (dot <= 0) {
+            return null;
+        }
+        String payload = token.substring(0, dot);
+        try {
+            byte[] signature = DECODER.decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(sign(purpose + "." + payload), signature)) {
+                return null;
+            }
+            String[] parts = new String(DECODER.decode(payload), StandardCharsets.UTF_8).split(":");
+            if (parts.length != 4 || Long.parseLong(parts[2]) < System.currentTimeMillis()
+                    || replayGuard.isUsed(purpose + ":" + payload)) {
+                return null;
+            }
+            return new TokenClaims(Long.valueOf(parts[0]), Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Marks a verified token as used so it is rejected from now on.
+     *
+     * @param purpose the purpose the token was issued for.
+     * @param token   the token.
+     * @return false if the token was used concurrently.
+     */
+    public boolean consumeToken(String purpose, String token) {
+        String payload = token.substring(0, token.indexOf('.'));
+        String[] parts = new String(DECODER.decode(payload), StandardCharsets.UTF_8).split(":");
+        return replayGuard.tryUse(purpose + ":" + payload, Long.parseLong(parts[2]));
+    }
+
+    /**
+     * Forgets used codes and tokens that have expired.
+     */
+    @Scheduled(fixedDelayString = "${app.security.replay-guard.sweep-ms:300000}")
+    public void sweepReplayGuard() {
+        int removed = replayGuard.sweep();
+        if (removed > 0) {
+            logger.debug("Dropped {} expired entries from the replay guard.", removed);
+        }
+    }
+
+    private String otpFor(String purpose, Long userId, String target, long window) {
+        String input = purpose + ":" + userId + ":" + (target == null ? "" : target.trim().toLowerCase(Locale.ROOT)) + ":" + window;
+        byte[] hash = sign(input);
+        // Dynamic truncation as in HOTP, keeps the codes uniformly distributed.
+        int offset = hash[hash.length - 1] & 0x0f;
+        int value = ByteBuffer.wrap(hash, offset, 4).getInt() & 0x7fffffff;
+        return String.valueOf(100000 + value % 900000);
+    }
+
+    private long currentWindow() {
+        return System.currentTimeMillis() / TimeUnit.MINUTES.toMillis(otpWindowMinutes);
+    }
+
+    private byte[] sign(String input) {
+        return macs.get().doFinal(input.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static boolean constantTimeEquals(String expected, String actual) {
+        return MessageDigest.isEqual(expected.getBytes(StandardCharsets.UTF_8), actual.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * The verified content of a token.
+     */
+    public static class TokenClaims {
+
+        private final Long userId;
+        private final long generation;
+
+        TokenClaims(Long userId, long generation) {
+            this.userId = userId;
+            this.generation = generation;
+        }
+
+        public Long getUserId() {
+            return userId;
+        }
+
+        public long getGeneration() {
+            return generation;
+        }
+    }
+}
@@ -29,6 +29,9 @@ public class StripePaymentService {
     
     @Autowired
     private PaymentService paymentService;
+
+    @Autowired
+    private ResilienceService resilienceService;
  
     /**
      * Creates a Stripe checkout session for an interview booking.
@@ -65,7 +68,7 @@ public class StripePaymentService {
                     )
                     .build(); 
   
-            Session session = Session.create(params);
+            Session session = resilienceService.execute(ResilienceService.STRIPE, () -> Session.create(params));
             paymentService.createPayment(bookingId, session.getId());
             logger.info("Stripe Checkout Session Created. Session ID: {}", session.getId());
             return session.getUrl(); 
@@ -0,0 +1,255 @@
+package com.mockxpert.interview_marketplace.services;
+
+import com.mockxpert.interview_marketplace.dto.PaymentDto;
+import com.mockxpert.interview_marketplace.entities.StripeWebhookEvent;
+import com.mockxpert.interview_marketplace.repositories.StripeWebhookEventRepository;
+import com.stripe.exception.EventDataObjectDeserializationException;
+import com.stripe.model.Event;
+import com.stripe.model.EventDataObjectDeserializer;
+import com.stripe.model.HasId;
+import com.stripe.model.StripeObject;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Service class that ingests Stripe webhook events and processes them in the background.
+ *
+ * A verified event is stored under its Stripe event ID and acknowledged right away, so a
+ * redelivery of the same event is recognized by the primary key and dropped. The work itself
+ * runs on a pool of single threaded lanes: every event is routed to a lane by the ID of the
+ * object it is about, so the events of one checkout session run one after the other while
+ * different sessions run in parallel. A failed event is retried with exponential backoff until
+ * the attempt limit is reached. The sweep picks up retries that are due, events that were
+ * stored but not dispatched before a restart and claims of crashed workers. The outcome of an
+ * attempt is only recorded while its claim is still held, so a worker whose lease was taken over
+ * cannot overwrite the result of the worker that took it.
+ *
+ * @author Umar Mohammad
+ */
+@Service
+public class StripeWebhookService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StripeWebhookService.class);
+
+    private static final String CHECKOUT_COMPLETED = "checkout.session.completed";
+
+    private static final String PAYMENT_FAILED = "payment_intent.payment_failed";
+
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    @Autowired
+    private StripeWebhookEventRepository stripeWebhookEventRepository;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Value("${app.stripe.webhook.workers:4}")
+    private int workers;
+
+    @Value("${app.stripe.webhook.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${app.stripe.webhook.retry-base-ms:5000}")
+    private long retryBaseMillis;
+
+    @Value("${app.stripe.webhook.retry-max-ms:3600000}")
+    private long retryMaxMillis;
+
+    /**
+     * A claim older than this is considered abandoned by a crashed worker and is taken over.
+     */
+    @Value("${app.stripe.webhook.lease-ms:600000}")
+    private long leaseMillis;
+
+    @Value("${app.stripe.webhook.sweep-batch-size:100}")
+    private int sweepBatchSize;
+
+    private final AtomicBoolean sweeping = new AtomicBoolean(false);
+
+    private ExecutorService[] lanes;
+
+    @PostConstruct
+    public void init() {
+        lanes = new ExecutorService[Math.max(1, workers)];
+        for (int i = 0; i < lanes.length; i++) {
+            String name = "stripe-webhook-" + (i + 1);
+            lanes[i] = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, name);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ExecutorService lane : lanes) {
+            lane.shutdown();
+        }
+        try {
+            for (ExecutorService lane : lanes) {
+                lane.awaitTermination(5, TimeUnit.SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Stores a verified event and hands it to its lane.
+     *
+     * @param event   the verified Stripe event.
+     * @param payload the raw payload the event was parsed from.
+     * @return true if the event is new, false if it was received before.
+     */
+    public boolean ingest(Event event, String payload) {
+        String objectId = objectIdOf(event);
+        LocalDateTime created = event.getCreated() != null
+                ? LocalDateTime.ofInstant(Instant.ofEpochSecond(event.getCreated()), ZoneId.systemDefault())
+                : LocalDateTime.now();
+        boolean inserted = stripeWebhookEventRepository.insertIfAbsent(event.getId(), event.getType(), objectId,
+                payload, created, LocalDateTime.now()) == 1;
+        if (inserted) {
+            dispatch(event.getId(), objectId);
+        } else {
+            logger.info("Ignoring redelivered Stripe event {}.", event.getId());
+        }
+        return inserted;
+    }
+
+    /**
+     * Dispatches the events that are due for a retry or were never dispatched.
+     *
+     * @return the number of events dispatched.
+     */
+    public int dispatchDue() {
+        if (!sweeping.compareAndSet(false, true)) {
+            return 0;
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            int dispatched = 0;
+            for (StripeWebhookEvent event : stripeWebhookEventRepository.findDue(now,
+                    now.minusNanos(leaseMillis * 1_000_000), sweepBatchSize)) {
+                dispatch(event.getEventId(), event.getObjectId());
+                dispatched++;
+            }
+            return dispatched;
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    private void dispatch(String eventId, String objectId) {
+        try {
+            lanes[Math.floorMod(objectId.hashCode(), lanes.length)].execute(() -> process(eventId));
+        } catch (RejectedExecutionException e) {
+            logger.warn("Stripe event {} was not dispatched, the sweep picks it up later.", eventId);
+        }
+    }
+
+    /**
+     * Runs one attempt of an event. Events another worker holds, or that wait for an older event of
+     * the same object, are not claimed and come back with the sweep.
+     */
+    private void process(String eventId) {
+        // Truncated to the column precision, the claim time fences the updates below.
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        try {
+            if (stripeWebhookEventRepository.claim(eventId, now, now.minusNanos(leaseMillis * 1_000_000)) != 1) {
+                return;
+            }
+        } catch (RuntimeException e) {
+            logger.error("Failed to claim Stripe event {}.", eventId, e);
+            return;
+        }
+        StripeWebhookEvent event = stripeWebhookEventRepository.findById(eventId).orElse(null);
+        if (event == null) {
+            return;
+        }
+
+        try {
+            StripeWebhookEvent.Status outcome = handle(event);
+            recorded(eventId, stripeWebhookEventRepository.complete(eventId, now, outcome, null, LocalDateTime.now()));
+        } catch (RuntimeException e) {
+            String error = truncate(e.getClass().getSimpleName() + ": " + e.getMessage());
+            if (event.getAttempts() >= maxAttempts) {
+                logger.error("Stripe event {} failed after {} attempts, giving up.", eventId, event.getAttempts(), e);
+                recorded(eventId, stripeWebhookEventRepository.complete(eventId, now, StripeWebhookEvent.Status.FAILED,
+                        error, LocalDateTime.now()));
+            } else {
+                long delay = Math.min(retryMaxMillis, retryBaseMillis << Math.min(event.getAttempts() - 1, 20));
+                logger.warn("Stripe event {} failed on attempt {}, retrying in {} ms: {}",
+                        eventId, event.getAttempts(), delay, error);
+                recorded(eventId, stripeWebhookEventRepository.scheduleRetry(eventId, now, error,
+                        LocalDateTime.now().plusNanos(delay * 1_000_000)));
+            }
+        }
+    }
+
+    private static void recorded(String eventId, int updated) {
+        if (updated == 0) {
+            logger.warn("Stripe event {} was taken over by another worker, its outcome is left to that worker.", eventId);
+        }
+    }
+
+    private StripeWebhookEvent.Status handle(StripeWebhookEvent event) {
+        switch (event.getEventType()) {
+            case CHECKOUT_COMPLETED:
+                logger.info("Processing successful payment for Session ID: {}", event.getObjectId());
+                PaymentDto payment = paymentService.processSuccessfulPayment(event.getObjectId());
+                logger.info("Interview scheduled for Booking ID: {}", payment.getBookingId());
+                return StripeWebhookEvent.Status.PROCESSED;
+            case PAYMENT_FAILED:
+                logger.error("Payment failed for payment intent {}.", event.getObjectId());
+                return StripeWebhookEvent.Status.PROCESSED;
+            default:
+                return StripeWebhookEvent.Status.IGNORED;
+        }
+    }
+
+    /**
+     * @return the ID of the object the event is about, or the event ID when the object cannot be read.
+     */
+    private static String objectIdOf(Event event) {
+        EventDataObjectDeserializer deserializer = event.getDataObjectDeserializer();
+        return deserializer.getObject()
+                .or(() -> deserializeUnsafe(deserializer))
+                .filter(HasId.class::isInstance)
+                .map(object -> ((HasId) object).getId())
+                .orElse(event.getId());
+    }
+
+    /**
+     * Reads the object of an event sent with a different API version than the library's.
+     */
+    private static Optional<StripeObject> deserializeUnsafe(EventDataObjectDeserializer deserializer) {
+        try {
+            return Optional.of(deserializer.deserializeUnsafe());
+        } catch (EventDataObjectDeserializationException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static String truncate(String error) {
+        return error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+}
@@ -3,14 +3,15 @@ package com.mockxpert.interview_marketplace.services;
 import com.mockxpert.interview_marketplace.dto.UserDto;
 import com.mockxpert.interview_marketplace.dto.LoginRequest;
 import com.mockxpert.interview_marketplace.dto.LoginResponse;
-import com.mockxpert.interview_marketplace.dto.NotificationDto;
 import com.mockxpert.interview_marketplace.dto.FirebaseLoginResponse;
 import com.mockxpert.interview_marketplace.dto.FirebaseTokenResponse;
+import com.mockxpert.interview_marketplace.dto.UserPrincipal;
 import com.mockxpert.interview_marketplace.entities.User;
 import com.mockxpert.interview_marketplace.exceptions.BadRequestException;
 import com.mockxpert.interview_marketplace.exceptions.ConflictException;
 import com.mockxpert.interview_marketplace.exceptions.InternalServerErrorException;
 import com.mockxpert.interview_marketplace.exceptions.ResourceNotFoundException;
+import com.mockxpert.interview_marketplace.exceptions.ServiceUnavailableException;
 import com.mockxpert.interview_marketplace.exceptions.UnauthorizedException;
 import com.mockxpert.interview_marketplace.exceptions.ValidationException;
 import com.mockxpert.interview_marketplace.mappers.UserMapper;
@@ -27,12 +28,13 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.UUID;
 
 /**
  * Service class for managing all user opertaions.
@@ -52,9 +54,27 @@ public class UserService {
     
     @Autowired
     private FirebaseTokenService firebaseTokenService;
+
+    @Autowired
+    private FirebaseTokenCache firebaseTokenCache;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private SignedTokenService signedTokenService;
+
+    @Value("${app.security.reset-token.ttl-minutes:30}")
+    private long resetTokenTtlMinutes;
     
     @Autowired
     private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    @Autowired
+    private ResilienceService resilienceService;
     
     @Autowired
     private NotificationService notificationService;
@@ -93,16 +113,8 @@ public class UserService {
         final User savedUser = userRepository.saveAndFlush(user);
 
         String subject = "Welcome to MockXpert - Your Interview Prep Partner!";
-        String plainMessage = String.format(
-                "Hi %s,<br/><br/>" +
-                "Thank you for signing up with <strong>MockXpert</strong>. We're excited to help you ace your interviews!<br/><br/>" +
-                "You can start booking interview sessions right away by visiting your dashboard:<br/><br/>" +
-                "<a href='https://mockxpert.com/dashboard' style='padding: 10px 20px; background-color: #6366f1; color: #ffffff; text-decoration: none; border-radius: 4px;'>Go to Dashboard</a><br/><br/>" +
-                "Best Regards,<br/>" +
-                "MockXpert Team",
-                savedUser.getFirstName()
-        );
-        sendUserNotification(savedUser.getUserId(), subject, plainMessage);
+        sendUserNotification(savedUser.getUserId(), subject, "user.welcome",
+                EmailTemplateService.params("firstName", savedUser.getFirstName()));
 
         return UserMapper.toDto(savedUser);
     }
@@ -122,7 +134,7 @@ public class UserService {
                     .setPassword(password)
                     .setEmailVerified(false)
                     .setDisabled(false);
-            UserRecord userRecord = firebaseAuth.createUser(request);
+            UserRecord userRecord = resilienceService.execute(ResilienceService.FIREBASE, () -> firebaseAuth.createUser(request));
             return userRecord.getUid();
         } catch (FirebaseAuthException e) {
             logger.error("Error creating Firebase user for email: {}", email, e);
@@ -143,14 +155,18 @@ public class UserService {
         requestBody.put("email", email);
         requestBody.put("password", password);
         requestBody.put("returnSecureToken", true);
-        RestTemplate restTemplate = new RestTemplate();
         FirebaseLoginResponse firebaseResponse;
         try {
-            firebaseResponse = restTemplate.postForObject(
+            firebaseResponse = resilienceService.execute(ResilienceService.FIREBASE, () -> restTemplate.postForObject(
                     FIREBASE_LOGIN_URL + firebaseApiKey,
                     requestBody,
                     FirebaseLoginResponse.class
-            );
+            ));
+        } catch (ServiceUnavailableException e) {
+            throw e;
+        } catch (ResourceAccessException | HttpServerErrorException e) {
+            logger.error("Firebase is unreachable while authenticating email: {}", email, e);
+            throw new ServiceUnavailableException("Login is temporarily unavailable, please try again later.");
         } catch (Exception e) {
             logger.error("Firebase authentication failed for email: {}", email, e);
             throw new UnauthorizedException("Invalid email or password.");
@@ -247,17 +263,14 @@ public class UserService {
         existingUser.setProfilePictureUrl(userDto.getProfilePictureUrl());
         existingUser.setPreferredLanguage(userDto.getPreferredLanguage());
         existingUser.setTimezone(userDto.getTimezone());
+        if (userDto.getDailyDigest() != null) {
+            existingUser.setDailyDigest(userDto.getDailyDigest());
+        }
+        principalCache.invalidateUser(userId);
         
         String subject = "Profile Updated Successfully!";
-        String plainMessage = String.format(
-                "Hi %s,<br/><br/>Your profile details have been successfully updated. " +
-                "If you did not authorize these changes, please contact support immediately.<br/><br/>" +
-                "<a href='https://mockxpert.com/settings' style='padding: 10px 20px; background-color: #6366f1; color: #ffffff; text-decoration: none; border-radius: 4px;'>Review Your Profile</a><br/><br/>" +
-                "Best Regards,<br/>" +
-                "MockXpert Team",
-                existingUser.getFirstName()
-        );
-        sendUserNotification(userId, subject, plainMessage);
+        sendUserNotification(userId, subject, "user.profile-updated",
+                EmailTemplateService.params("firstName", existingUser.getFirstName()));
         
         return UserMapper.toDto(userRepository.saveAndFlush(existingUser));
     }
@@ -281,23 +294,29 @@ public class UserService {
             throw new ValidationException("Password and confirm password do not match.");
         }
         user.setPassword(passwordEncoder.encode(newPassword));
+        user.setPasswordGeneration(user.getPasswordGeneration() + 1);
         
         String subject = "Your Password Has Been Changed";
-        String plainMessage = String.format(
-                "Hi %s,<br/><br/>Your password has been successfully updated. " +
-                "If you did not make this change, please reset your password immediately.<br/><br/>" +
-                "<a href='https://mockxpert.com/reset-password' style='padding: 10px 20px; background-color: #6366f1; color: #ffffff; text-decoration: none; border-radius: 4px;'>Reset Password</a><br/><br/>" +
-                "Best Regards,<br/>" +
-                "MockXpert Team",
-                user.getFirstName()
-        );
-        sendUserNotification(userId, subject, plainMessage);
+        sendUserNotification(userId, subject, "user.password-changed",
+                EmailTemplateService.params("firstName", user.getFirstName()));
 
         userRepository.saveAndFlush(user);
     }
 
     /**
-     * Generates and stores a reset token for forgot password functionality.
+     * Reads the user a reset token was issued to, without consuming the token.
+     *
+     * @param resetToken the reset token.
+     * @return the user ID, or null when the token is invalid or expired.
+     */
+    public Long getResetTokenUserId(String resetToken) {
+        SignedTokenService.TokenClaims claims = signedTokenService.verifyToken(SignedTokenService.PASSWORD_RESET, resetToken);
+        return claims == null ? null : claims.getUserId();
+    }
+
+    /**
+     * Generates a signed, expiring reset token for forgot password functionality. The token is not stored,
+     * but the user's password generation is bumped, so tokens requested before stop working.
      *
      * @param email User email.
      * @return The generated reset token.
@@ -306,28 +325,23 @@ public class UserService {
     public String generateResetToken(String email) {
         final User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email));
-        final String resetToken = UUID.randomUUID().toString();
-        user.setResetToken(resetToken);
+        user.setPasswordGeneration(user.getPasswordGeneration() + 1);
         userRepository.saveAndFlush(user);
+        final String resetToken = signedTokenService.createToken(SignedTokenService.PASSWORD_RESET, user.getUserId(),
+                user.getPasswordGeneration(), resetTokenTtlMinutes);
         
         String subject = "Password Reset Request";
-        String plainMessage = String.format(
-                "Hi %s,<br/><br/>We received a request to reset your password. " +
-                "Click the link below to reset your password:<br/><br/>" +
-                "<a href='http://localhost:3000/auth/reset-password?token=%s' style='padding: 10px 20px; background-color: #6366f1; color: #ffffff; text-decoration: none; border-radius: 4px;'>Reset Your Password</a><br/><br/>" +
-                "If you did not request this, please ignore this email.<br/><br/>" +
-                "Best Regards,<br/>" +
-                "MockXpert Team",
-                user.getFirstName(), resetToken
-        );
-        sendUserNotification(user.getUserId(), subject, plainMessage);
+        sendUserNotification(user.getUserId(), subject, "user.password-reset",
+                EmailTemplateService.params("firstName", user.getFirstName(), "token", resetToken));
 
         return resetToken;
     }
 
     /**
      * Resets the user's password using a reset token.
-     * Validates that the new password and confirm password match, then encrypts the new password.
+     * Validates that the new password and confirm password match, then updates the password in Firebase.
+     * The token is only used up once Firebase accepted the new password, the user row stays locked
+     * meanwhile so the same token cannot be redeemed twice.
      *
      * @param resetToken      The reset token.
      * @param newPassword     New password.
@@ -335,8 +349,15 @@ public class UserService {
      */
     @Transactional
     public void resetPassword(String resetToken, String newPassword, String confirmPassword) {
-        final User user = userRepository.findByResetToken(resetToken)
+        final SignedTokenService.TokenClaims claims = signedTokenService.verifyToken(SignedTokenService.PASSWORD_RESET, resetToken);
+        if (claims == null) {
+            throw new ResourceNotFoundException("Invalid or expired reset token.");
+        }
+        final User user = userRepository.lockById(claims.getUserId())
                 .orElseThrow(() -> new ResourceNotFoundException("Invalid or expired reset token."));
+        if (user.getPasswordGeneration() != claims.getGeneration()) {
+            throw new ResourceNotFoundException("Invalid or expired reset token.");
+        }
         if (newPassword == null || newPassword.length() < 8) {
             throw new ValidationException("Password must be at least 8 characters long.");
         }
@@ -348,15 +369,20 @@ public class UserService {
             UserRecord.UpdateRequest request = new UserRecord.UpdateRequest(user.getFirebaseUid())
                     .setPassword(newPassword);
             
-            firebaseAuth.updateUser(request);
-            firebaseAuth.revokeRefreshTokens(user.getFirebaseUid());
-            
-            user.setResetToken(null);
-            userRepository.save(user);
+            resilienceService.execute(ResilienceService.FIREBASE, () -> {
+                firebaseAuth.updateUser(request);
+                firebaseAuth.revokeRefreshTokens(user.getFirebaseUid());
+                return null;
+            });
+            firebaseTokenCache.revokeUser(user.getFirebaseUid());
 
         } catch (FirebaseAuthException e) {
             throw new InternalServerErrorException("Failed to update password in Firebase: " + e.getMessage());
         }
+        
+        user.setPasswordGeneration(user.getPasswordGeneration() + 1);
+        userRepository.saveAndFlush(user);
+        signedTokenService.consumeToken(SignedTokenService.PASSWORD_RESET, resetToken);
     }
 
     /**
@@ -369,6 +395,7 @@ public class UserService {
         final User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + userId));
         userRepository.delete(user);
+        principalCache.invalidateUser(userId);
     }
 
     /**
@@ -386,6 +413,7 @@ public class UserService {
             }
             user.setStatus(User.Status.INACTIVE);
             userRepository.saveAndFlush(user);
+            principalCache.invalidateUser(userId);
             return true;
         }).orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + userId));
     }
@@ -404,90 +432,46 @@ public class UserService {
             }
             user.setStatus(User.Status.ACTIVE);
             userRepository.saveAndFlush(user);
+            principalCache.invalidateUser(userId);
             return true;
         }).orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + userId));
     }
     
     /**
-     * Helper method to send user-related notifications using a beautiful HTML email template.
+     * Helper method to send user-related notifications using the shared email templates.
      *
-     * @param userId  The recipient's user ID.
-     * @param subject The subject for the notification email.
-     * @param message The raw HTML message content to be wrapped.
+     * @param userId      The recipient's user ID.
+     * @param subject     The subject for the notification email.
+     * @param templateKey The email template to render.
+     * @param params      The template parameters.
      */
-    private void sendUserNotification(Long userId, String subject, String message) {
-        // Wrap the raw content with our full HTML email template.
-        String htmlMessage = buildHtmlEmail(subject, message);
-        
-        NotificationDto notificationDto = new NotificationDto();
-        notificationDto.setUserId(userId);
-        notificationDto.setSubject(subject);
-        notificationDto.setMessage(htmlMessage);
-        notificationDto.setType("EMAIL");
-        notificationDto.setStatus("SENT");
-
-        notificationService.createNotification(notificationDto);
+    private void sendUserNotification(Long userId, String subject, String templateKey, Map<String, String> params) {
+        notificationService.createEmailNotification(userId, subject, templateKey, params);
     }
     
-    /**
-     * Helper method to build a full HTML email template using the MockXpert theme.
-     *
-     * This method wraps the provided title and content in a styled email layout that uses:
-     * - A header with background color "#6366f1" and white text.
-     * - A white content container with rounded corners and subtle drop shadow.
-     * - A light gray background (#f4f4f4) for the overall email body.
-     * - A footer with muted gray text.
-     *
-     * @param headerTitle The header title (typically the subject with dynamic details).
-     * @param content     The main HTML content for the email body.
-     * @return A complete HTML string representing the email.
-     */
-    private String buildHtmlEmail(String headerTitle, String content) {
-        return String.format(
-            "<!DOCTYPE html>" +
-            "<html>" +
-              "<head>" +
-                "<meta charset=\"UTF-8\">" +
-                "<title>%s</title>" +
-              "</head>" +
-              "<body style=\"margin: 0; padding: 0; background-color: #f4f4f4; font-family: Arial, sans-serif;\">" +
-                "<table border=\"0\" cellpadding=\"0\" cellspacing=\"0\" width=\"100%%\">" +
-                  "<tr>" +
-                    "<td align=\"center\" style=\"padding: 20px 10px;\">" +
-                      "<table border=\"0\" cellpadding=\"0\" cellspacing=\"0\" width=\"600\" " +
-                        "style=\"background-color: #ffffff; border-radius: 8px; overflow: hidden; " +
-                        "box-shadow: 0 2px 8px rgba(0,0,0,0.1);\">" +
-                        "<tr>" +
-                          "<td align=\"center\" bgcolor=\"#6366f1\" " +
-                            "style=\"padding: 30px 0; color: #ffffff; font-size: 28px; font-weight: bold;\">" +
-                            "MockXpert" +
-                          "</td>" +
-                        "</tr>" +
-                        "<tr>" +
-                          "<td style=\"padding: 40px 30px; color: #333333;\">" +
-                            "<p style=\"margin: 20px 0 0 0; font-size: 16px; line-height: 1.5;\">%s</p>" +
-                          "</td>" +
-                        "</tr>" +
-                        "<tr>" +
-                          "<td align=\"center\" bgcolor=\"#f4f4f4\" " +
-                            "style=\"padding: 20px; font-size: 12px; color: #777777;\">" +
-                            "© 2025 MockXpert. All rights reserved." +
-                          "</td>" +
-                        "</tr>" +
-                      "</table>" +
-                    "</td>" +
-                  "</tr>" +
-                "</table>" +
-              "</body>" +
-            "</html>", headerTitle, content);
-    }
     
     /**
      * 
      * Helper method to get the current logged in users details.
+     * Loads the user row on every call, callers that only need the ID or role should use
+     * {@link #getCurrentUserId()} or {@link #getCurrentPrincipal()} instead.
      * 
      */
     public UserDto getCurrentUser() {
+        UserPrincipal principal = getCurrentPrincipal();
+
+        User user = userRepository.findById(principal.getUserId())
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with firebaseUid: " + principal.getFirebaseUid()));
+
+        return UserMapper.toDto(user);  
+    }
+
+    /**
+     * Returns the principal the authentication filter resolved for this request, without a database call.
+     *
+     * @return the current user's principal.
+     */
+    public UserPrincipal getCurrentPrincipal() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         
         if (auth == null || !auth.isAuthenticated() || auth.getPrincipal().equals("anonymousUser")) {
@@ -495,12 +479,28 @@ public class UserService {
             throw new UnauthorizedException("User is not authenticated.");
         }
 
-        logger.info("Current Authenticated User: {}", auth.getPrincipal()); 
+        if (!(auth.getPrincipal() instanceof UserPrincipal)) {
+            throw new ResourceNotFoundException("User not found with firebaseUid: " + auth.getPrincipal());
+        }
+        logger.debug("Current Authenticated User: {}", auth.getPrincipal());
+        return (UserPrincipal) auth.getPrincipal();
+    }
 
-        User user = userRepository.findByFirebaseUid(auth.getPrincipal().toString())
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with firebaseUid: " + auth.getPrincipal()));
+    /**
+     * @return the ID of the current user.
+     */
+    public Long getCurrentUserId() {
+        return getCurrentPrincipal().getUserId();
+    }
 
-        return UserMapper.toDto(user);  
+    /**
+     * Returns the principal of the current request if a registered user is authenticated.
+     *
+     * @return the principal, or null.
+     */
+    public UserPrincipal findCurrentPrincipal() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null && auth.getPrincipal() instanceof UserPrincipal ? (UserPrincipal) auth.getPrincipal() : null;
     }
 
     /**
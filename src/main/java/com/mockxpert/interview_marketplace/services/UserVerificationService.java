@@ -13,7 +13,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.Optional;
 
 @Service
 public class UserVerificationService {
@@ -27,13 +26,19 @@ public class UserVerificationService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private SignedTokenService signedTokenService;
+
     /**
      * Initiates the verification process by generating an OTP and sending an email
-     * to the user's primary email.
+     * to the user's primary email. The OTP is derived, not stored.
      *
      * @param userId the ID of the user to verify.
      */
-    @Transactional
+    @Transactional(readOnly = true)
     public void sendVerificationOtp(Long userId) {
         User user = userRepository.findById(userId)
             .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + userId));
@@ -42,20 +47,9 @@ public class UserVerificationService {
             throw new BadRequestException("Invalid email provided.");
         }
 
-        String otp = TokenGenerator.generateOtp();
-        LocalDateTime expiryTime = LocalDateTime.now().plusMinutes(15);
-
-        Optional<UserVerification> existingVerification = verificationRepository.findByUser_UserId(userId);
-        UserVerification verification = existingVerification.orElse(new UserVerification());
-        verification.setUser(user);
-        verification.setVerificationToken(otp);
-        verification.setTokenExpiry(expiryTime);
-        verification.setStatus(UserVerification.VerificationStatus.EMAIL_SENT);
-        verification.setLastUpdated(LocalDateTime.now());
+        String otp = signedTokenService.generateOtp(SignedTokenService.EMAIL_OTP, userId, user.getEmail());
 
-        verificationRepository.save(verification);
-
-        emailService.sendOtpEmail(user.getEmail(), otp);
+        emailService.sendOtpEmail(user.getEmail(), otp, user.getPreferredLanguage());
     }
 
     /**
@@ -66,27 +60,29 @@ public class UserVerificationService {
      */
     @Transactional
     public void verifyOtp(Long userId, String otp) {
-        UserVerification verification = verificationRepository.findByUser_UserId(userId)
-            .orElseThrow(() -> new ResourceNotFoundException("Verification not found for user ID: " + userId));
+        User user = userRepository.findById(userId)
+            .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + userId));
 
-        if (!verification.getVerificationToken().equals(otp)) {
-            throw new BadRequestException("Invalid OTP.");
+        if (!signedTokenService.verifyOtp(SignedTokenService.EMAIL_OTP, userId, user.getEmail(), otp)) {
+            throw new BadRequestException("Invalid or expired OTP. Please request a new one.");
         }
 
-        if (verification.getTokenExpiry().isBefore(LocalDateTime.now())) {
-            throw new BadRequestException("OTP has expired. Please request a new one.");
+        UserVerification verification = verificationRepository.findByUser_UserId(userId).orElse(new UserVerification());
+        verification.setUser(user);
+        if (verification.getVerificationToken() == null) {
+            verification.setVerificationToken(TokenGenerator.generateToken());
         }
-
+        verification.setTokenExpiry(null);
         verification.setStatus(UserVerification.VerificationStatus.VERIFIED);
         verification.setLastUpdated(LocalDateTime.now());
         verificationRepository.save(verification);
 
-        User user = verification.getUser();
         user.setStatus(User.Status.ACTIVE);
         user.setEmailVerified(true);
         userRepository.save(user);
+        principalCache.invalidateUser(user.getUserId());
 
-        emailService.sendVerificationEmail(user.getEmail());
+        emailService.sendVerificationEmail(user.getEmail(), user.getPreferredLanguage());
     }
 
     /**
@@ -94,7 +90,7 @@ public class UserVerificationService {
      *
      * @param userId the ID of the user.
      */
-    @Transactional
+    @Transactional(readOnly = true)
     public void resendOtp(Long userId) {
         sendVerificationOtp(userId);
     }
@@ -0,0 +1,61 @@
+package com.mockxpert.interview_marketplace.utils;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Concurrency limit for calls to one dependency.
+ *
+ * A slow dependency can only hold as many request threads as it has permits, callers beyond that
+ * wait briefly and are then turned away instead of queueing up behind it.
+ *
+ * @author Umar Mohammad
+ */
+public class Bulkhead {
+
+    private final int maxConcurrent;
+    private final long maxWaitMillis;
+    private final Semaphore permits;
+
+    /**
+     * @param maxConcurrent calls allowed at the same time.
+     * @param maxWaitMillis how long a caller waits for a permit.
+     */
+    public Bulkhead(int maxConcurrent, long maxWaitMillis) {
+        if (maxConcurrent < 1 || maxWaitMillis < 0) {
+            throw new IllegalArgumentException("Invalid bulkhead configuration.");
+        }
+        this.maxConcurrent = maxConcurrent;
+        this.maxWaitMillis = maxWaitMillis;
+        this.permits = new Semaphore(maxConcurrent, true);
+    }
+
+    /**
+     * Takes a permit, waiting at most the configured time. A taken permit must be released.
+     *
+     * @return true if the call may proceed.
+     */
+    public boolean tryAcquire() {
+        try {
+            return maxWaitMillis == 0 ? permits.tryAcquire() : permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    /**
+     * @return number of calls currently running.
+     */
+    public int getInFlight() {
+        return maxConcurrent - permits.availablePermits();
+    }
+}
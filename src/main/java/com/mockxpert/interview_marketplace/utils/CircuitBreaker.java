@@ -0,0 +1,161 @@
+package com.mockxpert.interview_marketplace.utils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Count based circuit breaker.
+ *
+ * While closed, the outcomes of the last calls are kept in a ring buffer. Once enough calls were
+ * recorded and the failure rate reaches the threshold the breaker opens and rejects every call
+ * for the open duration. After that it is half open and lets a limited number of probe calls
+ * through: a successful probe closes it with a fresh window, a failed probe opens it again.
+ *
+ * @author Umar Mohammad
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openNanos;
+    private final int halfOpenProbes;
+    private final boolean[] window;
+
+    private State state = State.CLOSED;
+    private int position;
+    private int recorded;
+    private int failures;
+    private long openedAt;
+    private int probesInFlight;
+    private long openCount;
+
+    /**
+     * @param windowSize           number of recent calls the failure rate is computed over.
+     * @param minimumCalls         calls needed in the window before the breaker can open.
+     * @param failureRateThreshold failure rate between 0 and 1 that opens the breaker.
+     * @param openMillis           time the breaker stays open before probing.
+     * @param halfOpenProbes       concurrent probe calls allowed while half open.
+     */
+    public CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold, long openMillis, int halfOpenProbes) {
+        if (windowSize < 1 || minimumCalls < 1 || halfOpenProbes < 1 || failureRateThreshold <= 0 || failureRateThreshold > 1) {
+            throw new IllegalArgumentException("Invalid circuit breaker configuration.");
+        }
+        this.window = new boolean[windowSize];
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMillis);
+        this.halfOpenProbes = halfOpenProbes;
+    }
+
+    /**
+     * Asks for permission to call the dependency. Every permitted call must be followed by
+     * exactly one of {@link #onSuccess()}, {@link #onFailure()} or {@link #onIgnored()}.
+     *
+     * @return true if the call may proceed.
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAt < openNanos) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            probesInFlight = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesInFlight >= halfOpenProbes) {
+                return false;
+            }
+            probesInFlight++;
+        }
+        return true;
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            close();
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (recorded >= minimumCalls && failures >= failureRateThreshold * recorded) {
+                open();
+            }
+        }
+    }
+
+    /**
+     * Releases a permit without a verdict, e.g. when the call never reached the dependency.
+     */
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN && probesInFlight > 0) {
+            probesInFlight--;
+        }
+    }
+
+    public synchronized State getState() {
+        if (state == State.OPEN && System.nanoTime() - openedAt >= openNanos) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    /**
+     * @return milliseconds until an open breaker starts probing, 0 when it is not open.
+     */
+    public synchronized long getRemainingOpenMillis() {
+        if (state != State.OPEN) {
+            return 0;
+        }
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(openNanos - (System.nanoTime() - openedAt)));
+    }
+
+    public synchronized double getFailureRate() {
+        return recorded == 0 ? 0 : (double) failures / recorded;
+    }
+
+    /**
+     * @return how often the breaker opened since startup.
+     */
+    public synchronized long getOpenCount() {
+        return openCount;
+    }
+
+    private void record(boolean failure) {
+        if (recorded == window.length) {
+            if (window[position]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        window[position] = failure;
+        if (failure) {
+            failures++;
+        }
+        position = (position + 1) % window.length;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = System.nanoTime();
+        openCount++;
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        position = 0;
+        recorded = 0;
+        failures = 0;
+    }
+}
@@ -0,0 +1,86 @@
+package com.mockxpert.interview_marketplace.utils;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Least recently used cache of small files held in direct buffers, outside the Java heap.
+ *
+ * The cache is bounded by the total number of bytes it holds. Entries are stored read-only and
+ * every reader gets its own duplicate, so the position of one reader never affects another.
+ * Evicted buffers are released by the garbage collector like any other direct buffer.
+ *
+ * @author Umar Mohammad
+ */
+public class DirectBufferCache {
+
+    private final long maxBytes;
+    private final LinkedHashMap<String, ByteBuffer> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long totalBytes;
+
+    /**
+     * @param maxBytes maximum number of bytes held at once.
+     */
+    public DirectBufferCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * @param key the cache key.
+     * @return a read-only view of the cached content positioned at 0, or null.
+     */
+    public synchronized ByteBuffer get(String key) {
+        ByteBuffer buffer = entries.get(key);
+        return buffer == null ? null : buffer.duplicate();
+    }
+
+    /**
+     * Copies content into a direct buffer and caches it, evicting the least recently used entries.
+     *
+     * @param key     the cache key.
+     * @param content the content, read from its position to its limit.
+     * @return a read-only view of the cached content, or null when it is larger than the cache.
+     */
+    public ByteBuffer put(String key, ByteBuffer content) {
+        int size = content.remaining();
+        if (size > maxBytes) {
+            return null;
+        }
+        ByteBuffer direct = ByteBuffer.allocateDirect(size);
+        direct.put(content.duplicate()).flip();
+        ByteBuffer readOnly = direct.asReadOnlyBuffer();
+        synchronized (this) {
+            ByteBuffer previous = entries.put(key, readOnly);
+            if (previous != null) {
+                totalBytes -= previous.capacity();
+            }
+            totalBytes += size;
+            Iterator<Map.Entry<String, ByteBuffer>> eldest = entries.entrySet().iterator();
+            while (totalBytes > maxBytes && eldest.hasNext()) {
+                Map.Entry<String, ByteBuffer> entry = eldest.next();
+                if (entry.getKey().equals(key)) {
+                    continue;
+                }
+                totalBytes -= entry.getValue().capacity();
+                eldest.remove();
+            }
+        }
+        return readOnly.duplicate();
+    }
+
+    /**
+     * @return the number of cached entries.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return the number of bytes held.
+     */
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+}
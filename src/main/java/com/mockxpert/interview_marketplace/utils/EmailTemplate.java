@@ -0,0 +1,133 @@
+package com.mockxpert.interview_marketplace.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An email template compiled once into static text segments and placeholders.
+ *
+ * {{name}} is replaced by the HTML escaped value of the parameter, {{{name}}} by the raw value and
+ * is only meant for trusted HTML such as an already rendered body. Rendering appends to a caller
+ * supplied buffer so the same buffer can be reused across sends. Instances are immutable and safe
+ * to share between threads.
+ *
+ * @author Umar Mohammad
+ */
+public final class EmailTemplate {
+
+    private final String[] segments;
+    private final String[] names;
+    private final boolean[] escaped;
+    private final int staticLength;
+
+    private EmailTemplate(String[] segments, String[] names, boolean[] escaped) {
+        this.segments = segments;
+        this.names = names;
+        this.escaped = escaped;
+        int length = 0;
+        for (String segment : segments) {
+            length += segment.length();
+        }
+        this.staticLength = length;
+    }
+
+    /**
+     * Parses a template source.
+     *
+     * @param source the template text.
+     * @return the compiled template.
+     * @throws IllegalArgumentException if a placeholder is not closed or has no name.
+     */
+    public static EmailTemplate compile(String source) {
+        List<String> segments = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        List<Boolean> escaped = new ArrayList<>();
+
+        int position = 0;
+        while (true) {
+            int open = source.indexOf("{{", position);
+            if (open < 0) {
+                segments.add(source.substring(position));
+                break;
+            }
+            boolean raw = source.startsWith("{{{", open);
+            String closing = raw ? "}}}" : "}}";
+            int nameStart = open + (raw ? 3 : 2);
+            int close = source.indexOf(closing, nameStart);
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder at offset " + open);
+            }
+            String name = source.substring(nameStart, close).trim();
+            if (name.isEmpty()) {
+                throw new IllegalArgumentException("Empty placeholder at offset " + open);
+            }
+            segments.add(source.substring(position, open));
+            names.add(name);
+            escaped.add(!raw);
+            position = close + closing.length();
+        }
+
+        boolean[] escapedFlags = new boolean[escaped.size()];
+        for (int i = 0; i < escapedFlags.length; i++) {
+            escapedFlags[i] = escaped.get(i);
+        }
+        return new EmailTemplate(segments.toArray(new String[0]), names.toArray(new String[0]), escapedFlags);
+    }
+
+    /**
+     * Renders the template. Missing or null parameters render as empty text.
+     *
+     * @param params the parameter values, CharSequence values are appended without copying.
+     * @param out    the buffer to append to.
+     */
+    public void render(Map<String, ?> params, StringBuilder out) {
+        out.ensureCapacity(out.length() + staticLength + names.length * 16);
+        for (int i = 0; i < names.length; i++) {
+            out.append(segments[i]);
+            Object value = params.get(names[i]);
+            if (value == null) {
+                continue;
+            }
+            CharSequence text = value instanceof CharSequence ? (CharSequence) value : value.toString();
+            if (escaped[i]) {
+                escapeHtml(text, out);
+            } else {
+                out.append(text);
+            }
+        }
+        out.append(segments[names.length]);
+    }
+
+    /**
+     * @return the placeholder names in source order.
+     */
+    public List<String> getPlaceholders() {
+        return List.of(names);
+    }
+
+    /**
+     * Appends the text with the HTML special characters replaced by entities.
+     *
+     * @param text the text to escape.
+     * @param out  the buffer to append to.
+     */
+    public static void escapeHtml(CharSequence text, StringBuilder out) {
+        int start = 0;
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            String entity;
+            switch (text.charAt(i)) {
+                case '&': entity = "&amp;"; break;
+                case '<': entity = "&lt;"; break;
+                case '>': entity = "&gt;"; break;
+                case '"': entity = "&quot;"; break;
+                case '\'': entity = "&#39;"; break;
+                default: continue;
+            }
+            out.append(text, start, i).append(entity);
+            start = i + 1;
+        }
+        out.append(text, start, length);
+    }
+}
@@ -0,0 +1,167 @@
+package com.mockxpert.interview_marketplace.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Sources of all email templates, keyed by template key and language.
+ *
+ * Every template has an English variant, which is used whenever the user's preferred language
+ * has none. The layout receives the escaped {{title}} and the rendered {{{body}}}.
+ *
+ * Only the layout is translated so far, the bodies are English only. Since the layout follows the
+ * language of the body, emails are English until a body gets variants of its own, added with the
+ * same language codes as the layout.
+ *
+ * @author Umar Mohammad
+ */
+public final class EmailTemplateCatalog {
+
+    public static final String DEFAULT_LANGUAGE = "en";
+
+    public static final String LAYOUT = "layout";
+
+    /**
+     * Wraps bodies that were stored as rendered HTML before notifications were kept as template and parameters.
+     */
+    public static final String LEGACY = "legacy";
+
+    private static final String BUTTON_STYLE =
+            "padding: 10px 20px; background-color: #6366f1; color: #ffffff; text-decoration: none; border-radius: 4px;";
+
+    private static final String LAYOUT_SOURCE = """
+            <!DOCTYPE html>\
+            <html lang="en">\
+            <head><meta charset="UTF-8"><title>{{title}}</title></head>\
+            <body style="margin: 0; padding: 0; background-color: #f4f4f4; font-family: Arial, sans-serif;">\
+            <table border="0" cellpadding="0" cellspacing="0" width="100%">\
+            <tr><td align="center" style="padding: 20px 10px;">\
+            <table border="0" cellpadding="0" cellspacing="0" width="600" style="background-color: #ffffff; \
+            border-radius: 8px; overflow: hidden; box-shadow: 0 2px 8px rgba(0,0,0,0.1);">\
+            <tr><td align="center" bgcolor="#6366f1" style="padding: 30px 0; color: #ffffff; font-size: 28px; \
+            font-weight: bold;">MockXpert</td></tr>\
+            <tr><td style="padding: 40px 30px; color: #333333;">\
+            <p style="margin: 0; font-size: 16px; line-height: 1.5;">{{{body}}}</p>\
+            </td></tr>\
+            <tr><td align="center" bgcolor="#f4f4f4" style="padding: 20px; font-size: 12px; color: #777777;">\
+            {{{footer}}}</td></tr>\
+            </table></td></tr></table></body></html>""";
+
+    private static final Map<String, Map<String, String>> SOURCES = new LinkedHashMap<>();
+
+    static {
+        layout("en", "© 2025 MockXpert. All rights reserved.");
+        layout("es", "© 2025 MockXpert. Todos los derechos reservados.");
+        layout("fr", "© 2025 MockXpert. Tous droits réservés.");
+        layout("de", "© 2025 MockXpert. Alle Rechte vorbehalten.");
+
+        en(LEGACY, "{{{body}}}");
+
+        en("availability.created",
+                "Dear Interviewer,<br/><br/>Your availability for {{date}} from {{startTime}} to {{endTime}} "
+                + "has been successfully created.");
+        en("availability.booked",
+                "Dear Interviewer,<br/><br/>Your availability on {{date}} has been booked.");
+        en("availability.canceled",
+                "Dear Interviewer,<br/><br/>Your availability on {{date}} has been canceled.");
+
+        en("booking.confirmed.interviewee",
+                "Dear {{intervieweeName}}, your interview booking with {{interviewerName}} on {{bookingDate}} "
+                + "has been confirmed.");
+        en("booking.received.interviewer",
+                "Dear {{interviewerName}}, you have received a new booking for an interview with {{intervieweeName}} "
+                + "on {{bookingDate}}.");
+        en("booking.updated",
+                "Your booking scheduled on {{bookingDate}} has been updated. Please review the changes.");
+        en("booking.canceled.interviewee",
+                "Dear {{name}}, your booking on {{bookingDate}} has been canceled. Reason: {{reason}}");
+        en("booking.canceled.interviewer",
+                "Dear {{name}}, the booking scheduled on {{bookingDate}} has been canceled.");
+
+        en("payment.succeeded.interviewee",
+                "Dear {{intervieweeName}},<br/><br/>Your payment for your booking on {{bookingDate}} has been "
+                + "successfully processed. Your interview with {{interviewerName}} is now confirmed. "
+                + "We look forward to a great session!");
+        en("payment.confirmed.interviewer",
+                "Dear {{interviewerName}},<br/><br/>A new booking has been confirmed for your interview session on "
+                + "{{bookingDate}} with {{intervieweeName}}. Please prepare for your upcoming interview.");
+        en("payment.refunded",
+                "Dear {{intervieweeName}},<br/><br/>Your payment for your booking on {{bookingDate}} has been refunded. "
+                + "If you have any questions, please contact our support team.<br/><br/>Best regards,<br/>MockXpert Team");
+
+        en("user.welcome",
+                "Hi {{firstName}},<br/><br/>"
+                + "Thank you for signing up with <strong>MockXpert</strong>. We're excited to help you ace your interviews!<br/><br/>"
+                + "You can start booking interview sessions right away by visiting your dashboard:<br/><br/>"
+                + "<a href='https://mockxpert.com/dashboard' style='" + BUTTON_STYLE + "'>Go to Dashboard</a><br/><br/>"
+                + "Best Regards,<br/>MockXpert Team");
+        en("user.profile-updated",
+                "Hi {{firstName}},<br/><br/>Your profile details have been successfully updated. "
+                + "If you did not authorize these changes, please contact support immediately.<br/><br/>"
+                + "<a href='https://mockxpert.com/settings' style='" + BUTTON_STYLE + "'>Review Your Profile</a><br/><br/>"
+                + "Best Regards,<br/>MockXpert Team");
+        en("user.password-changed",
+                "Hi {{firstName}},<br/><br/>Your password has been successfully updated. "
+                + "If you did not make this change, please reset your password immediately.<br/><br/>"
+                + "<a href='https://mockxpert.com/reset-password' style='" + BUTTON_STYLE + "'>Reset Password</a><br/><br/>"
+                + "Best Regards,<br/>MockXpert Team");
+        en("user.password-reset",
+                "Hi {{firstName}},<br/><br/>We received a request to reset your password. "
+                + "Click the link below to reset your password:<br/><br/>"
+                + "<a href='http://localhost:3000/auth/reset-password?token={{token}}' style='" + BUTTON_STYLE + "'>"
+                + "Reset Your Password</a><br/><br/>"
+                + "If you did not request this, please ignore this email.<br/><br/>"
+                + "Best Regards,<br/>MockXpert Team");
+
+        en("feedback.received",
+                "Dear {{receiverName}},<br/><br/>"
+                + "You have received feedback from <strong>{{giverName}}</strong> regarding your interview.<br/><br/>"
+                + "<strong>Rating:</strong> {{rating}}/10<br/>"
+                + "<strong>Comments:</strong> {{comments}}<br/>"
+                + "<strong>Positives:</strong> {{positives}}<br/>"
+                + "<strong>Negatives:</strong> {{negatives}}<br/>"
+                + "<strong>Improvements:</strong> {{improvements}}<br/><br/>"
+                + "Best regards,<br/><strong>MockXpert Team</strong>");
+
+        en("digest.summary",
+                "Hi {{firstName}},<br/><br/>Here is a summary of your {{count}} latest updates on "
+                + "<strong>MockXpert</strong>:<br/><br/>{{{items}}}"
+                + "<a href='https://mockxpert.com/dashboard' style='" + BUTTON_STYLE + "'>Go to Dashboard</a><br/><br/>"
+                + "Best Regards,<br/>MockXpert Team");
+        en("digest.item",
+                "<strong>{{subject}}</strong><br/>{{{body}}}"
+                + "<hr style=\"border: none; border-top: 1px solid #e5e7eb; margin: 16px 0;\"/>");
+
+        en("verification.otp",
+                "Dear Interviewer,<br/><br/>"
+                + "Please use the following One-Time Password (OTP) to verify your email address:<br/><br/>"
+                + "<span style=\"font-size: 24px; font-weight: bold; color: #6366f1;\">{{otp}}</span><br/><br/>"
+                + "This OTP is valid for <strong>15 minutes</strong>.<br/><br/>"
+                + "Best regards,<br/>The MockXpert Team");
+        en("verification.verified",
+                "Dear Interviewer,<br/><br/>"
+                + "Thank you for registering with <strong>MockXpert</strong>. We are thrilled to announce that your "
+                + "profile as an Interviewer has been verified.<br/><br/>"
+                + "We wish you all the best and look forward to serving you.<br/><br/>"
+                + "Best regards,<br/>The MockXpert Team");
+    }
+
+    private EmailTemplateCatalog() {
+    }
+
+    /**
+     * @return template key to language to template source.
+     */
+    public static Map<String, Map<String, String>> sources() {
+        return SOURCES;
+    }
+
+    private static void layout(String language, String footer) {
+        SOURCES.computeIfAbsent(LAYOUT, key -> new LinkedHashMap<>())
+               .put(language, LAYOUT_SOURCE.replace("lang=\"en\"", "lang=\"" + language + "\"").replace("{{{footer}}}", footer));
+    }
+
+    private static void en(String key, String source) {
+        SOURCES.computeIfAbsent(key, k -> new LinkedHashMap<>()).put(DEFAULT_LANGUAGE, source);
+    }
+}
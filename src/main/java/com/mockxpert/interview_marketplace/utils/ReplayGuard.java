@@ -0,0 +1,81 @@
+package com.mockxpert.interview_marketplace.utils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded set of recently used one-time values, each remembered until it expires.
+ *
+ * A value only has to be remembered for as long as the token carrying it is valid, after that the
+ * expiry check rejects it anyway. When the set is full, expired entries are dropped first and new
+ * values are refused if that does not free any space, so a flood of tokens can never make an
+ * already used token acceptable again.
+ *
+ * @author Umar Mohammad
+ */
+public class ReplayGuard {
+
+    private final int maxEntries;
+    private final Map<String, Long> usedUntil = new ConcurrentHashMap<>();
+
+    /**
+     * @param maxEntries maximum number of values remembered at once.
+     */
+    public ReplayGuard(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Records a value as used.
+     *
+     * @param key             the one-time value.
+     * @param expiresAtMillis epoch millis after which the value no longer needs to be remembered.
+     * @return true if the value was not used before, false if it is a replay or the set is full.
+     */
+    public boolean tryUse(String key, long expiresAtMillis) {
+        long now = System.currentTimeMillis();
+        if (usedUntil.size() >= maxEntries) {
+            sweep();
+            if (usedUntil.size() >= maxEntries) {
+                return false;
+            }
+        }
+        boolean[] fresh = { false };
+        usedUntil.compute(key, (k, until) -> {
+            if (until != null && until > now) {
+                return until;
+            }
+            fresh[0] = true;
+            return expiresAtMillis;
+        });
+        return fresh[0];
+    }
+
+    /**
+     * @param key the one-time value.
+     * @return whether the value was used and has not expired yet.
+     */
+    public boolean isUsed(String key) {
+        Long until = usedUntil.get(key);
+        return until != null && until > System.currentTimeMillis();
+    }
+
+    /**
+     * Forgets every value that has expired.
+     *
+     * @return the number of values forgotten.
+     */
+    public int sweep() {
+        long now = System.currentTimeMillis();
+        int before = usedUntil.size();
+        usedUntil.values().removeIf(until -> until <= now);
+        return Math.max(0, before - usedUntil.size());
+    }
+
+    /**
+     * @return the number of values currently remembered.
+     */
+    public int size() {
+        return usedUntil.size();
+    }
+}
@@ -0,0 +1,165 @@
+package com.mockxpert.interview_marketplace.utils;
+
+import java.util.Arrays;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Open addressing hash map from term to a primitive int count.
+ *
+ * Used by the feedback theme extraction where millions of increments would otherwise box an
+ * Integer per update. Not thread-safe; each fork/join task owns its own instance and the
+ * results are merged afterwards.
+ *
+ * @author Umar Mohammad
+ */
+public class TermCounter {
+
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private String[] keys;
+    private int[] counts;
+    private int size;
+    private int mask;
+
+    public TermCounter() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param expectedTerms number of distinct terms expected, used to size the table.
+     */
+    public TermCounter(int expectedTerms) {
+        int capacity = Integer.highestOneBit(Math.max(DEFAULT_CAPACITY, expectedTerms * 2 - 1)) << 1;
+        this.keys = new String[capacity];
+        this.counts = new int[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Adds one to the count of the given term.
+     *
+     * @param term the term.
+     */
+    public void increment(String term) {
+        add(term, 1);
+    }
+
+    /**
+     * Adds the given amount to the count of the term.
+     *
+     * @param term  the term.
+     * @param delta the amount to add.
+     */
+    public void add(String term, int delta) {
+        int slot = slot(term);
+        if (keys[slot] == null) {
+            keys[slot] = term;
+            counts[slot] = delta;
+            if (++size * 2 > keys.length) {
+                resize();
+            }
+        } else {
+            counts[slot] += delta;
+        }
+    }
+
+    /**
+     * @param term the term.
+     * @return the count of the term, 0 when absent.
+     */
+    public int get(String term) {
+        int slot = slot(term);
+        return keys[slot] == null ? 0 : counts[slot];
+    }
+
+    /**
+     * Adds every count of the other counter into this one.
+     *
+     * @param other the counter to merge in.
+     */
+    public void merge(TermCounter other) {
+        other.forEach(this::add);
+    }
+
+    /**
+     * Visits every term with its count.
+     *
+     * @param consumer receives the term and its count.
+     */
+    public void forEach(ObjIntConsumer<String> consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                consumer.accept(keys[i], counts[i]);
+            }
+        }
+    }
+
+    /**
+     * Drops every term except the most frequent ones. Ties are kept in term order, the same order
+     * the stored themes are read in.
+     *
+     * @param limit the number of terms to keep.
+     */
+    public void retainTop(int limit) {
+        if (size <= limit) {
+            return;
+        }
+        Integer[] slots = new Integer[size];
+        int n = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                slots[n++] = i;
+            }
+        }
+        Arrays.sort(slots, (a, b) -> counts[a] != counts[b]
+                ? Integer.compare(counts[b], counts[a])
+                : keys[a].compareTo(keys[b]));
+
+        String[] oldKeys = keys;
+        int[] oldCounts = counts;
+        keys = new String[oldKeys.length];
+        counts = new int[oldKeys.length];
+        size = 0;
+        for (int i = 0; i < Math.max(limit, 0); i++) {
+            int slot = slot(oldKeys[slots[i]]);
+            keys[slot] = oldKeys[slots[i]];
+            counts[slot] = oldCounts[slots[i]];
+            size++;
+        }
+    }
+
+    /**
+     * @return number of distinct terms.
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private int slot(String term) {
+        int h = term.hashCode();
+        int slot = (h ^ (h >>> 16)) & mask;
+        while (keys[slot] != null && !keys[slot].equals(term)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void resize() {
+        String[] oldKeys = keys;
+        int[] oldCounts = counts;
+        keys = new String[oldKeys.length << 1];
+        counts = new int[oldKeys.length << 1];
+        mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int slot = slot(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                counts[slot] = oldCounts[i];
+            }
+        }
+    }
+}
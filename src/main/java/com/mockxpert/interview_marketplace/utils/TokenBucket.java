@@ -0,0 +1,79 @@
+package com.mockxpert.interview_marketplace.utils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Lock-free token bucket.
+ *
+ * Implemented in its virtual scheduling form: instead of a token count the bucket keeps the
+ * theoretical time at which it would be full again. Taking a token pushes that time forward by
+ * one refill interval, and a token is available as long as the time stays within one burst of
+ * now. The whole state is a single long updated by compare and set, so callers never block
+ * each other.
+ *
+ * @author Umar Mohammad
+ */
+public class TokenBucket {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong fullAt;
+
+    /**
+     * @param permitsPerSecond sustained rate.
+     * @param burst            tokens that can be taken at once after the bucket was idle.
+     */
+    public TokenBucket(double permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate and burst must be positive.");
+        }
+        this.intervalNanos = Math.max(1L, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+        this.burstNanos = intervalNanos * burst;
+        this.fullAt = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Takes one token if available.
+     *
+     * @return 0 when a token was taken, otherwise the nanoseconds until the next token.
+     */
+    public long tryAcquire() {
+        while (true) {
+            long now = System.nanoTime();
+            long current = fullAt.get();
+            long base = Math.max(current, now);
+            long next = base + intervalNanos;
+            long wait = next - now - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Takes one token, parking the calling thread until one is available.
+     *
+     * @throws InterruptedException if the thread is interrupted while waiting.
+     */
+    public void acquire() throws InterruptedException {
+        long wait;
+        while ((wait = tryAcquire()) > 0) {
+            LockSupport.parkNanos(this, wait);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    /**
+     * @return whether the bucket has refilled completely, i.e. no token was taken for a full burst.
+     */
+    public boolean isFull() {
+        return fullAt.get() - System.nanoTime() <= 0;
+    }
+}
@@ -0,0 +1,128 @@
+package com.mockxpert.interview_marketplace.services;
+
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.GreenMailUtil;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.mockxpert.interview_marketplace.dto.EmailDispatchStatsDto;
+import com.mockxpert.interview_marketplace.exceptions.InternalServerErrorException;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+
+import org.eclipse.angus.mail.smtp.SMTPAddressFailedException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * End to end tests of the pooled email dispatcher against an in-memory GreenMail SMTP server.
+ *
+ * @author Umar Mohammad
+ */
+class EmailDispatcherTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP)
+            .withConfiguration(GreenMailConfiguration.aConfig().withDisabledAuthentication());
+
+    private EmailDispatcher dispatcher;
+
+    private EmailService emailService;
+
+    @BeforeEach
+    void setUp() {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost(ServerSetupTest.SMTP.getBindAddress());
+        mailSender.setPort(ServerSetupTest.SMTP.getPort());
+        mailSender.setProtocol("smtp");
+
+        dispatcher = new EmailDispatcher();
+        ReflectionTestUtils.setField(dispatcher, "mailSender", mailSender);
+        ReflectionTestUtils.setField(dispatcher, "metricsService", new MetricsService());
+        ReflectionTestUtils.setField(dispatcher, "poolSize", 2);
+        ReflectionTestUtils.setField(dispatcher, "queueCapacity", 100);
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 10);
+        ReflectionTestUtils.setField(dispatcher, "ratePerSecond", 1000.0);
+        ReflectionTestUtils.setField(dispatcher, "rateBurst", 100);
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", 3);
+        ReflectionTestUtils.setField(dispatcher, "retryDelayMillis", 10L);
+        ReflectionTestUtils.setField(dispatcher, "maxMessagesPerConnection", 100);
+        ReflectionTestUtils.setField(dispatcher, "idleTimeoutMillis", 30000L);
+        ReflectionTestUtils.setField(dispatcher, "shutdownTimeoutMillis", 5000L);
+        dispatcher.start();
+
+        emailService = new EmailService(mailSender, dispatcher, new EmailTemplateService(), new MetricsService());
+        ReflectionTestUtils.setField(emailService, "defaultFromEmail", "noreply@mockxpert.test");
+        ReflectionTestUtils.setField(emailService, "verificationUrl", "http://localhost/verify");
+        ReflectionTestUtils.setField(emailService, "awaitTimeoutMillis", 10000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.stop();
+    }
+
+    @Test
+    void deliversQueuedEmailsOverPooledConnections() throws Exception {
+        List<CompletableFuture<Void>> deliveries = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            deliveries.add(emailService.sendPlainTextEmail("user" + i + "@example.com", "Subject " + i, "Body " + i));
+        }
+
+        CompletableFuture.allOf(deliveries.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+
+        assertThat(greenMail.getReceivedMessages()).hasSize(25);
+        EmailDispatchStatsDto stats = dispatcher.getStats();
+        assertThat(stats.getSent()).isEqualTo(25);
+        assertThat(stats.getFailed()).isZero();
+        assertThat(stats.getQueueDepth()).isZero();
+        assertThat(stats.getOpenConnections()).isBetween(1, 2);
+    }
+
+    @Test
+    void otpEmailReturnsOnceDelivered() {
+        emailService.sendOtpEmail("user@example.com", "482913", null);
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertThat(received).hasSize(1);
+        assertThat(GreenMailUtil.getBody(received[0])).contains("482913");
+    }
+
+    @Test
+    void otpEmailFailsWhenTheServerIsUnreachable() {
+        greenMail.stop();
+
+        assertThatThrownBy(() -> emailService.sendOtpEmail("user@example.com", "482913", null))
+                .isInstanceOf(InternalServerErrorException.class);
+        assertThat(dispatcher.getStats().getRetried()).isEqualTo(2);
+        assertThat(dispatcher.getStats().getFailed()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectedRecipientsAreNotRetried() throws Exception {
+        InternetAddress recipient = new InternetAddress("nobody@example.com");
+        SendFailedException rejected = new SendFailedException("Invalid Addresses",
+                new SMTPAddressFailedException(recipient, "RCPT TO", 550, "550 5.1.1 User unknown"));
+        SendFailedException deferred = new SendFailedException("Invalid Addresses",
+                new SMTPAddressFailedException(recipient, "RCPT TO", 451, "451 4.3.0 Try again later"));
+
+        assertThat(EmailDispatcher.isPermanent(rejected)).isTrue();
+        assertThat(EmailDispatcher.isPermanent(new MessagingException("Connection refused"))).isFalse();
+        assertThat(EmailDispatcher.isPermanent(deferred)).isFalse();
+    }
+}
@@ -0,0 +1,74 @@
+package com.mockxpert.interview_marketplace.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests of the precompiled email templates.
+ *
+ * @author Umar Mohammad
+ */
+class EmailTemplateServiceTest {
+
+    /**
+     * The booking confirmation as the services built it with String.format before the shared renderer.
+     */
+    private static final String FORMAT_LAYOUT = "<!DOCTYPE html><html lang=\"en\"><head><meta charset=\"UTF-8\"><title>%s</title></head>"
+            + "<body style=\"margin: 0; padding: 0; background-color: #f4f4f4; font-family: Arial, sans-serif;\">"
+            + "<table border=\"0\" cellpadding=\"0\" cellspacing=\"0\" width=\"100%%\">"
+            + "<tr><td align=\"center\" style=\"padding: 20px 10px;\">"
+            + "<table border=\"0\" cellpadding=\"0\" cellspacing=\"0\" width=\"600\" style=\"background-color: #ffffff; "
+            + "border-radius: 8px; overflow: hidden; box-shadow: 0 2px 8px rgba(0,0,0,0.1);\">"
+            + "<tr><td align=\"center\" bgcolor=\"#6366f1\" style=\"padding: 30px 0; color: #ffffff; font-size: 28px; "
+            + "font-weight: bold;\">MockXpert</td></tr>"
+            + "<tr><td style=\"padding: 40px 30px; color: #333333;\">"
+            + "<p style=\"margin: 0; font-size: 16px; line-height: 1.5;\">%s</p></td></tr>"
+            + "<tr><td align=\"center\" bgcolor=\"#f4f4f4\" style=\"padding: 20px; font-size: 12px; color: #777777;\">"
+            + "© 2025 MockXpert. All rights reserved.</td></tr></table></td></tr></table></body></html>";
+
+    private final EmailTemplateService emailTemplateService = new EmailTemplateService();
+
+    private final Map<String, String> params = EmailTemplateService.params("bookingDate", "2025-03-14",
+            "intervieweeName", "Jane Doe", "interviewerName", "John Smith");
+
+    @Test
+    void rendersTheSameDocumentAsTheFormattedStrings() {
+        String expected = String.format(FORMAT_LAYOUT, "Booking Confirmed",
+                "Dear Jane Doe, your interview booking with John Smith on 2025-03-14 has been confirmed.");
+
+        assertThat(emailTemplateService.renderEmail("Booking Confirmed", "booking.confirmed.interviewee", params, "en"))
+                .isEqualTo(expected);
+    }
+
+    @Test
+    void untranslatedBodiesKeepTheEnglishLayout() {
+        String email = emailTemplateService.renderEmail("Booking Confirmed", "booking.confirmed.interviewee", params, "es");
+
+        assertThat(email).contains("lang=\"en\"").contains("All rights reserved.");
+    }
+
+    @Test
+    void legacyBodiesKeepTheEnglishLayout() {
+        String email = emailTemplateService.renderEmail("Notice", "Your booking was <b>updated</b>.", "de-DE");
+
+        assertThat(email).contains("lang=\"en\"").contains("Your booking was <b>updated</b>.");
+    }
+
+    @Test
+    void escapesParameters() {
+        String body = emailTemplateService.renderBody("booking.confirmed.interviewee",
+                EmailTemplateService.params("intervieweeName", "<script>", "interviewerName", "A & B", "bookingDate", "today"), null);
+
+        assertThat(body).doesNotContain("<script>").contains("&lt;script&gt;").contains("A &amp; B");
+    }
+
+    @Test
+    void resolvesStoredLanguageNames() {
+        assertThat(emailTemplateService.resolveLanguage("Español")).isEqualTo("es");
+        assertThat(emailTemplateService.resolveLanguage("fr_CA")).isEqualTo("fr");
+        assertThat(emailTemplateService.resolveLanguage(null)).isEqualTo("en");
+    }
+}
@@ -0,0 +1,64 @@
+package com.mockxpert.interview_marketplace.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests of the feedback theme tokenizer.
+ *
+ * @author Umar Mohammad
+ */
+class FeedbackThemeServiceTest {
+
+    private static Set<String> terms(String... texts) {
+        Set<String> terms = new HashSet<>();
+        for (String text : texts) {
+            FeedbackThemeService.collectTerms(text, terms);
+        }
+        return terms;
+    }
+
+    @Test
+    void collectsLowerCaseUnigramsAndBigrams() {
+        assertThat(terms("The Candidate explained Recursion clearly.")).containsExactlyInAnyOrder(
+                "candidate", "explained", "recursion", "clearly",
+                "candidate explained", "explained recursion", "recursion clearly");
+    }
+
+    @Test
+    void stopWordsBreakBigrams() {
+        assertThat(terms("Strong communication and system design"))
+                .contains("strong communication", "system design")
+                .doesNotContain("and", "communication and", "communication system");
+    }
+
+    @Test
+    void numbersAndShortTokensAreDroppedAndBreakBigrams() {
+        assertThat(terms("Solved 2 of 3 in 45 minutes")).containsExactlyInAnyOrder("solved", "minutes");
+    }
+
+    @Test
+    void keepsSymbolsAndApostrophesInsideTokens() {
+        assertThat(terms("Knows C++ and C# well, candidate's answer was solid"))
+                .contains("knows", "c++", "knows c++", "candidate's", "candidate's answer", "solid")
+                .doesNotContain("c#");
+    }
+
+    @Test
+    void termsAreDistinctPerFeedback() {
+        Set<String> terms = new HashSet<>();
+        FeedbackThemeService.collectTerms("recursion recursion", terms);
+        FeedbackThemeService.collectTerms("Recursion", terms);
+
+        assertThat(terms).containsExactlyInAnyOrder("recursion", "recursion recursion");
+    }
+
+    @Test
+    void ignoresMissingText() {
+        assertThat(terms(null, "", " ... ")).isEmpty();
+    }
+}
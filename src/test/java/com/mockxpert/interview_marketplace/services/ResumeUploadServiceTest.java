@@ -0,0 +1,123 @@
+package com.mockxpert.interview_marketplace.services;
+
+import com.mockxpert.interview_marketplace.dto.ResumeUploadDto;
+import com.mockxpert.interview_marketplace.dto.ResumeUploadRequest;
+import com.mockxpert.interview_marketplace.dto.UserPrincipal;
+import com.mockxpert.interview_marketplace.entities.ResumeUpload;
+import com.mockxpert.interview_marketplace.entities.User;
+import com.mockxpert.interview_marketplace.exceptions.BadRequestException;
+import com.mockxpert.interview_marketplace.repositories.IntervieweeRepository;
+import com.mockxpert.interview_marketplace.repositories.ResumeUploadRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests of the chunked resume upload against a temporary directory and an in-memory upload table.
+ *
+ * @author Umar Mohammad
+ */
+class ResumeUploadServiceTest {
+
+    private static final byte[] CONTENT = "0123456789".getBytes(StandardCharsets.US_ASCII);
+
+    @TempDir
+    Path uploadDir;
+
+    private final Map<String, ResumeUpload> uploads = new HashMap<>();
+
+    private final UserPrincipal principal =
+            new UserPrincipal("uid", 1L, "jane@example.com", User.Role.INTERVIEWEE, User.Status.ACTIVE, null, 7L);
+
+    private ResumeUploadService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ResumeUploadRepository repository = mock(ResumeUploadRepository.class);
+        when(repository.save(any(ResumeUpload.class))).thenAnswer(invocation -> {
+            ResumeUpload upload = invocation.getArgument(0);
+            uploads.put(upload.getUploadId(), upload);
+            return upload;
+        });
+        when(repository.findById(anyString())).thenAnswer(invocation -> Optional.ofNullable(uploads.get(invocation.getArgument(0))));
+        when(repository.lockById(anyString())).thenAnswer(invocation -> Optional.ofNullable(uploads.get(invocation.getArgument(0))));
+
+        service = new ResumeUploadService();
+        ReflectionTestUtils.setField(service, "resumeUploadRepository", repository);
+        ReflectionTestUtils.setField(service, "intervieweeRepository", mock(IntervieweeRepository.class));
+        ReflectionTestUtils.setField(service, "transactionManager", mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(service, "resumeDir", uploadDir.toString());
+        ReflectionTestUtils.setField(service, "maxBytes", 1024L);
+        ReflectionTestUtils.setField(service, "chunkSize", 4);
+        ReflectionTestUtils.setField(service, "expiryHours", 24L);
+        service.init();
+    }
+
+    @Test
+    void acceptsChunksOutOfOrder() throws Exception {
+        ResumeUploadDto upload = start();
+
+        send(upload, 1);
+        send(upload, 2);
+        ResumeUploadDto state = send(upload, 0);
+        assertThat(state.getMissingChunks()).isEmpty();
+
+        ResumeUploadDto completed = service.completeUpload(principal, upload.getUploadId());
+        assertThat(completed.getStatus()).isEqualTo("COMPLETED");
+        assertThat(Files.readAllBytes(uploadDir.resolve(completed.getStorageKey()))).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void rejectedResendLeavesTheChunkMissing() throws Exception {
+        ResumeUploadDto upload = start();
+
+        assertThatThrownBy(() -> service.writeChunk(principal, upload.getUploadId(), 1, sha256(chunk(0)),
+                new ByteArrayInputStream(chunk(1)), 4))
+                .isInstanceOf(BadRequestException.class);
+
+        assertThat(service.getUpload(principal, upload.getUploadId()).getMissingChunks()).containsExactly(0, 1, 2);
+    }
+
+    private ResumeUploadDto start() {
+        ResumeUploadRequest request = new ResumeUploadRequest();
+        request.setFileName("resume.pdf");
+        request.setContentType("application/pdf");
+        request.setTotalSize(CONTENT.length);
+        return service.startUpload(principal, request);
+    }
+
+    private ResumeUploadDto send(ResumeUploadDto upload, int index) throws Exception {
+        byte[] chunk = chunk(index);
+        return service.writeChunk(principal, upload.getUploadId(), index, sha256(chunk),
+                new ByteArrayInputStream(chunk), chunk.length);
+    }
+
+    private static byte[] chunk(int index) {
+        return Arrays.copyOfRange(CONTENT, index * 4, Math.min(CONTENT.length, index * 4 + 4));
+    }
+
+    private static String sha256(byte[] data) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+    }
+}
@@ -0,0 +1,95 @@
+package com.mockxpert.interview_marketplace.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests of the primitive term counter.
+ *
+ * @author Umar Mohammad
+ */
+class TermCounterTest {
+
+    private static Map<String, Integer> toMap(TermCounter counter) {
+        Map<String, Integer> map = new HashMap<>();
+        counter.forEach(map::put);
+        return map;
+    }
+
+    @Test
+    void countsIncrementsAndAdds() {
+        TermCounter counter = new TermCounter();
+        counter.increment("recursion");
+        counter.increment("recursion");
+        counter.add("system design", 5);
+
+        assertThat(counter.get("recursion")).isEqualTo(2);
+        assertThat(counter.get("system design")).isEqualTo(5);
+        assertThat(counter.get("absent")).isZero();
+        assertThat(counter.size()).isEqualTo(2);
+    }
+
+    @Test
+    void keepsEveryCountWhenGrowing() {
+        TermCounter counter = new TermCounter(1);
+        for (int i = 0; i < 1000; i++) {
+            counter.add("term" + i, i);
+        }
+
+        assertThat(counter.size()).isEqualTo(1000);
+        for (int i = 0; i < 1000; i++) {
+            assertThat(counter.get("term" + i)).isEqualTo(i);
+        }
+    }
+
+    @Test
+    void mergeAddsTheOtherCounts() {
+        TermCounter counter = new TermCounter();
+        counter.add("recursion", 2);
+        TermCounter other = new TermCounter();
+        other.add("recursion", 3);
+        other.add("graphs", 1);
+
+        counter.merge(other);
+
+        assertThat(toMap(counter)).containsOnly(Map.entry("recursion", 5), Map.entry("graphs", 1));
+        assertThat(toMap(other)).containsOnly(Map.entry("recursion", 3), Map.entry("graphs", 1));
+    }
+
+    @Test
+    void retainTopKeepsTheMostFrequentTermsWithTiesInTermOrder() {
+        TermCounter counter = new TermCounter();
+        counter.add("rare", 1);
+        counter.add("graphs", 4);
+        counter.add("recursion", 9);
+        counter.add("arrays", 4);
+        counter.add("trees", 4);
+
+        counter.retainTop(3);
+
+        assertThat(toMap(counter)).containsOnly(
+                Map.entry("recursion", 9), Map.entry("arrays", 4), Map.entry("graphs", 4));
+        assertThat(counter.size()).isEqualTo(3);
+        assertThat(counter.get("trees")).isZero();
+    }
+
+    @Test
+    void retainTopLeavesSmallCountersAloneAndStaysUsable() {
+        TermCounter counter = new TermCounter();
+        counter.add("recursion", 2);
+        counter.retainTop(5);
+        assertThat(toMap(counter)).containsOnly(Map.entry("recursion", 2));
+
+        for (int i = 0; i < 200; i++) {
+            counter.add("term" + i, 1);
+        }
+        counter.retainTop(1);
+        counter.increment("graphs");
+
+        assertThat(toMap(counter)).containsOnly(Map.entry("recursion", 2), Map.entry("graphs", 1));
+    }
+}